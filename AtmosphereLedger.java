@@ -0,0 +1,158 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the changes made to the atmosphere while organisms are moved in
+ * parallel, so that they don't need to lock the world's O2 and CO2 every
+ * time they breath.
+ * 
+ * Every worker thread has its own accumulator that only it writes. The
+ * accumulators are added up by {@link #drainO2} and {@link #drainCO2} once
+ * all workers have finished. Quantities are kept as fixed point integers
+ * instead of doubles: integer addition is associative, so the total doesn't
+ * depend on how organisms were distributed among threads and the result
+ * is the same with any number of them.
+ * 
+ * Requests are served from the levels the atmosphere had when the phase was
+ * opened, as if every organism were alone. It is the world who decides what
+ * to do when the total demand exceeds these levels. See {@link World#closeAtmospherePhase}.
+ */
+public class AtmosphereLedger {
+	/**
+	 * Units in which quantities are accounted: 2^-32.
+	 */
+	private static final double SCALE = 4294967296.0;
+	/**
+	 * Changes made by a thread since the last time the ledger was drained.
+	 */
+	private static final class Account {
+		long o2, co2;
+	}
+	
+	private final List<Account> _accounts = new ArrayList<Account>();
+	
+	private final ThreadLocal<Account> _account = new ThreadLocal<Account>() {
+		@Override
+		protected Account initialValue() {
+			Account a = new Account();
+			synchronized (_accounts) {
+				_accounts.add(a);
+			}
+			return a;
+		}
+	};
+	/**
+	 * Levels of the atmosphere when the phase was opened.
+	 */
+	private double _O2, _CO2;
+	/**
+	 * Starts a new phase. Must be called before any worker uses the ledger.
+	 * 
+	 * @param O2  The amount of O2 in the atmosphere.
+	 * @param CO2  The amount of CO2 in the atmosphere.
+	 */
+	public void open(double O2, double CO2) {
+		_O2 = Math.max(O2, 0);
+		_CO2 = Math.max(CO2, 0);
+	}
+	/**
+	 * Converts a quantity to accounting units, rounding down so that
+	 * nobody gets more than it asked for.
+	 */
+	private static long units(double q) {
+		return q > 0 ? (long) (q * SCALE) : 0;
+	}
+	
+	public void addO2(double q) {
+		_account.get().o2 += units(q);
+	}
+	
+	public void addCO2(double q) {
+		_account.get().co2 += units(q);
+	}
+	
+	public void decreaseO2(double q) {
+		_account.get().o2 -= units(Math.min(q, _O2));
+	}
+	
+	public void decreaseCO2(double q) {
+		_account.get().co2 -= units(Math.min(q, _CO2));
+	}
+	/**
+	 * Same as {@link World#respiration}, using the O2 available when the phase was opened.
+	 * 
+	 * @param q  The amount of O2 required.
+	 * @return  The amount of O2 obtained.
+	 */
+	public double respiration(double q) {
+		long d = units(Math.min(q, _O2));
+		Account a = _account.get();
+		a.o2 -= d;
+		a.co2 += d;
+		return d / SCALE;
+	}
+	/**
+	 * Same as {@link World#photosynthesis}, using the CO2 available when the phase
+	 * was opened.
+	 * 
+	 * @param q  The total length of the organism's green segments, already
+	 * divided by {@link Utils#GREEN_OBTAINED_ENERGY_DIVISOR}.
+	 * @return  The amount of CO2 obtained.
+	 */
+	public double photosynthesis(double q) {
+		long d = units(Utils.min(q,q*_CO2/Utils.DRAIN_SUBS_DIVISOR,_CO2));
+		Account a = _account.get();
+		a.co2 -= d;
+		a.o2 += d;
+		return d / SCALE;
+	}
+	/**
+	 * Returns the net change of O2 made by all threads since the last call and
+	 * clears it. Workers must have finished.
+	 * 
+	 * @return  The amount of O2 added to the atmosphere, negative if it has been consumed.
+	 */
+	public double drainO2() {
+		long total = 0;
+		synchronized (_accounts) {
+			for (Account a : _accounts) {
+				total += a.o2;
+				a.o2 = 0;
+			}
+		}
+		return total / SCALE;
+	}
+	/**
+	 * Returns the net change of CO2 made by all threads since the last call and
+	 * clears it. Workers must have finished.
+	 * 
+	 * @return  The amount of CO2 added to the atmosphere, negative if it has been consumed.
+	 */
+	public double drainCO2() {
+		long total = 0;
+		synchronized (_accounts) {
+			for (Account a : _accounts) {
+				total += a.co2;
+				a.co2 = 0;
+			}
+		}
+		return total / SCALE;
+	}
+}
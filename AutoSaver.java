@@ -0,0 +1,176 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes backups of the world without stopping the simulation.
+ * 
+ * The simulation thread makes an image of the world in memory between two
+ * frames, with {@link WorldSnapshot#capture}, and gives it to this thread, that
+ * compresses it, writes it to the disk and removes the oldest backups if there
+ * are more than {@link Utils#BACKUP_RETENTION}.
+ * 
+ * Only one image is kept at a time: if a backup is still being written when
+ * the next one is due, the new one is skipped.
+ */
+public class AutoSaver extends Thread {
+	private final MainWindow _mainWindow;
+	private ByteBuffer _image;
+	private File _file;
+	private boolean _busy = false;
+	private volatile boolean _closed = false;
+	
+	public AutoSaver(MainWindow mainWindow) {
+		super("AutoSaver"); //$NON-NLS-1$
+		_mainWindow = mainWindow;
+		setDaemon(true);
+		// Don't compete with the simulation
+		setPriority(Thread.MIN_PRIORITY);
+	}
+	/**
+	 * Returns the name of the backup of a world file at a given time.
+	 * Any string of format "filename@#####.ext" is replaced with "filename@TIME#.ext".
+	 * Files without '@#####' ending also become "filename@TIME#.ext".
+	 * 
+	 * @param gameFile  The file of the world.
+	 * @param time  The time of the world.
+	 * @return  The file of the backup.
+	 */
+	public static File getBackupFile(File gameFile, long time) {
+		String worldExt = BioFileFilter.WORLD_EXTENSION;
+		String filename = gameFile.getPath().replaceFirst("(@[0-9]*)?." + worldExt + "$", //$NON-NLS-1$ //$NON-NLS-2$
+				"@" + String.format("%1$05d", time) + "." + worldExt); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return new File(filename);
+	}
+	/**
+	 * Indicates if there is a backup waiting to be written or being written.
+	 * 
+	 * @return  true if a new backup would be skipped.
+	 */
+	public synchronized boolean isBusy() {
+		return _busy;
+	}
+	/**
+	 * Gives an image of the world to write. Returns immediately.
+	 * 
+	 * @param image  An image of the world made with {@link WorldSnapshot#capture}.
+	 * @param f  The file to write.
+	 * @return  true if the image will be written, false if the thread is still
+	 * busy with another one.
+	 */
+	public synchronized boolean save(ByteBuffer image, File f) {
+		if (_busy || _closed)
+			return false;
+		_busy = true;
+		_image = image;
+		_file = f;
+		notifyAll();
+		return true;
+	}
+	/**
+	 * Stops the thread after the backup being written, if any.
+	 */
+	public synchronized void close() {
+		_closed = true;
+		notifyAll();
+	}
+	
+	@Override
+	public void run() {
+		for (;;) {
+			ByteBuffer image;
+			File f;
+			synchronized (this) {
+				while (!_busy && !_closed) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if (!_busy)
+					return;
+				image = _image;
+				f = _file;
+				_image = null;
+			}
+			try {
+				WorldSnapshot.save(image, f, true);
+				removeOldBackups(f);
+				_mainWindow.setStatusMessage(Messages.getString("T_WRITING_COMPLETED")); //$NON-NLS-1$
+			} catch (IOException e) {
+				System.err.println(e.getMessage());
+				_mainWindow.setStatusMessage(Messages.getString("T_CANT_WRITE_FILE")); //$NON-NLS-1$
+			} catch (SecurityException e) {
+				System.err.println(e.getMessage());
+				_mainWindow.setStatusMessage(Messages.getString("T_PERMISSION_DENIED")); //$NON-NLS-1$
+			} finally {
+				synchronized (this) {
+					_busy = false;
+				}
+			}
+		}
+	}
+	/**
+	 * Removes the oldest backups of the same world as a given backup, so
+	 * that only {@link Utils#BACKUP_RETENTION} remain. Nothing is removed if
+	 * it is 0. Backups are ordered by the time they were written, not by the
+	 * time in their name, because an older world with the same name may have
+	 * left backups of a later time. The given backup is never removed.
+	 * 
+	 * @param backup  The last backup written.
+	 */
+	private static void removeOldBackups(File backup) {
+		int retention = Utils.BACKUP_RETENTION;
+		File dir = backup.getAbsoluteFile().getParentFile();
+		Matcher m = BACKUP_NAME.matcher(backup.getName());
+		if (retention <= 0 || dir == null || !m.matches())
+			return;
+		String base = m.group(1);
+		File[] files = dir.listFiles();
+		if (files == null)
+			return;
+		List<File> backups = new ArrayList<File>();
+		for (File f : files) {
+			m = BACKUP_NAME.matcher(f.getName());
+			if (m.matches() && m.group(1).equals(base) && !f.getName().equals(backup.getName()))
+				backups.add(f);
+		}
+		// The new backup is one of those to keep
+		if (backups.size() < retention)
+			return;
+		Collections.sort(backups, new Comparator<File>() {
+			public int compare(File a, File b) {
+				return Long.compare(a.lastModified(), b.lastModified());
+			}
+		});
+		for (int i=0; i<=backups.size() - retention; i++)
+			backups.get(i).delete();
+	}
+	
+	private static final Pattern BACKUP_NAME = Pattern.compile("(.*)@([0-9]+)\\." + BioFileFilter.WORLD_EXTENSION); //$NON-NLS-1$
+}
@@ -0,0 +1,318 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import net.jafama.FastMath;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+
+/**
+ * Immutable description of the body of the organisms that have a given genetic
+ * code: segment colors, branches and reactions, and the geometry of the body at
+ * every growth ratio. It is created once for every genetic code and shared by all
+ * organisms with that code, that reference its arrays instead of copying them.
+ * 
+ * Organisms must not modify the arrays of a body plan. Those that change their
+ * segments make their own copy first.
+ * 
+ * @see GeneticCode#getBodyPlan()
+ */
+public class BodyPlan {
+	/**
+	 * Number of segments: number of genes multiplied by the symmetry.
+	 */
+	final int _segments;
+	/**
+	 * Color of every segment, as found in the genes.
+	 */
+	final Color[] _segColor;
+	/**
+	 * Type of every segment, resolved from its color.
+	 */
+	final byte[] _segType;
+	/**
+	 * Branching point of every segment.
+	 */
+	final int[] _segBranch;
+	/*
+	 * Reactions of every segment.
+	 */
+	final int[] _segredReaction;
+	final int[] _seggreenReaction;
+	final int[] _segblueReaction;
+	final int[] _segplagueReaction;
+	final int[] _segwhiteReaction;
+	final int[] _seggrayReaction;
+	final int[] _segdefaultReaction;
+	final int[] _segmagentaReaction;
+	final int[] _segpinkReaction;
+	final int[] _segcoralReaction;
+	final int[] _segorangeReaction;
+	final int[] _segbarkReaction;
+	final int[] _segvioletReaction;
+	final int[] _segvirusReaction;
+	final int[] _segmaroonReaction;
+	final int[] _segoliveReaction;
+	final int[] _segmintReaction;
+	final int[] _segcreamReaction;
+	final int[] _segspikeReaction;
+	final int[] _seglightblueReaction;
+	final int[] _segochreReaction;
+	final int[] _seglightbrownReaction;
+	final int[] _segbrownReaction;
+	final int[] _segsickReaction;
+	final int[] _segskyReaction;
+	final int[] _seglilacReaction;
+	final int[] _segiceReaction;
+	final int[] _segsilverReaction;
+	final int[] _segfireReaction;
+	final int[] _segfriendReaction;
+	final int[] _seggreenbrownReaction;
+	final int[] _segspikepointReaction;
+	/**
+	 * Geometry for every growth ratio, calculated the first time that it is needed.
+	 */
+	private final Geometry[] _geometry = new Geometry[Utils.scale.length];
+	/**
+	 * The genetic code described by this body plan.
+	 */
+	private final GeneticCode _geneticCode;
+	
+	/**
+	 * Creates the body plan of a genetic code.
+	 * 
+	 * @param geneticCode  The genetic code to translate.
+	 */
+	BodyPlan(GeneticCode geneticCode) {
+		_geneticCode = geneticCode;
+		int nGenes = geneticCode.getNGenes();
+		_segments = nGenes * geneticCode.getSymmetry();
+		_segColor = new Color[_segments];
+		_segType = new byte[_segments];
+		_segBranch = new int[_segments];
+		_segredReaction = new int[_segments];
+		_seggreenReaction = new int[_segments];
+		_segblueReaction = new int[_segments];
+		_segplagueReaction = new int[_segments];
+		_segwhiteReaction = new int[_segments];
+		_seggrayReaction = new int[_segments];
+		_segdefaultReaction = new int[_segments];
+		_segmagentaReaction = new int[_segments];
+		_segpinkReaction = new int[_segments];
+		_segcoralReaction = new int[_segments];
+		_segorangeReaction = new int[_segments];
+		_segbarkReaction = new int[_segments];
+		_segvioletReaction = new int[_segments];
+		_segvirusReaction = new int[_segments];
+		_segmaroonReaction = new int[_segments];
+		_segoliveReaction = new int[_segments];
+		_segmintReaction = new int[_segments];
+		_segcreamReaction = new int[_segments];
+		_segspikeReaction = new int[_segments];
+		_seglightblueReaction = new int[_segments];
+		_segochreReaction = new int[_segments];
+		_seglightbrownReaction = new int[_segments];
+		_segbrownReaction = new int[_segments];
+		_segsickReaction = new int[_segments];
+		_segskyReaction = new int[_segments];
+		_seglilacReaction = new int[_segments];
+		_segiceReaction = new int[_segments];
+		_segsilverReaction = new int[_segments];
+		_segfireReaction = new int[_segments];
+		_segfriendReaction = new int[_segments];
+		_seggreenbrownReaction = new int[_segments];
+		_segspikepointReaction = new int[_segments];
+		for (int i = 0; i < _segments; i++) {
+			Gene gene = geneticCode.getGene(i%nGenes);
+			_segColor[i] = gene.getColor();
+			_segType[i] = (byte) Organism.getTypeColor(_segColor[i]);
+			_segBranch[i] = gene.getBranch();
+			_segredReaction[i] = gene.getredReaction();
+			_seggreenReaction[i] = gene.getgreenReaction();
+			_segblueReaction[i] = gene.getblueReaction();
+			_segplagueReaction[i] = gene.getplagueReaction();
+			_segwhiteReaction[i] = gene.getwhiteReaction();
+			_seggrayReaction[i] = gene.getgrayReaction();
+			_segdefaultReaction[i] = gene.getdefaultReaction();
+			_segmagentaReaction[i] = gene.getmagentaReaction();
+			_segpinkReaction[i] = gene.getpinkReaction();
+			_segcoralReaction[i] = gene.getcoralReaction();
+			_segorangeReaction[i] = gene.getorangeReaction();
+			_segbarkReaction[i] = gene.getbarkReaction();
+			_segvioletReaction[i] = gene.getvioletReaction();
+			_segvirusReaction[i] = gene.getvirusReaction();
+			_segmaroonReaction[i] = gene.getmaroonReaction();
+			_segoliveReaction[i] = gene.getoliveReaction();
+			_segmintReaction[i] = gene.getmintReaction();
+			_segcreamReaction[i] = gene.getcreamReaction();
+			_segspikeReaction[i] = gene.getspikeReaction();
+			_seglightblueReaction[i] = gene.getlightblueReaction();
+			_segochreReaction[i] = gene.getochreReaction();
+			_seglightbrownReaction[i] = gene.getlightbrownReaction();
+			_segbrownReaction[i] = gene.getbrownReaction();
+			_segsickReaction[i] = gene.getsickReaction();
+			_segskyReaction[i] = gene.getskyReaction();
+			_seglilacReaction[i] = gene.getlilacReaction();
+			_segiceReaction[i] = gene.geticeReaction();
+			_segsilverReaction[i] = gene.getsilverReaction();
+			_segfireReaction[i] = gene.getfireReaction();
+			_segfriendReaction[i] = gene.getfriendReaction();
+			_seggreenbrownReaction[i] = gene.getgreenbrownReaction();
+			_segspikepointReaction[i] = gene.getspikepointReaction();
+		}
+	}
+	/**
+	 * Returns the geometry of the body at a given growth ratio.
+	 * 
+	 * @param growthRatio  The growth ratio of the organism, from 1 (adult) to
+	 * the number of scale factors in {@link Utils#scale}.
+	 * @return  The shared geometry for this growth ratio.
+	 */
+	Geometry getGeometry(int growthRatio) {
+		Geometry geometry = _geometry[growthRatio-1];
+		if (geometry == null) {
+			// Frames may grow several organisms at once. In the worst case the
+			// geometry is calculated twice, but all its fields are final.
+			geometry = new Geometry(_geneticCode, _segments, growthRatio);
+			_geometry[growthRatio-1] = geometry;
+		}
+		return geometry;
+	}
+	
+	/**
+	 * Segments of the body at a given growth ratio, relative to its center and
+	 * with no rotation, together with its mass and inertia.
+	 */
+	static final class Geometry {
+		/**
+		 * Coordinates of the starting and ending points of each segment.
+		 */
+		final int[] _startPointX, _startPointY, _endPointX, _endPointY;
+		/**
+		 * Modulus of each segment.
+		 */
+		final double[] _m;
+		/**
+		 * Modulus of each segment, divided by symmetry, used for photosynthesis.
+		 */
+		final double[] _mphoto;
+		final double _mass;
+		final double _I;
+		/**
+		 * Bounding rectangle of the segments before centering them.
+		 */
+		final Rectangle _sizeRect;
+		
+		/**
+		 * Translates a genetic code to its segments representation.
+		 */
+		Geometry(GeneticCode geneticCode, int segments, int growthRatio) {
+			int i,j,segment=0;
+			int symmetry = geneticCode.getSymmetry();
+			int mirror = geneticCode.getMirror();
+			int sequence = segments / symmetry;
+			int left=0, right=0, top=0, bottom=0;
+			int centerX, centerY;
+			double cx, cy;
+			double mass = 0, inertia = 0;
+			Vector2D v = new Vector2D();
+			_startPointX = new int[segments];
+			_startPointY = new int[segments];
+			_endPointX = new int[segments];
+			_endPointY = new int[segments];
+			_m = new double[segments];
+			_mphoto = new double[segments];
+			for (i=0; i<symmetry; i++) {
+				for (j=0; j<sequence; j++,segment++) {
+					// Here, we take the vector that forms the segment, scale it depending on
+					// the relative size of the organism and rotate it depending on the
+					// symmetry and mirroring.
+					v.setModulus(geneticCode.getGene(j).getLength()/Utils.scale[growthRatio-1]);
+					if (j==0) {
+						_startPointX[segment] = 0;
+						_startPointY[segment] = 0;
+						if (mirror == 0 || i%2==0)
+							v.setTheta(geneticCode.getGene(j).getTheta()+i*2*FastMath.PI/symmetry);
+						else {
+							v.setTheta(geneticCode.getGene(j).getTheta()+(i-1)*2*FastMath.PI/symmetry);
+							v.invertX();
+						}
+					} else {
+						if (geneticCode.getGene(j).getBranch() == -1) {
+							_startPointX[segment] = _endPointX[segment - 1];
+							_startPointY[segment] = _endPointY[segment - 1];
+							if (mirror == 0 || i%2==0)
+								v.addDegree(geneticCode.getGene(j).getTheta());
+							else
+								v.addDegree(-geneticCode.getGene(j).getTheta());
+						} else {
+						if (geneticCode.getGene(j).getBranch() == 0) {
+							_startPointX[segment] = 0;
+						    _startPointY[segment] = 0;
+						    if (mirror == 0 || i%2==0)
+								v.addDegree(geneticCode.getGene(j).getTheta());
+							else
+								v.addDegree(-geneticCode.getGene(j).getTheta());
+						} else {
+							_startPointX[segment] = _endPointX[(i * sequence) + geneticCode.getGene(j).getBranch() - 1];
+						    _startPointY[segment] = _endPointY[(i * sequence) + geneticCode.getGene(j).getBranch() - 1];
+						    if (mirror == 0 || i%2==0)
+								v.addDegree(geneticCode.getGene(j).getTheta());
+							else
+								v.addDegree(-geneticCode.getGene(j).getTheta());
+						    }
+						}
+					}
+					// Apply the vector to the starting point to get the ending point.
+					_endPointX[segment] = (int) FastMath.round(v.getX() + _startPointX[segment]);
+					_endPointY[segment] = (int) FastMath.round(v.getY() + _startPointY[segment]);
+				    // Calculate the bounding rectangle of this organism
+				    left = Math.min(left, _endPointX[segment]);
+				    right = Math.max(right, _endPointX[segment]);
+				    top = Math.min(top, _endPointY[segment]);
+				    bottom = Math.max(bottom, _endPointY[segment]);
+				}
+			}
+			_sizeRect = new Rectangle(left, top, right-left+1, bottom-top+1);
+			// image center
+			centerX = (left+right)>>1;
+			centerY = (top+bottom)>>1;
+			for (i=0; i<segments; i++) {
+				// express points relative to the image center
+				_startPointX[i]-=centerX;
+				_startPointY[i]-=centerY;
+				_endPointX[i]-=centerX;
+				_endPointY[i]-=centerY;
+				// calculate modulus
+				_m[i] = FastMath.sqrt(FastMath.pow(_endPointX[i]-_startPointX[i],2) +
+	                    FastMath.pow(_endPointY[i]-_startPointY[i],2));
+				mass += _m[i];
+				_mphoto[i] = (0.6 + (0.48 / (double)sequence) + (1.44 / (double)symmetry)) * _m[i];
+				// calculate inertia moment
+				// the mass center of a segment is its middle point
+				cx = (_startPointX[i] + _endPointX[i]) / 2d;
+				cy = (_startPointY[i] + _endPointY[i]) / 2d;
+				// add the effect of this segment, following the parallel axis theorem
+				inertia += FastMath.pow(_m[i],3)/12d +
+					_m[i] * cx*cx + cy*cy;// mass * length^2 (center is at 0,0)
+			}
+			_mass = mass;
+			_I = inertia;
+		}
+	}
+}
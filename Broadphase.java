@@ -0,0 +1,83 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.util.List;
+
+/**
+ * Finds organisms that may be touching without checking all pairs of
+ * organisms in the world. The world informs the broadphase of every
+ * organism that is added, removed or moved.
+ * 
+ * Queries can be done from several threads at the same time, but the
+ * broadphase is only modified from one thread and never while it is
+ * being queried.
+ */
+public interface Broadphase {
+	/**
+	 * Called at the beginning of every frame, before any organism is moved.
+	 * 
+	 * @param organisms  All organisms in the world.
+	 */
+	public void frameStarted(List<Organism> organisms);
+	/**
+	 * Adds an organism, using its current bounding rectangle.
+	 * 
+	 * @param org  The organism that has been added to the world.
+	 */
+	public void insert(Organism org);
+	/**
+	 * Adds all the organisms of a world that has just been created or read,
+	 * in a single pass.
+	 * 
+	 * @param organisms  The organisms of the world.
+	 */
+	public void insertAll(List<Organism> organisms);
+	/**
+	 * Removes an organism.
+	 * 
+	 * @param org  The organism that has been removed from the world.
+	 */
+	public void remove(Organism org);
+	/**
+	 * Updates an organism after its bounding rectangle has changed.
+	 * Organisms that haven't been inserted are ignored.
+	 * 
+	 * @param org  The organism that has moved.
+	 */
+	public void update(Organism org);
+	/**
+	 * Removes all organisms.
+	 */
+	public void clear();
+	/**
+	 * Finds an organism, other than {@code org}, whose bounding rectangle
+	 * is touching the bounding rectangle of {@code org}. If there are several,
+	 * the one with the lowest ID is chosen, so that the result doesn't depend
+	 * on the order in which organisms were inserted and a world read from a
+	 * snapshot goes on like the original one.
+	 * 
+	 * @param org  The organism that is being checked. It doesn't need
+	 * to be in the world.
+	 * @param strict  If true, the current bounding rectangles of both organisms
+	 * must overlap. If false, it is enough that the bounding rectangle of
+	 * {@code org} touches the bounds known by the broadphase for the other
+	 * organism, borders included.
+	 * @return  The organism found, or null if there is no such organism.
+	 */
+	public Organism findHit(Organism org, boolean strict);
+}
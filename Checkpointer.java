@@ -0,0 +1,301 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes checkpoints of a world during long runs, using much less disk than
+ * saving the whole world every time. A whole snapshot is written from time to
+ * time, and between them deltas with only what has changed since the previous
+ * checkpoint.
+ * 
+ * A delta is a snapshot with {@link WorldSnapshot#FLAG_DELTA} that starts with
+ * the name of the previous checkpoint, which must be in the same directory.
+ * Then come the state of the world, the atmosphere and the statistics, and the
+ * organisms in their current order: organisms born since the previous
+ * checkpoint are written as a whole, and the others only with the parts of
+ * their record that have changed. Organisms removed from the world are
+ * not written. Genetic codes and colors are written only once in every chain
+ * of checkpoints, so a delta can only be read after all the previous ones:
+ * {@link #restore} follows the chain back to the whole snapshot and
+ * applies every delta in order.
+ * 
+ * Usage: java Checkpointer checkpoint world
+ * 
+ * Restores the world of a checkpoint and saves it as a normal snapshot that
+ * can be opened by {@link MainWindow}.
+ */
+public class Checkpointer {
+	public static final String DELTA_EXTENSION = "bgd"; //$NON-NLS-1$
+	/**
+	 * Maximum number of files in a chain of checkpoints, to detect damaged chains.
+	 */
+	private static final int MAX_CHAIN_LENGTH = 1 << 16;
+	/**
+	 * Directory where checkpoints are written.
+	 */
+	private final File _directory;
+	/**
+	 * Start of the name of the checkpoints. It is followed by the frame.
+	 */
+	private final String _name;
+	/**
+	 * Number of deltas written after every whole snapshot.
+	 */
+	private final int _deltas;
+	/**
+	 * Number of deltas written since the last whole snapshot.
+	 */
+	private int _deltasWritten;
+	/**
+	 * The last checkpoint, or null if a whole snapshot must be written.
+	 */
+	private File _lastFile;
+	/**
+	 * The writer of the last checkpoint, that knows the genetic codes and
+	 * colors already written in the chain.
+	 */
+	private WorldSnapshot.Output _lastOutput;
+	/**
+	 * Time of the statistics in the last checkpoint.
+	 */
+	private long _statisticsTime;
+	/**
+	 * What was written of every organism in the last checkpoint, by ID.
+	 */
+	private Map<Integer,Record> _records = new HashMap<Integer,Record>();
+	/**
+	 * Records of the checkpoint being written.
+	 */
+	private Map<Integer,Record> _newRecords;
+	private boolean _duplicatedIds;
+	/**
+	 * What {@link Checkpointer} remembers of an organism to know which parts of
+	 * it have changed.
+	 */
+	private static final class Record {
+		final GeneticCode _geneticCode;
+		final long _segments;
+		final long _rotation;
+		final int _maxAge;
+		
+		Record(Organism o) {
+			_geneticCode = o.getGeneticCode();
+			_maxAge = _geneticCode.getMaxAge();
+			_segments = o.snapshotHash(Organism.SNAPSHOT_SEGMENTS);
+			_rotation = o.snapshotHash(Organism.SNAPSHOT_ROTATION);
+		}
+	}
+	/**
+	 * Creates a checkpointer. The first checkpoint will be a whole snapshot.
+	 * 
+	 * @param directory  The directory where checkpoints are written.
+	 * @param name  The start of the name of the files.
+	 * @param deltas  The number of deltas written after every whole snapshot.
+	 */
+	public Checkpointer(File directory, String name, int deltas) {
+		_directory = directory;
+		_name = name;
+		_deltas = deltas;
+	}
+	/**
+	 * Writes a checkpoint of a world: a delta, or a whole snapshot if the
+	 * number of deltas has been reached, or if two organisms have the same ID,
+	 * so that they can't be told apart.
+	 * 
+	 * @param world  The world to write. The caller must make sure that it doesn't change.
+	 * @return  The file written.
+	 * @throws IOException  If the file can't be written. The next checkpoint will be a whole snapshot.
+	 */
+	public File checkpoint(World world) throws IOException {
+		File f = null;
+		try {
+			if (_lastFile != null && _deltasWritten < _deltas)
+				f = writeDelta(world);
+			if (f == null)
+				f = writeSnapshot(world);
+		} catch (IOException e) {
+			_lastFile = null;
+			throw e;
+		}
+		_lastFile = f;
+		_statisticsTime = world.getTime();
+		return f;
+	}
+	
+	private File writeSnapshot(World world) throws IOException {
+		WorldSnapshot.ImageChannel channel = new WorldSnapshot.ImageChannel();
+		WorldSnapshot.Output out = new WorldSnapshot.Output(channel);
+		world.writeSnapshot(out);
+		out.flush();
+		File f = new File(_directory, _name + "-" + world.getFrame() + "." + BioFileFilter.WORLD_EXTENSION); //$NON-NLS-1$ //$NON-NLS-2$
+		WorldSnapshot.save(channel.getImage(), f, WorldSnapshot.FLAG_COMPRESSED);
+		_records = new HashMap<Integer,Record>();
+		for (Organism o : world.getOrganisms())
+			_records.put(o.getID(), new Record(o));
+		_lastOutput = out;
+		_deltasWritten = 0;
+		return f;
+	}
+	/**
+	 * Writes a delta.
+	 * 
+	 * @return  The file written, or null if a whole snapshot must be written instead.
+	 */
+	private File writeDelta(World world) throws IOException {
+		WorldSnapshot.ImageChannel channel = new WorldSnapshot.ImageChannel();
+		WorldSnapshot.Output out = new WorldSnapshot.Output(channel, _lastOutput);
+		_newRecords = new HashMap<Integer,Record>();
+		_duplicatedIds = false;
+		out.writeString(_lastFile.getName());
+		world.writeSnapshotDelta(out, this);
+		out.flush();
+		if (_duplicatedIds)
+			return null;
+		File f = new File(_directory, _name + "-" + world.getFrame() + "." + DELTA_EXTENSION); //$NON-NLS-1$ //$NON-NLS-2$
+		WorldSnapshot.save(channel.getImage(), f, WorldSnapshot.FLAG_COMPRESSED | WorldSnapshot.FLAG_DELTA);
+		_records = _newRecords;
+		_newRecords = null;
+		_lastOutput = out;
+		_deltasWritten++;
+		return f;
+	}
+	/**
+	 * Returns the time of the statistics in the last checkpoint.
+	 * 
+	 * @return  The time, as given by {@link WorldStatistics#getTime}.
+	 */
+	long getStatisticsTime() {
+		return _statisticsTime;
+	}
+	/**
+	 * Writes an organism to a delta. It is written as a whole if it was not
+	 * in the last checkpoint, and otherwise only its state and the parts that
+	 * have changed.
+	 * Called by {@link World#writeSnapshotDelta}.
+	 * 
+	 * @param out  The delta being written.
+	 * @param o  The organism to write.
+	 * @throws IOException
+	 */
+	void writeOrganism(WorldSnapshot.Output out, Organism o) throws IOException {
+		Record record = new Record(o);
+		Record last = _records.get(o.getID());
+		if (_newRecords.put(o.getID(), record) != null)
+			_duplicatedIds = true;
+		int parts = 0;
+		if (last != null && last._geneticCode == record._geneticCode) {
+			parts = Organism.SNAPSHOT_STATE;
+			// Segments shared with the body plan need the rotated segments
+			if (last._segments != record._segments)
+				parts |= Organism.SNAPSHOT_SEGMENTS | Organism.SNAPSHOT_ROTATION;
+			else if (last._rotation != record._rotation)
+				parts |= Organism.SNAPSHOT_ROTATION;
+			if (last._maxAge != record._maxAge)
+				parts |= Organism.SNAPSHOT_MAX_AGE;
+		}
+		out.writeInt(o.getID());
+		out.writeInt(parts);
+		o.writeSnapshot(out, parts == 0 ? Organism.SNAPSHOT_ALL : parts);
+	}
+	/**
+	 * Reads the world of a checkpoint, applying to the last whole snapshot
+	 * all deltas until the given one.
+	 * 
+	 * @param f  A checkpoint: a whole snapshot or a delta.
+	 * @param view  The view of the new world.
+	 * @return  The world read.
+	 * @throws IOException  If any file of the chain can't be read.
+	 */
+	public static World restore(File f, WorldView view) throws IOException {
+		LinkedList<File> chain = new LinkedList<File>();
+		Set<String> names = new HashSet<String>();
+		File directory = f.getAbsoluteFile().getParentFile();
+		String previous = f.getName();
+		while (previous != null) {
+			if (!names.add(previous) || names.size() > MAX_CHAIN_LENGTH)
+				throw new IOException("Wrong chain of checkpoints at "+previous); //$NON-NLS-1$
+			File file = new File(directory, previous);
+			chain.addFirst(file);
+			previous = readPrevious(file);
+		}
+		World world = null;
+		WorldSnapshot.Input in = null;
+		for (File file : chain) {
+			FileChannel channel = new FileInputStream(file).getChannel();
+			try {
+				int flags = WorldSnapshot.readHeader(channel);
+				if (in == null) {
+					in = new WorldSnapshot.Input(WorldSnapshot.openBody(channel, flags));
+					world = new World(view, in);
+				} else {
+					in = new WorldSnapshot.Input(WorldSnapshot.openBody(channel, flags), in);
+					in.readString();
+					world.readSnapshotDelta(in);
+				}
+			} finally {
+				channel.close();
+			}
+		}
+		return world;
+	}
+	/**
+	 * Finds the checkpoint before a delta.
+	 * 
+	 * @param f  A checkpoint.
+	 * @return  The name of the previous checkpoint, or null if the file is a whole snapshot.
+	 * @throws IOException
+	 */
+	private static String readPrevious(File f) throws IOException {
+		FileChannel channel = new FileInputStream(f).getChannel();
+		try {
+			int flags = WorldSnapshot.readHeader(channel);
+			if ((flags & WorldSnapshot.FLAG_DELTA) == 0)
+				return null;
+			return new WorldSnapshot.Input(WorldSnapshot.openBody(channel, flags)).readString();
+		} finally {
+			channel.close();
+		}
+	}
+	
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: java Checkpointer checkpoint world"); //$NON-NLS-1$
+			System.exit(1);
+		}
+		Utils.readPreferences();
+		try {
+			World world = restore(new File(args[0]), new NullWorldView());
+			WorldSnapshot.save(world, new File(args[1]));
+			System.out.println(String.format("frame %d population %d organisms %d checksum %016x", //$NON-NLS-1$
+					world.getFrame(), world.getPopulation(), world.getOrganisms().size(), world.checksum()));
+			world.shutdown();
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -70,6 +70,11 @@ public class Connection {
 	 * The biological corridor used to send organism to the other host
 	 */
 	protected OutCorridor outCorridor;
+	/**
+	 * The permanent link used to send genetic codes and keep alive messages
+	 * while the connection is active.
+	 */
+	protected volatile NetChannel channel;
 	/**
 	 * State of the connection that indicates that the connection has just been created
 	 * and no attemp to connect to the other host has been done.
@@ -142,24 +147,35 @@ public class Connection {
 	}
 	/**
 	 * Send a message to the remote host server. The message is send in a new thread and
-	 * the method returns immidiately.
+	 * the method returns immidiately. Used for messages that open or close the connection.
 	 * 
 	 * @param m  the message to send. See {@link NetServerThread} to see the possible
 	 * messages to send. 
 	 */
 	public void send(int m) {
-		NetSend n = new NetSend(this, m, null);
+		NetSend n = new NetSend(this, m);
 		n.start();
 	}
 	/**
-	 * Send a genetic code to the remote host server. The code is send in a new thread
-	 * and the method returns immidiately.
+	 * Send a genetic code to the remote host server. The code is queued in the
+	 * {@link NetChannel} of this connection and the method returns immidiately.
 	 * 
 	 * @param c  the genetic code to send.
+	 * @return  true if the code has been queued, false if the connection is not
+	 * active or there are too many codes waiting to be sent.
 	 */
-	public void send(GeneticCode c) {
-		NetSend n = new NetSend(this, NetServerThread.SEND_CODE, c);
-		n.start();
+	public boolean send(GeneticCode c) {
+		NetChannel ch = channel;
+		return ch != null && ch.offer(c);
+	}
+	/**
+	 * Indicates if a genetic code can be sent right now.
+	 * 
+	 * @return  true if the connection is active and its queue isn't full.
+	 */
+	public boolean canSend() {
+		NetChannel ch = channel;
+		return state == STATE_CONNECTED && ch != null && ch.hasRoom();
 	}
 	/**
 	 * Inform the connection that its state has changed. Used by {@link NetSend} and
@@ -171,6 +187,8 @@ public class Connection {
 	public void setState(int newState) {
 		if (state != newState) {
 			if (newState == STATE_CONNECTED) {
+				channel = new NetChannel(this);
+				channel.start();
 				mainWindow.getWorld().addCorridors(inCorridor, outCorridor);
 				keepAliveThread();
 				mainWindow.setStatusMessage(Messages.getString("T_CONNECTION_STABLISHED", remoteAddress.toString())); //$NON-NLS-1$
@@ -178,6 +196,10 @@ public class Connection {
 			if (newState == STATE_DISCONNECTED) {
 				if (timer != null)
 					timer.cancel();
+				if (channel != null) {
+					channel.close();
+					channel = null;
+				}
 				mainWindow.setStatusMessage(Messages.getString("T_CONNECTION_LOST", remoteAddress.toString())); //$NON-NLS-1$
 				mainWindow.getWorld().removeCorridors(inCorridor, outCorridor);
 				mainWindow.serverThread.removeConnection(this);
@@ -199,7 +221,7 @@ public class Connection {
 	 */
 	public void connect() {
 		// send a connection message
-		NetSend n = new NetSend(this, NetServerThread.CONNECT, null);
+		NetSend n = new NetSend(this, NetServerThread.CONNECT);
 		n.start();
 	}
 	/**
@@ -228,13 +250,14 @@ public class Connection {
 	}
 	/**
 	 * Make sure the connection is alive. If enough time has passed since the last
-	 * message from the remote server, send a ping. This is done in a separated thread
-	 * and this method returns immidiately.
+	 * message from the remote server, send a ping. This is done by the
+	 * {@link NetChannel} and this method returns immidiately.
 	 */
 	protected void keepAlive() {
 		if (System.currentTimeMillis() - time > CHECK_CONNECTION_TIME) {
-			NetSend n = new NetSend(this, NetServerThread.KEEP_ALIVE, null);
-			n.start();
+			NetChannel ch = channel;
+			if (ch != null)
+				ch.requestKeepAlive();
 		}
 	}
 }
@@ -0,0 +1,182 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.util.List;
+
+/**
+ * Runs two copies of the same deterministic world side by side, each one
+ * with a different engine configuration, and reports the first frame and
+ * organism where they diverge. It is used to verify that an optimization
+ * doesn't change the behaviour of the simulation.
+ * 
+ * Usage: java DivergenceChecker width height seed frames configA configB [interval]
+ * 
+ * A configuration is <code>serial</code>, <code>parallel:threads</code>,
+ * <code>strips:threads</code> or <code>tiles:threads</code>, optionally followed by <code>/grid</code> or <code>/strtree</code> to choose
+ * the broadphase. Worlds are compared every interval frames, 1 by default.
+ */
+public class DivergenceChecker {
+	/**
+	 * An engine configuration given in the command line.
+	 */
+	private static class Configuration {
+		final String _name;
+		final int _threads;
+		final int _partitioning;
+		final int _broadphase;
+		
+		Configuration(String spec) {
+			_name = spec;
+			String engine = spec;
+			int broadphase = Utils.BROADPHASE;
+			int slash = spec.indexOf('/');
+			if (slash >= 0) {
+				engine = spec.substring(0, slash);
+				String b = spec.substring(slash + 1);
+				if (b.equals("grid")) //$NON-NLS-1$
+					broadphase = Utils.BROADPHASE_GRID;
+				else if (b.equals("strtree")) //$NON-NLS-1$
+					broadphase = Utils.BROADPHASE_STRTREE;
+				else
+					throw new IllegalArgumentException("Unknown broadphase: " + b); //$NON-NLS-1$
+			}
+			int colon = engine.indexOf(':');
+			String type = colon >= 0 ? engine.substring(0, colon) : engine;
+			if (type.equals("serial")) //$NON-NLS-1$
+				_partitioning = Utils.PARTITIONING_NONE;
+			else if (type.equals("parallel")) //$NON-NLS-1$
+				_partitioning = Utils.PARTITIONING_NONE;
+			else if (type.equals("strips")) //$NON-NLS-1$
+				_partitioning = Utils.PARTITIONING_STRIPS;
+			else if (type.equals("tiles")) //$NON-NLS-1$
+				_partitioning = Utils.PARTITIONING_TILES;
+			else
+				throw new IllegalArgumentException("Unknown engine: " + engine); //$NON-NLS-1$
+			if (type.equals("serial")) //$NON-NLS-1$
+				_threads = 0;
+			else if (colon >= 0)
+				_threads = Integer.parseInt(engine.substring(colon + 1));
+			else
+				throw new IllegalArgumentException("Missing number of threads: " + engine); //$NON-NLS-1$
+			_broadphase = broadphase;
+		}
+		
+		World createWorld() {
+			Utils.BROADPHASE = _broadphase;
+			World world = new World(new NullWorldView());
+			world.genesis();
+			if (_threads == 0)
+				world.setFrameEngine(new SerialFrameEngine());
+			else if (_partitioning == Utils.PARTITIONING_NONE)
+				world.setFrameEngine(new ParallelFrameEngine(_threads));
+			else
+				world.setFrameEngine(new RegionFrameEngine(_threads, _partitioning));
+			return world;
+		}
+	}
+	
+	public static void main(String[] args) {
+		if (args.length < 6 || args.length > 7) {
+			System.err.println("Usage: java DivergenceChecker width height seed frames configA configB [interval]"); //$NON-NLS-1$
+			System.exit(2);
+		}
+		Configuration configA, configB;
+		int width, height, interval = 1;
+		long seed, frames;
+		try {
+			width = Integer.parseInt(args[0]);
+			height = Integer.parseInt(args[1]);
+			seed = Long.parseLong(args[2]);
+			frames = Long.parseLong(args[3]);
+			configA = new Configuration(args[4]);
+			configB = new Configuration(args[5]);
+			if (args.length > 6)
+				interval = Math.max(Integer.parseInt(args[6]), 1);
+		} catch (IllegalArgumentException ex) {
+			System.err.println(ex.getMessage());
+			System.exit(2);
+			return;
+		}
+		
+		Utils.readPreferences();
+		Utils.WORLD_WIDTH = width;
+		Utils.WORLD_HEIGHT = height;
+		Utils.DETERMINISTIC = true;
+		Utils.SEED = seed;
+		World a = configA.createWorld();
+		World b = configB.createWorld();
+		
+		boolean diverged = !compare(a, b, configA, configB, 0, 0);
+		for (long frame = 1; frame <= frames && !diverged; frame++) {
+			a.time();
+			b.time();
+			if (frame % interval == 0 || frame == frames)
+				diverged = !compare(a, b, configA, configB, frame - (frame - 1) % interval, frame);
+		}
+		if (!diverged)
+			System.out.println(String.format("No divergence after %d frames, checksum %016x", //$NON-NLS-1$
+					frames, a.checksum()));
+		a.shutdown();
+		b.shutdown();
+		System.exit(diverged ? 1 : 0);
+	}
+	/**
+	 * Compares two worlds and, if they are different, prints the first
+	 * difference found.
+	 * 
+	 * @param a  The first world.
+	 * @param b  The second world.
+	 * @param configA  The configuration of the first world.
+	 * @param configB  The configuration of the second world.
+	 * @param firstFrame  The first frame executed since the last comparison.
+	 * @param frame  The current frame.
+	 * @return  true if both worlds are equal.
+	 */
+	private static boolean compare(World a, World b, Configuration configA, Configuration configB,
+			long firstFrame, long frame) {
+		if (a.checksum() == b.checksum())
+			return true;
+		if (firstFrame == frame)
+			System.out.println("Divergence at frame " + frame); //$NON-NLS-1$
+		else
+			System.out.println("Divergence between frames " + firstFrame + " and " + frame); //$NON-NLS-1$ //$NON-NLS-2$
+		if (a.getO2() != b.getO2() || a.getCO2() != b.getCO2())
+			System.out.println(String.format("  atmosphere: %s O2 %s CO2 %s, %s O2 %s CO2 %s", //$NON-NLS-1$
+					configA._name, a.getO2(), a.getCO2(), configB._name, b.getO2(), b.getCO2()));
+		List<Organism> la = a.getOrganisms(), lb = b.getOrganisms();
+		int n = Math.min(la.size(), lb.size());
+		for (int i=0; i<n; i++) {
+			Organism oa = la.get(i), ob = lb.get(i);
+			if (oa.checksum() != ob.checksum()) {
+				System.out.println("  first different organism at position " + i + ":"); //$NON-NLS-1$ //$NON-NLS-2$
+				describe(configA, oa);
+				describe(configB, ob);
+				return false;
+			}
+		}
+		if (la.size() != lb.size())
+			System.out.println(String.format("  organisms: %s %d, %s %d", //$NON-NLS-1$
+					configA._name, la.size(), configB._name, lb.size()));
+		return false;
+	}
+	
+	private static void describe(Configuration config, Organism o) {
+		System.out.println(String.format("    %s: id %d alive %b center (%s, %s) theta %s energy %s age %d genes %016x", //$NON-NLS-1$
+				config._name, o.getID(), o.isAlive(), o._dCenterX, o._dCenterY, o._theta,
+				o._energy, o._age, o.getGeneticCode().checksum()));
+	}
+}
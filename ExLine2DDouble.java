@@ -34,18 +34,27 @@ public class ExLine2DDouble extends Line2D.Double {
 	 */
 	public Point2D.Double getIntersection(Double l)
 	{
-		double x,y;
-		double d;
-		double t;
-		d = (l.x1-l.x2)*(y2-y1)+(x2-x1)*(l.y2-l.y1);
-		if (d < Utils.tol) {
+		double t = getIntersection(x1, y1, x2, y2, l.x1, l.y1, l.x2, l.y2);
+		if (java.lang.Double.isNaN(t)) {
 			// Parallel or the same straigh line
 			return new Point2D.Double((x1+x2+l.x1+l.x2)/4d,(y1+y2+l.y1+l.y2)/4d);
 		}
-		t = ((l.x1-x1)*(y2-y1)+(x2-x1)*(y1-l.y1))/d;
-		x = l.x1 + t*(l.x2-l.x1);
-		y = l.y1 + t*(l.y2-l.y1);
-
-		return new Point2D.Double(x,y);
+		return new Point2D.Double(l.x1 + t*(l.x2-l.x1), l.y1 + t*(l.y2-l.y1));
+	}
+	/**
+	 * Finds the intersection of two lines given by their end points, without
+	 * creating any object. The intersection point is
+	 * (lx1 + t*(lx2-lx1), ly1 + t*(ly2-ly1)), where t is the returned value.
+	 * 
+	 * @return  The position t of the intersection point in the second line,
+	 * or NaN if the lines are parallel. In this case, the middle point
+	 * between the two segments should be used.
+	 */
+	public static double getIntersection(double x1, double y1, double x2, double y2,
+			double lx1, double ly1, double lx2, double ly2) {
+		double d = (lx1-lx2)*(y2-y1)+(x2-x1)*(ly2-ly1);
+		if (d < Utils.tol)
+			return java.lang.Double.NaN;
+		return ((lx1-x1)*(y2-y1)+(x2-x1)*(y1-ly1))/d;
 	}
 }
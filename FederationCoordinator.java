@@ -0,0 +1,309 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs one big world divided in tiles, each one simulated by a
+ * {@link FederationNode} in its own Java process on this machine. This
+ * allows to use more memory than a single process can have.
+ * 
+ * Usage: java FederationCoordinator cols rows tileWidth tileHeight seed frames [epoch [reportInterval]]
+ * 
+ * The coordinator starts the processes and talks with them through sockets
+ * bound to the loopback address only. Tiles advance in lockstep: every epoch,
+ * 1 frame by default, all tiles execute the same number of frames, and then
+ * the organisms that have crossed a tile edge are delivered to their new tile
+ * with their position, speed, energy and age. Organisms that touch each other
+ * across an edge don't interact until one of them crosses it. All tiles share
+ * one atmosphere: its total is divided equally among them after every epoch.
+ * 
+ * As every tile is deterministic and the exchanges happen in a fixed order,
+ * two runs with the same arguments print the same checksums.
+ */
+public class FederationCoordinator {
+	public static final int HELLO = 1;
+	public static final int STEP = 2;
+	public static final int STEPPED = 3;
+	public static final int SHUTDOWN = 4;
+	/**
+	 * Time to wait for the processes to connect, in milliseconds.
+	 */
+	private static final int CONNECT_TIMEOUT = 60000;
+	/**
+	 * An organism travelling between tiles, serialized by the tile that it left.
+	 */
+	private static class Migrant {
+		final int _from;
+		final byte[] _data;
+		
+		Migrant(int from, byte[] data) {
+			_from = from;
+			_data = data;
+		}
+	}
+	
+	private final int _cols, _rows, _tileWidth, _tileHeight;
+	private final long _seed;
+	private final int _tiles;
+	private final Process[] _processes;
+	private final Socket[] _sockets;
+	private final DataInputStream[] _in;
+	private final DataOutputStream[] _out;
+	/**
+	 * Organisms that will be delivered to every tile in the next epoch.
+	 */
+	private List<List<Migrant>> _inbox;
+	/**
+	 * The atmosphere of the federated world, or NaN before the first epoch.
+	 */
+	private double _O2 = Double.NaN, _CO2 = Double.NaN;
+	/**
+	 * State of the tiles after the last epoch.
+	 */
+	private long _frame;
+	private int _population, _organisms;
+	private long _checksum;
+	private final int[] _tilePopulation;
+	/**
+	 * Number of organisms that have changed tile since the beginning.
+	 */
+	private int _migrations;
+	
+	public FederationCoordinator(int cols, int rows, int tileWidth, int tileHeight, long seed) {
+		_cols = cols;
+		_rows = rows;
+		_tileWidth = tileWidth;
+		_tileHeight = tileHeight;
+		_seed = seed;
+		_tiles = cols * rows;
+		_processes = new Process[_tiles];
+		_sockets = new Socket[_tiles];
+		_in = new DataInputStream[_tiles];
+		_out = new DataOutputStream[_tiles];
+		_tilePopulation = new int[_tiles];
+		_inbox = newInbox();
+	}
+	
+	public static void main(String[] args) {
+		if (args.length < 6 || args.length > 8) {
+			System.err.println("Usage: java FederationCoordinator cols rows tileWidth tileHeight seed frames [epoch [reportInterval]]"); //$NON-NLS-1$
+			System.exit(2);
+		}
+		int cols, rows, tileWidth, tileHeight, epoch = 1, interval = 100;
+		long seed, frames;
+		try {
+			cols = Integer.parseInt(args[0]);
+			rows = Integer.parseInt(args[1]);
+			tileWidth = Integer.parseInt(args[2]);
+			tileHeight = Integer.parseInt(args[3]);
+			seed = Long.parseLong(args[4]);
+			frames = Long.parseLong(args[5]);
+			if (args.length > 6)
+				epoch = Math.max(Integer.parseInt(args[6]), 1);
+			if (args.length > 7)
+				interval = Integer.parseInt(args[7]);
+		} catch (NumberFormatException ex) {
+			System.err.println(ex.getMessage());
+			System.exit(2);
+			return;
+		}
+		if (cols < 1 || rows < 1) {
+			System.err.println("There must be at least one tile"); //$NON-NLS-1$
+			System.exit(2);
+		}
+		
+		FederationCoordinator coordinator = new FederationCoordinator(cols, rows, tileWidth, tileHeight, seed);
+		try {
+			coordinator.start();
+			long start = System.nanoTime();
+			long lastReport = 0;
+			while (coordinator._frame < frames) {
+				coordinator.epoch((int) Math.min(epoch, frames - coordinator._frame));
+				long frame = coordinator._frame;
+				if ((interval > 0 && frame / interval != lastReport / interval) || frame >= frames) {
+					long now = System.nanoTime();
+					coordinator.report((now - start) / 1e6 / (frame - lastReport));
+					start = now;
+					lastReport = frame;
+				}
+			}
+			coordinator.shutdown();
+		} catch (IOException e) {
+			System.err.println("Federation failed: " + e.getMessage()); //$NON-NLS-1$
+			coordinator.abort();
+			System.exit(1);
+		}
+	}
+	/**
+	 * Starts a process for every tile and waits until all of them are connected.
+	 * 
+	 * @throws IOException  If a process can't be started or doesn't connect in time.
+	 */
+	public void start() throws IOException {
+		ServerSocket server = new ServerSocket(0, _tiles, InetAddress.getLoopbackAddress());
+		try {
+			server.setSoTimeout(CONNECT_TIMEOUT);
+			String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			String classPath = System.getProperty("java.class.path"); //$NON-NLS-1$
+			for (int i=0; i<_tiles; i++) {
+				ProcessBuilder builder = new ProcessBuilder(java, "-cp", classPath, "FederationNode", //$NON-NLS-1$ //$NON-NLS-2$
+						Integer.toString(server.getLocalPort()), Integer.toString(i),
+						Integer.toString(_cols), Integer.toString(_rows),
+						Integer.toString(_tileWidth), Integer.toString(_tileHeight), Long.toString(_seed));
+				builder.inheritIO();
+				_processes[i] = builder.start();
+			}
+			for (int i=0; i<_tiles; i++) {
+				Socket socket = server.accept();
+				socket.setTcpNoDelay(true);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				if (in.readInt() != HELLO)
+					throw new IOException("Unexpected message from a tile"); //$NON-NLS-1$
+				int index = in.readInt();
+				if (index < 0 || index >= _tiles || _sockets[index] != null)
+					throw new IOException("Wrong tile number " + index); //$NON-NLS-1$
+				_sockets[index] = socket;
+				_in[index] = in;
+				_out[index] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			}
+		} finally {
+			server.close();
+		}
+	}
+	/**
+	 * Makes all tiles execute some frames and exchanges the organisms that have
+	 * crossed tile edges and the atmosphere.
+	 * 
+	 * @param frames  The number of frames to execute.
+	 * @throws IOException  If the communication with a tile fails.
+	 */
+	public void epoch(int frames) throws IOException {
+		for (int i=0; i<_tiles; i++) {
+			DataOutputStream out = _out[i];
+			out.writeInt(STEP);
+			out.writeInt(frames);
+			boolean shareAtmosphere = !Double.isNaN(_O2);
+			out.writeBoolean(shareAtmosphere);
+			if (shareAtmosphere) {
+				out.writeDouble(_O2 / _tiles);
+				out.writeDouble(_CO2 / _tiles);
+			}
+			List<Migrant> arrivals = _inbox.get(i);
+			out.writeInt(arrivals.size());
+			for (Migrant m : arrivals) {
+				out.writeInt(m._from);
+				out.writeInt(m._data.length);
+				out.write(m._data);
+			}
+			out.flush();
+		}
+		// Tiles work at the same time while the answers are read in order
+		List<List<Migrant>> inbox = newInbox();
+		double O2 = 0, CO2 = 0;
+		_population = _organisms = 0;
+		_checksum = 1;
+		for (int i=0; i<_tiles; i++) {
+			DataInputStream in = _in[i];
+			if (in.readInt() != STEPPED)
+				throw new IOException("Unexpected answer from tile " + i); //$NON-NLS-1$
+			_frame = in.readLong();
+			_tilePopulation[i] = in.readInt();
+			_population += _tilePopulation[i];
+			_organisms += in.readInt();
+			O2 += in.readDouble();
+			CO2 += in.readDouble();
+			_checksum = _checksum * 1000003 + in.readLong();
+			int departures = in.readInt();
+			for (int j=0; j<departures; j++) {
+				int to = in.readInt();
+				if (to < 0 || to >= _tiles)
+					throw new IOException("Wrong tile number " + to); //$NON-NLS-1$
+				byte[] data = new byte[in.readInt()];
+				in.readFully(data);
+				inbox.get(to).add(new Migrant(i, data));
+			}
+			_migrations += departures;
+		}
+		_inbox = inbox;
+		_O2 = O2;
+		_CO2 = CO2;
+	}
+	
+	private List<List<Migrant>> newInbox() {
+		List<List<Migrant>> inbox = new ArrayList<List<Migrant>>(_tiles);
+		for (int i=0; i<_tiles; i++)
+			inbox.add(new ArrayList<Migrant>());
+		return inbox;
+	}
+	
+	private void report(double millisPerFrame) {
+		StringBuilder tiles = new StringBuilder();
+		for (int i=0; i<_tiles; i++) {
+			if (i > 0)
+				tiles.append(' ');
+			tiles.append(_tilePopulation[i]);
+		}
+		System.out.println(String.format("frame %d population %d [%s] organisms %d migrations %d O2 %.1f CO2 %.1f %.3f ms/frame checksum %016x", //$NON-NLS-1$
+				_frame, _population, tiles, _organisms, _migrations, _O2, _CO2, millisPerFrame, _checksum));
+	}
+	/**
+	 * Tells all tiles to finish and waits for their processes.
+	 * 
+	 * @throws IOException  If the communication with a tile fails.
+	 */
+	public void shutdown() throws IOException {
+		for (int i=0; i<_tiles; i++) {
+			_out[i].writeInt(SHUTDOWN);
+			_out[i].flush();
+		}
+		for (int i=0; i<_tiles; i++) {
+			try {
+				_processes[i].waitFor();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			_sockets[i].close();
+		}
+	}
+	/**
+	 * Kills all processes after an error.
+	 */
+	public void abort() {
+		for (int i=0; i<_tiles; i++) {
+			if (_sockets[i] != null) {
+				try {
+					_sockets[i].close();
+				} catch (IOException e) {
+					// Already closed
+				}
+			}
+			if (_processes[i] != null)
+				_processes[i].destroy();
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulates one tile of a federated world in its own process. It is started
+ * and driven by {@link FederationCoordinator} and is not meant to be run by hand.
+ * 
+ * Usage: java FederationNode port index cols rows tileWidth tileHeight seed
+ * 
+ * The tile is a normal world whose edges shared with other tiles are open.
+ * Organisms whose center crosses one of them are taken out of the world and
+ * sent, with all their state, to the coordinator, who gives them to the tile
+ * where they have arrived. Arriving organisms wait until their place is free.
+ */
+public class FederationNode {
+	private final int _index;
+	private final int _cols, _rows;
+	private final int _tileWidth, _tileHeight;
+	private final World _world;
+	/**
+	 * Organisms that have arrived from other tiles and haven't found a free place yet.
+	 */
+	private final List<Organism> _waiting = new ArrayList<Organism>();
+	private final List<Organism> _emigrants = new ArrayList<Organism>();
+	/**
+	 * Organisms that have left the tile in the current step, already serialized,
+	 * and the tiles where they are going.
+	 */
+	private final List<byte[]> _outgoing = new ArrayList<byte[]>();
+	private final List<Integer> _destinations = new ArrayList<Integer>();
+	
+	public FederationNode(int index, int cols, int rows, int tileWidth, int tileHeight) {
+		_index = index;
+		_cols = cols;
+		_rows = rows;
+		_tileWidth = tileWidth;
+		_tileHeight = tileHeight;
+		_world = new World(new NullWorldView());
+		int col = index % cols, row = index / cols;
+		int edges = 0;
+		if (col > 0)
+			edges |= World.EDGE_LEFT;
+		if (col < cols - 1)
+			edges |= World.EDGE_RIGHT;
+		if (row > 0)
+			edges |= World.EDGE_TOP;
+		if (row < rows - 1)
+			edges |= World.EDGE_BOTTOM;
+		_world.setOpenEdges(edges);
+		// Organisms keep their number when they change tile
+		_world.setIdSequence(index, cols * rows);
+		_world.genesis();
+	}
+	
+	public static void main(String[] args) {
+		if (args.length != 7) {
+			System.err.println("Usage: java FederationNode port index cols rows tileWidth tileHeight seed"); //$NON-NLS-1$
+			System.exit(2);
+		}
+		int port, index, cols, rows, tileWidth, tileHeight;
+		long seed;
+		try {
+			port = Integer.parseInt(args[0]);
+			index = Integer.parseInt(args[1]);
+			cols = Integer.parseInt(args[2]);
+			rows = Integer.parseInt(args[3]);
+			tileWidth = Integer.parseInt(args[4]);
+			tileHeight = Integer.parseInt(args[5]);
+			seed = Long.parseLong(args[6]);
+		} catch (NumberFormatException ex) {
+			System.err.println(ex.getMessage());
+			System.exit(2);
+			return;
+		}
+		
+		Utils.readPreferences();
+		Utils.WORLD_WIDTH = tileWidth;
+		Utils.WORLD_HEIGHT = tileHeight;
+		// Every tile starts with different organisms
+		Utils.DETERMINISTIC = true;
+		Utils.SEED = seed + index;
+		Utils.random.setSeed(seed + index);
+		
+		FederationNode node = new FederationNode(index, cols, rows, tileWidth, tileHeight);
+		try {
+			node.run(port);
+		} catch (IOException e) {
+			System.err.println("Tile " + index + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+			System.exit(1);
+		} finally {
+			node._world.shutdown();
+		}
+	}
+	/**
+	 * Connects to the coordinator and executes its orders until it asks
+	 * to finish.
+	 * 
+	 * @param port  The port where the coordinator listens, on this machine.
+	 * @throws IOException  If the connection with the coordinator fails.
+	 */
+	public void run(int port) throws IOException {
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+		try {
+			socket.setTcpNoDelay(true);
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeInt(FederationCoordinator.HELLO);
+			out.writeInt(_index);
+			out.flush();
+			for (;;) {
+				int message = in.readInt();
+				if (message == FederationCoordinator.STEP)
+					step(in, out);
+				else if (message == FederationCoordinator.SHUTDOWN)
+					return;
+				else
+					throw new IOException("Unknown message " + message); //$NON-NLS-1$
+			}
+		} finally {
+			socket.close();
+		}
+	}
+	/**
+	 * Receives the organisms that have arrived from other tiles and the atmosphere,
+	 * executes the requested frames and answers with the state of the tile and
+	 * the organisms that have left it.
+	 */
+	private void step(DataInputStream in, DataOutputStream out) throws IOException {
+		int frames = in.readInt();
+		if (in.readBoolean())
+			_world.setAtmosphere(in.readDouble(), in.readDouble());
+		int arrivals = in.readInt();
+		for (int i=0; i<arrivals; i++) {
+			int from = in.readInt();
+			byte[] data = new byte[in.readInt()];
+			in.readFully(data);
+			Organism org = unpack(data);
+			org.moveToWorld(_world, originX(from) - originX(_index), originY(from) - originY(_index));
+			_waiting.add(org);
+		}
+		
+		for (int f=0; f<frames; f++) {
+			for (int i=0; i<_waiting.size(); i++)
+				if (_world.addImmigrant(_waiting.get(i)))
+					_waiting.remove(i--);
+			_world.time();
+			_world.takeEmigrants(_emigrants);
+			for (Organism org : _emigrants) {
+				_destinations.add(tileAt(org._dCenterX + originX(_index), org._dCenterY + originY(_index)));
+				_outgoing.add(pack(org));
+			}
+			_emigrants.clear();
+		}
+		
+		out.writeInt(FederationCoordinator.STEPPED);
+		out.writeLong(_world.getFrame());
+		out.writeInt(_world.getPopulation());
+		out.writeInt(_world.getOrganisms().size() + _waiting.size());
+		out.writeDouble(_world.getO2() - _world.getO2Deficit());
+		out.writeDouble(_world.getCO2() - _world.getCO2Deficit());
+		out.writeLong(_world.checksum());
+		out.writeInt(_outgoing.size());
+		for (int i=0; i<_outgoing.size(); i++) {
+			out.writeInt(_destinations.get(i));
+			out.writeInt(_outgoing.get(i).length);
+			out.write(_outgoing.get(i));
+		}
+		out.flush();
+		_outgoing.clear();
+		_destinations.clear();
+	}
+	
+	private int originX(int tile) {
+		return (tile % _cols) * _tileWidth;
+	}
+	
+	private int originY(int tile) {
+		return (tile / _cols) * _tileHeight;
+	}
+	/**
+	 * Returns the tile that contains a point of the federated world.
+	 */
+	private int tileAt(double x, double y) {
+		int col = Utils.between((int) Math.floor(x / _tileWidth), 0, _cols - 1);
+		int row = Utils.between((int) Math.floor(y / _tileHeight), 0, _rows - 1);
+		return row * _cols + col;
+	}
+	/**
+	 * Serializes an organism without the world it belongs to.
+	 */
+	private static byte[] pack(Organism org) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new WorldlessOutputStream(bytes);
+		out.writeObject(org);
+		out.close();
+		return bytes.toByteArray();
+	}
+	
+	private static Organism unpack(byte[] data) throws IOException {
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+		try {
+			return (Organism) in.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e.getMessage());
+		} finally {
+			in.close();
+		}
+	}
+	/**
+	 * An object stream that writes references to worlds as null.
+	 */
+	private static class WorldlessOutputStream extends ObjectOutputStream {
+		public WorldlessOutputStream(OutputStream out) throws IOException {
+			super(out);
+			enableReplaceObject(true);
+		}
+		
+		@Override
+		protected Object replaceObject(Object obj) {
+			return obj instanceof World ? null : obj;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+/**
+ * Moves all organisms in the world during a frame. Implementations
+ * decide how the work is distributed, but the result of a frame must
+ * be applied to the world in the same order as the list of organisms.
+ */
+public interface FrameEngine {
+	/**
+	 * Moves all organisms in the world once. The list of organisms is
+	 * locked by the caller. Organisms with no energy left are removed from
+	 * the world.
+	 * 
+	 * @param world  The world whose organisms must be moved.
+	 */
+	public void frame(World world);
+	/**
+	 * Returns the number of threads used by this engine.
+	 * 
+	 * @return  The number of threads, 1 for serial engines.
+	 */
+	public int getThreads();
+	/**
+	 * Frees the resources used by this engine. It won't be used again.
+	 */
+	public void shutdown();
+}
@@ -0,0 +1,208 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+/**
+ * Decides when the simulation thread executes frames and when it publishes
+ * them to be drawn, following {@link Utils#PACING_MODE}, and measures what
+ * the simulation actually achieves.
+ * 
+ * Measures are taken with {@link System#nanoTime} and averaged over periods
+ * of one second: executed frames per second, milliseconds spent executing a
+ * frame, and milliseconds spent drawing, that includes publishing the render
+ * snapshot and painting it.
+ * 
+ * Methods are synchronized because the painting time is informed from the
+ * event dispatch thread.
+ */
+public class FramePacer {
+	/**
+	 * Length of the period used to average measures, in nanoseconds.
+	 */
+	private static final long MEASURE_PERIOD = 1000000000L;
+	/**
+	 * The moment when the current frame started.
+	 */
+	private long _frameStart;
+	/**
+	 * The moment when the world was published to be drawn for the last time.
+	 */
+	private long _lastRender;
+	/**
+	 * With {@link Utils#PACING_BUDGET}, the moment when the current drawing
+	 * period started.
+	 */
+	private long _periodStart;
+	/**
+	 * Number of frames executed since the world was drawn for the last time.
+	 */
+	private int _framesSinceRender = 0;
+	/*
+	 * Accumulated values in the current measure period.
+	 */
+	private long _measureStart;
+	private int _measureFrames = 0;
+	private long _measureSimNanos = 0;
+	private int _measureRenders = 0;
+	private long _measureRenderNanos = 0;
+	/*
+	 * Measures of the last complete period.
+	 */
+	private double _framesPerSecond = 0;
+	private double _simulationMillis = 0;
+	private double _renderMillis = 0;
+	
+	public FramePacer() {
+		long now = System.nanoTime();
+		_frameStart = now;
+		_lastRender = now;
+		_periodStart = now;
+		_measureStart = now;
+	}
+	/**
+	 * Informs that the simulation thread starts a new iteration.
+	 * 
+	 * @param now  The current value of {@link System#nanoTime}.
+	 */
+	public synchronized void frameStarted(long now) {
+		_frameStart = now;
+	}
+	/**
+	 * Informs that a frame has been executed.
+	 * 
+	 * @param start  The moment when the frame started.
+	 * @param end  The moment when the frame ended.
+	 */
+	public synchronized void frameExecuted(long start, long end) {
+		_framesSinceRender++;
+		_measureFrames++;
+		_measureSimNanos += end - start;
+		updateMeasures(end);
+	}
+	/**
+	 * Checks if the world must be published to be drawn after the frame that
+	 * has just been executed.
+	 * 
+	 * @param now  The current value of {@link System#nanoTime}.
+	 * @return  true if the world must be drawn now.
+	 */
+	public synchronized boolean isRenderDue(long now) {
+		switch (Utils.PACING_MODE) {
+		case Utils.PACING_MAX_THROUGHPUT:
+			return now - _lastRender >= getRenderPeriod();
+		case Utils.PACING_BUDGET:
+			return now - _periodStart >= Math.max(Utils.FRAME_BUDGET, 0) * 1000000L;
+		default:
+			return true;
+		}
+	}
+	/**
+	 * Informs that the world has been published to be drawn.
+	 * 
+	 * @param start  The moment when publishing started.
+	 * @param end  The moment when publishing ended.
+	 * @return  The number of frames executed since the last time that the
+	 * world was published.
+	 */
+	public synchronized int rendered(long start, long end) {
+		int frames = _framesSinceRender;
+		_framesSinceRender = 0;
+		_lastRender = start;
+		_measureRenders++;
+		_measureRenderNanos += end - start;
+		updateMeasures(end);
+		return frames;
+	}
+	/**
+	 * Informs of the time spent painting the world in the event dispatch thread.
+	 * 
+	 * @param nanos  Nanoseconds spent painting.
+	 */
+	public synchronized void painted(long nanos) {
+		_measureRenderNanos += nanos;
+	}
+	/**
+	 * Calculates how long the simulation thread must wait before starting
+	 * the next frame.
+	 * 
+	 * @param now  The current value of {@link System#nanoTime}.
+	 * @param active  true if the simulation is running, false if it is paused.
+	 * @return  The number of nanoseconds to wait, that may be zero or negative
+	 * if the next frame is due.
+	 */
+	public synchronized long getWaitTime(long now, boolean active) {
+		if (!active)
+			// Look for changes made by the user once per drawing period
+			return Math.max(_lastRender, _frameStart) + getRenderPeriod() - now;
+		switch (Utils.PACING_MODE) {
+		case Utils.PACING_MAX_THROUGHPUT:
+			return 0;
+		case Utils.PACING_BUDGET:
+			if (_framesSinceRender > 0)
+				// There is time left in the budget of this drawing period
+				return 0;
+			// Wait until the next drawing period
+			long wait = _periodStart + getRenderPeriod() - now;
+			_periodStart = Math.max(_periodStart + getRenderPeriod(), now);
+			return wait;
+		default:
+			return _frameStart + Math.max(Utils.DELAY, 1) * 1000000L - now;
+		}
+	}
+	/**
+	 * Returns the number of frames executed per second.
+	 * 
+	 * @return  The measured frames per second.
+	 */
+	public synchronized double getFramesPerSecond() {
+		return _framesPerSecond;
+	}
+	/**
+	 * Returns the average time spent executing a frame.
+	 * 
+	 * @return  The measured milliseconds per frame.
+	 */
+	public synchronized double getSimulationMillis() {
+		return _simulationMillis;
+	}
+	/**
+	 * Returns the average time spent drawing the world, including
+	 * publishing it and painting it.
+	 * 
+	 * @return  The measured milliseconds per drawing.
+	 */
+	public synchronized double getRenderMillis() {
+		return _renderMillis;
+	}
+	
+	private long getRenderPeriod() {
+		return 1000000000L / Math.max(Utils.RENDER_FPS, 1);
+	}
+	
+	private void updateMeasures(long now) {
+		long elapsed = now - _measureStart;
+		if (elapsed < MEASURE_PERIOD)
+			return;
+		_framesPerSecond = _measureFrames * 1e9 / elapsed;
+		_simulationMillis = _measureFrames > 0 ? _measureSimNanos / 1e6 / _measureFrames : 0;
+		_renderMillis = _measureRenders > 0 ? _measureRenderNanos / 1e6 / _measureRenders : 0;
+		_measureStart = now;
+		_measureFrames = 0;
+		_measureSimNanos = 0;
+		_measureRenders = 0;
+		_measureRenderNanos = 0;
+	}
+}
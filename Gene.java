@@ -516,6 +516,141 @@ public class Gene implements Cloneable, Serializable {
 		randomizefriendReaction();
 	}
 
+	/**
+	 * Reads a gene from a world snapshot.
+	 * 
+	 * @param in  The snapshot being read.
+	 * @throws IOException
+	 */
+	Gene(WorldSnapshot.Input in) throws IOException {
+		_length = in.readDouble();
+		_theta = in.readDouble();
+		_color = in.readColor();
+		_branch = in.readInt();
+		_redreaction = in.readInt();
+		_greenreaction = in.readInt();
+		_bluereaction = in.readInt();
+		_plagueReaction = in.readInt();
+		_whitereaction = in.readInt();
+		_grayreaction = in.readInt();
+		_defaultReaction = in.readInt();
+		_magentareaction = in.readInt();
+		_pinkreaction = in.readInt();
+		_coralreaction = in.readInt();
+		_orangereaction = in.readInt();
+		_barkreaction = in.readInt();
+		_violetreaction = in.readInt();
+		_virusreaction = in.readInt();
+		_maroonreaction = in.readInt();
+		_olivereaction = in.readInt();
+		_mintreaction = in.readInt();
+		_creamreaction = in.readInt();
+		_spikereaction = in.readInt();
+		_spikepointreaction = in.readInt();
+		_lightbluereaction = in.readInt();
+		_ochrereaction = in.readInt();
+		_skyreaction = in.readInt();
+		_lilacreaction = in.readInt();
+		_silverreaction = in.readInt();
+		_firereaction = in.readInt();
+		_lightbrownreaction = in.readInt();
+		_greenbrownreaction = in.readInt();
+		_brownreaction = in.readInt();
+		_icereaction = in.readInt();
+		_sickreaction = in.readInt();
+		_friendreaction = in.readInt();
+	}
+
+	/**
+	 * Writes this gene to a world snapshot. See {@link WorldSnapshot}.
+	 * 
+	 * @param out  The snapshot being written.
+	 * @throws IOException
+	 */
+	void writeSnapshot(WorldSnapshot.Output out) throws IOException {
+		out.writeDouble(_length);
+		out.writeDouble(_theta);
+		out.writeColor(_color);
+		out.writeInt(_branch);
+		out.writeInt(_redreaction);
+		out.writeInt(_greenreaction);
+		out.writeInt(_bluereaction);
+		out.writeInt(_plagueReaction);
+		out.writeInt(_whitereaction);
+		out.writeInt(_grayreaction);
+		out.writeInt(_defaultReaction);
+		out.writeInt(_magentareaction);
+		out.writeInt(_pinkreaction);
+		out.writeInt(_coralreaction);
+		out.writeInt(_orangereaction);
+		out.writeInt(_barkreaction);
+		out.writeInt(_violetreaction);
+		out.writeInt(_virusreaction);
+		out.writeInt(_maroonreaction);
+		out.writeInt(_olivereaction);
+		out.writeInt(_mintreaction);
+		out.writeInt(_creamreaction);
+		out.writeInt(_spikereaction);
+		out.writeInt(_spikepointreaction);
+		out.writeInt(_lightbluereaction);
+		out.writeInt(_ochrereaction);
+		out.writeInt(_skyreaction);
+		out.writeInt(_lilacreaction);
+		out.writeInt(_silverreaction);
+		out.writeInt(_firereaction);
+		out.writeInt(_lightbrownreaction);
+		out.writeInt(_greenbrownreaction);
+		out.writeInt(_brownreaction);
+		out.writeInt(_icereaction);
+		out.writeInt(_sickreaction);
+		out.writeInt(_friendreaction);
+	}
+
+	/**
+	 * Calculates a hash of all the values of this gene. Two genes with the
+	 * same values have the same checksum. Used by {@link World#checksum}.
+	 * 
+	 * @return  The checksum of this gene.
+	 */
+	public long checksum() {
+		long h = Double.doubleToLongBits(_length);
+		h = h * 31 + Double.doubleToLongBits(_theta);
+		h = h * 31 + (_color != null ? _color.getRGB() : 0);
+		h = h * 31 + _branch;
+		h = h * 31 + _redreaction;
+		h = h * 31 + _greenreaction;
+		h = h * 31 + _bluereaction;
+		h = h * 31 + _plagueReaction;
+		h = h * 31 + _whitereaction;
+		h = h * 31 + _grayreaction;
+		h = h * 31 + _defaultReaction;
+		h = h * 31 + _magentareaction;
+		h = h * 31 + _pinkreaction;
+		h = h * 31 + _coralreaction;
+		h = h * 31 + _orangereaction;
+		h = h * 31 + _barkreaction;
+		h = h * 31 + _violetreaction;
+		h = h * 31 + _virusreaction;
+		h = h * 31 + _maroonreaction;
+		h = h * 31 + _olivereaction;
+		h = h * 31 + _mintreaction;
+		h = h * 31 + _creamreaction;
+		h = h * 31 + _spikereaction;
+		h = h * 31 + _spikepointreaction;
+		h = h * 31 + _lightbluereaction;
+		h = h * 31 + _ochrereaction;
+		h = h * 31 + _skyreaction;
+		h = h * 31 + _lilacreaction;
+		h = h * 31 + _firereaction;
+		h = h * 31 + _silverreaction;
+		h = h * 31 + _lightbrownreaction;
+		h = h * 31 + _greenbrownreaction;
+		h = h * 31 + _brownreaction;
+		h = h * 31 + _icereaction;
+		h = h * 31 + _sickreaction;
+		h = h * 31 + _friendreaction;
+		return h;
+	}
 	/**
 	 * Return an exact copy of this gene.
 	 */
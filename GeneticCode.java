@@ -154,6 +154,11 @@ public class GeneticCode implements Cloneable, Serializable {
 	 * At the moment, this is the same for all organisms.
 	 */
 	protected int _max_age;
+	/**
+	 * Body plan of the organisms with this genetic code, created the first time
+	 * that it is needed and shared with unmutated descendants.
+	 */
+	transient private BodyPlan _bodyPlan;
 	// Getters
 	/**
 	 * Returns the symmetry applied to organisms with this genetic code
@@ -325,6 +330,84 @@ public class GeneticCode implements Cloneable, Serializable {
 	public int getNGenes() {
 		return _genes.length;
 	}
+	/**
+	 * Calculates a hash of this genetic code: its genes and all its
+	 * characteristics. Two equal genetic codes have the same checksum.
+	 * Used by {@link World#checksum}.
+	 * 
+	 * @return  The checksum of this genetic code.
+	 */
+	public long checksum() {
+		long h = _symmetry;
+		h = h * 31 + _mirror;
+		h = h * 31 + _reproduceEnergy;
+		h = h * 31 + _max_age;
+		int flags = 0;
+		flags = (flags << 1) | (_plague ? 1 : 0);
+		flags = (flags << 1) | (_disperseChildren ? 1 : 0);
+		flags = (flags << 1) | (_generationBattle ? 1 : 0);
+		flags = (flags << 1) | (_siblingBattle ? 1 : 0);
+		flags = (flags << 1) | (_altruist ? 1 : 0);
+		flags = (flags << 1) | (_familial ? 1 : 0);
+		flags = (flags << 1) | (_social ? 1 : 0);
+		flags = (flags << 1) | (_peaceful ? 1 : 0);
+		flags = (flags << 1) | (_passive ? 1 : 0);
+		flags = (flags << 1) | (_clockwise ? 1 : 0);
+		flags = (flags << 1) | (_mimicall ? 1 : 0);
+		flags = (flags << 1) | (_modifiespink ? 1 : 0);
+		flags = (flags << 1) | (_modifiescream ? 1 : 0);
+		flags = (flags << 1) | (_modifieslilac ? 1 : 0);
+		flags = (flags << 1) | (_selfish ? 1 : 0);
+		h = h * 31 + flags;
+		for (int i=0; i<_genes.length; i++)
+			h = h * 31 + _genes[i].checksum();
+		return h;
+	}
+	/**
+	 * Writes this genetic code to a world snapshot. See {@link WorldSnapshot}.
+	 * 
+	 * @param out  The snapshot being written.
+	 * @throws IOException
+	 */
+	void writeSnapshot(WorldSnapshot.Output out) throws IOException {
+		out.writeInt(_symmetry);
+		out.writeInt(_mirror);
+		out.writeInt(_reproduceEnergy);
+		out.writeInt(_max_age);
+		int flags = 0;
+		flags = (flags << 1) | (_plague ? 1 : 0);
+		flags = (flags << 1) | (_disperseChildren ? 1 : 0);
+		flags = (flags << 1) | (_generationBattle ? 1 : 0);
+		flags = (flags << 1) | (_siblingBattle ? 1 : 0);
+		flags = (flags << 1) | (_altruist ? 1 : 0);
+		flags = (flags << 1) | (_familial ? 1 : 0);
+		flags = (flags << 1) | (_social ? 1 : 0);
+		flags = (flags << 1) | (_peaceful ? 1 : 0);
+		flags = (flags << 1) | (_passive ? 1 : 0);
+		flags = (flags << 1) | (_clockwise ? 1 : 0);
+		flags = (flags << 1) | (_mimicall ? 1 : 0);
+		flags = (flags << 1) | (_modifiespink ? 1 : 0);
+		flags = (flags << 1) | (_modifiescream ? 1 : 0);
+		flags = (flags << 1) | (_modifieslilac ? 1 : 0);
+		flags = (flags << 1) | (_selfish ? 1 : 0);
+		out.writeInt(flags);
+		out.writeInt(_genes.length);
+		for (int i=0; i<_genes.length; i++)
+			_genes[i].writeSnapshot(out);
+	}
+	/**
+	 * Returns the body plan of the organisms with this genetic code.
+	 * 
+	 * @return  The shared body plan of this code.
+	 */
+	public BodyPlan getBodyPlan() {
+		BodyPlan bodyPlan = _bodyPlan;
+		if (bodyPlan == null) {
+			bodyPlan = new BodyPlan(this);
+			_bodyPlan = bodyPlan;
+		}
+		return bodyPlan;
+	}
 	/**
 	 * Gives mirror a random value (0 or 1)
 	 */
@@ -550,6 +633,40 @@ public class GeneticCode implements Cloneable, Serializable {
 		_selfish = selfish;
 		calculateReproduceEnergy();
 	}
+	/**
+	 * Reads a genetic code from a world snapshot.
+	 * 
+	 * @param in  The snapshot being read.
+	 * @throws IOException
+	 */
+	GeneticCode(WorldSnapshot.Input in) throws IOException {
+		_symmetry = in.readInt();
+		_mirror = in.readInt();
+		_reproduceEnergy = in.readInt();
+		_max_age = in.readInt();
+		int flags = in.readInt();
+		_plague = (flags & (1 << 14)) != 0;
+		_disperseChildren = (flags & (1 << 13)) != 0;
+		_generationBattle = (flags & (1 << 12)) != 0;
+		_siblingBattle = (flags & (1 << 11)) != 0;
+		_altruist = (flags & (1 << 10)) != 0;
+		_familial = (flags & (1 << 9)) != 0;
+		_social = (flags & (1 << 8)) != 0;
+		_peaceful = (flags & (1 << 7)) != 0;
+		_passive = (flags & (1 << 6)) != 0;
+		_clockwise = (flags & (1 << 5)) != 0;
+		_mimicall = (flags & (1 << 4)) != 0;
+		_modifiespink = (flags & (1 << 3)) != 0;
+		_modifiescream = (flags & (1 << 2)) != 0;
+		_modifieslilac = (flags & (1 << 1)) != 0;
+		_selfish = (flags & 1) != 0;
+		int nGenes = in.readInt();
+		if (nGenes < 0 || nGenes > MAX_SEGMENTS)
+			throw new IOException("Wrong number of genes: "+nGenes); //$NON-NLS-1$
+		_genes = new Gene[nGenes];
+		for (int i=0; i<nGenes; i++)
+			_genes[i] = new Gene(in);
+	}
 	/**
 	 * Creates a new genetic code based on the father genetic code but
 	 * applying random mutations to it.
@@ -968,6 +1085,14 @@ public class GeneticCode implements Cloneable, Serializable {
 			_selfish = parentCode.getSelfish();
 		calculateReproduceEnergy();
 		calculateMaxAge();
+		// Genes that don't mutate are shared with the parent, so if no gene
+		// has changed the body is the same as the parent's one.
+		if (_mirror == parentCode._mirror && _symmetry == parentCode._symmetry
+				&& _genes.length == parentCode._genes.length) {
+			for (i=0; i<_genes.length && _genes[i] == parentCode._genes[i]; i++);
+			if (i == _genes.length)
+				_bodyPlan = parentCode._bodyPlan;
+		}
 	}
 
 	/* (non-Javadoc)
@@ -978,6 +1103,8 @@ public class GeneticCode implements Cloneable, Serializable {
 		GeneticCode newCode = null;
 		try {
 			newCode = (GeneticCode) super.clone();
+			// Genes of the copy may be modified
+			newCode._bodyPlan = null;
 			newCode._genes = new Gene[_genes.length];
 			for (int i=0; i<_genes.length; i++)
 				newCode._genes[i] = (Gene) _genes[i].clone();
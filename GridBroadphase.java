@@ -0,0 +1,248 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid that divides the world in square cells and keeps track of
+ * the organisms that are in each cell. As the world has a fixed size and
+ * organisms have a limited size, this is faster than a general purpose tree.
+ * 
+ * Every organism in the grid is assigned a slot. The bounds of the organisms
+ * are kept in arrays indexed by slot and every cell is an array of slots,
+ * so queries don't allocate any object. An organism whose bounds cover
+ * several cells is stored in all of them.
+ * 
+ * The grid is updated every time an organism changes its bounding rectangle,
+ * so it always reflects the actual position of the organisms.
+ */
+public class GridBroadphase implements Broadphase {
+	/**
+	 * Side of a cell. It is similar to the size of a typical organism,
+	 * so most organisms are only in one to four cells.
+	 */
+	public static final int CELL_SIZE = 64;
+	private final int _cols;
+	private final int _rows;
+	/**
+	 * Slots in every cell.
+	 */
+	private final int[][] _cellSlots;
+	/**
+	 * Number of slots used in every cell.
+	 */
+	private final int[] _cellCount;
+	/**
+	 * Organism in every slot, or null if the slot is free.
+	 */
+	private Organism[] _organisms = new Organism[256];
+	/**
+	 * Bounding rectangle of the organism in every slot, as it was
+	 * when it was last inserted or updated.
+	 */
+	private int[] _minX = new int[256];
+	private int[] _minY = new int[256];
+	private int[] _maxX = new int[256];
+	private int[] _maxY = new int[256];
+	/**
+	 * Slots that have been freed and can be reused.
+	 */
+	private int[] _freeSlots = new int[256];
+	private int _nFreeSlots = 0;
+	/**
+	 * Number of slots that have been used at least once.
+	 */
+	private int _nSlots = 0;
+	
+	/**
+	 * Creates an empty grid that covers a world of the given size.
+	 * 
+	 * @param width  The width of the world.
+	 * @param height  The height of the world.
+	 */
+	public GridBroadphase(int width, int height) {
+		_cols = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+		_rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+		_cellSlots = new int[_cols * _rows][4];
+		_cellCount = new int[_cols * _rows];
+	}
+	
+	@Override
+	public void frameStarted(List<Organism> organisms) {
+		// Always up to date
+	}
+	
+	@Override
+	public void insert(Organism org) {
+		if (org._indexed)
+			return;
+		int slot;
+		if (_nFreeSlots > 0) {
+			slot = _freeSlots[--_nFreeSlots];
+		} else {
+			if (_nSlots == _organisms.length)
+				ensureSlots(_nSlots * 2);
+			slot = _nSlots++;
+		}
+		_organisms[slot] = org;
+		_minX[slot] = org.x;
+		_minY[slot] = org.y;
+		_maxX[slot] = org.x + org.width;
+		_maxY[slot] = org.y + org.height;
+		org._broadphaseSlot = slot;
+		org._indexed = true;
+		addToCells(slot);
+	}
+	
+	@Override
+	public void insertAll(List<Organism> organisms) {
+		// Slots are only allocated once
+		ensureSlots(_nSlots + organisms.size());
+		for (Organism o : organisms)
+			insert(o);
+	}
+	
+	private void ensureSlots(int n) {
+		if (n > _organisms.length) {
+			_organisms = Arrays.copyOf(_organisms, n);
+			_minX = Arrays.copyOf(_minX, n);
+			_minY = Arrays.copyOf(_minY, n);
+			_maxX = Arrays.copyOf(_maxX, n);
+			_maxY = Arrays.copyOf(_maxY, n);
+			_freeSlots = Arrays.copyOf(_freeSlots, n);
+		}
+	}
+	
+	@Override
+	public void remove(Organism org) {
+		if (!org._indexed)
+			return;
+		int slot = org._broadphaseSlot;
+		removeFromCells(slot);
+		_organisms[slot] = null;
+		_freeSlots[_nFreeSlots++] = slot;
+		org._indexed = false;
+	}
+	
+	@Override
+	public void update(Organism org) {
+		if (!org._indexed)
+			return;
+		int slot = org._broadphaseSlot;
+		int minX = org.x, minY = org.y;
+		int maxX = org.x + org.width, maxY = org.y + org.height;
+		boolean sameCells = col(minX) == col(_minX[slot]) && row(minY) == row(_minY[slot])
+				&& col(maxX) == col(_maxX[slot]) && row(maxY) == row(_maxY[slot]);
+		if (!sameCells)
+			removeFromCells(slot);
+		_minX[slot] = minX;
+		_minY[slot] = minY;
+		_maxX[slot] = maxX;
+		_maxY[slot] = maxY;
+		if (!sameCells)
+			addToCells(slot);
+	}
+	
+	@Override
+	public void clear() {
+		for (int i=0; i<_nSlots; i++) {
+			if (_organisms[i] != null) {
+				_organisms[i]._indexed = false;
+				_organisms[i] = null;
+			}
+		}
+		Arrays.fill(_cellCount, 0);
+		_nSlots = 0;
+		_nFreeSlots = 0;
+	}
+	
+	@Override
+	public Organism findHit(Organism org, boolean strict) {
+		int minX = org.x, minY = org.y;
+		int maxX = org.x + org.width, maxY = org.y + org.height;
+		int col0 = col(minX), col1 = col(maxX);
+		int row0 = row(minY), row1 = row(maxY);
+		Organism hit = null;
+		for (int r=row0; r<=row1; r++) {
+			for (int c=col0; c<=col1; c++) {
+				int cell = r*_cols + c;
+				int[] slots = _cellSlots[cell];
+				for (int i=0, n=_cellCount[cell]; i<n; i++) {
+					int s = slots[i];
+					Organism other = _organisms[s];
+					if (other == org || (hit != null && other._ID >= hit._ID))
+						continue;
+					/* An organism can be in several cells. Only consider it in
+					 * the first cell shared with the query, so it is checked once.
+					 */
+					if (c != Math.max(col0, col(_minX[s])) || r != Math.max(row0, row(_minY[s])))
+						continue;
+					if (strict) {
+						if (org.intersects(other))
+							hit = other;
+					} else if (minX <= _maxX[s] && _minX[s] <= maxX
+							&& minY <= _maxY[s] && _minY[s] <= maxY)
+						hit = other;
+				}
+			}
+		}
+		return hit;
+	}
+	
+	private int col(int x) {
+		return Utils.between(x / CELL_SIZE, 0, _cols - 1);
+	}
+	
+	private int row(int y) {
+		return Utils.between(y / CELL_SIZE, 0, _rows - 1);
+	}
+	
+	private void addToCells(int slot) {
+		int col0 = col(_minX[slot]), col1 = col(_maxX[slot]);
+		int row0 = row(_minY[slot]), row1 = row(_maxY[slot]);
+		for (int r=row0; r<=row1; r++) {
+			for (int c=col0; c<=col1; c++) {
+				int cell = r*_cols + c;
+				if (_cellCount[cell] == _cellSlots[cell].length)
+					_cellSlots[cell] = Arrays.copyOf(_cellSlots[cell], _cellCount[cell] * 2);
+				_cellSlots[cell][_cellCount[cell]++] = slot;
+			}
+		}
+	}
+	
+	private void removeFromCells(int slot) {
+		int col0 = col(_minX[slot]), col1 = col(_maxX[slot]);
+		int row0 = row(_minY[slot]), row1 = row(_maxY[slot]);
+		for (int r=row0; r<=row1; r++) {
+			for (int c=col0; c<=col1; c++) {
+				int cell = r*_cols + c;
+				int[] slots = _cellSlots[cell];
+				int n = _cellCount[cell];
+				for (int i=0; i<n; i++) {
+					if (slots[i] == slot) {
+						// The order inside a cell doesn't matter
+						slots[i] = slots[n-1];
+						_cellCount[cell] = n-1;
+						break;
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs a world without graphical interface, as fast as possible. This is
+ * used for batch runs in machines without display.
+ * 
+ * Usage: java HeadlessRunner width height seed frames snapshotInterval [directory [deltas [lineageFileSize]]]
+ * 
+ * Every snapshotInterval frames the world is saved to the given directory,
+ * or to the current one, with the same format used by {@link MainWindow}
+ * and a line with the state of the world, including its checksum, is
+ * printed. A snapshot interval of 0 disables snapshots. Worlds are
+ * deterministic, so two runs with the same arguments print the same
+ * checksums.
+ * 
+ * If a number of deltas is given, snapshots are written by a {@link Checkpointer}:
+ * a whole world is saved only once every deltas + 1 snapshots, and the
+ * others only save what has changed since the previous one.
+ * 
+ * If a lineage file size, in megabytes, is given, births, deaths and
+ * infections are recorded by a {@link LineageLog} in files of that size.
+ */
+public class HeadlessRunner {
+	public static void main(String[] args) {
+		if (args.length < 5 || args.length > 8) {
+			System.err.println("Usage: java HeadlessRunner width height seed frames snapshotInterval [directory [deltas [lineageFileSize]]]"); //$NON-NLS-1$
+			System.exit(1);
+		}
+		int width, height, interval, deltas, lineageFileSize;
+		long seed, frames;
+		try {
+			width = Integer.parseInt(args[0]);
+			height = Integer.parseInt(args[1]);
+			seed = Long.parseLong(args[2]);
+			frames = Long.parseLong(args[3]);
+			interval = Integer.parseInt(args[4]);
+			deltas = args.length > 6 ? Integer.parseInt(args[6]) : 0;
+			lineageFileSize = args.length > 7 ? Integer.parseInt(args[7]) : 0;
+		} catch (NumberFormatException ex) {
+			System.err.println(ex.getMessage());
+			System.exit(1);
+			return;
+		}
+		File directory = new File(args.length > 5 ? args[5] : "."); //$NON-NLS-1$
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			System.err.println("Can't create directory " + directory); //$NON-NLS-1$
+			System.exit(1);
+		}
+		
+		Utils.readPreferences();
+		Utils.WORLD_WIDTH = width;
+		Utils.WORLD_HEIGHT = height;
+		// Runs with the same seed must give the same world
+		Utils.DETERMINISTIC = true;
+		Utils.SEED = seed;
+		Utils.random.setSeed(seed);
+		
+		World world = new World(new NullWorldView());
+		LineageLog lineageLog = null;
+		if (lineageFileSize > 0) {
+			lineageLog = new LineageLog(directory, "lineage", lineageFileSize * (1L << 20)); //$NON-NLS-1$
+			lineageLog.start();
+			world.setLineageLog(lineageLog);
+		}
+		world.genesis();
+		Checkpointer checkpointer = deltas > 0 ? new Checkpointer(directory, "world", deltas) : null; //$NON-NLS-1$
+		long start = System.nanoTime();
+		long lastFrame = 0;
+		for (long frame = 1; frame <= frames; frame++) {
+			world.time();
+			if (interval > 0 && frame % interval == 0) {
+				long now = System.nanoTime();
+				report(world, frame, (now - start) / 1e6 / (frame - lastFrame));
+				if (checkpointer != null)
+					checkpoint(checkpointer, world);
+				else
+					saveWorld(world, new File(directory, "world-" + frame + "." + BioFileFilter.WORLD_EXTENSION)); //$NON-NLS-1$ //$NON-NLS-2$
+				// Don't count the time spent saving the world
+				start = System.nanoTime();
+				lastFrame = frame;
+			}
+		}
+		if (interval == 0 || frames % interval != 0)
+			report(world, frames, frames > lastFrame ? (System.nanoTime() - start) / 1e6 / (frames - lastFrame) : 0);
+		world.shutdown();
+		if (lineageLog != null)
+			lineageLog.close();
+	}
+	
+	private static void report(World world, long frame, double millisPerFrame) {
+		System.out.println(String.format("frame %d population %d O2 %.1f CO2 %.1f %.3f ms/frame checksum %016x", //$NON-NLS-1$
+				frame, world.getPopulation(), world.getO2(), world.getCO2(), millisPerFrame, world.checksum()));
+	}
+	
+	private static void checkpoint(Checkpointer checkpointer, World world) {
+		try {
+			checkpointer.checkpoint(world);
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+		}
+	}
+	
+	private static void saveWorld(World world, File f) {
+		try {
+			WorldSnapshot.save(world, f);
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+		}
+	}
+}
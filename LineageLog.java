@@ -0,0 +1,346 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records the lineage of the organisms of a world: every birth, death and
+ * infection, so that the full phylogeny of a long run can be rebuilt later
+ * without keeping the organisms in memory.
+ * 
+ * Events are fixed size binary records that the simulation appends to a
+ * buffer. Full buffers are written by this thread, so the simulation only
+ * waits if the disk falls behind by {@link #PENDING_BUFFERS} buffers.
+ * The events are written to files named name-#####.bgl, in order. A new file
+ * is started when the current one would exceed the given size. Every file
+ * starts with {@link #MAGIC} and {@link #FORMAT_VERSION}, followed by records:
+ * 
+ * <ul>
+ * <li>{@link #BIRTH}: frame, ID, parent ID or -1 if it has no parent,
+ * generation and checksum of the genetic code.</li>
+ * <li>{@link #DEATH}: frame, ID, cause, ID of the killer or -1 and age in frames.</li>
+ * <li>{@link #INFECTION}: frame, ID, ID of the infecting organism or -1 and
+ * checksum of the infecting genetic code.</li>
+ * </ul>
+ * 
+ * Frames are longs, checksums are the longs given by {@link GeneticCode#checksum},
+ * types and causes are bytes and everything else ints.
+ * 
+ * Usage: java LineageLog file...
+ * 
+ * Prints the events in the given files, one per line.
+ */
+public class LineageLog extends Thread {
+	/**
+	 * First bytes of every file: "BGLL".
+	 */
+	public static final int MAGIC = 0x42474c4c;
+	public static final int FORMAT_VERSION = 1;
+	public static final String EXTENSION = "bgl"; //$NON-NLS-1$
+	public static final byte BIRTH = 1;
+	public static final byte DEATH = 2;
+	public static final byte INFECTION = 3;
+	/**
+	 * Cause of death of an organism killed by another one, or by itself.
+	 */
+	public static final byte CAUSE_KILLED = 1;
+	/**
+	 * Cause of death of an organism older than the maximum age of its genetic code.
+	 */
+	public static final byte CAUSE_OLD_AGE = 2;
+	/**
+	 * Cause of death of an organism that couldn't breathe, or was killed by the user.
+	 */
+	public static final byte CAUSE_EXHAUSTED = 3;
+	private static final int BUFFER_SIZE = 1 << 16;
+	/**
+	 * Size of the biggest record.
+	 */
+	private static final int MAX_RECORD_SIZE = 29;
+	private static final int HEADER_SIZE = 8;
+	/**
+	 * Number of full buffers that can wait to be written.
+	 */
+	public static final int PENDING_BUFFERS = 16;
+	/**
+	 * Marks the end of the events.
+	 */
+	private static final ByteBuffer END = ByteBuffer.allocate(0);
+	
+	private final File _directory;
+	private final String _name;
+	private final long _fileSize;
+	private final BlockingQueue<ByteBuffer> _pending = new ArrayBlockingQueue<ByteBuffer>(PENDING_BUFFERS + 1);
+	private final BlockingQueue<ByteBuffer> _free = new ArrayBlockingQueue<ByteBuffer>(PENDING_BUFFERS + 1);
+	/**
+	 * Buffer where events are added. Only used with the lock of this object.
+	 */
+	private ByteBuffer _buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private boolean _closed = false;
+	/**
+	 * The file being written, used only by this thread.
+	 */
+	private FileOutputStream _file;
+	private int _fileNumber = 0;
+	
+	/**
+	 * Creates a log. The thread that writes it must be started before
+	 * recording events.
+	 * 
+	 * @param directory  The directory of the files.
+	 * @param name  The start of the name of the files.
+	 * @param fileSize  The maximum size of a file, in bytes.
+	 */
+	public LineageLog(File directory, String name, long fileSize) {
+		super("LineageLog"); //$NON-NLS-1$
+		_directory = directory;
+		_name = name;
+		_fileSize = Math.max(fileSize, HEADER_SIZE + BUFFER_SIZE);
+		setDaemon(true);
+	}
+	/**
+	 * Records the birth of an organism, or its arrival to the world if it
+	 * has no parent.
+	 * 
+	 * @param frame  The current frame of the world.
+	 * @param child  The new organism.
+	 * @param parent  Its parent, or null.
+	 */
+	public synchronized void organismBorn(long frame, Organism child, Organism parent) {
+		if (_closed)
+			return;
+		ByteBuffer b = startRecord(BIRTH, frame);
+		b.putInt(child.getID());
+		b.putInt(parent != null ? parent.getID() : -1);
+		b.putInt(child.getGeneration());
+		b.putLong(child.getGeneticCode().checksum());
+	}
+	/**
+	 * Records the death of an organism.
+	 * 
+	 * @param frame  The current frame of the world.
+	 * @param dying  The organism that has died.
+	 * @param killer  The organism that has killed it, or null.
+	 */
+	public synchronized void organismDied(long frame, Organism dying, Organism killer) {
+		byte cause;
+		if (killer != null)
+			cause = CAUSE_KILLED;
+		else if ((dying.getAge() >> 8) > dying.getGeneticCode().getMaxAge())
+			cause = CAUSE_OLD_AGE;
+		else
+			cause = CAUSE_EXHAUSTED;
+		if (_closed)
+			return;
+		ByteBuffer b = startRecord(DEATH, frame);
+		b.putInt(dying.getID());
+		b.put(cause);
+		b.putInt(killer != null ? killer.getID() : -1);
+		b.putInt(dying.getAge());
+	}
+	/**
+	 * Records the infection of an organism.
+	 * 
+	 * @param frame  The current frame of the world.
+	 * @param infected  The organism that has been infected.
+	 * @param infecting  The organism that has infected it, or null.
+	 */
+	public synchronized void organismInfected(long frame, Organism infected, Organism infecting) {
+		if (_closed)
+			return;
+		ByteBuffer b = startRecord(INFECTION, frame);
+		b.putInt(infected.getID());
+		b.putInt(infecting != null ? infecting.getID() : -1);
+		GeneticCode code = infected._infectedGeneticCode;
+		b.putLong(code != null ? code.checksum() : 0);
+	}
+	
+	private ByteBuffer startRecord(byte type, long frame) {
+		if (_buffer.remaining() < MAX_RECORD_SIZE)
+			handOver();
+		_buffer.put(type);
+		_buffer.putLong(frame);
+		return _buffer;
+	}
+	/**
+	 * Gives the current buffer to the thread, waiting if it has too many.
+	 */
+	private void handOver() {
+		if (_closed || _buffer.position() == 0)
+			return;
+		_buffer.flip();
+		boolean interrupted = false;
+		for (;;) {
+			try {
+				_pending.put(_buffer);
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		_buffer = _free.poll();
+		if (_buffer == null)
+			_buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	}
+	/**
+	 * Makes the events recorded until now be written soon, without waiting
+	 * for the buffer to be full.
+	 */
+	public synchronized void flush() {
+		handOver();
+	}
+	/**
+	 * Writes all recorded events and stops the thread. Events recorded
+	 * after this are ignored.
+	 */
+	public void close() {
+		synchronized (this) {
+			if (_closed)
+				return;
+			handOver();
+			_closed = true;
+			_buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		}
+		try {
+			_pending.put(END);
+			join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	@Override
+	public void run() {
+		boolean failed = false;
+		try {
+			for (;;) {
+				ByteBuffer b = _pending.take();
+				if (b == END)
+					break;
+				if (!failed) {
+					try {
+						write(b);
+					} catch (IOException e) {
+						// Don't stop the simulation, but don't write incomplete files either
+						System.err.println(e.getMessage());
+						failed = true;
+					}
+				}
+				b.clear();
+				_free.offer(b);
+			}
+		} catch (InterruptedException e) {
+			// Stops writing
+		} finally {
+			closeFile();
+		}
+	}
+	
+	private void write(ByteBuffer b) throws IOException {
+		if (_file == null || _file.getChannel().position() + b.remaining() > _fileSize) {
+			closeFile();
+			File f = new File(_directory, String.format("%s-%05d.%s", _name, ++_fileNumber, EXTENSION)); //$NON-NLS-1$
+			_file = new FileOutputStream(f);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+			writeFully(_file.getChannel(), header);
+		}
+		writeFully(_file.getChannel(), b);
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer b) throws IOException {
+		while (b.hasRemaining())
+			channel.write(b);
+	}
+	
+	private void closeFile() {
+		if (_file != null) {
+			try {
+				_file.close();
+			} catch (IOException e) {
+				System.err.println(e.getMessage());
+			}
+			_file = null;
+		}
+	}
+	
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.err.println("Usage: java LineageLog file..."); //$NON-NLS-1$
+			System.exit(1);
+		}
+		try {
+			for (String name : args)
+				print(new File(name));
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	private static void print(File f) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(f), BUFFER_SIZE));
+		try {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a lineage log: "+f); //$NON-NLS-1$
+			int version = in.readInt();
+			if (version != FORMAT_VERSION)
+				throw new IOException("Unsupported lineage log version: "+version); //$NON-NLS-1$
+			for (;;) {
+				int type = in.read();
+				if (type < 0)
+					break;
+				try {
+					long frame = in.readLong();
+					switch (type) {
+					case BIRTH:
+						System.out.println(String.format("%d birth %d parent %d generation %d code %016x", //$NON-NLS-1$
+								frame, in.readInt(), in.readInt(), in.readInt(), in.readLong()));
+						break;
+					case DEATH:
+						System.out.println(String.format("%d death %d cause %d killer %d age %d", //$NON-NLS-1$
+								frame, in.readInt(), in.readByte(), in.readInt(), in.readInt()));
+						break;
+					case INFECTION:
+						System.out.println(String.format("%d infection %d by %d code %016x", //$NON-NLS-1$
+								frame, in.readInt(), in.readInt(), in.readLong()));
+						break;
+					default:
+						throw new IOException("Wrong event type: "+type); //$NON-NLS-1$
+					}
+				} catch (EOFException e) {
+					throw new IOException("Incomplete event at the end of "+f); //$NON-NLS-1$
+				}
+			}
+		} finally {
+			in.close();
+		}
+	}
+}
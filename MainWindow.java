@@ -24,7 +24,7 @@ import javax.swing.*;
 import javax.swing.border.EtchedBorder;
 
 import java.io.*;
-import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
 import java.awt.*;
 import java.awt.event.*;
 import java.text.NumberFormat;
@@ -34,14 +34,26 @@ public class MainWindow extends JFrame {
 	private static final long serialVersionUID = Utils.FILE_VERSION;
 
 	protected VisibleWorld _visibleWorld;
-	protected World _world;
-	protected boolean _isProcessActive=false;
-	protected transient java.util.Timer _timer;
-	protected transient TimerTask updateTask = null;
+	protected volatile World _world;
+	protected volatile boolean _isProcessActive=false;
+	/**
+	 * Thread that executes the simulation, so that frames don't run in the
+	 * event dispatch thread and don't wait for painting.
+	 */
+	protected transient Thread _simulationThread;
+	/**
+	 * Set when the user changes the world, so that it is drawn again while
+	 * the simulation is paused.
+	 */
+	protected volatile boolean _renderRequested = true;
 	protected JFileChooser worldChooser = new JFileChooser();
 	protected JFileChooser geneticCodeChooser = new JFileChooser();
 	protected File _gameFile = null;
 	protected boolean _isBackedUp = false;
+	/**
+	 * Writes backups in the background, see {@link #backupWorld}.
+	 */
+	protected transient AutoSaver _autoSaver;
 	
 	protected JScrollPane scrollPane;
 	protected StdAction newGameAction;
@@ -87,7 +99,15 @@ public class MainWindow extends JFrame {
 	
 	protected StatisticsWindow _statisticsWindow = null;
 //	 Comptador de frames, per saber quan actualitzar la finestra d'informaci�
-	protected long nFrames=0;
+	protected volatile long nFrames=0;
+	/**
+	 * Value of nFrames the last time that the status label was updated.
+	 */
+	private long _statusFrame=0;
+	/**
+	 * Indicates that an update of the user interface has been queued and not done yet.
+	 */
+	private volatile boolean _uiUpdatePending = false;
 	private ImageIcon imageIcon = new ImageIcon(getClass().getResource("images/bullet.jpg")); //$NON-NLS-1$
 
 	public JFileChooser getWorldChooser() {
@@ -116,6 +136,13 @@ public class MainWindow extends JFrame {
 	public boolean isProcessActive() {
 		return _isProcessActive;
 	}
+	/**
+	 * Asks the simulation thread to publish the world to be drawn, even if
+	 * the simulation is paused. Called after the user changes the world.
+	 */
+	public void requestRender() {
+		_renderRequested = true;
+	}
 	
 	public InfoToolbar getInfoPanel() {
 		return infoToolbar;
@@ -319,7 +346,10 @@ public class MainWindow extends JFrame {
 		
 		public void actionPerformed(ActionEvent e) {
 			_trackedOrganism = null;
-			_world.genesis();
+			synchronized (_world.getLock()) {
+				_world.genesis();
+			}
+			requestRender();
 			scrollPane.setViewportView(_visibleWorld);
 			_isProcessActive = true;
 			startStopAction.setActive(true);
@@ -430,13 +460,9 @@ public class MainWindow extends JFrame {
 		
 		public void actionPerformed(ActionEvent e) {
 			if (_gameFile != null) {
-				String filename = _gameFile.getPath();
-				String worldExt = BioFileFilter.WORLD_EXTENSION;
-				//Replace any string of format "filename@#####.ext" with "filename@TIME#.ext".
-				//Files without '@#####' ending also become "filename@TIME#.ext".
-				filename = filename.replaceFirst("(@[0-9]*)?." + worldExt + "$",
-						"@" + String.format("%1$05d", _world.getTime()) + "." + worldExt);
-				saveObject(_world, new File(filename));
+				// If the last backup is still being written, don't wait for it
+				if (!backupWorld(_world) && _autoSaver != null && _autoSaver.isBusy())
+					setStatusMessage(Messages.getString("T_BACKUP_STILL_WRITING")); //$NON-NLS-1$
 			}
 			else
 				saveGameAs();
@@ -456,7 +482,10 @@ public class MainWindow extends JFrame {
 		}
 		
 		public void actionPerformed(ActionEvent e) {
-			_world.addCO2(500);
+			synchronized (_world.getLock()) {
+				_world.addCO2(500);
+			}
+			requestRender();
 		}
 	}
 	
@@ -467,7 +496,10 @@ public class MainWindow extends JFrame {
 		}
 		
 		public void actionPerformed(ActionEvent e) {
-			_world.decreaseCO2(500);
+			synchronized (_world.getLock()) {
+				_world.decreaseCO2(500);
+			}
+			requestRender();
 		}
 	}
 	
@@ -536,10 +568,26 @@ public class MainWindow extends JFrame {
 					ObjectInputStream inputStream;
 					try {
 						File f = getWorldChooser().getSelectedFile();
-						FileInputStream fileStream = new FileInputStream(f);
-						inputStream = new ObjectInputStream(fileStream);
-						_world = (World) inputStream.readObject();
-						inputStream.close();
+						World world;
+						if (WorldSnapshot.isSnapshot(f)) {
+							world = WorldSnapshot.load(f, _visibleWorld);
+						} else {
+							// Worlds saved by older versions
+							FileInputStream fileStream = new FileInputStream(f);
+							inputStream = new ObjectInputStream(fileStream);
+							world = (World) inputStream.readObject();
+							inputStream.close();
+						}
+						// Torna a assignar els valors dels camps no guardats a l'objecte world.
+						// The world must be ready before the simulation thread sees it.
+						world.init(_visibleWorld);
+						World previous = _world;
+						synchronized (previous.getLock()) {
+							// The old world's frame, if any, has finished
+							_world = world;
+							previous.shutdown();
+						}
+						requestRender();
 						_gameFile = f;
 						_trackedOrganism = null;
 						processState = true;
@@ -560,8 +608,6 @@ public class MainWindow extends JFrame {
 							&& Utils.AUTO_BACKUP) {
 						JOptionPane.showMessageDialog(null,Messages.getString("T_WARNING_OPENING_BACKUP_FILE"));
 					}
-					// Torna a assignar els valors dels camps no guardats a l'objecte world
-					_world.init(_visibleWorld);
 					scrollPane.setViewportView(_visibleWorld);
 					// Assegurem que s'ha dibuixat el m�n
 					_visibleWorld.repaint();
@@ -628,7 +674,7 @@ public class MainWindow extends JFrame {
 		public void actionPerformed(ActionEvent e) {
 			if (_statisticsWindow != null)
 				_statisticsWindow.dispose();
-			_statisticsWindow = _world.createStatisticsWindow();
+			_statisticsWindow = _world.createStatisticsWindow(MainWindow.this);
 		}
 	}
 	
@@ -651,6 +697,7 @@ public class MainWindow extends JFrame {
 		
 		public void actionPerformed(ActionEvent e) {
 			_world.killAll();
+			requestRender();
 		}
 	}
 	
@@ -662,6 +709,7 @@ public class MainWindow extends JFrame {
 		
 		public void actionPerformed(ActionEvent e) {
 			_world.disperseAll();
+			requestRender();
 		}
 	}
 	
@@ -853,13 +901,48 @@ public class MainWindow extends JFrame {
 	    return resultFile;
 	}
 	
+	/**
+	 * Makes a backup of a world without waiting for it to be written. The
+	 * world is copied to memory between two frames and the copy is written by
+	 * {@link #_autoSaver}.
+	 * 
+	 * @param world  The world to back up.
+	 * @return  true if the backup has been started, false if there is no
+	 * world file yet, the last backup is still being written or the world
+	 * can't be copied.
+	 */
+	protected boolean backupWorld(World world) {
+		File gameFile = _gameFile;
+		if (gameFile == null || _autoSaver == null || _autoSaver.isBusy())
+			return false;
+		ByteBuffer image;
+		long time;
+		try {
+			synchronized (world.getLock()) {
+				image = WorldSnapshot.capture(world);
+				time = world.getTime();
+			}
+		} catch (IOException e) {
+			System.err.println(e.getMessage());
+			return false;
+		}
+		return _autoSaver.save(image, AutoSaver.getBackupFile(gameFile, time));
+	}
+	
 	public boolean saveObject(Object obj, File f) {
 		ObjectOutputStream outputStream;
 		try {
-			FileOutputStream fileStream = new FileOutputStream(f);
-			outputStream = new ObjectOutputStream(fileStream);
-			outputStream.writeObject(obj);
-			outputStream.close();
+			// Don't save the world in the middle of a frame
+			if (obj instanceof World) {
+				synchronized (((World) obj).getLock()) {
+					WorldSnapshot.save((World) obj, f);
+				}
+			} else {
+				FileOutputStream fileStream = new FileOutputStream(f);
+				outputStream = new ObjectOutputStream(fileStream);
+				outputStream.writeObject(obj);
+				outputStream.close();
+			}
 			setStatusMessage(Messages.getString("T_WRITING_COMPLETED")); //$NON-NLS-1$
 			return true;
 		} catch (FileNotFoundException e) {
@@ -892,6 +975,12 @@ public class MainWindow extends JFrame {
 		statusLabelText.append(Messages.getString("T_FPS")); //$NON-NLS-1$
 		statusLabelText.append(getFPS());
 		statusLabelText.append("     "); //$NON-NLS-1$
+		statusLabelText.append(Messages.getString("T_SIMULATION_MS")); //$NON-NLS-1$
+		statusLabelText.append(_nf.format(_pacer.getSimulationMillis()));
+		statusLabelText.append("     "); //$NON-NLS-1$
+		statusLabelText.append(Messages.getString("T_RENDER_MS")); //$NON-NLS-1$
+		statusLabelText.append(_nf.format(_pacer.getRenderMillis()));
+		statusLabelText.append("     "); //$NON-NLS-1$
 		statusLabelText.append(Messages.getString("T_TIME")); //$NON-NLS-1$
 		statusLabelText.append(_world.getTime());
 		statusLabelText.append("     "); //$NON-NLS-1$
@@ -910,38 +999,144 @@ public class MainWindow extends JFrame {
 	/**
 	 * Returns the actual Frame Per Second rate of the program.
 	 * 
-	 * @return  The actual FPS.
+	 * @return  The actual FPS, measured by the frame pacer.
 	 */
 	public int getFPS() {
-		return 1000/currentDelay;
+		return (int) Math.round(_pacer.getFramesPerSecond());
+	}
+	/**
+	 * Returns the object that controls the speed of the simulation and
+	 * measures it.
+	 * 
+	 * @return  The frame pacer.
+	 */
+	public FramePacer getPacer() {
+		return _pacer;
 	}
 	
-	final transient Runnable lifeProcess = new Runnable() {
+	/**
+	 * Updates the parts of the user interface that follow the simulation. It is
+	 * queued in the event dispatch thread by the simulation thread.
+	 */
+	final transient Runnable updateProcess = new Runnable() {
 	    public void run() {
-	    	if (_isProcessActive) {
-	    		// executa un torn
-	    		_world.time();
-	    		nFrames++;
-	    		if (nFrames % 20 == 0) {
-	    			//if (_statisticsWindow != null)
-	    			//	_statisticsWindow.recalculate();
-	    			updateStatusLabel();
+	    	_uiUpdatePending = false;
+	    	if (nFrames - _statusFrame >= 20) {
+	    		_statusFrame = nFrames;
+	    		//if (_statisticsWindow != null)
+	    		//	_statisticsWindow.recalculate();
+	    		updateStatusLabel();
+	    	}
+	    	// tracking
+	    	if (_trackedOrganism != null) {
+	    		if (!_trackedOrganism.isAlive()) {
+	    			_trackedOrganism = null;
+	    			abortTrackingAction.setEnabled(false);
+	    		}
+	    		else {
+	    			JScrollBar bar = scrollPane.getHorizontalScrollBar();
+	    			bar.setValue(Utils.between(_trackedOrganism._centerX - scrollPane.getWidth()/2,
+	    					bar.getValue()-2*(int)Utils.MAX_VEL,bar.getValue()+2*(int)Utils.MAX_VEL));
+	    			bar = scrollPane.getVerticalScrollBar();
+	    			bar.setValue(Utils.between(_trackedOrganism._centerY - scrollPane.getHeight()/2,
+	    					bar.getValue()-2*(int)Utils.MAX_VEL,bar.getValue()+2*(int)Utils.MAX_VEL));
 	    		}
-	    		// dibuixa de nou si cal
-	    		_world.setPaintingRegion();
-	    		// tracking
-	    		if (_trackedOrganism != null) {
-	    			if (!_trackedOrganism.isAlive()) {
-	    				_trackedOrganism = null;
-	    				abortTrackingAction.setEnabled(false);
+	    	}
+	    }
+	};
+	/**
+	 * Body of the simulation thread. Executes frames and publishes what must be
+	 * drawn when the frame pacer says so, and queues the updates of the user
+	 * interface without waiting for them.
+	 */
+	final transient Runnable lifeProcess = new Runnable() {
+	    public void run() {
+	    	boolean wasActive = false;
+	    	while (!Thread.currentThread().isInterrupted()) {
+	    		long startTime = System.nanoTime();
+	    		_pacer.frameStarted(startTime);
+	    		World world = _world;
+	    		boolean active = _isProcessActive;
+	    		try {
+	    			if (active) {
+	    				synchronized (world.getLock()) {
+	    					// A replaced world has been shut down
+	    					if (world != _world)
+	    						continue;
+	    					// executa un torn
+	    					world.time();
+	    				}
+	    				nFrames++;
 	    			}
-	    			else {
-	    				JScrollBar bar = scrollPane.getHorizontalScrollBar();
-	    				bar.setValue(Utils.between(_trackedOrganism._centerX - scrollPane.getWidth()/2,
-	    						bar.getValue()-2*(int)Utils.MAX_VEL,bar.getValue()+2*(int)Utils.MAX_VEL));
-	    				bar = scrollPane.getVerticalScrollBar();
-	    				bar.setValue(Utils.between(_trackedOrganism._centerY - scrollPane.getHeight()/2,
-	    						bar.getValue()-2*(int)Utils.MAX_VEL,bar.getValue()+2*(int)Utils.MAX_VEL));
+	    			long endTime = System.nanoTime();
+	    			if (active)
+	    				_pacer.frameExecuted(startTime, endTime);
+	    			// When paused, publish only the last frame and the changes made by the user
+	    			boolean render = active ? _pacer.isRenderDue(endTime) : wasActive || _renderRequested;
+	    			wasActive = active;
+	    			if (render) {
+	    				_renderRequested = false;
+	    				int frames;
+	    				synchronized (world.getLock()) {
+	    					world.publishRenderSnapshot();
+	    					frames = _pacer.rendered(endTime, System.nanoTime());
+	    					// dibuixa de nou si cal
+	    					if (frames > 1)
+	    						// Moved organisms are only known for the last frame
+	    						world.repaintAll();
+	    					else
+	    						world.setPaintingRegion();
+	    				}
+	    				if (!_uiUpdatePending) {
+	    					_uiUpdatePending = true;
+	    					EventQueue.invokeLater(updateProcess);
+	    				}
+	    			}
+	    			//do automatic backups, outside of run speed calculations
+	    			if (Utils.AUTO_BACKUP && world.getTime() % Utils.BACKUP_DELAY == 0
+	    					&& world.getTime() > 0) {
+	    				if (!_isBackedUp) {
+	    					_isBackedUp = true;
+	    					if (_gameFile != null) {
+	    						// Skipped if the last backup is still being written
+	    						backupWorld(world);
+	    					} else {
+	    						// Ask for a file name
+	    						EventQueue.invokeLater(new Runnable() {
+	    							public void run() {
+	    								backupGameAction.actionPerformed(null);
+	    							}
+	    						});
+	    					}
+	    				}
+	    			} else {
+	    				_isBackedUp = false;
+	    			}
+	    			// We can't run so fast
+	    			if (active && endTime - startTime > 1000000000L) {
+	    				EventQueue.invokeLater(new Runnable() {
+	    					public void run() {
+	    						if (_isProcessActive)
+	    							pauseGame();
+	    					}
+	    				});
+	    			}
+	    		} catch (RuntimeException e) {
+	    			// Keep the simulation thread alive and let the user decide
+	    			e.printStackTrace();
+	    			EventQueue.invokeLater(new Runnable() {
+	    				public void run() {
+	    					if (_isProcessActive)
+	    						pauseGame();
+	    				}
+	    			});
+	    		}
+	    		long wait = _pacer.getWaitTime(System.nanoTime(), active);
+	    		if (wait > 0) {
+	    			try {
+	    				Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+	    			} catch (InterruptedException e) {
+	    				return;
 	    			}
 	    		}
 	    	}
@@ -961,83 +1156,24 @@ public class MainWindow extends JFrame {
 			setVisible(true);
 		//}
 		
-		_timer = new java.util.Timer();
-		startLifeProcess(Utils.DELAY);
+		_autoSaver = new AutoSaver(this);
+		_autoSaver.start();
+		startLifeProcess();
 		if (isAcceptingConnections())
 			startServer();
 	}
 	/**
-	 * Number of milliseconds between two invocations to the lifeProcess invocation.
-	 * It starts as the user's preference DELAY but is adapted to the current situation
-	 * in the world and the machine speed.
+	 * Controls the speed of the simulation, following the user's preferences,
+	 * and measures it.
 	 */
-	protected int currentDelay = Utils.DELAY;
+	protected final transient FramePacer _pacer = new FramePacer();
 	/**
-	 * If positive, the consecutive number of frames that haven't accomplished the expected time contract.
-	 * If negative, the consecutive number of frame that have accomplished the expected time contract.
-	 * Used to adapt the program's speed.
+	 * Starts the thread that executes the simulation.
 	 */
-	protected int failedTime=0;
-	/**
-	 * The moment when the last painting of this visual world started. Used to control
-	 * the program's speed.
-	 */
-	protected long lastPaintTime;
-	public void startLifeProcess(int delay) {
-		if (updateTask != null)
-			updateTask.cancel();
-		updateTask = new TimerTask() {
-		    @Override
-			public void run() {
-		    	try {
-					EventQueue.invokeAndWait(lifeProcess);
-					/**
-					 * Checks the actual drawing speed and increases or decreases the speed
-					 * of the program in order to keep it running smoothly.
-					 */
-					long actualTime = System.currentTimeMillis();
-					if (actualTime - lastPaintTime > currentDelay*1.5 || currentDelay < Utils.DELAY) {
-		    			// We can't run so fast
-		    			failedTime= Math.max(failedTime+1, 0);
-		    			if (failedTime >= 2) {
-		    				failedTime = 0;
-		    				currentDelay*=1.5;
-		    				startLifeProcess(currentDelay);
-		    			}
-		    		} else {
-		    			if (actualTime - lastPaintTime < currentDelay*1.2 && currentDelay > Utils.DELAY) {
-		    				// We can run faster
-		    				failedTime= Math.min(failedTime-1, 0);
-		    				if (failedTime <= -10) {
-		    					currentDelay = Math.max(Utils.DELAY, currentDelay-1);
-		    					startLifeProcess(currentDelay);
-		    				}
-		    			} else
-		    				// Normal situation: we run at the expected speed
-		    				failedTime = 0;
-		    		}
-		    		if (currentDelay > 1000) {
-		    			pauseGame();
-		    		}
-					//do automatic backups, outside of run speed calculations
-					if (Utils.AUTO_BACKUP && _world.getTime() % Utils.BACKUP_DELAY == 0
-							&& _world.getTime() > 0) {
-			    		if (!_isBackedUp) {
-			    			backupGameAction.actionPerformed(null);
-			    			_isBackedUp = true;
-			    		}
-					} else {
-						_isBackedUp = false;
-		    		}
-		    		lastPaintTime = actualTime;
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				} catch (InvocationTargetException e) {
-					e.printStackTrace();
-				}
-		    }
-		};
-		_timer.schedule(updateTask, delay, delay);
+	public void startLifeProcess() {
+		_simulationThread = new Thread(lifeProcess, "Simulation"); //$NON-NLS-1$
+		_simulationThread.setDaemon(true);
+		_simulationThread.start();
 	}
 	
 	public void changeLocale() {
@@ -0,0 +1,207 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A permanent link with the server of another host, used by a {@link Connection}
+ * to send genetic codes and keep alive messages. There is only one socket and
+ * one thread for every connection, instead of one for every message.
+ * 
+ * The link is opened the first time something has to be sent. Genetic codes
+ * are put in a queue and sent in batches: when the thread
+ * wakes up, it sends all waiting codes in a single message. The queue has a
+ * limited size; while it is full, {@link OutCorridor#canSendOrganism} returns
+ * false, so organisms don't enter the corridor until the link catches up.
+ */
+public class NetChannel extends Thread {
+	/**
+	 * Maximum number of genetic codes waiting to be sent or waiting for
+	 * the acknowledgement of the other host.
+	 */
+	public static final int MAX_PENDING_CODES = 16;
+	/**
+	 * The other host may not have finished connecting when the link is
+	 * opened, so it is tried several times, waiting between attempts.
+	 */
+	private static final int OPEN_ATTEMPTS = 5;
+	private static final long OPEN_RETRY_DELAY = 1000;
+	
+	private final Connection _connection;
+	private final ArrayDeque<GeneticCode> _queue = new ArrayDeque<GeneticCode>();
+	/**
+	 * Number of codes that have been taken from the queue and not yet acknowledged.
+	 */
+	private int _inFlight = 0;
+	private boolean _keepAliveRequested = false;
+	private volatile boolean _closed = false;
+	private Socket _socket;
+	private DataOutputStream _out;
+	private DataInputStream _in;
+	
+	public NetChannel(Connection connection) {
+		super("NetChannel " + connection.remoteAddress + ":" + connection.remotePort); //$NON-NLS-1$ //$NON-NLS-2$
+		_connection = connection;
+		setDaemon(true);
+	}
+	/**
+	 * Indicates if a new genetic code can be accepted.
+	 * 
+	 * @return  true if the queue isn't full and the link hasn't been closed.
+	 */
+	public synchronized boolean hasRoom() {
+		return !_closed && _queue.size() + _inFlight < MAX_PENDING_CODES;
+	}
+	/**
+	 * Puts a genetic code in the queue of codes to send.
+	 * 
+	 * @param code  The genetic code to send.
+	 * @return  true if the code has been accepted, false if the queue is full.
+	 */
+	public synchronized boolean offer(GeneticCode code) {
+		if (!hasRoom())
+			return false;
+		_queue.add(code);
+		notifyAll();
+		return true;
+	}
+	/**
+	 * Asks the thread to check that the other host is still there.
+	 */
+	public synchronized void requestKeepAlive() {
+		_keepAliveRequested = true;
+		notifyAll();
+	}
+	/**
+	 * Closes the link. Codes that haven't been sent are lost.
+	 */
+	public void close() {
+		synchronized (this) {
+			_closed = true;
+			notifyAll();
+		}
+		closeSocket();
+	}
+	
+	@Override
+	public void run() {
+		List<GeneticCode> batch = new ArrayList<GeneticCode>();
+		boolean opened = false;
+		try {
+			for (;;) {
+				boolean keepAlive;
+				synchronized (this) {
+					while (!_closed && _queue.isEmpty() && !_keepAliveRequested)
+						wait();
+					if (_closed)
+						break;
+					batch.addAll(_queue);
+					_inFlight = _queue.size();
+					_queue.clear();
+					keepAlive = _keepAliveRequested;
+					_keepAliveRequested = false;
+				}
+				if (!opened) {
+					open();
+					opened = true;
+				}
+				if (!batch.isEmpty()) {
+					sendCodes(batch);
+					batch.clear();
+					synchronized (this) {
+						_inFlight = 0;
+					}
+				}
+				if (keepAlive)
+					sendKeepAlive();
+			}
+		} catch (IOException e) {
+			if (!_closed) {
+				System.out.println("NetChannel, IOException: "+e.getMessage()); //$NON-NLS-1$
+				System.out.println("Connection closed with "+_connection.remoteAddress+":"+_connection.remotePort);  //$NON-NLS-1$//$NON-NLS-2$
+				_connection.setState(Connection.STATE_DISCONNECTED);
+			}
+		} catch (InterruptedException e) {
+			// Finish
+		} finally {
+			synchronized (this) {
+				_closed = true;
+			}
+			closeSocket();
+		}
+	}
+	
+	private void open() throws IOException, InterruptedException {
+		for (int attempt=1; ; attempt++) {
+			Socket socket = new Socket(_connection.remoteAddress, _connection.remotePort);
+			synchronized (this) {
+				_socket = socket;
+				if (_closed) {
+					closeSocket();
+					throw new IOException("Channel closed"); //$NON-NLS-1$
+				}
+			}
+			socket.setTcpNoDelay(true);
+			_out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			_in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			NetServerThread.writeFrame(_out, NetServerThread.OPEN_CHANNEL, _connection.netCode);
+			int answer = NetServerThread.readAnswer(_in);
+			System.out.println(NetServerThread.messageToString(answer));
+			if (answer == NetServerThread.CHANNEL_OPEN)
+				return;
+			closeSocket();
+			if (answer != NetServerThread.NOT_CONNECTED || attempt == OPEN_ATTEMPTS)
+				throw new IOException(NetServerThread.messageToString(answer));
+			Thread.sleep(OPEN_RETRY_DELAY);
+		}
+	}
+	
+	private void sendCodes(List<GeneticCode> batch) throws IOException {
+		NetServerThread.writeCodesFrame(_out, batch);
+		System.out.println("->" + batch.size() + " genetic codes"); //$NON-NLS-1$ //$NON-NLS-2$
+		int answer = NetServerThread.readAnswer(_in);
+		if (answer != NetServerThread.CODE_RECEIVED)
+			throw new IOException(NetServerThread.messageToString(answer));
+		_connection.resetTime();
+	}
+	
+	private void sendKeepAlive() throws IOException {
+		NetServerThread.writeFrame(_out, NetServerThread.KEEP_ALIVE);
+		int answer = NetServerThread.readAnswer(_in);
+		if (answer != NetServerThread.ACK_KEEP_ALIVE)
+			throw new IOException(NetServerThread.messageToString(answer));
+		_connection.resetTime();
+	}
+	
+	private synchronized void closeSocket() {
+		if (_socket != null) {
+			try {
+				_socket.close();
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
+			}
+		}
+	}
+}
@@ -22,20 +22,18 @@ import java.io.*;
 public class NetSend extends Thread {
 	protected Connection connection;
 	protected int message;
-	protected GeneticCode geneticCode;
 	
 	private int netCode;
 	private int port;
 	private int answerMessage;
-	private ObjectOutputStream oos;
-	private ObjectInputStream ois;
+	private DataOutputStream dos;
+	private DataInputStream dis;
 	private Socket socket;
 	private InetAddress address;
 	
-	public NetSend(Connection c, int m, GeneticCode g) {
+	public NetSend(Connection c, int m) {
 		connection = c;
 		message = m;
-		geneticCode = g;
 	}
 	
 	@Override
@@ -45,19 +43,13 @@ public class NetSend extends Thread {
 		netCode = connection.netCode;
 		try {
 			socket = new Socket(address,port);
-			oos = new ObjectOutputStream(socket.getOutputStream());
-			ois = new ObjectInputStream(socket.getInputStream());
+			dos = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			dis = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
 			System.out.println("->"+NetServerThread.messageToString(message)); //$NON-NLS-1$
 			switch (message) {
 			case NetServerThread.CONNECT:
 				handleConnect();
 				break;
-			case NetServerThread.SEND_CODE:
-				handleSendCode();
-				break;
-			case NetServerThread.KEEP_ALIVE:
-				handleKeepAlive();
-				break;
 			case NetServerThread.DISCONNECT:
 				handleDisconnect();
 				break;
@@ -76,16 +68,16 @@ public class NetSend extends Thread {
 			System.out.println("NetSend, IOException: "+e.getMessage()); //$NON-NLS-1$
 			System.out.println("Connection closed with "+connection.remoteAddress+":"+connection.remotePort);  //$NON-NLS-1$//$NON-NLS-2$
 		} finally {
-			if (oos != null) { 
+			if (dos != null) { 
 				try {
-					oos.close();
+					dos.close();
 				} catch (IOException e) {
 					System.out.println(e.getMessage());
 				}
 			}
-			if (ois != null) {
+			if (dis != null) {
 				try {
-					ois.close();
+					dis.close();
 				} catch (IOException e) {
 					System.out.println(e.getMessage());
 				}
@@ -103,12 +95,8 @@ public class NetSend extends Thread {
 	private void handleConnect() throws ConnectException, IOException, UnknownHostException {
 		System.out.println("----- Connecting..."); //$NON-NLS-1$
 		// Try to connect
-		oos.writeInt(message);
-		oos.writeInt(Utils.VERSION);
-		oos.writeInt(Utils.LOCAL_PORT);
-		oos.writeInt(netCode);
-		oos.flush();
-		answerMessage = ois.readInt();
+		NetServerThread.writeFrame(dos, message, Utils.VERSION, Utils.LOCAL_PORT, netCode);
+		answerMessage = NetServerThread.readAnswer(dis);
 		System.out.println(NetServerThread.messageToString(answerMessage));
 		switch (answerMessage) {
 		case NetServerThread.CONNECTED:
@@ -124,57 +112,10 @@ public class NetSend extends Thread {
 		}
 	}
 	
-	private void handleSendCode() throws ConnectException, IOException, UnknownHostException {
-		System.out.println("----- Sending code..."); //$NON-NLS-1$
-		oos.writeInt(message);
-		oos.writeInt(netCode);
-		oos.flush();
-		answerMessage = ois.readInt();
-		System.out.println(NetServerThread.messageToString(answerMessage));
-		switch (answerMessage) {
-		case NetServerThread.WAITING_CODE:
-			oos.writeObject(geneticCode);
-			System.out.println("->Genetic code"); //$NON-NLS-1$
-			answerMessage = ois.readInt();
-			System.out.println(NetServerThread.messageToString(answerMessage));
-			if (answerMessage == NetServerThread.CODE_RECEIVED) {
-				connection.resetTime();
-			}
-			break;
-		case NetServerThread.NOT_CONNECTED:
-			connection.setState(Connection.STATE_DISCONNECTED);
-			break;
-		case NetServerThread.TOO_MANY_CODES:
-			break;
-		default:
-			connection.setState(Connection.STATE_DISCONNECTED);
-			break;
-		}
-	}
-	
-	private void handleKeepAlive() throws ConnectException, IOException, UnknownHostException {
-		System.out.println("----- Checking remote server..."); //$NON-NLS-1$
-		oos.writeInt(message);
-		oos.writeInt(netCode);
-		oos.flush();
-		answerMessage = ois.readInt();
-		System.out.println(NetServerThread.messageToString(answerMessage));
-		switch (answerMessage) {
-		case NetServerThread.ACK_KEEP_ALIVE:
-			connection.resetTime();
-			break;
-		default:
-			connection.setState(Connection.STATE_DISCONNECTED);
-			break;
-		}
-	}
-	
 	private void handleDisconnect() throws ConnectException, IOException, UnknownHostException {
 		System.out.println("----- Disconnecting..."); //$NON-NLS-1$
-		oos.writeInt(message);
-		oos.writeInt(netCode);
-		oos.flush();
-		answerMessage = ois.readInt();
+		NetServerThread.writeFrame(dos, message, netCode);
+		answerMessage = NetServerThread.readAnswer(dis);
 		System.out.println(NetServerThread.messageToString(answerMessage));
 		connection.setState(Connection.STATE_DISCONNECTED);
 	}
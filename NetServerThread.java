@@ -18,22 +18,50 @@
 
 import java.io.*;
 import java.net.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
 import java.util.*;
 
+/**
+ * The server that receives the messages of other hosts. All sockets are
+ * non blocking and are attended by this thread through a single {@link Selector},
+ * so a slow or silent host doesn't delay the others and many hosts can be
+ * connected at the same time.
+ * 
+ * Every message is sent as a frame: its length in bytes followed by the message
+ * code and its parameters. A host that sends a CONNECT or DISCONNECT message
+ * receives the answer and the socket is closed. A host that opens a channel
+ * (see {@link NetChannel}) keeps the socket and sends genetic codes and keep
+ * alive messages through it.
+ */
 public class NetServerThread extends Thread {
 	protected InetAddress address;
 	protected int port;
-	protected ServerSocket serverSocket;
-	protected Socket listenSocket;
+	protected volatile ServerSocketChannel serverChannel;
+	protected volatile Selector selector;
 	protected int state;
 	protected int netCode = 0;
 	protected int receivedMessage;
-	protected boolean isActive;
+	protected volatile boolean isActive;
 	protected GeneticCode code;
 	protected List<Connection> connections = Collections.synchronizedList(new ArrayList<Connection>());
 	protected MainWindow mainWindow;
-	private ObjectInputStream ois;
-	private ObjectOutputStream oos;
+	
+	/**
+	 * Maximum size of a message, in bytes. Longer messages are rejected and
+	 * the socket is closed.
+	 */
+	public static final int MAX_FRAME_SIZE = 1 << 20;
+	/**
+	 * Time that a host has to send its first message before the socket is closed.
+	 */
+	private static final long HANDSHAKE_TIMEOUT = 10000;
+	/**
+	 * Maximum time the selector waits before checking for stalled hosts.
+	 */
+	private static final long SELECT_TIMEOUT = 1000;
+	private static final int INITIAL_BUFFER_SIZE = 256;
 	
 	public static final int CONNECT = 1;
 	public static final int CONNECTED = 2;
@@ -51,6 +79,9 @@ public class NetServerThread extends Thread {
 	public static final int ACK_KEEP_ALIVE = 14;
 	public static final int DISCONNECTED = 15;
 	public static final int INCOMPATIBLE_PROGRAM_VERSION = 16;
+	public static final int OPEN_CHANNEL = 17;
+	public static final int CHANNEL_OPEN = 18;
+	public static final int SEND_CODES = 19;
 	
 	public static final int STATE_DISCONNECTED = 50;
 	public static final int STATE_CONNECTED = 51;
@@ -73,6 +104,9 @@ public class NetServerThread extends Thread {
 		case ACK_KEEP_ALIVE: return "ACK_KEEP_ALIVE"; //$NON-NLS-1$
 		case DISCONNECTED: return "DISCONNECTED"; //$NON-NLS-1$
 		case INCOMPATIBLE_PROGRAM_VERSION: return "INCOMPATIBLE_PROGRAM_VERSION"; //$NON-NLS-1$
+		case OPEN_CHANNEL: return "OPEN_CHANNEL"; //$NON-NLS-1$
+		case CHANNEL_OPEN: return "CHANNEL_OPEN"; //$NON-NLS-1$
+		case SEND_CODES: return "SEND_CODES"; //$NON-NLS-1$
 		default: return "Non existant code"; //$NON-NLS-1$
 		}
 	}
@@ -127,13 +161,20 @@ public class NetServerThread extends Thread {
 			}
 		}
 		connections = Collections.synchronizedList(new ArrayList<Connection>());
+		Selector s = selector;
+		if (s != null)
+			s.wakeup();
 	}
 	
 	@Override
 	public void run() {
 		isActive = true;
 		try {
-			serverSocket=new ServerSocket(Utils.LOCAL_PORT);
+			selector = Selector.open();
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.socket().bind(new InetSocketAddress(Utils.LOCAL_PORT));
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
 			mainWindow.setStatusMessage(Messages.getString("T_NET_SERVER_LISTENING_ON_PORT", Integer.toString(Utils.LOCAL_PORT))); //$NON-NLS-1$
 		} catch (IOException e) {
 			if (e instanceof BindException) {
@@ -142,166 +183,281 @@ public class NetServerThread extends Thread {
 				e.printStackTrace();
 			isActive = false;
 		}
-		while (isActive) {
-			try {
-				listenSocket = serverSocket.accept();
-				ois = new ObjectInputStream(listenSocket.getInputStream());
-				oos = new ObjectOutputStream(listenSocket.getOutputStream());
-				receivedMessage = ois.readInt();
-				System.out.println(messageToString(receivedMessage));
-				switch (receivedMessage) {
-				case CONNECT:
-					handleConnect();
-					break;
-				case SEND_CODE:
-					handleSendCode();
-					break;
-				case KEEP_ALIVE:
-					handleKeepAlive();
-					break;
-				case DISCONNECT:
-					handleDisconnect();
-					break;
-				}
-				ois.close();
-				oos.close();
-			} catch (IOException e) {
-				System.out.println(e.getMessage());
-			} finally {
-				if (listenSocket != null)
+		try {
+			while (isActive) {
+				selector.select(SELECT_TIMEOUT);
+				for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+					SelectionKey key = it.next();
+					it.remove();
 					try {
-						listenSocket.close();
+						if (!key.isValid())
+							continue;
+						if (key.isAcceptable()) {
+							accept();
+						} else {
+							if (key.isReadable())
+								read(key);
+							if (key.isValid() && key.isWritable())
+								write(key);
+						}
 					} catch (IOException e) {
-						e.printStackTrace();
+						System.out.println(e.getMessage());
+						if (key.attachment() != null)
+							closePeer(key);
 					}
-			}	
+				}
+				closeStalledPeers();
+			}
+		} catch (IOException e) {
+			System.out.println(e.getMessage());
+		} finally {
+			closeAll();
 		}
 	}
 	
-	private void handleDisconnect() {
-		Connection c = null;
-		try {
-			netCode = ois.readInt();
-			c = checkConnectionNetCode();
-			if (c != null && c.getState() == Connection.STATE_CONNECTED) {
-				oos.writeInt(DISCONNECTED);
-				oos.flush();
-				System.out.println("->DISCONNECTED"); //$NON-NLS-1$
-				c.setState(Connection.STATE_DISCONNECTED);
-			} else {
-				System.out.println("->NOT_CONNECTED"); //$NON-NLS-1$
-				oos.writeInt(NOT_CONNECTED);
-				oos.flush();
-			}
-		} catch (IOException e) {
-			System.out.println("handleDisconnect: "+e.getMessage()); //$NON-NLS-1$
-			if (c!=null) {
-				c.setState(Connection.STATE_DISCONNECTED);
-				System.out.println("Connection closed with "+c.remoteAddress+":"+c.remotePort);  //$NON-NLS-1$//$NON-NLS-2$
+	private void accept() throws IOException {
+		SocketChannel socketChannel = serverChannel.accept();
+		if (socketChannel == null)
+			return;
+		socketChannel.configureBlocking(false);
+		socketChannel.socket().setTcpNoDelay(true);
+		socketChannel.register(selector, SelectionKey.OP_READ, new Peer(socketChannel));
+	}
+	/**
+	 * Reads what has arrived from a host and handles all the complete
+	 * messages.
+	 */
+	private void read(SelectionKey key) throws IOException {
+		Peer peer = (Peer) key.attachment();
+		if (peer.channel.read(peer.input) < 0) {
+			closePeer(key);
+			return;
+		}
+		ByteBuffer in = peer.input;
+		in.flip();
+		while (!peer.closing && in.remaining() >= 4) {
+			int length = in.getInt(in.position());
+			if (length < 4 || length > MAX_FRAME_SIZE)
+				throw new IOException("Wrong message length: "+length); //$NON-NLS-1$
+			if (in.remaining() < 4 + length)
+				break;
+			in.position(in.position() + 4);
+			ByteBuffer frame = in.slice();
+			frame.limit(length);
+			in.position(in.position() + length);
+			try {
+				handleMessage(key, peer, frame);
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Incomplete message"); //$NON-NLS-1$
 			}
 		}
+		if (peer.closing) {
+			// Nothing else is expected from this host
+			in.clear();
+			return;
+		}
+		in.compact();
+		// Make room for a message that doesn't fit in the buffer
+		if (in.position() >= 4 && 4 + in.getInt(0) > in.capacity()) {
+			int length = in.getInt(0);
+			if (length < 4 || length > MAX_FRAME_SIZE)
+				throw new IOException("Wrong message length: "+length); //$NON-NLS-1$
+			ByteBuffer bigger = ByteBuffer.allocate(4 + length);
+			in.flip();
+			bigger.put(in);
+			peer.input = bigger;
+		}
+	}
+	/**
+	 * Sends as much as possible of the pending answers to a host. The socket
+	 * is closed when everything has been sent and no more messages are expected.
+	 */
+	private void write(SelectionKey key) throws IOException {
+		Peer peer = (Peer) key.attachment();
+		while (!peer.output.isEmpty()) {
+			ByteBuffer b = peer.output.peek();
+			peer.channel.write(b);
+			if (b.hasRemaining())
+				break;
+			peer.output.poll();
+		}
+		if (peer.output.isEmpty()) {
+			if (peer.closing)
+				closePeer(key);
+			else
+				key.interestOps(SelectionKey.OP_READ);
+		} else
+			key.interestOps(peer.closing ? SelectionKey.OP_WRITE : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
 	}
 	
-	private void handleKeepAlive() {
-		Connection c = null;
-		try {
-			netCode = ois.readInt();
-			c = checkConnectionNetCode();
-			if (c != null && c.getState() == Connection.STATE_CONNECTED) {
-				oos.writeInt(ACK_KEEP_ALIVE);
-				oos.flush();
-				System.out.println("->ACK_KEEP_ALIVE"); //$NON-NLS-1$
-			} else {
-				System.out.println("->NOT_CONNECTED"); //$NON-NLS-1$
-				oos.writeInt(NOT_CONNECTED);
-				oos.flush();
-			}
-		} catch (IOException e) {
-			System.out.println("handleKeepAlive: "+e.getMessage()); //$NON-NLS-1$
-			if (c!=null) {
-				c.setState(Connection.STATE_DISCONNECTED);
-				System.out.println("Connection closed with "+c.remoteAddress+":"+c.remotePort); //$NON-NLS-1$ //$NON-NLS-2$
-			}
+	private void answer(SelectionKey key, int message) throws IOException {
+		Peer peer = (Peer) key.attachment();
+		ByteBuffer b = ByteBuffer.allocate(8);
+		b.putInt(4).putInt(message).flip();
+		peer.output.add(b);
+		write(key);
+	}
+	
+	private void handleMessage(SelectionKey key, Peer peer, ByteBuffer frame) throws IOException {
+		receivedMessage = frame.getInt();
+		if (peer.connection != null) {
+			handleChannelMessage(key, peer, frame);
+			return;
+		}
+		System.out.println(messageToString(receivedMessage));
+		address = peer.channel.socket().getInetAddress();
+		switch (receivedMessage) {
+		case CONNECT:
+			peer.closing = true;
+			handleConnect(key, frame);
+			break;
+		case OPEN_CHANNEL:
+			handleOpenChannel(key, peer, frame);
+			break;
+		case DISCONNECT:
+			peer.closing = true;
+			handleDisconnect(key, frame);
+			break;
+		default:
+			throw new IOException("Unexpected message: "+messageToString(receivedMessage)); //$NON-NLS-1$
 		}
 	}
 	
-	private void handleConnect() {
-		try {
-			int program_version = ois.readInt();
-			port = ois.readInt();
-			address = listenSocket.getInetAddress();
-			netCode = ois.readInt();
-			Connection c = checkConnectionNetCode();
-			if (c != null) {
-				oos.writeInt(ALREADY_CONNECTED);
-				oos.flush();
-				System.out.println("->ALREADY_CONNECTED"); //$NON-NLS-1$
-			} else {
-				if (mainWindow.isAcceptingConnections()) {
-					if (connections.size() < Utils.MAX_CONNECTIONS) {
-						if (Utils.VERSION == program_version) {
-							Connection newConnection = newConnection();
-							if (newConnection != null) {
-								oos.writeInt(CONNECTED);
-								newConnection.setState(Connection.STATE_CONNECTED);
-								System.out.println("->CONNECTED"); //$NON-NLS-1$
-							} else {
-								oos.writeInt(ALREADY_CONNECTED);
-								System.out.println("->ALREADY_CONNECTED"); //$NON-NLS-1$
-							}
-							oos.flush();
+	private void handleDisconnect(SelectionKey key, ByteBuffer frame) throws IOException {
+		netCode = frame.getInt();
+		Connection c = checkConnectionNetCode();
+		if (c != null && c.getState() == Connection.STATE_CONNECTED) {
+			answer(key, DISCONNECTED);
+			System.out.println("->DISCONNECTED"); //$NON-NLS-1$
+			c.setState(Connection.STATE_DISCONNECTED);
+		} else {
+			System.out.println("->NOT_CONNECTED"); //$NON-NLS-1$
+			answer(key, NOT_CONNECTED);
+		}
+	}
+	
+	/**
+	 * Accepts a permanent link from a connected host. From now on, the messages
+	 * that arrive through the socket are handled by {@link #handleChannelMessage}.
+	 */
+	private void handleOpenChannel(SelectionKey key, Peer peer, ByteBuffer frame) throws IOException {
+		netCode = frame.getInt();
+		Connection c = checkConnectionNetCode();
+		if (c != null && c.getState() == Connection.STATE_CONNECTED) {
+			peer.connection = c;
+			answer(key, CHANNEL_OPEN);
+			System.out.println("->CHANNEL_OPEN"); //$NON-NLS-1$
+		} else {
+			System.out.println("->NOT_CONNECTED"); //$NON-NLS-1$
+			peer.closing = true;
+			answer(key, NOT_CONNECTED);
+		}
+	}
+	
+	private void handleConnect(SelectionKey key, ByteBuffer frame) throws IOException {
+		int program_version = frame.getInt();
+		port = frame.getInt();
+		netCode = frame.getInt();
+		Connection c = checkConnectionNetCode();
+		if (c != null) {
+			answer(key, ALREADY_CONNECTED);
+			System.out.println("->ALREADY_CONNECTED"); //$NON-NLS-1$
+		} else {
+			if (mainWindow.isAcceptingConnections()) {
+				if (connections.size() < Utils.MAX_CONNECTIONS) {
+					if (Utils.VERSION == program_version) {
+						Connection newConnection = newConnection();
+						if (newConnection != null) {
+							answer(key, CONNECTED);
+							newConnection.setState(Connection.STATE_CONNECTED);
+							System.out.println("->CONNECTED"); //$NON-NLS-1$
 						} else {
-							oos.writeInt(INCOMPATIBLE_PROGRAM_VERSION);
-							oos.flush();
-							System.out.println("->INCOMPATIBLE_PROGRAM_VERSION"); //$NON-NLS-1$
+							answer(key, ALREADY_CONNECTED);
+							System.out.println("->ALREADY_CONNECTED"); //$NON-NLS-1$
 						}
 					} else {
-						oos.writeInt(TOO_MANY_CONNECTIONS);
-						oos.flush();
-						System.out.println("->TOO_MANY_CONNECTIONS"); //$NON-NLS-1$
+						answer(key, INCOMPATIBLE_PROGRAM_VERSION);
+						System.out.println("->INCOMPATIBLE_PROGRAM_VERSION"); //$NON-NLS-1$
 					}
 				} else {
-					oos.writeInt(NOT_ACCEPTING_CONNECTIONS);
-					oos.flush();
-					System.out.println("->NOT_ACCEPTING_CONNECTIONS"); //$NON-NLS-1$
+					answer(key, TOO_MANY_CONNECTIONS);
+					System.out.println("->TOO_MANY_CONNECTIONS"); //$NON-NLS-1$
 				}
+			} else {
+				answer(key, NOT_ACCEPTING_CONNECTIONS);
+				System.out.println("->NOT_ACCEPTING_CONNECTIONS"); //$NON-NLS-1$
+			}
+		}
+	}
+	/**
+	 * Handles a message sent through a {@link NetChannel} by a connected host.
+	 * Every batch of genetic codes is acknowledged with a single answer.
+	 */
+	private void handleChannelMessage(SelectionKey key, Peer peer, ByteBuffer frame) throws IOException {
+		boolean connected = peer.connection.getState() == Connection.STATE_CONNECTED;
+		if (!connected)
+			peer.closing = true;
+		if (receivedMessage == SEND_CODES) {
+			int n = frame.getInt();
+			ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(frame.array(),
+					frame.arrayOffset() + frame.position(), frame.remaining()));
+			try {
+				for (int i=0; i<n; i++) {
+					GeneticCode code = (GeneticCode) in.readObject();
+					if (connected)
+						peer.connection.inCorridor.receiveOrganism(code);
+				}
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e.getMessage());
+			} catch (ClassCastException e) {
+				throw new IOException(e.getMessage());
+			}
+			System.out.println(n + " genetic codes"); //$NON-NLS-1$
+			answer(key, connected ? CODE_RECEIVED : NOT_CONNECTED);
+		} else if (receivedMessage == KEEP_ALIVE) {
+			answer(key, connected ? ACK_KEEP_ALIVE : NOT_CONNECTED);
+		} else
+			throw new IOException("Unexpected message: "+messageToString(receivedMessage)); //$NON-NLS-1$
+	}
+	/**
+	 * Closes the sockets of the hosts that haven't sent their first message in time.
+	 */
+	private void closeStalledPeers() {
+		long now = System.currentTimeMillis();
+		for (SelectionKey key : new ArrayList<SelectionKey>(selector.keys())) {
+			Peer peer = (Peer) key.attachment();
+			if (peer != null && peer.connection == null && now - peer.acceptTime > HANDSHAKE_TIMEOUT) {
+				System.out.println("Timeout waiting for "+peer.channel.socket().getInetAddress()); //$NON-NLS-1$
+				closePeer(key);
 			}
-		} catch (IOException ex) {
-			System.out.println(ex.getMessage());
 		}
 	}
 	
-	private void handleSendCode() {
-		Connection c = null;
+	private static void closePeer(SelectionKey key) {
+		key.cancel();
 		try {
-			netCode = ois.readInt();
-			c = checkConnectionNetCode();
-			if (c != null && c.getState() == Connection.STATE_CONNECTED) {
-				oos.writeInt(WAITING_CODE);
-				oos.flush();
-				System.out.println("->WAITING_CODE"); //$NON-NLS-1$
-				code = (GeneticCode) ois.readObject();
-				System.out.println("Genetic code"); //$NON-NLS-1$
-				oos.writeInt(CODE_RECEIVED);
-				oos.flush();
-				System.out.println("->CODE_RECEIVED"); //$NON-NLS-1$
-				c.inCorridor.receiveOrganism(code);
-			} else {
-				System.out.println("->NOT_CONNECTED"); //$NON-NLS-1$
-				oos.writeInt(NOT_CONNECTED);
-				oos.flush();
-			}
+			key.channel().close();
 		} catch (IOException e) {
-			System.out.println("handleSendCode: "+e.getMessage()); //$NON-NLS-1$
-			if (c!=null) {
-				c.setState(Connection.STATE_DISCONNECTED);
-				System.out.println("Connection closed with "+c.remoteAddress+":"+c.remotePort);  //$NON-NLS-1$//$NON-NLS-2$
+			System.out.println(e.getMessage());
+		}
+	}
+	
+	private void closeAll() {
+		isActive = false;
+		if (selector != null) {
+			for (SelectionKey key : selector.keys())
+				closePeer(key);
+			try {
+				selector.close();
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
 			}
-		} catch (ClassNotFoundException e) {
-			System.out.println("handleSendCode: "+e.getMessage()); //$NON-NLS-1$
-			if (c!=null) {
-				c.setState(Connection.STATE_DISCONNECTED);
-				System.out.println("Connection closed with "+c.remoteAddress+":"+c.remotePort);  //$NON-NLS-1$//$NON-NLS-2$
+		}
+		if (serverChannel != null) {
+			try {
+				serverChannel.close();
+			} catch (IOException e) {
+				System.out.println(e.getMessage());
 			}
 		}
 	}
@@ -331,4 +487,72 @@ public class NetServerThread extends Thread {
 		}
 		return null;
 	}
+	/**
+	 * Writes a message made only of integers as a frame.
+	 * 
+	 * @param out  The stream of the socket.
+	 * @param values  The message code followed by its parameters.
+	 */
+	public static void writeFrame(DataOutputStream out, int... values) throws IOException {
+		out.writeInt(4 * values.length);
+		for (int v : values)
+			out.writeInt(v);
+		out.flush();
+	}
+	/**
+	 * Writes a batch of genetic codes as a single SEND_CODES frame.
+	 * 
+	 * @param out  The stream of the socket.
+	 * @param codes  The genetic codes to send.
+	 */
+	public static void writeCodesFrame(DataOutputStream out, List<GeneticCode> codes) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(buffer);
+		header.writeInt(SEND_CODES);
+		header.writeInt(codes.size());
+		ObjectOutputStream oos = new ObjectOutputStream(buffer);
+		for (GeneticCode c : codes)
+			oos.writeObject(c);
+		oos.flush();
+		if (buffer.size() > MAX_FRAME_SIZE)
+			throw new IOException("Message too long: "+buffer.size()); //$NON-NLS-1$
+		out.writeInt(buffer.size());
+		buffer.writeTo(out);
+		out.flush();
+	}
+	/**
+	 * Reads an answer of the server of another host.
+	 * 
+	 * @param in  The stream of the socket.
+	 * @return  The message code of the answer.
+	 */
+	public static int readAnswer(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 4 || length > MAX_FRAME_SIZE)
+			throw new IOException("Wrong message length: "+length); //$NON-NLS-1$
+		int answer = in.readInt();
+		in.skipBytes(length - 4);
+		return answer;
+	}
+	/**
+	 * The state of a socket accepted by the server.
+	 */
+	private static class Peer {
+		final SocketChannel channel;
+		final long acceptTime = System.currentTimeMillis();
+		ByteBuffer input = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+		final ArrayDeque<ByteBuffer> output = new ArrayDeque<ByteBuffer>();
+		/**
+		 * The connection of the host, once it has opened a channel.
+		 */
+		Connection connection;
+		/**
+		 * true if the socket must be closed once the pending answers have been sent.
+		 */
+		boolean closing;
+		
+		Peer(SocketChannel socketChannel) {
+			channel = socketChannel;
+		}
+	}
 }
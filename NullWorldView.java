@@ -0,0 +1,44 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.awt.Rectangle;
+
+/**
+ * A view that ignores all events of the world. Used to run worlds
+ * without a display.
+ */
+public class NullWorldView implements WorldView {
+	public void repaint(Rectangle r) {
+	}
+	public void repaint(int x, int y, int width, int height) {
+	}
+	public void worldResized(int width, int height) {
+	}
+	public void worldCleared() {
+	}
+	public void worldInfoChanged() {
+	}
+	public void organismAdded(Organism child, Organism parent) {
+	}
+	public void organismRemoved(Organism org) {
+	}
+	public void organismDied(Organism dyingOrganism, Organism killingOrganism) {
+	}
+	public void organismInfected(Organism infectedOrganism, Organism infectingOrganism) {
+	}
+}
@@ -22,6 +22,9 @@ import net.jafama.FastMath;
 import java.awt.*;
 import java.awt.image.*;
 import java.awt.geom.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Arrays;
 /**
  * This class implements an organism.
  * The body of the organism is drawn inside the Rectangle from which it inherits.
@@ -138,10 +141,6 @@ public class Organism extends Rectangle {
 	 * Reference to the world where the organism lives.
 	 */
 	protected World _world;
-	/**
-	 * Reference to the visual part of the world where the organism lives.
-	 */
-	transient protected VisibleWorld _visibleWorld;
 	/**
 	 * Identification number of this organism's parent.
 	 */
@@ -186,16 +185,6 @@ public class Organism extends Rectangle {
 	 * Y coordinates of the ending point of each organism's segments.
 	 */
 	protected int[] _endPointY;
-	/**
-	 * Precalculated distance from the origin to the starting point of each segment.
-	 * Used to calculate rotations.
-	 */
-	protected double[] _m1;
-	/**
-	 * Precalculated distance from the origin to the ending point of each segment.
-	 * Used to calculate rotations.
-	 */
-	protected double[] _m2;
 	/**
 	 * Precalculated modulus of each segment.
 	 */
@@ -224,6 +213,16 @@ public class Organism extends Rectangle {
 	 * Effective segment colors, taken from the genetic code if alive or brown if dead.
 	 */
 	protected Color[] _segColor;
+	/**
+	 * Type of every segment, resolved from {@link #_segColor} with {@link #getTypeColor}.
+	 * It must be changed together with the color, using {@link #setSegColor}.
+	 */
+	transient protected byte[] _segType;
+	/**
+	 * Indicates that the segment colors, branches and reactions are the arrays of
+	 * the {@link BodyPlan} and must be copied before changing them.
+	 */
+	transient private boolean _segmentsShared = false;
 	/**
 	 * Effective branching points, taken from the genetic code if alive or brown if dead.
 	 */
@@ -397,6 +396,12 @@ public class Organism extends Rectangle {
 	 * Rotated segments of the last frame, to use when _theta == _lastTheta
 	 */
 	protected int x1[],y1[],x2[],y2[];
+	/**
+	 * Bounding box of every symmetry repetition (arm) of the segments, relative
+	 * to the center of the organism, calculated together with x1, y1, x2 and y2.
+	 * Used to discard whole arms when looking for touching segments.
+	 */
+	transient protected int[] _armMinX, _armMinY, _armMaxX, _armMaxY;
 	/**
 	 * Speed. Variation applied to organism coordinates at every frame.
 	 */
@@ -443,7 +448,30 @@ public class Organism extends Rectangle {
 	 * Indicates if the organism is alive.
 	 */
 	protected boolean alive = true;
-	private static transient Vector2D v = new Vector2D();
+	/**
+	 * Movement applied during the intent phase of the current frame, kept so
+	 * that the commit phase can undo it if there is a collision.
+	 */
+	private transient double _frameDx, _frameDy, _frameDtheta;
+	/**
+	 * Reproduction energy of an early (blond) reproduction requested while the
+	 * world was deferring births. It is carried out in the commit phase.
+	 */
+	private transient int _pendingReproduceEnergy = 0;
+	/**
+	 * Slot assigned to this organism by the world's {@link GridBroadphase}.
+	 * Only valid if {@link #_indexed} is true.
+	 */
+	transient int _broadphaseSlot;
+	/**
+	 * Indicates if this organism is in the world's {@link GridBroadphase}.
+	 */
+	transient boolean _indexed = false;
+	/**
+	 * Position of this organism in the list of organisms of the world at the
+	 * beginning of the commit of a {@link RegionFrameEngine}.
+	 */
+	transient int _listIndex;
 	/**
 	 * Returns true if this organism is alive, false otherwise.
 	 * 
@@ -549,7 +577,6 @@ public class Organism extends Rectangle {
 	 */
 	public Organism(World world) {
 		_world = world;
-		_visibleWorld = world._visibleWorld;
 		_theta = Utils.random.nextDouble() * FastMath.PI * 2d;
 	}
 	/**
@@ -562,7 +589,6 @@ public class Organism extends Rectangle {
 	 */
 	public Organism(World world, GeneticCode geneticCode) {
 		_world = world;
-		_visibleWorld = world._visibleWorld;
 		_theta = Utils.random.nextDouble() * FastMath.PI * 2d;
 		_geneticCode = geneticCode;
 	}
@@ -571,122 +597,62 @@ public class Organism extends Rectangle {
 	 * has a genetic code assigned.
 	 */
 	protected void create() {
-		_segments = _geneticCode.getNGenes() * _geneticCode.getSymmetry();
-		_segColor = new Color[_segments];
-		for (int i = 0; i < _segments; i++)
-			_segColor[i] = _geneticCode.getGene(i%_geneticCode.getNGenes()).getColor();
-		_segBranch = new int[_segments];
-		for (int j = 0; j < _segments; j++)
-			_segBranch[j] = _geneticCode.getGene(j%_geneticCode.getNGenes()).getBranch();
-		_segredReaction = new int[_segments];
-		for (int a = 0; a < _segments; a++)
-			_segredReaction[a] = _geneticCode.getGene(a%_geneticCode.getNGenes()).getredReaction();
-		_seggreenReaction = new int[_segments];
-		for (int b = 0; b < _segments; b++)
-			_seggreenReaction[b] = _geneticCode.getGene(b%_geneticCode.getNGenes()).getgreenReaction();
-		_segblueReaction = new int[_segments];
-		for (int c = 0; c < _segments; c++)
-			_segblueReaction[c] = _geneticCode.getGene(c%_geneticCode.getNGenes()).getblueReaction();
-		_segplagueReaction = new int[_segments];
-		for (int d = 0; d < _segments; d++)
-			_segplagueReaction[d] = _geneticCode.getGene(d%_geneticCode.getNGenes()).getplagueReaction();
-		_segwhiteReaction = new int[_segments];
-		for (int e = 0; e < _segments; e++)
-			_segwhiteReaction[e] = _geneticCode.getGene(e%_geneticCode.getNGenes()).getwhiteReaction();
-		_seggrayReaction = new int[_segments];
-		for (int f = 0; f < _segments; f++)
-			_seggrayReaction[f] = _geneticCode.getGene(f%_geneticCode.getNGenes()).getgrayReaction();
-		_segdefaultReaction = new int[_segments];
-		for (int g = 0; g < _segments; g++)
-			_segdefaultReaction[g] = _geneticCode.getGene(g%_geneticCode.getNGenes()).getdefaultReaction();
-		_segmagentaReaction = new int[_segments];
-		for (int h = 0; h < _segments; h++)
-			_segmagentaReaction[h] = _geneticCode.getGene(h%_geneticCode.getNGenes()).getmagentaReaction();
-		_segpinkReaction = new int[_segments];
-		for (int i = 0; i < _segments; i++)
-			_segpinkReaction[i] = _geneticCode.getGene(i%_geneticCode.getNGenes()).getpinkReaction();
-		_segcoralReaction = new int[_segments];
-		for (int j = 0; j < _segments; j++)
-			_segcoralReaction[j] = _geneticCode.getGene(j%_geneticCode.getNGenes()).getcoralReaction();
-		_segorangeReaction = new int[_segments];
-		for (int k = 0; k < _segments; k++)
-			_segorangeReaction[k] = _geneticCode.getGene(k%_geneticCode.getNGenes()).getorangeReaction();
-		_segbarkReaction = new int[_segments];
-		for (int l = 0; l < _segments; l++)
-			_segbarkReaction[l] = _geneticCode.getGene(l%_geneticCode.getNGenes()).getbarkReaction();
-		_segvioletReaction = new int[_segments];
-		for (int m = 0; m < _segments; m++)
-			_segvioletReaction[m] = _geneticCode.getGene(m%_geneticCode.getNGenes()).getvioletReaction();
-		_segvirusReaction = new int[_segments];
-		for (int n = 0; n < _segments; n++)
-			_segvirusReaction[n] = _geneticCode.getGene(n%_geneticCode.getNGenes()).getvirusReaction();
-		_segmaroonReaction = new int[_segments];
-		for (int o = 0; o < _segments; o++)
-			_segmaroonReaction[o] = _geneticCode.getGene(o%_geneticCode.getNGenes()).getmaroonReaction();
-		_segoliveReaction = new int[_segments];
-		for (int p = 0; p < _segments; p++)
-			_segoliveReaction[p] = _geneticCode.getGene(p%_geneticCode.getNGenes()).getoliveReaction();
-		_segmintReaction = new int[_segments];
-		for (int q = 0; q < _segments; q++)
-			_segmintReaction[q] = _geneticCode.getGene(q%_geneticCode.getNGenes()).getmintReaction();
-		_segcreamReaction = new int[_segments];
-		for (int r = 0; r < _segments; r++)
-			_segcreamReaction[r] = _geneticCode.getGene(r%_geneticCode.getNGenes()).getcreamReaction();
-		_segspikeReaction = new int[_segments];
-		for (int s = 0; s < _segments; s++)
-			_segspikeReaction[s] = _geneticCode.getGene(s%_geneticCode.getNGenes()).getspikeReaction();
-		_seglightblueReaction = new int[_segments];
-		for (int t = 0; t < _segments; t++)
-			_seglightblueReaction[t] = _geneticCode.getGene(t%_geneticCode.getNGenes()).getlightblueReaction();
-		_segochreReaction = new int[_segments];
-		for (int u = 0; u < _segments; u++)
-			_segochreReaction[u] = _geneticCode.getGene(u%_geneticCode.getNGenes()).getochreReaction();
-		_seglightbrownReaction = new int[_segments];
-		for (int v = 0; v < _segments; v++)
-			_seglightbrownReaction[v] = _geneticCode.getGene(v%_geneticCode.getNGenes()).getlightbrownReaction();
-		_segbrownReaction = new int[_segments];
-		for (int w = 0; w < _segments; w++)
-			_segbrownReaction[w] = _geneticCode.getGene(w%_geneticCode.getNGenes()).getbrownReaction();
-		_segsickReaction = new int[_segments];
-		for (int x = 0; x < _segments; x++)
-			_segsickReaction[x] = _geneticCode.getGene(x%_geneticCode.getNGenes()).getsickReaction();
-		_segskyReaction = new int[_segments];
-		for (int y = 0; y < _segments; y++)
-			_segskyReaction[y] = _geneticCode.getGene(y%_geneticCode.getNGenes()).getskyReaction();
-		_seglilacReaction = new int[_segments];
-		for (int z = 0; z < _segments; z++)
-			_seglilacReaction[z] = _geneticCode.getGene(z%_geneticCode.getNGenes()).getlilacReaction();
-		_segiceReaction = new int[_segments];
-		for (int a = 0; a < _segments; a++)
-			_segiceReaction[a] = _geneticCode.getGene(a%_geneticCode.getNGenes()).geticeReaction();
-		_segsilverReaction = new int[_segments];
-		for (int b = 0; b < _segments; b++)
-			_segsilverReaction[b] = _geneticCode.getGene(b%_geneticCode.getNGenes()).getsilverReaction();
-		_segfireReaction = new int[_segments];
-		for (int c = 0; c < _segments; c++)
-			_segfireReaction[c] = _geneticCode.getGene(c%_geneticCode.getNGenes()).getfireReaction();
-		_segfriendReaction = new int[_segments];
-		for (int d = 0; d < _segments; d++)
-			_segfriendReaction[d] = _geneticCode.getGene(d%_geneticCode.getNGenes()).getfriendReaction();
-		_seggreenbrownReaction = new int[_segments];
-		for (int e = 0; e < _segments; e++)
-			_seggreenbrownReaction[e] = _geneticCode.getGene(e%_geneticCode.getNGenes()).getgreenbrownReaction();
-		_segspikepointReaction = new int[_segments];
-		for (int f = 0; f < _segments; f++)
-			_segspikepointReaction[f] = _geneticCode.getGene(f%_geneticCode.getNGenes()).getspikepointReaction();
-		_startPointX = new int[_segments];
-		_startPointY = new int[_segments];
-		_endPointX = new int[_segments];
-		_endPointY = new int[_segments];
-		_m1 = new double[_segments];
-		_m2 = new double[_segments];
-		_m = new double[_segments];
-		_mphoto = new double[_segments];
+		BodyPlan bodyPlan = _geneticCode.getBodyPlan();
+		// Segments are shared with other organisms until they change
+		_segments = bodyPlan._segments;
+		_segColor = bodyPlan._segColor;
+		_segType = bodyPlan._segType;
+		_segBranch = bodyPlan._segBranch;
+		_segredReaction = bodyPlan._segredReaction;
+		_seggreenReaction = bodyPlan._seggreenReaction;
+		_segblueReaction = bodyPlan._segblueReaction;
+		_segplagueReaction = bodyPlan._segplagueReaction;
+		_segwhiteReaction = bodyPlan._segwhiteReaction;
+		_seggrayReaction = bodyPlan._seggrayReaction;
+		_segdefaultReaction = bodyPlan._segdefaultReaction;
+		_segmagentaReaction = bodyPlan._segmagentaReaction;
+		_segpinkReaction = bodyPlan._segpinkReaction;
+		_segcoralReaction = bodyPlan._segcoralReaction;
+		_segorangeReaction = bodyPlan._segorangeReaction;
+		_segbarkReaction = bodyPlan._segbarkReaction;
+		_segvioletReaction = bodyPlan._segvioletReaction;
+		_segvirusReaction = bodyPlan._segvirusReaction;
+		_segmaroonReaction = bodyPlan._segmaroonReaction;
+		_segoliveReaction = bodyPlan._segoliveReaction;
+		_segmintReaction = bodyPlan._segmintReaction;
+		_segcreamReaction = bodyPlan._segcreamReaction;
+		_segspikeReaction = bodyPlan._segspikeReaction;
+		_seglightblueReaction = bodyPlan._seglightblueReaction;
+		_segochreReaction = bodyPlan._segochreReaction;
+		_seglightbrownReaction = bodyPlan._seglightbrownReaction;
+		_segbrownReaction = bodyPlan._segbrownReaction;
+		_segsickReaction = bodyPlan._segsickReaction;
+		_segskyReaction = bodyPlan._segskyReaction;
+		_seglilacReaction = bodyPlan._seglilacReaction;
+		_segiceReaction = bodyPlan._segiceReaction;
+		_segsilverReaction = bodyPlan._segsilverReaction;
+		_segfireReaction = bodyPlan._segfireReaction;
+		_segfriendReaction = bodyPlan._segfriendReaction;
+		_seggreenbrownReaction = bodyPlan._seggreenbrownReaction;
+		_segspikepointReaction = bodyPlan._segspikepointReaction;
+		_segmentsShared = true;
 		x1 = new int[_segments];
 		y1 = new int[_segments];
 		x2 = new int[_segments];
 		y2 = new int[_segments];
+		createArms();
+	}
+	/**
+	 * Creates the bounding boxes of the symmetry arms.
+	 */
+	private void createArms() {
+		int symmetry = _geneticCode.getSymmetry();
+		_armMinX = new int[symmetry];
+		_armMinY = new int[symmetry];
+		_armMaxX = new int[symmetry];
+		_armMaxY = new int[symmetry];
 	}
+
 	/**
 	 * Initializes variables for a new random organism and finds a place
 	 * to put it in the world.
@@ -808,6 +774,23 @@ public class Organism extends Rectangle {
 		
 		return ok;
 	}
+	/**
+	 * Moves an organism that comes from another world, keeping all its state:
+	 * position, speed, energy, age, etc. It must be added to the new world with
+	 * {@link World#addImmigrant}.
+	 * 
+	 * @param world  The world that receives the organism.
+	 * @param offsetx  Displacement from the coordinates of the old world to
+	 * the coordinates of the new one on the x axis.
+	 * @param offsety  Displacement on the y axis.
+	 */
+	public void moveToWorld(World world, double offsetx, double offsety) {
+		_world = world;
+		offset(offsetx, offsety, 0);
+		calculateBounds(true);
+		lastFrame.setBounds(this);
+		hasMoved = true;
+	}
 	/**
 	 * Places the organism at the specified position in the world and initializes its
 	 * variables. The organism must has an assigned genetic code.
@@ -855,95 +838,22 @@ public class Organism extends Rectangle {
 	 * time it changes its size.
 	 * inherit, randomCreate and pasteOrganism are the standard ways to add an organism to a world
 	 * and they already call this method.
+	 * The segments are taken from the {@link BodyPlan} of the genetic code, that
+	 * calculates them once for every growth ratio.
 	 */
 	public void symmetric() {
-		int i,j,segment=0;
-		int symmetry = _geneticCode.getSymmetry();
-		int mirror = _geneticCode.getMirror();
-		int sequence = _segments / symmetry;
-		int left=0, right=0, top=0, bottom=0;
-		int centerX, centerY;
-		double cx, cy;
-
-		for (i=0; i<symmetry; i++) {
-			for (j=0; j<sequence; j++,segment++) {
-				// Here, we take the vector that forms the segment, scale it depending on
-				// the relative size of the organism and rotate it depending on the
-				// symmetry and mirroring.
-				v.setModulus(_geneticCode.getGene(j).getLength()/Utils.scale[_growthRatio-1]);
-				if (j==0) {
-					_startPointX[segment] = 0;
-					_startPointY[segment] = 0;
-					if (mirror == 0 || i%2==0)
-						v.setTheta(_geneticCode.getGene(j).getTheta()+i*2*FastMath.PI/symmetry);
-					else {
-						v.setTheta(_geneticCode.getGene(j).getTheta()+(i-1)*2*FastMath.PI/symmetry);
-						v.invertX();
-					}
-				} else {
-					if (_geneticCode.getGene(j).getBranch() == -1) {
-						_startPointX[segment] = _endPointX[segment - 1];
-						_startPointY[segment] = _endPointY[segment - 1];
-						if (mirror == 0 || i%2==0)
-							v.addDegree(_geneticCode.getGene(j).getTheta());
-						else
-							v.addDegree(-_geneticCode.getGene(j).getTheta());
-					} else {
-					if (_geneticCode.getGene(j).getBranch() == 0) {
-						_startPointX[segment] = 0;
-					    _startPointY[segment] = 0;
-					    if (mirror == 0 || i%2==0)
-							v.addDegree(_geneticCode.getGene(j).getTheta());
-						else
-							v.addDegree(-_geneticCode.getGene(j).getTheta());
-					} else {
-						_startPointX[segment] = _endPointX[(i * sequence) + _geneticCode.getGene(j).getBranch() - 1];
-					    _startPointY[segment] = _endPointY[(i * sequence) + _geneticCode.getGene(j).getBranch() - 1];
-					    if (mirror == 0 || i%2==0)
-							v.addDegree(_geneticCode.getGene(j).getTheta());
-						else
-							v.addDegree(-_geneticCode.getGene(j).getTheta());
-					    }
-					}
-				}
-				// Apply the vector to the starting point to get the ending point.
-				_endPointX[segment] = (int) FastMath.round(v.getX() + _startPointX[segment]);
-				_endPointY[segment] = (int) FastMath.round(v.getY() + _startPointY[segment]);
-			    // Calculate the bounding rectangle of this organism
-			    left = Math.min(left, _endPointX[segment]);
-			    right = Math.max(right, _endPointX[segment]);
-			    top = Math.min(top, _endPointY[segment]);
-			    bottom = Math.max(bottom, _endPointY[segment]);
-			}
-		}
-		_sizeRect.setBounds(left, top, right-left+1, bottom-top+1);
-		// image center
-		centerX = (left+right)>>1;
-		centerY = (top+bottom)>>1;
-		_mass = 0;
-		_I = 0;
-		for (i=0; i<_segments; i++) {
-			// express points relative to the image center
-			_startPointX[i]-=centerX;
-			_startPointY[i]-=centerY;
-			_endPointX[i]-=centerX;
-			_endPointY[i]-=centerY;
-			// calculate points distance of the origin and modulus
-			_m1[i] = FastMath.sqrt(_startPointX[i]*_startPointX[i]+_startPointY[i]*_startPointY[i]);
-			_m2[i] = FastMath.sqrt(_endPointX[i]*_endPointX[i]+_endPointY[i]*_endPointY[i]);
-			_m[i] = FastMath.sqrt(FastMath.pow(_endPointX[i]-_startPointX[i],2) +
-                    FastMath.pow(_endPointY[i]-_startPointY[i],2));
-			_mass += _m[i];
-			_mphoto[i] = (0.6 + (0.48 / (double)sequence) + (1.44 / (double)symmetry)) * _m[i];
-			// calculate inertia moment
-			// the mass center of a segment is its middle point
-			cx = (_startPointX[i] + _endPointX[i]) / 2d;
-			cy = (_startPointY[i] + _endPointY[i]) / 2d;
-			// add the effect of this segment, following the parallel axis theorem
-			_I += FastMath.pow(_m[i],3)/12d +
-				_m[i] * cx*cx + cy*cy;// mass * length^2 (center is at 0,0)
-		}
+		BodyPlan.Geometry geometry = _geneticCode.getBodyPlan().getGeometry(_growthRatio);
+		_startPointX = geometry._startPointX;
+		_startPointY = geometry._startPointY;
+		_endPointX = geometry._endPointX;
+		_endPointY = geometry._endPointY;
+		_m = geometry._m;
+		_mphoto = geometry._mphoto;
+		_mass = geometry._mass;
+		_I = geometry._I;
+		_sizeRect.setBounds(geometry._sizeRect);
 	}
+
 	/**
 	 * Given a vector, calculates the resulting vector after a rotation, a scalation and possibly
 	 * after mirroring it.
@@ -1089,6 +999,45 @@ public class Organism extends Rectangle {
 			}
 		}
 	}
+	/**
+	 * Returns the color used to draw a segment right now. Used by {@link RenderSnapshot}.
+	 * 
+	 * @param i  The index of the segment.
+	 * @return  The color of the whole organism if it is flashing, brown if
+	 * it is dead, or the color of the segment otherwise.
+	 */
+	final Color getDrawColor(int i) {
+		if (_framesColor > 0)
+			return _color;
+		return alive ? _segColor[i] : Utils.ColorBROWN;
+	}
+	/**
+	 * Calculates a hash of the state of this organism: identity, position,
+	 * speed, energy, age and genetic code. Used by {@link World#checksum}.
+	 * 
+	 * @return  The checksum of this organism.
+	 */
+	public long checksum() {
+		long h = _ID;
+		h = h * 31 + (alive ? 1 : 0);
+		h = h * 31 + java.lang.Double.doubleToLongBits(_dCenterX);
+		h = h * 31 + java.lang.Double.doubleToLongBits(_dCenterY);
+		h = h * 31 + java.lang.Double.doubleToLongBits(_theta);
+		h = h * 31 + java.lang.Double.doubleToLongBits(dx);
+		h = h * 31 + java.lang.Double.doubleToLongBits(dy);
+		h = h * 31 + java.lang.Double.doubleToLongBits(dtheta);
+		h = h * 31 + java.lang.Double.doubleToLongBits(_energy);
+		h = h * 31 + _age;
+		return h * 31 + _geneticCode.checksum();
+	}
+	/**
+	 * Informs the organism that it has been drawn, so that it stops flashing
+	 * after some frames. Used by {@link RenderSnapshot}.
+	 */
+	final void colorDrawn() {
+		if (_framesColor > 0)
+			_framesColor--;
+	}
 	/**
 	 * Calculates the position of all organism points in the world, depending on
 	 * its rotation. It also calculates the bounding rectangle of the organism.
@@ -1104,19 +1053,22 @@ public class Organism extends Rectangle {
 		double left=java.lang.Double.MAX_VALUE, right=java.lang.Double.MIN_VALUE, 
 		top=java.lang.Double.MAX_VALUE, bottom=java.lang.Double.MIN_VALUE;
 		
-		double theta;
-		for (int i=_segments-1; i>=0; i--) {
-			/* Save calculation: if rotation hasn't changed and it is not forced,
-			 * don't calculate points again.
-			 */
-			if (_lastTheta != _theta || force) {
-				theta=_theta+FastMath.atan2(_startPointY[i] ,_startPointX[i]);
-				x1[i]=(int)(_m1[i]*FastMath.cos(theta));
-				y1[i]=(int)(_m1[i]*FastMath.sin(theta));
-				theta=_theta+ FastMath.atan2(_endPointY[i], _endPointX[i]);
-				x2[i]=(int)(_m2[i]*FastMath.cos(theta));
-				y2[i]=(int)(_m2[i]*FastMath.sin(theta));
+		/* Save calculation: if rotation hasn't changed and it is not forced,
+		 * don't calculate points again.
+		 */
+		if (_lastTheta != _theta || force) {
+			// Rotating the point (m*cos(a), m*sin(a)) by theta gives
+			// (m*cos(a+theta), m*sin(a+theta)), so only theta needs trigonometry.
+			double cos = FastMath.cos(_theta), sin = FastMath.sin(_theta);
+			for (int i=_segments-1; i>=0; i--) {
+				x1[i]=(int)(_startPointX[i]*cos - _startPointY[i]*sin);
+				y1[i]=(int)(_startPointX[i]*sin + _startPointY[i]*cos);
+				x2[i]=(int)(_endPointX[i]*cos - _endPointY[i]*sin);
+				y2[i]=(int)(_endPointX[i]*sin + _endPointY[i]*cos);
 			}
+			calculateArms();
+		}
+		for (int i=_segments-1; i>=0; i--) {
 			// Finds the rectangle that comprises the organism
 			left = Utils.min(left, x1[i]+ _dCenterX, x2[i]+ _dCenterX);
 			right = Utils.max(right, x1[i]+ _dCenterX, x2[i]+ _dCenterX);
@@ -1125,6 +1077,39 @@ public class Organism extends Rectangle {
 		}
 		setBounds((int)left, (int)top, (int)(right-left+1)+1, (int)(bottom-top+1)+1);
 		_lastTheta = _theta;
+		_world.organismMoved(this);
+	}
+	/**
+	 * Calculates the bounding box of every symmetry arm from the rotated segments.
+	 */
+	private void calculateArms() {
+		int symmetry = _armMinX.length;
+		int sequence = _segments / symmetry;
+		for (int a=0, i=0; a<symmetry; a++) {
+			int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+			int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+			for (int end=i+sequence; i<end; i++) {
+				minX = Math.min(minX, Math.min(x1[i], x2[i]));
+				maxX = Math.max(maxX, Math.max(x1[i], x2[i]));
+				minY = Math.min(minY, Math.min(y1[i], y2[i]));
+				maxY = Math.max(maxY, Math.max(y1[i], y2[i]));
+			}
+			_armMinX[a] = minX;
+			_armMinY[a] = minY;
+			_armMaxX[a] = maxX;
+			_armMaxY[a] = maxY;
+		}
+	}
+	/**
+	 * Checks if the bounding box of a symmetry arm overlaps a rectangle given
+	 * in world coordinates. Borders are included.
+	 * 
+	 * @param a  The index of the arm.
+	 * @return  false if no segment of the arm can touch the rectangle.
+	 */
+	private final boolean armOverlaps(int a, double minX, double minY, double maxX, double maxY) {
+		return _armMinX[a] + _centerX <= maxX && _armMaxX[a] + _centerX >= minX
+			&& _armMinY[a] + _centerY <= maxY && _armMaxY[a] + _centerY >= minY;
 	}
 	/**
 	 * If its the time for this organism to grow, calculates its new segments and speed.
@@ -1178,6 +1163,22 @@ public class Organism extends Rectangle {
 			_timeToReproduce = 20;
 		}
 	}
+	/**
+	 * Makes this organism reproduce before being adult, using a reduced
+	 * reproduction energy. Used by blond segments. If the world is deferring
+	 * births, the reproduction is delayed until the commit phase of the frame.
+	 * 
+	 * @param reproduceEnergy  The reproduction energy to use for this reproduction.
+	 */
+	private void reproduceEarly(int reproduceEnergy) {
+		if (_world.isDeferringBirths()) {
+			_pendingReproduceEnergy = reproduceEnergy;
+			return;
+		}
+		_geneticCode._reproduceEnergy = reproduceEnergy;
+		reproduce();
+		_geneticCode._reproduceEnergy = 40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry();
+	}
 	/**
 	 * Makes this organism create a virus and put it in the world.
 	 */
@@ -1210,7 +1211,12 @@ public class Organism extends Rectangle {
 		}
 	}
 
-	public double[] movePreProcessing() {
+	/**
+	 * Applies segment effects, rubbing and growth and moves the organism to its
+	 * tentative position. The applied movement is kept to undo it if there is
+	 * a collision.
+	 */
+	public void movePreProcessing() {
         hasMoved = false;
         lastFrame.setBounds(this);
         if (FastMath.abs(dx) < Utils.tol) dx = 0;
@@ -1223,15 +1229,11 @@ public class Organism extends Rectangle {
         // Check if it can grow or shrink
         grow();
         // Movement
-        double dxbak=dx, dybak=dy, dthetabak=dtheta;
+        _frameDx = dx;
+        _frameDy = dy;
+        _frameDtheta = dtheta;
         offset(dx,dy,dtheta);
         calculateBounds(hasGrown!=0);
-
-        double[] returnValues = new double[3];
-        returnValues[0] = dxbak;
-        returnValues[1] = dybak;
-        returnValues[2] = dthetabak;
-        return returnValues;
     }
 
 	/**
@@ -1241,12 +1243,61 @@ public class Organism extends Rectangle {
 	 * respiration and death.
 	 */
 	public boolean move() {
-	    double[] movePre = movePreProcessing();
-
-        double dxbak=movePre[0], dybak=movePre[1], dthetabak=movePre[2];
-        boolean collision = false;
+		frameIntent();
+		return frameCommit(hasFrameMotion() ? _world.checkHit(this) : null);
+	}
+	/**
+	 * First phase of a frame: applies segment effects, rubbing and growth and
+	 * moves the organism to its tentative position. It only changes this
+	 * organism and the atmosphere, so it can be run for many organisms at the same
+	 * time while the world is deferring births.
+	 */
+	public void frameIntent() {
+		_world.enterRandomStream(this, 0);
+		try {
+			movePreProcessing();
+		} finally {
+			_world.exitRandomStream();
+		}
+	}
+	/**
+	 * Indicates if this organism has moved, rotated or changed its size during
+	 * the intent phase of this frame, and so it needs collision detection.
+	 * 
+	 * @return  true if the organism needs to check collisions this frame.
+	 */
+	public boolean hasFrameMotion() {
+		return hasGrown!=0 || dx!=0 || dy!=0 || dtheta!=0;
+	}
+	/**
+	 * Second phase of a frame: resolves collisions, reproduction, respiration
+	 * and death. Must be called in a deterministic order, one organism at a time,
+	 * after {@link #frameIntent}.
+	 * 
+	 * @param otherOrganism  The organism found by the collision broadphase
+	 * for this organism, or null if it isn't touching any organism.
+	 * @return  true if the organism still has energy after this frame.
+	 */
+	public boolean frameCommit(Organism otherOrganism) {
+		_world.enterRandomStream(this, 1);
+		try {
+			return commit(otherOrganism);
+		} finally {
+			_world.exitRandomStream();
+		}
+	}
+	
+	private boolean commit(Organism otherOrganism) {
+		double dxbak=_frameDx, dybak=_frameDy, dthetabak=_frameDtheta;
+		boolean collision = false;
+		// Births requested during the intent phase
+		if (_pendingReproduceEnergy > 0) {
+			int reproduceEnergy = _pendingReproduceEnergy;
+			_pendingReproduceEnergy = 0;
+			reproduceEarly(reproduceEnergy);
+		}
 		
-		if (hasGrown!=0 || dx!=0 || dy!=0 || dtheta!=0) {
+		if (hasFrameMotion()) {
 			hasMoved = true;
 			// Check it is inside the world
 			collision = !isInsideWorld();
@@ -1260,7 +1311,6 @@ public class Organism extends Rectangle {
 			}
 
 			// Collision detection with other organisms.
-            Organism otherOrganism = _world.checkHit(this);
 			if (otherOrganism != null) {
 			    if (this.contact(otherOrganism)) {
                     collision = true;
@@ -1352,7 +1402,7 @@ public class Organism extends Rectangle {
 		alive = false;
 		hasMoved = true;
 		for (int i=0; i<_segments; i++) {
-			_segColor[i] = Utils.ColorBROWN;
+			setSegColor(i, Utils.ColorBROWN);
 		}
 		_world.decreasePopulation();
 		if (killingOrganism != null)
@@ -1387,17 +1437,19 @@ public class Organism extends Rectangle {
 	 * physical rules.
 	 * 
 	 * @param org  The other organism in the collision.
-	 * @param p  Intersection point between the organisms.
-	 * @param l  Line that has collided. Of the two lines, this is the one that collided
-	 * on the center, not on the vertex.
+	 * @param px  X coordinate of the intersection point between the organisms.
+	 * @param py  Y coordinate of the intersection point between the organisms.
+	 * @param lx1, ly1, lx2, ly2  End points of the line that has collided. Of the two
+	 * lines, this is the one that collided on the center, not on the vertex.
 	 * @param thisOrganism  true if l is a line of this organism, false if l is a line of org.
 	 */
-	private final void touchMove(Organism org, Point2D.Double p, Line2D l, boolean thisOrganism) {
+	private final void touchMove(Organism org, double px, double py,
+			double lx1, double ly1, double lx2, double ly2, boolean thisOrganism) {
 		// Distance vector between centers of mass and p
-		double rapx = p.x - _dCenterX;
-		double rapy = p.y - _dCenterY;
-		double rbpx = p.x - org._dCenterX;
-		double rbpy = p.y - org._dCenterY;
+		double rapx = px - _dCenterX;
+		double rapy = py - _dCenterY;
+		double rbpx = px - org._dCenterX;
+		double rbpy = py - org._dCenterY;
 		// Speeds of point p in the body A and B, before collision.
 		double vap1x = dx - dtheta * rapy + hasGrown*rapx/10d;
 		double vap1y = dy + dtheta * rapx + hasGrown*rapy/10d;
@@ -1408,8 +1460,8 @@ public class Organism extends Rectangle {
 		double vab1y = vap1y - vbp1y;
 		// Normal vector to the impact line
 		//First: perpendicular vector to the line
-		double nx = l.getY1() - l.getY2();
-		double ny = l.getX2() - l.getX1();
+		double nx = ly1 - ly2;
+		double ny = lx2 - lx1;
 		//Second: normalize, modulus 1
 		double modn = FastMath.sqrt(nx * nx + ny * ny);
 		if (modn == 0) {
@@ -1422,14 +1474,14 @@ public class Organism extends Rectangle {
 		 * of the other line.
 		 */
 		if (thisOrganism) {
-			if ((p.x+nx-org._dCenterX)*(p.x+nx-org._dCenterX)+(p.y+ny-org._dCenterY)*(p.y+ny-org._dCenterY) <
-				(p.x-nx-org._dCenterX)*(p.x-nx-org._dCenterX)+(p.y-ny-org._dCenterY)*(p.y-ny-org._dCenterY)) {
+			if ((px+nx-org._dCenterX)*(px+nx-org._dCenterX)+(py+ny-org._dCenterY)*(py+ny-org._dCenterY) <
+				(px-nx-org._dCenterX)*(px-nx-org._dCenterX)+(py-ny-org._dCenterY)*(py-ny-org._dCenterY)) {
 				nx = -nx;
 				ny = -ny;
 			}
 		} else {
-			if ((p.x+nx-_dCenterX)*(p.x+nx-_dCenterX)+(p.y+ny-_dCenterY)*(p.y+ny-_dCenterY) >
-				(p.x-nx-_dCenterX)*(p.x-nx-_dCenterX)+(p.y-ny-_dCenterY)*(p.y-ny-_dCenterY)) {
+			if ((px+nx-_dCenterX)*(px+nx-_dCenterX)+(py+ny-_dCenterY)*(py+ny-_dCenterY) >
+				(px-nx-_dCenterX)*(px-nx-_dCenterX)+(py-ny-_dCenterY)*(py-ny-_dCenterY)) {
 				nx = -nx;
 				ny = -ny;
 			}
@@ -1455,14 +1507,18 @@ public class Organism extends Rectangle {
 	 * @return  true if the organism is inside the world, false otherwise.
 	 */
 	private final boolean isInsideWorld() {
-		// Check it is inside the world
-		if (x<=0 || y<=0 || x+width>=_world.getWidth() || y+height>=_world.getHeight()) {
+		// Check it is inside the world. Open edges can be crossed.
+		boolean outX = (x <= 0 && !_world.isEdgeOpen(World.EDGE_LEFT))
+				|| (x + width >= _world.getWidth() && !_world.isEdgeOpen(World.EDGE_RIGHT));
+		boolean outY = (y <= 0 && !_world.isEdgeOpen(World.EDGE_TOP))
+				|| (y + height >= _world.getHeight() && !_world.isEdgeOpen(World.EDGE_BOTTOM));
+		if (outX || outY) {
 			if (_mass == 0 && alive && x == 0 && y == 0)
 				die(this);
 			// Adjust direction
-			if (x <= 0 || x + width >= _world.getWidth())
+			if (outX)
 				dx = -dx;
-			if (y <= 0 || y + height >= _world.getHeight())
+			if (outY)
 				dy = -dy;
 			dtheta = 0;
 			return false;
@@ -1488,42 +1544,60 @@ public class Organism extends Rectangle {
 	 * @return  true if the two organisms are touching, false otherwise.
 	 */
 	public final boolean contact(Organism org) {
-		int i,j;
-		ExLine2DDouble line = new ExLine2DDouble();
-		ExLine2DDouble bline = new ExLine2DDouble();
-		// Check collisions for all segments
-		for (i = _segments-1; i >= 0; i--) {
-			// Consider only segments with modulus greater than 1
-			if (_m[i]>=1) { 
-				line.setLine(x1[i]+_centerX, y1[i]+_centerY, x2[i]+_centerX, y2[i]+_centerY);
-				// First check if the line intersects the bounding box of the other organism
-				if (org.intersectsLine(line)) {
-					// Do the same for the other organism's segments.
-					for (j = org._segments-1; j >= 0; j--) {
-						if (org._m[j]>=1) {
-							bline.setLine(org.x1[j] + org._centerX, org.y1[j] + org._centerY,
-									org.x2[j] + org._centerX, org.y2[j] + org._centerY);
-							if (intersectsLine(bline) && line.intersectsLine(bline)) {
-								// If we found two intersecting segments, apply effects
-								touchEffects(org,i,j,true);
-								// Intersection point
-								Point2D.Double intersec= line.getIntersection(bline);
-								/* touchMove needs to know which is the line that collides from the middle (not
-								 * from a vertex). Try to guess it by finding the vertex nearest to the
-								 * intersection point.
-								 */
-								double dl1, dl2, dbl1, dbl2;
-								dl1 = intersec.distanceSq(line.getP1());
-								dl2 = intersec.distanceSq(line.getP2());
-								dbl1 = intersec.distanceSq(bline.getP1());
-								dbl2 = intersec.distanceSq(bline.getP2());
-								// Use this to send the best choice to touchMove
-								if (Math.min(dl1, dl2) < Math.min(dbl1, dbl2))
-									touchMove(org,intersec,bline,false);
-								else
-									touchMove(org,intersec,line,true);
-								// Find only one collision to speed up.
-								return true;
+		int a,b,i,j;
+		int sequence = _segments / _armMinX.length;
+		int osequence = org._segments / org._armMinX.length;
+		double lx1, ly1, lx2, ly2, bx1, by1, bx2, by2, t, px, py;
+		boolean point;
+		// Check collisions for all segments, in the arms that reach the other organism
+		for (a = _armMinX.length-1; a >= 0; a--) {
+			if (!armOverlaps(a, org.x, org.y, org.x + org.width, org.y + org.height))
+				continue;
+			for (i = (a+1)*sequence-1; i >= a*sequence; i--) {
+				// Consider only segments with modulus greater than 1
+				if (_m[i]>=1) { 
+					lx1 = x1[i]+_centerX; ly1 = y1[i]+_centerY;
+					lx2 = x2[i]+_centerX; ly2 = y2[i]+_centerY;
+					// First check if the line intersects the bounding box of the other organism
+					if (org.intersectsLine(lx1, ly1, lx2, ly2)) {
+						// Do the same for the other organism's segments, in the arms
+						// that reach both this organism and this segment. Line2D.linesIntersect
+						// finds that two segments reduced to a point always intersect,
+						// so arms can't be discarded by their position for those.
+						point = lx1 == lx2 && ly1 == ly2;
+						for (b = org._armMinX.length-1; b >= 0; b--) {
+							if (!org.armOverlaps(b, x, y, x + width, y + height) || (!point
+									&& !org.armOverlaps(b, Math.min(lx1, lx2), Math.min(ly1, ly2), Math.max(lx1, lx2), Math.max(ly1, ly2))))
+								continue;
+							for (j = (b+1)*osequence-1; j >= b*osequence; j--) {
+								if (org._m[j]>=1) {
+									bx1 = org.x1[j] + org._centerX; by1 = org.y1[j] + org._centerY;
+									bx2 = org.x2[j] + org._centerX; by2 = org.y2[j] + org._centerY;
+									if (intersectsLine(bx1, by1, bx2, by2)
+											&& Line2D.linesIntersect(lx1, ly1, lx2, ly2, bx1, by1, bx2, by2)) {
+										// If we found two intersecting segments, apply effects
+										touchEffects(org,i,j,true);
+										// Intersection point
+										t = ExLine2DDouble.getIntersection(lx1, ly1, lx2, ly2, bx1, by1, bx2, by2);
+										if (java.lang.Double.isNaN(t)) {
+											px = (lx1+lx2+bx1+bx2)/4d;
+											py = (ly1+ly2+by1+by2)/4d;
+										} else {
+											px = bx1 + t*(bx2-bx1);
+											py = by1 + t*(by2-by1);
+										}
+										/* touchMove needs to know which is the line that collides from the middle (not
+										 * from a vertex). Try to guess it by finding the vertex nearest to the
+										 * intersection point.
+										 */
+										if (isNearerToFirst(px, py, lx1, ly1, lx2, ly2, bx1, by1, bx2, by2))
+											touchMove(org,px,py,bx1,by1,bx2,by2,false);
+										else
+											touchMove(org,px,py,lx1,ly1,lx2,ly2,true);
+										// Find only one collision to speed up.
+										return true;
+									}
+								}
 							}
 						}
 					}
@@ -1532,6 +1606,50 @@ public class Organism extends Rectangle {
 		}
 		return false;
 	}
+	/**
+	 * Finds if the intersection point of two segments is nearer to a vertex of the
+	 * first segment than to any vertex of the second one.
+	 * 
+	 * @param px  The x coordinate of the intersection point.
+	 * @param py  The y coordinate of the intersection point.
+	 * @return  true if the nearest vertex to the intersection point is in the first
+	 * segment, that is, the second segment is the one that collides from the middle.
+	 */
+	private static boolean isNearerToFirst(double px, double py,
+			double lx1, double ly1, double lx2, double ly2,
+			double bx1, double by1, double bx2, double by2) {
+		return Math.min(Point2D.distanceSq(px, py, lx1, ly1), Point2D.distanceSq(px, py, lx2, ly2)) <
+			Math.min(Point2D.distanceSq(px, py, bx1, by1), Point2D.distanceSq(px, py, bx2, by2));
+	}
+	/**
+	 * Finds if a segment of this organism touches a segment of another organism.
+	 * 
+	 * @param org  The other organism.
+	 * @param seg  Index of this organism's segment.
+	 * @param oseg  Index of the other organism's segment.
+	 * @return  0 if the segments don't touch, 1 if they touch and the segment of this
+	 * organism collides with a vertex, or -1 if they touch and the segment of the
+	 * other organism collides with a vertex. Used by spikes, that only hurt with
+	 * their end point.
+	 */
+	private final int segmentContact(Organism org, int seg, int oseg) {
+		double lx1 = x1[seg] + _centerX, ly1 = y1[seg] + _centerY;
+		double lx2 = x2[seg] + _centerX, ly2 = y2[seg] + _centerY;
+		double bx1 = org.x1[oseg] + org._centerX, by1 = org.y1[oseg] + org._centerY;
+		double bx2 = org.x2[oseg] + org._centerX, by2 = org.y2[oseg] + org._centerY;
+		if (!intersectsLine(bx1, by1, bx2, by2) || !Line2D.linesIntersect(lx1, ly1, lx2, ly2, bx1, by1, bx2, by2))
+			return 0;
+		double px, py;
+		double t = ExLine2DDouble.getIntersection(lx1, ly1, lx2, ly2, bx1, by1, bx2, by2);
+		if (java.lang.Double.isNaN(t)) {
+			px = (lx1+lx2+bx1+bx2)/4d;
+			py = (ly1+ly2+by1+by2)/4d;
+		} else {
+			px = bx1 + t*(bx2-bx1);
+			py = by1 + t*(by2-by1);
+		}
+		return isNearerToFirst(px, py, lx1, ly1, lx2, ly2, bx1, by1, bx2, by2) ? 1 : -1;
+	}
 	/**
 	 * Applies the effects produced by two touching segments.
 	 * 
@@ -1550,124 +1668,21 @@ public class Organism extends Rectangle {
 			(_transfersenergy && org._transfersenergy && ((_geneticCode.getPeaceful() && org._geneticCode.getPeaceful()) ||
 			((_lengthfriend == org._lengthfriend || _thetafriend == org._thetafriend) && _geneticCode.getSocial() && org._geneticCode.getSocial())))) && org.alive) {
 			for (i=_segments-1; i>=0; i--) {
-				switch (getTypeColor(_segColor[i])) {
+				switch (_segType[i]) {
 				// Teal segment: React on other organisms
 				case TEAL:
-					switch (getTypeColor(_segColor[seg])) {
+					switch (_segType[seg]) {
 					default:
-		                  switch (getTypeColor(org._segColor[oseg])) {
+		                  switch (org._segType[oseg]) {
 		                  default:
-							    if (_segfriendReaction[seg] == -2) {
-							    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-							    	dx=0;
-							    	dy=0;
-							    	dtheta=0;
-							    }} else
-							    if (_segfriendReaction[seg] == -1) {
-							    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-								    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-								    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-								    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-			                    }} else 
-			                    if (_segfriendReaction[seg] == 1) {
-			                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-								    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-								    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-								    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-			                    }} else
-			                    if (_segfriendReaction[seg] == 2) {
-			                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-									dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-									dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-									dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-				                }} else
-			    	            break;	                    
+							    if (!tealReaction(_segfriendReaction[seg], org, i, seg))
+							    	break;
 						  }
 						  break;
 					}
 					break;
 				}}
-			switch (getTypeColor(_segColor[seg])) {
-			case MINT:
-				// Mint segment: Remove an infection
-				switch (getTypeColor(org._segColor[oseg])) {
-				case MINT:
-					if ((_infectedGeneticCode != null) || (org._infectedGeneticCode != null)) {
-					    if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-							_infectedGeneticCode = null;
-							org._infectedGeneticCode = null;
-							org.setColor(Utils.ColorMINT);
-							setColor(Utils.ColorMINT);
-						}
-					}
-					break;
-				default:
-					if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-						if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
-							if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-								org._infectedGeneticCode = null;
-								org.setColor(Color.CYAN);
-								setColor(Utils.ColorMINT);
-							}
-						}
-					} else {
-						if ((_geneticCode.getFamilial()) && ((_lengthfriend == org._lengthfriend) || (_thetafriend == org._thetafriend) ||
-							(_parentID == org._ID) || (_ID == org._parentID) || (_parentID == org._parentID && _parentID != -1 ))) {
-							if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
-								if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-									org._infectedGeneticCode = null;
-									org.setColor(Color.CYAN);
-									setColor(Utils.ColorMINT);
-								}
-							}
-						}
-					}
-				}
-				break;
-			case MAGENTA:
-				// Magenta segment: Heal all sick segments
-				switch (getTypeColor(org._segColor[oseg])) {
-				case MAGENTA:
-					for (int j = 0; j < org._segments; j++) {
-				    	if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
-							|| (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
-							|| (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
-						    if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-								org._segColor[j] = org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor();  
-								org.setColor(Color.MAGENTA);
-								setColor(Color.MAGENTA);
-						    }
-						}
-				    }
-					break;
-				default:
-				    for (int j = 0; j < org._segments; j++) {
-				    	if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-				    		if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
-								|| (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
-								|| (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
-						        if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-								    org._segColor[j] = org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor();  
-								    setColor(Color.MAGENTA);
-						        }
-						    }
-						} else {
-							if ((_geneticCode.getFamilial()) && ((_lengthfriend == org._lengthfriend) || (_thetafriend == org._thetafriend) ||
-								(_parentID == org._ID) || (_ID == org._parentID) || (_parentID == org._parentID && _parentID != -1 ))) {
-								if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
-								    || (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
-								    || (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
-								    if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-										org._segColor[j] = org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor();  
-										setColor(Color.MAGENTA);
-								    }
-								}
-							}
-						}
-				    }
-				}
-				break;
-			}
+			applyTouchEffect(FRIENDLY_TOUCH_EFFECTS, org, seg, oseg);
 			if ((_transfersenergy) && (alive)) {
 				if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
 					if ((_growthRatio==1) && (_energy > (org._energy+1)) && (useEnergy(Utils.ROSE_ENERGY_CONSUMPTION))) {
@@ -1713,10 +1728,10 @@ public class Organism extends Rectangle {
 			}
 		} else {
 		for (i=_segments-1; i>=0; i--) {
-		switch (getTypeColor(_segColor[i])) {
+		switch (_segType[i]) {
 		// Teal segment: React on other organisms
 		case TEAL:
-			switch (getTypeColor(_segColor[seg])) {
+			switch (_segType[seg]) {
 			case SPIKE:
 			case DARKOLIVE:
 			case BROKEN:
@@ -1728,63 +1743,17 @@ public class Organism extends Rectangle {
 			case LIGHT_BLUE:
 			case DEADBARK:
 			case ICE:
-				  switch (getTypeColor(org._segColor[oseg])) {
+				  switch (org._segType[oseg]) {
 				  default:
-					    if (_segsickReaction[seg] == -2) {
-					    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-					    if (_segsickReaction[seg] == -1) {
-					    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segsickReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segsickReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {	                    
-							dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-		                }} else
-	    	            break;	                    
+					    if (!tealReaction(_segsickReaction[seg], org, i, seg))
+					    	break;
 				  }
 				  break;
 			default:
-                  switch (getTypeColor(org._segColor[oseg])) {
+                  switch (org._segType[oseg]) {
                   case RED:
-                	    if (_segredReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                  	    if (_segredReaction[seg] == -1) {
-                  	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segredReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segredReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {	                    
-	  						dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	  						dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	  						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-		                }} else
-	    	            break;	                    
+                	    if (!tealReaction(_segredReaction[seg], org, i, seg))
+                	    	break;
                   case GREEN:
                   case SPRING:
                   case LIME:
@@ -1793,1143 +1762,657 @@ public class Organism extends Rectangle {
                   case JADE:
                   case DARKJADE:
                   case GRASS:
-            	        if (_seggreenReaction[seg] == -2) {
-            	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                        if (_seggreenReaction[seg] == -1) {
-                        if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					        dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-					        dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-					        dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else   
-	                    if (_seggreenReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {	                    
-					        dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-					        dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-					        dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_seggreenReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	    	            break;    
+            	        if (!tealReaction(_seggreenReaction[seg], org, i, seg))
+            	        	break;
                   case BLUE:
-                	    if (_segblueReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segblueReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else 
-  	                    if (_segblueReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segblueReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	    	            break;
+                	    if (!tealReaction(_segblueReaction[seg], org, i, seg))
+                	    	break;
                   case WHITE:
                   case PLAGUE:
                   case BROKEN:
                 	  if (org._isaplant) {
-                	    if (_segwhiteReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segwhiteReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segwhiteReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segwhiteReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	    	            break;
+                	    if (!tealReaction(_segwhiteReaction[seg], org, i, seg))
+                	    	break;
                 	  } else if ((org._isfrozen) || (org._isplague) || (org._isenhanced) || (org._isaconsumer)) {
-                  		if (_segplagueReaction[seg] == -2) {
-                  		if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    					    dx=0;
-    					    dy=0;
-    					    dtheta=0;
-    					}} else
-                        if (_segplagueReaction[seg] == -1) {
-                        if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-        					dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-      	                }} else
-      	                if (_segplagueReaction[seg] == 1) {
-      	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-        					dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-      	                }} else
-      	                if (_segplagueReaction[seg] == 2) {
-      	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-      	    			    dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      	    				dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      	    				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-      	  	            }} else
-      	    	        break;
+                  		if (!tealReaction(_segplagueReaction[seg], org, i, seg))
+                  			break;
                 	  } else {
-                		if (_segvirusReaction[seg] == -2) {
-                		if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  					    	dx=0;
-  					    	dy=0;
-  					    	dtheta=0;
-  					    }} else
-                      	if (_segvirusReaction[seg] == -1) {
-                      	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-      						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-    	                }} else
-    	                if (_segvirusReaction[seg] == 1) {
-    	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-      						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-    	                }} else
-    	                if (_segvirusReaction[seg] == 2) {
-    	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    	    			    dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    	    				dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    	    				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-    	  	            }} else
-    	    	        break;
+                		if (!tealReaction(_segvirusReaction[seg], org, i, seg))
+                			break;
                 	  }
                 	  break;
                   case SILVER:
                 	  if (org._isaconsumer) {
-                	    if (_segsilverReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segsilverReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segsilverReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segsilverReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	    	            break;
+                	    if (!tealReaction(_segsilverReaction[seg], org, i, seg))
+                	    	break;
                 	  } else if (org._isaplant) {
-                  		if (_segwhiteReaction[seg] == -2) {
-                  		if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    					    dx=0;
-    					    dy=0;
-    					    dtheta=0;
-    					}} else
-                        if (_segwhiteReaction[seg] == -1) {
-                        if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-        					dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-      	                }} else
-      	                if (_segwhiteReaction[seg] == 1) {
-      	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-        					dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-        					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-      	                }} else
-      	                if (_segwhiteReaction[seg] == 2) {
-      	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-      	    			    dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      	    				dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      	    				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-      	  	            }} else
-      	    	        break;
+                  		if (!tealReaction(_segwhiteReaction[seg], org, i, seg))
+                  			break;
                 	  } else {
-                		if (_segplagueReaction[seg] == -2) {
-                		if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  					    	dx=0;
-  					    	dy=0;
-  					    	dtheta=0;
-  					    }} else
-                      	if (_segplagueReaction[seg] == -1) {
-                      	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-      						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-    	                }} else
-    	                if (_segplagueReaction[seg] == 1) {
-    	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-      						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-      						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-    	                }} else
-    	                if (_segplagueReaction[seg] == 2) {
-    	                if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    	    			    dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    	    				dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    	    				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-    	  	            }} else
-    	    	        break;
+                		if (!tealReaction(_segplagueReaction[seg], org, i, seg))
+                			break;
                 	  }
                 	  break;
                   case GRAY:
-                	    if (_seggrayReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_seggrayReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else  	                    
-  	                    if (_seggrayReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_seggrayReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	     	            break;
+                	    if (!tealReaction(_seggrayReaction[seg], org, i, seg))
+                	    	break;
                   case MAGENTA:
                   case ROSE:
-                	    if (_segmagentaReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segmagentaReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else   	                    
-  	                    if (_segmagentaReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segmagentaReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	     	            break;
+                	    if (!tealReaction(_segmagentaReaction[seg], org, i, seg))
+                	    	break;
                   case PINK:
-                	    if (_segpinkReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segpinkReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else   	                    
-  	                    if (_segpinkReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segpinkReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segpinkReaction[seg], org, i, seg))
+                	    	break;
                   case ORANGE:
-                	    if (_segorangeReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segorangeReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else 
-  	                    if (_segorangeReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segorangeReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segorangeReaction[seg], org, i, seg))
+                	    	break;
                   case BARK:
                   case OLDBARK:
-              	        if (_segbarkReaction[seg] == -2) {
-              	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                  	    if (_segbarkReaction[seg] == -1) {
-                  	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segbarkReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segbarkReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	                    break;
+              	        if (!tealReaction(_segbarkReaction[seg], org, i, seg))
+              	        	break;
                   case VIOLET:
-                	    if (_segvioletReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segvioletReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segvioletReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segvioletReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segvioletReaction[seg], org, i, seg))
+                	    	break;
                   case MAROON:
-                	    if (_segmaroonReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segmaroonReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segmaroonReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segmaroonReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segmaroonReaction[seg], org, i, seg))
+                	    	break;
                   case OLIVE:
-                	    if (_segoliveReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-              	        if (_segoliveReaction[seg] == -1) {
-              	        if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segoliveReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segoliveReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-							dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-		                }} else
-	                    break;
+                	    if (!tealReaction(_segoliveReaction[seg], org, i, seg))
+                	    	break;
                   case MINT:
-                	    if (_segmintReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segmintReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segmintReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segmintReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segmintReaction[seg], org, i, seg))
+                	    	break;
                   case CREAM:
-                	    if (_segcreamReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segcreamReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segcreamReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segcreamReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segcreamReaction[seg], org, i, seg))
+                	    	break;
                   case SPIKEPOINT:
-                	    if (_segspikepointReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segspikepointReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segspikepointReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segspikepointReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segspikepointReaction[seg], org, i, seg))
+                	    	break;
                   case SPIKE:
-                	    if (_segspikeReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segspikeReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segspikeReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segspikeReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segspikeReaction[seg], org, i, seg))
+                	    	break;
                   case DARKOLIVE:
                   case LIGHT_BLUE:
-                	    if (_seglightblueReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_seglightblueReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else 
-  	                    if (_seglightblueReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_seglightblueReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_seglightblueReaction[seg], org, i, seg))
+                	    	break;
                   case OCHRE:
-                	    if (_segochreReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segochreReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else 
-  	                    if (_segochreReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segochreReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segochreReaction[seg], org, i, seg))
+                	    	break;
                   case SKY:
                   case DEEPSKY:
-                	    if (_segskyReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                	    if (_segskyReaction[seg] == -1) {
-                	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segskyReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segskyReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-							dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-		                }} else
-	                    break;
+                	    if (!tealReaction(_segskyReaction[seg], org, i, seg))
+                	    	break;
                   case ICE:
                   case DEADBARK:
-            	        if (_segiceReaction[seg] == -2) {
-            	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                	    if (_segiceReaction[seg] == -1) {
-                	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segiceReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segiceReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	                    break;
+            	        if (!tealReaction(_segiceReaction[seg], org, i, seg))
+            	        	break;
                   case LILAC:
                   case DARKLILAC:
-                	    if (_seglilacReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                	    if (_seglilacReaction[seg] == -1) {
-                	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_seglilacReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_seglilacReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-							dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-							dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-		                }} else
-	                    break;
+                	    if (!tealReaction(_seglilacReaction[seg], org, i, seg))
+                	    	break;
                   case CORAL:
-              	        if (_segcoralReaction[seg] == -2) {
-              	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                  	    if (_segcoralReaction[seg] == -1) {
-                  	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segcoralReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segcoralReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	                    break;
+              	        if (!tealReaction(_segcoralReaction[seg], org, i, seg))
+              	        	break;
                   case FIRE:
-              	        if (_segfireReaction[seg] == -2) {
-              	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                	    if (_segfireReaction[seg] == -1) {
-                	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segfireReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segfireReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	  						dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	  						dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	  						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-		                }} else
-	                    break;
+              	        if (!tealReaction(_segfireReaction[seg], org, i, seg))
+              	        	break;
                   case LIGHTBROWN:
                   case DARKFIRE:
-            	        if (_seglightbrownReaction[seg] == -2) {
-            	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                	    if (_seglightbrownReaction[seg] == -1) {
-                	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_seglightbrownReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_seglightbrownReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	                    break;
+            	        if (!tealReaction(_seglightbrownReaction[seg], org, i, seg))
+            	        	break;
                   case GREENBROWN:
                   case POISONEDJADE:
-            	        if (_seggreenbrownReaction[seg] == -2) {
-            	        if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                	    if (_seggreenbrownReaction[seg] == -1) {
-                	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_seggreenbrownReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_seggreenbrownReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	                    break;
+            	        if (!tealReaction(_seggreenbrownReaction[seg], org, i, seg))
+            	        	break;
                   case BROWN:
-                	    if (_segbrownReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                    	if (_segbrownReaction[seg] == -1) {
-                    	if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segbrownReaction[seg] == 1) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-    						dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-    						dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	                    }} else
-  	                    if (_segbrownReaction[seg] == 2) {
-  	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-  	  	                }} else
-  	                    break;
+                	    if (!tealReaction(_segbrownReaction[seg], org, i, seg))
+                	    	break;
                   default:
-                	    if (_segdefaultReaction[seg] == -2) {
-                	    if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-					    	dx=0;
-					    	dy=0;
-					    	dtheta=0;
-					    }} else
-                  	    if (_segdefaultReaction[seg] == -1) {
-                  	    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else 
-	                    if (_segdefaultReaction[seg] == 1) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-  						    dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-  						    dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	                    }} else
-	                    if (_segdefaultReaction[seg] == 2) {
-	                    if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
-	    					dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-	    					dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
-	  	                }} else
-	    	            break;
+                	    if (!tealReaction(_segdefaultReaction[seg], org, i, seg))
+                	    	break;
                   }
                   break;
             }
 			break;
 		}}
-		switch (getTypeColor(_segColor[seg])) {
-		case ORANGE:
-		// Orange segment: try to get energy from the other organism
-			// If the other segment is blue, it acts as a shield
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
+		// Effects of this segment on the other organism, depending on its type
+		applyTouchEffect(HOSTILE_TOUCH_EFFECTS, org, seg, oseg);
+		}
+		if ((_isaplant) && ((org._isaplant) || ((org._transfersenergy) && (!org._isaconsumer)))) {
+		for (i=_segments-1; i>=0; i--) {
+			switch (_segType[i]) {
 			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case JADE:
-			case TEAL:
-			case CYAN:
-			case YELLOW:
-			case AUBURN:
-			case INDIGO:
-			case BLOND:
-			case DARKGRAY:
-			case GOLD:
-				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-					org.setColor(Utils.ColorTEAL);
-					setColor(Color.ORANGE);
-				} else {
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-				    	// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-				    }
-				}
-				break;
-			case GRASS:
-				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-					org.setColor(Utils.ColorTEAL);
-					setColor(Color.ORANGE);
-				} else {
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-				    	// Get energy depending on segment length
-						takenEnergy = Utils.between((0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in green brown
-						org.setColor(Utils.ColorGREENBROWN);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-				    }
-				}
-				break;
-			case BLUE:
-				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					if (org._isenhanced) {
-					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-						setColor(Utils.ColorDARKLILAC);
-					} else {
-					    setColor(Color.ORANGE);
+				// Enhance photosynthesis in a colony
+				double photosynthesis = 0;
+				switch (_segType[seg]) {
+				case DARKGRAY:
+					switch (org._segType[oseg]) {
+					case DARKGRAY:
+					case BROWN:
+						break;
+					default:
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 4 * _mphoto[i];
 					}
-					org.setColor(Color.BLUE);
-				} else {
-					// Doesn't have energy to use the shield
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-					}	
-				}
-				break;
-			case LIGHT_BLUE:
-				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					setColor(Color.ORANGE);
-					org.setColor(Utils.ColorLIGHT_BLUE);
-				} else {
-					// Doesn't have energy to use the shield
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-					}	
-				}
-				break;
-			case SKY:
-				if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-					org._segColor[oseg] = Utils.ColorDEEPSKY;
-					setColor(Color.ORANGE);
-					org.setColor(Utils.ColorDEEPSKY);
+					break;
+				case FOREST:
+					switch (org._segType[oseg]) {
+					case FOREST:						
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * _mphoto[i];
+						break;
+					case GREEN:
+					case SPRING:
+					case LIME:
+					case C4:
+					case JADE:						
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.9 * _mphoto[i];
+						break;
+					case GRASS:
+					case BARK:
+					case OLDBARK:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.7 * _mphoto[i];
+						break;
+					case DARKGRAY:
+					case BROWN:
+						break;
+					default:						
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
+					}
+					break;
+				case GREEN:
+				case SPRING:
+				case LIME:
+				case C4:
+				case JADE:
+					switch (org._segType[oseg]) {
+					case FOREST:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.9 * _mphoto[i];
+						break;
+					case GREEN:
+					case SPRING:
+					case LIME:
+					case C4:
+					case JADE:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.8 * _mphoto[i];
+						break;
+					case GRASS:
+					case BARK:
+					case OLDBARK:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
+						break;
+					case DARKGRAY:
+					case BROWN:
+						break;
+					default:						
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.5 * _mphoto[i];
+					}
+					break;
+				case GRASS:
+				case BARK:
+				case OLDBARK:
+					switch (org._segType[oseg]) {
+					case FOREST:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.7 * _mphoto[i];
+						break;
+					case GREEN:
+					case SPRING:
+					case LIME:
+					case C4:
+					case JADE:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
+						break;
+					case GRASS:
+					case BARK:
+					case OLDBARK:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.4 * _mphoto[i];
+						break;
+					case DARKGRAY:
+					case BROWN:
+						break;
+					default:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.3 * _mphoto[i];
+					}
+					break;
+				default:
+					switch (org._segType[oseg]) {
+					case FOREST:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
+						break;
+					case GREEN:
+					case SPRING:
+					case LIME:
+					case C4:
+					case JADE:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.5 * _mphoto[i];
+						break;
+					case GRASS:
+					case BARK:
+					case OLDBARK:					
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.3 * _mphoto[i];
+						break;
+					case DARKGRAY:
+					case BROWN:
+						break;
+					default:				
+						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.3 * _mphoto[i];
+					}
+					break;		
+				}
+				_energy += _world.photosynthesis(photosynthesis);
+				break;	
+			}}}
+		// Check if the other organism has died
+		if (org.isAlive() && org._energy < Utils.tol) {
+			org.die(this);
+		}
+		if (firstCall)
+			org.touchEffects(this, oseg, seg, false);
+	}
+
+	/**
+	 * Applies the effect of one of this organism's segments touching a segment
+	 * of another organism.
+	 * 
+	 * @param effects  The table of effects to use.
+	 * @param org  The organism which is touching.
+	 * @param seg  Index of this organism's segment.
+	 * @param oseg  Index of the other organism's segment.
+	 */
+	private final void applyTouchEffect(TouchEffect[] effects, Organism org, int seg, int oseg) {
+		int type = _segType[seg];
+		if (type >= 0)
+			effects[type].apply(this, org, seg, oseg);
+	}
+	/**
+	 * Applies the reaction of a teal segment when this organism touches another one.
+	 * 
+	 * @param reaction  The reaction of the touching segment to the other segment:
+	 * -2 stops, -1 and 1 move along the touching segment, 2 moves towards the other organism.
+	 * @param org  The organism which is touching.
+	 * @param i  Index of the teal segment.
+	 * @param seg  Index of this organism's touching segment.
+	 * @return  false if the reaction is none of the above, true otherwise.
+	 */
+	private final boolean tealReaction(int reaction, Organism org, int i, int seg) {
+		switch (reaction) {
+		case -2:
+			if (useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
+				dx=0;
+				dy=0;
+				dtheta=0;
+			}
+			return true;
+		case -1:
+			if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
+				dx=Utils.between((x1[seg]-x2[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				dy=Utils.between((y1[seg]-y2[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
+			}
+			return true;
+		case 1:
+			if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
+				dx=Utils.between((x2[seg]-x1[seg])*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				dy=Utils.between((y2[seg]-y1[seg])*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
+			}
+			return true;
+		case 2:
+			if (Utils.random.nextInt(2)<1 && useEnergy(Utils.TEAL_ENERGY_CONSUMPTION)) {
+				dx=Utils.between((org._dCenterX-_dCenterX)*(_m[i]*_m[i]/_mass)+12d*(x2[i]-x1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				dy=Utils.between((org._dCenterY-_dCenterY)*(_m[i]*_m[i]/_mass)+12d*(y2[i]-y1[i])/_mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				dtheta=Utils.between(dtheta+Utils.randomSign()*_m[i]*FastMath.PI/_I, -Utils.MAX_ROT, Utils.MAX_ROT);
+			}
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private void friendlyTouchMint(Organism org, int seg, int oseg) {
+		// Mint segment: Remove an infection
+		switch (org._segType[oseg]) {
+		case MINT:
+			if ((_infectedGeneticCode != null) || (org._infectedGeneticCode != null)) {
+			    if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+					_infectedGeneticCode = null;
+					org._infectedGeneticCode = null;
+					org.setColor(Utils.ColorMINT);
+					setColor(Utils.ColorMINT);
+				}
+			}
+			break;
+		default:
+			if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+				if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
+					if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+						org._infectedGeneticCode = null;
+						org.setColor(Color.CYAN);
+						setColor(Utils.ColorMINT);
+					}
+				}
+			} else {
+				if ((_geneticCode.getFamilial()) && ((_lengthfriend == org._lengthfriend) || (_thetafriend == org._thetafriend) ||
+					(_parentID == org._ID) || (_ID == org._parentID) || (_parentID == org._parentID && _parentID != -1 ))) {
+					if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
+						if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+							org._infectedGeneticCode = null;
+							org.setColor(Color.CYAN);
+							setColor(Utils.ColorMINT);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void friendlyTouchMagenta(Organism org, int seg, int oseg) {
+		// Magenta segment: Heal all sick segments
+		switch (org._segType[oseg]) {
+		case MAGENTA:
+			for (int j = 0; j < org._segments; j++) {
+		    	if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
+					|| (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
+					|| (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
+				    if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
+						org.setSegColor(j, org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor());  
+						org.setColor(Color.MAGENTA);
+						setColor(Color.MAGENTA);
+				    }
+				}
+		    }
+			break;
+		default:
+		    for (int j = 0; j < org._segments; j++) {
+		    	if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+		    		if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
+						|| (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
+						|| (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
+				        if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
+						    org.setSegColor(j, org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor());  
+						    setColor(Color.MAGENTA);
+				        }
+				    }
 				} else {
-					// Doesn't have energy to use the shield
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-					}	
+					if ((_geneticCode.getFamilial()) && ((_lengthfriend == org._lengthfriend) || (_thetafriend == org._thetafriend) ||
+						(_parentID == org._ID) || (_ID == org._parentID) || (_parentID == org._parentID && _parentID != -1 ))) {
+						if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
+						    || (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
+						    || (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
+						    if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
+								org.setSegColor(j, org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor());  
+								setColor(Color.MAGENTA);
+						    }
+						}
+					}
 				}
-				break;
-			case DEEPSKY:
+		    }
+		}
+	}
+
+	private void touchOrange(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+	// Orange segment: try to get energy from the other organism
+		// If the other segment is blue, it acts as a shield
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case JADE:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case INDIGO:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Color.ORANGE);
+			} else {
+				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+			    	// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in orange
 					setColor(Color.ORANGE);
-					org.setColor(Utils.ColorDEEPSKY);
-				break;
-			case ORANGE:
+			    }
+			}
+			break;
+		case GRASS:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Color.ORANGE);
+			} else {
+				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+			    	// Get energy depending on segment length
+					takenEnergy = Utils.between((0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in green brown
+					org.setColor(Utils.ColorGREENBROWN);
+					// This organism will be shown in orange
+					setColor(Color.ORANGE);
+			    }
+			}
+			break;
+		case BLUE:
+			if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				if (org._isenhanced) {
+				    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+					setColor(Utils.ColorDARKLILAC);
+				} else {
+				    setColor(Color.ORANGE);
+				}
+				org.setColor(Color.BLUE);
+			} else {
+				// Doesn't have energy to use the shield
 				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
 					// Get energy depending on segment length
 					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					// The other organism will be shown in orange
-					org.setColor(Color.ORANGE);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
 					// This organism will be shown in orange
 					setColor(Color.ORANGE);
-				}
-				break;
-			case FIRE:
+				}	
+			}
+			break;
+		case LIGHT_BLUE:
+			if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				setColor(Color.ORANGE);
+				org.setColor(Utils.ColorLIGHT_BLUE);
+			} else {
+				// Doesn't have energy to use the shield
 				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
 					// Get energy depending on segment length
 					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					// The other organism will be shown in fire
-					org.setColor(Utils.ColorFIRE);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
 					// This organism will be shown in orange
 					setColor(Color.ORANGE);
-				}
-				break;
-			case SILVER:
+				}	
+			}
+			break;
+		case SKY:
+			if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+				org.setSegColor(oseg, Utils.ColorDEEPSKY);
+				setColor(Color.ORANGE);
+				org.setColor(Utils.ColorDEEPSKY);
+			} else {
+				// Doesn't have energy to use the shield
+				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in orange
+					setColor(Color.ORANGE);
+				}	
+			}
+			break;
+		case DEEPSKY:
+				setColor(Color.ORANGE);
+				org.setColor(Utils.ColorDEEPSKY);
+			break;
+		case ORANGE:
+			if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+				// Get energy depending on segment length
+				takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				// The other organism will be shown in orange
+				org.setColor(Color.ORANGE);
+				// This organism will be shown in orange
+				setColor(Color.ORANGE);
+			}
+			break;
+		case FIRE:
+			if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+				// Get energy depending on segment length
+				takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				// The other organism will be shown in fire
+				org.setColor(Utils.ColorFIRE);
+				// This organism will be shown in orange
+				setColor(Color.ORANGE);
+			}
+			break;
+		case SILVER:
             	if ((org._nTotalKills > 0) || (org._isenhanced)) {
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in gold
-						org.setColor(Utils.ColorGOLD);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-					}
-				} else {
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);
-					}
+				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in gold
+					org.setColor(Utils.ColorGOLD);
+					// This organism will be shown in orange
+					setColor(Color.ORANGE);
 				}
-				break;
-			case MINT:
-			case MAGENTA:
-			case ROSE:
-				if (_geneticCode.getAltruist()) {
-                break;
-				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Color.ORANGE);
-					} else {
-						if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-					    	// Get energy depending on segment length
-							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in orange
-							setColor(Color.ORANGE);
-					    }
-					}
+			} else {
+				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in orange
+					setColor(Color.ORANGE);
 				}
-				break;
-			case WHITE:
-				if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {			    
-					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in orange
-						setColor(Color.ORANGE);					    
-				    }
-			    }
-				break;
-			case ICE:
-			case DEADBARK:
-				if ((_isafreezer) || (_isenhanced)) {
+			}
+			break;
+		case MINT:
+		case MAGENTA:
+		case ROSE:
+			if (_geneticCode.getAltruist()) {
+                break;
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Color.ORANGE);
+				} else {
 					if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
+				    	// Get energy depending on segment length
 						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 						// The other organism will be shown in yellow
 						org.setColor(Color.YELLOW);
 						// This organism will be shown in orange
-						setColor(Color.ORANGE);					    
+						setColor(Color.ORANGE);
 				    }
+				}
+			}
+			break;
+		case WHITE:
+			if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {			    
+				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in orange
+					setColor(Color.ORANGE);					    
 			    }
-				break;
-			case BARK:
-		    	org._segColor[oseg] = Utils.ColorOLDBARK;
-		    	break;
-			case OLDBARK:
-				break;
-			case RED:
-				break;
-			case MAROON:
-				break;
-			case CREAM:
-				break;
-			case OCHRE:
-				break;
-			case OLIVE:
-				break;
-			case DARKOLIVE:
-				break;
-			case SPIKEPOINT:
-				break;
-			case BROWN:
-				break;	
-			default:
+		    }
+			break;
+		case ICE:
+		case DEADBARK:
+			if ((_isafreezer) || (_isenhanced)) {
 				if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
 					// Get energy depending on segment length
 					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 					// The other organism will be shown in yellow
 					org.setColor(Color.YELLOW);
 					// This organism will be shown in orange
-					setColor(Color.ORANGE);
-				}
-			}
-			// energy interchange
-			org._energy -= takenEnergy;
-			_energy += takenEnergy;
-			double CO2freed = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-			useEnergy(CO2freed);
-			org._hasdodged =true;
+					setColor(Color.ORANGE);					    
+			    }
+		    }
 			break;
-		case FIRE:
-			// Fire segment: omnivore between red and orange
-				// If the other segment is blue, it acts as a shield
-				switch (getTypeColor(org._segColor[oseg])) {
-				case GREEN:
-				case FOREST:
-				case SPRING:
-				case LIME:
-				case C4:
-				case JADE:
-				case TEAL:
-				case CYAN:
-				case YELLOW:
-				case AUBURN:
-				case INDIGO:
-				case BLOND:
-				case DARKGRAY:
-				case GOLD:
-					if (org._isaconsumer) {
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in fire
-							setColor(Utils.ColorFIRE);
-						}
-					} else {
-						if ((org._dodge) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorDARKFIRE);
-						} else {
-							if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in dark fire
-								setColor(Utils.ColorDARKFIRE);
-							}
-						}
-					}
-					break;
-				case GRASS:
-					if (org._isaconsumer) {
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in green brown
-							org.setColor(Utils.ColorGREENBROWN);
-							// This organism will be shown in fire
-							setColor(Utils.ColorFIRE);
-						}
-					} else {
-						if ((org._dodge) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorDARKFIRE);
-						} else {
-							if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((0.1 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in green brown
-								org.setColor(Utils.ColorGREENBROWN);
-								// This organism will be shown in dark fire
-								setColor(Utils.ColorDARKFIRE);
-							}
-						}
+		case BARK:
+	    	org.setSegColor(oseg, Utils.ColorOLDBARK);
+	    	break;
+		case OLDBARK:
+			break;
+		case RED:
+			break;
+		case MAROON:
+			break;
+		case CREAM:
+			break;
+		case OCHRE:
+			break;
+		case OLIVE:
+			break;
+		case DARKOLIVE:
+			break;
+		case SPIKEPOINT:
+			break;
+		case BROWN:
+			break;	
+		default:
+			if (useEnergy(Utils.ORANGE_ENERGY_CONSUMPTION)) {
+				// Get energy depending on segment length
+				takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				// The other organism will be shown in yellow
+				org.setColor(Color.YELLOW);
+				// This organism will be shown in orange
+				setColor(Color.ORANGE);
+			}
+		}
+		// energy interchange
+		org._energy -= takenEnergy;
+		_energy += takenEnergy;
+		double CO2freed = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+		useEnergy(CO2freed);
+		org._hasdodged =true;
+	}
+
+	private void touchFire(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Fire segment: omnivore between red and orange
+			// If the other segment is blue, it acts as a shield
+			switch (org._segType[oseg]) {
+			case GREEN:
+			case FOREST:
+			case SPRING:
+			case LIME:
+			case C4:
+			case JADE:
+			case TEAL:
+			case CYAN:
+			case YELLOW:
+			case AUBURN:
+			case INDIGO:
+			case BLOND:
+			case DARKGRAY:
+			case GOLD:
+				if (org._isaconsumer) {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in fire
+						setColor(Utils.ColorFIRE);
 					}
-					break;
-				case BLUE:
-					if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-						if (org._isenhanced) {
-						    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-							setColor(Utils.ColorDARKLILAC);
-						} else {
-							setColor(Utils.ColorDARKFIRE);
-						}
-						org.setColor(Color.BLUE);
+				} else {
+					if ((org._dodge) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorDARKFIRE);
 					} else {
-						// Doesn't have energy to use the shield
 						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -2937,88 +2420,215 @@ public class Organism extends Rectangle {
 							org.setColor(Color.YELLOW);
 							// This organism will be shown in dark fire
 							setColor(Utils.ColorDARKFIRE);
-						}	
+						}
 					}
-					break;
-				case LIGHT_BLUE:
-					if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				}
+				break;
+			case GRASS:
+				if (org._isaconsumer) {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in green brown
+						org.setColor(Utils.ColorGREENBROWN);
+						// This organism will be shown in fire
+						setColor(Utils.ColorFIRE);
+					}
+				} else {
+					if ((org._dodge) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
 						setColor(Utils.ColorDARKFIRE);
-						org.setColor(Utils.ColorLIGHT_BLUE);
 					} else {
-						// Doesn't have energy to use the shield
 						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
-							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
+							takenEnergy = Utils.between((0.1 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in green brown
+							org.setColor(Utils.ColorGREENBROWN);
 							// This organism will be shown in dark fire
 							setColor(Utils.ColorDARKFIRE);
-						}	
+						}
 					}
-				    break;
-				case SKY:
-					if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDEEPSKY;
-						setColor(Utils.ColorDARKFIRE);
-						org.setColor(Utils.ColorDEEPSKY);
+				}
+				break;
+			case BLUE:
+				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+					if (org._isenhanced) {
+					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+						setColor(Utils.ColorDARKLILAC);
 					} else {
-						// Doesn't have energy to use the shield
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in dark fire
-							setColor(Utils.ColorDARKFIRE);
-						}	
+						setColor(Utils.ColorDARKFIRE);
 					}
-					break;
-				case DEEPSKY:
+					org.setColor(Color.BLUE);
+				} else {
+					// Doesn't have energy to use the shield
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in dark fire
 						setColor(Utils.ColorDARKFIRE);
-						org.setColor(Utils.ColorDEEPSKY);
-					break;
-	            case RED:
-	            	if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+					}	
+				}
+				break;
+			case LIGHT_BLUE:
+				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+					setColor(Utils.ColorDARKFIRE);
+					org.setColor(Utils.ColorLIGHT_BLUE);
+				} else {
+					// Doesn't have energy to use the shield
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in dark fire
+						setColor(Utils.ColorDARKFIRE);
+					}	
+				}
+			    break;
+			case SKY:
+				if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDEEPSKY);
+					setColor(Utils.ColorDARKFIRE);
+					org.setColor(Utils.ColorDEEPSKY);
+				} else {
+					// Doesn't have energy to use the shield
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in dark fire
+						setColor(Utils.ColorDARKFIRE);
+					}	
+				}
+				break;
+			case DEEPSKY:
+					setColor(Utils.ColorDARKFIRE);
+					org.setColor(Utils.ColorDEEPSKY);
+				break;
+            case RED:
+            	if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in red
+					org.setColor(Color.RED);
+					// This organism will be shown in fire
+					setColor(Utils.ColorFIRE);
+				}
+				break;
+            case FIRE:
+            	if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in fire
+					org.setColor(Utils.ColorFIRE);
+					// This organism will be shown in fire
+					setColor(Utils.ColorFIRE);
+				}
+            	break;
+            case ORANGE:
+            	if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in orange
+					org.setColor(Color.ORANGE);
+					// This organism will be shown in fire
+					setColor(Utils.ColorFIRE);
+				}
+				break;
+            case SILVER:
+            	if ((org._nTotalKills > 0) || (org._isenhanced)) {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
 						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in red
-						org.setColor(Color.RED);
+						// The other organism will be shown in gold
+						org.setColor(Utils.ColorGOLD);
 						// This organism will be shown in fire
 						setColor(Utils.ColorFIRE);
 					}
-					break;
-	            case FIRE:
-	            	if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+				} else
+					if (org._isaconsumer) {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
 						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in fire
-						org.setColor(Utils.ColorFIRE);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
 						// This organism will be shown in fire
 						setColor(Utils.ColorFIRE);
 					}
-	            	break;
-	            case ORANGE:
-	            	if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+				} else  
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in dark fire
+						setColor(Utils.ColorDARKFIRE);
+				}					
+				break;
+            case PINK:
+            	if (org._geneticCode.getModifiespink()) {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
 						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in orange
-						org.setColor(Color.ORANGE);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
 						// This organism will be shown in fire
 						setColor(Utils.ColorFIRE);
 					}
-					break;
-	            case SILVER:
-	            	if ((org._nTotalKills > 0) || (org._isenhanced)) {
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in gold
-							org.setColor(Utils.ColorGOLD);
-							// This organism will be shown in fire
-							setColor(Utils.ColorFIRE);
-						}
-					} else
-						if (org._isaconsumer) {
+				} else {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in dark fire
+						setColor(Utils.ColorDARKFIRE);
+					}
+				}
+            	break;
+			case MAROON:
+			case CREAM:
+				if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in dark fire
+					setColor(Utils.ColorDARKFIRE);
+				}
+				break;
+			case ICE:
+			case DEADBARK:
+				if ((_isafreezer) && (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in fire
+					setColor(Utils.ColorFIRE);
+				}
+				break;
+			case BARK:
+		    	org.setSegColor(oseg, Utils.ColorOLDBARK);
+		    	break;
+			case OLDBARK:
+				break;
+			case OCHRE:
+				break;
+			case OLIVE:
+				break;
+			case DARKOLIVE:
+				break;
+			case SPIKEPOINT:
+				break;
+			case BROWN:
+			case GREENBROWN:
+			case POISONEDJADE:
+				if (_isenhanced) {
+					if (org._isaconsumer) {
 						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -3027,7 +2637,7 @@ public class Organism extends Rectangle {
 							// This organism will be shown in fire
 							setColor(Utils.ColorFIRE);
 						}
-					} else  
+					} else {
 						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -3035,10 +2645,17 @@ public class Organism extends Rectangle {
 							org.setColor(Color.YELLOW);
 							// This organism will be shown in dark fire
 							setColor(Utils.ColorDARKFIRE);
-					}					
-					break;
-	            case PINK:
-	            	if (org._geneticCode.getModifiespink()) {
+						}
+					}
+			    }
+				break;
+			case MINT:
+			case MAGENTA:
+			case ROSE:
+				if (_geneticCode.getAltruist()) {
+                break;
+				} else {
+					if (org._isaconsumer) {
 						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -3048,64 +2665,9 @@ public class Organism extends Rectangle {
 							setColor(Utils.ColorFIRE);
 						}
 					} else {
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in dark fire
+						if ((org._dodge) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+							org.setColor(Utils.ColorTEAL);
 							setColor(Utils.ColorDARKFIRE);
-						}
-					}
-	            	break;
-				case MAROON:
-				case CREAM:
-					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in dark fire
-						setColor(Utils.ColorDARKFIRE);
-					}
-					break;
-				case ICE:
-				case DEADBARK:
-					if ((_isafreezer) && (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION))) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in fire
-						setColor(Utils.ColorFIRE);
-					}
-					break;
-				case BARK:
-			    	org._segColor[oseg] = Utils.ColorOLDBARK;
-			    	break;
-				case OLDBARK:
-					break;
-				case OCHRE:
-					break;
-				case OLIVE:
-					break;
-				case DARKOLIVE:
-					break;
-				case SPIKEPOINT:
-					break;
-				case BROWN:
-				case GREENBROWN:
-				case POISONEDJADE:
-					if (_isenhanced) {
-						if (org._isaconsumer) {
-							if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in fire
-								setColor(Utils.ColorFIRE);
-							}
 						} else {
 							if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 								// Get energy depending on segment length
@@ -3116,149 +2678,21 @@ public class Organism extends Rectangle {
 								setColor(Utils.ColorDARKFIRE);
 							}
 						}
-				    }
-					break;
-				case MINT:
-				case MAGENTA:
-				case ROSE:
-					if (_geneticCode.getAltruist()) {
-	                break;
-					} else {
-						if (org._isaconsumer) {
-							if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in fire
-								setColor(Utils.ColorFIRE);
-							}
-						} else {
-							if ((org._dodge) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-								org.setColor(Utils.ColorTEAL);
-								setColor(Utils.ColorDARKFIRE);
-							} else {
-								if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-									// Get energy depending on segment length
-									takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-									// The other organism will be shown in yellow
-									org.setColor(Color.YELLOW);
-									// This organism will be shown in dark fire
-									setColor(Utils.ColorDARKFIRE);
-								}
-							}
-						}
-					}
-					break;
-				default:
-					if (org._isaconsumer) {
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in fire
-							setColor(Utils.ColorFIRE);
-						}
-					} else {
-						if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in dark fire
-							setColor(Utils.ColorDARKFIRE);
-						}
 					}
-			    }
-				// energy interchange
-				org._energy -= takenEnergy;
-				_energy += takenEnergy;
-				double CO2freed7 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-				useEnergy(CO2freed7);
-				org._hasdodged =true;
+				}
 				break;
-		case RED:
-			// Red segment: try to get energy from other consumers
-				switch (getTypeColor(org._segColor[oseg])) {
-				case RED:
-					if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in red
-						org.setColor(Color.RED);
-						// This organism will be shown in red
-						setColor(Color.RED);
-					}
-					break;
-				case FIRE:
-					if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in fire
-						org.setColor(Utils.ColorFIRE);
-						// This organism will be shown in red
-						setColor(Color.RED);
-					}
-					break;
-				case ORANGE:
-				case MAROON:
-				case PINK:
-					if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in red
-						setColor(Color.RED);
-					}
-					break;
-				case SILVER:
-					if ((org._nTotalKills > 0) || (org._isenhanced)) {
-						if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in gold
-							org.setColor(Utils.ColorGOLD);
-							// This organism will be shown in red
-							setColor(Color.RED);
-						}
-					}
-					break;
-				case SPIKE:
-					if ((org._isenhanced) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in red
-						setColor(Color.RED);
-					}
-					break;
-				case SPIKEPOINT:
-					if ((_isenhanced) && (org._isenhanced) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
-						// This organism will be shown in red
-						setColor(Color.RED);
-					}
-					break;
-				case LILAC:
-				case DARKLILAC:
-				case GRAY:
-					if ((_isenhanced) && (org._isaconsumer) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
+			default:
+				if (org._isaconsumer) {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
-						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 						// The other organism will be shown in yellow
 						org.setColor(Color.YELLOW);
-						// This organism will be shown in dark fire
-						setColor(Utils.ColorDARKFIRE);
+						// This organism will be shown in fire
+						setColor(Utils.ColorFIRE);
 					}
-					break;
-				case CREAM:
-					if ((_isenhanced) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
+				} else {
+					if (useEnergy(Utils.FIRE_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
 						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 						// The other organism will be shown in yellow
@@ -3266,122 +2700,168 @@ public class Organism extends Rectangle {
 						// This organism will be shown in dark fire
 						setColor(Utils.ColorDARKFIRE);
 					}
-					break;
-				case BARK:
-			    	org._segColor[oseg] = Utils.ColorOLDBARK;
-			    	break;
-				default:
-					break;
 				}
-				// energy interchange
-				org._energy -= takenEnergy;
-				_energy += takenEnergy;
-				double CO2freed2 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-				useEnergy(CO2freed2);
-				break;	
-		case PINK:
-			// Pink segment: try to get energy from corpses, weak organisms, viruses and parasites
-				switch (getTypeColor(org._segColor[oseg])) {
-				case PINK:
-					if (_geneticCode.getModifiespink()) {
-						if (org._geneticCode.getModifiespink()) {
-							if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in pink
-							    org.setColor(Color.PINK);
-								// This organism will be shown in pink
-								setColor(Color.PINK);
-							}
-						} else {
-							if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in dark fire
-								org.setColor(Utils.ColorDARKFIRE);
-								// This organism will be shown in pink
-								setColor(Color.PINK);
-							}
-						}
-					} else {
-						if (org._geneticCode.getModifiespink()) {
-							if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in pink
-							    org.setColor(Color.PINK);
-								// This organism will be shown in dark fire
-								setColor(Utils.ColorDARKFIRE);
-							}
-						} else {
-							if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in dark fire
-								org.setColor(Utils.ColorDARKFIRE);
-								// This organism will be shown in dark fire
-								setColor(Utils.ColorDARKFIRE);
-							}
-						}
+		    }
+			// energy interchange
+			org._energy -= takenEnergy;
+			_energy += takenEnergy;
+			double CO2freed7 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+			useEnergy(CO2freed7);
+			org._hasdodged =true;
+	}
+
+	private void touchRed(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Red segment: try to get energy from other consumers
+			switch (org._segType[oseg]) {
+			case RED:
+				if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in red
+					org.setColor(Color.RED);
+					// This organism will be shown in red
+					setColor(Color.RED);
+				}
+				break;
+			case FIRE:
+				if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in fire
+					org.setColor(Utils.ColorFIRE);
+					// This organism will be shown in red
+					setColor(Color.RED);
+				}
+				break;
+			case ORANGE:
+			case MAROON:
+			case PINK:
+				if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in red
+					setColor(Color.RED);
+				}
+				break;
+			case SILVER:
+				if ((org._nTotalKills > 0) || (org._isenhanced)) {
+					if (useEnergy(Utils.RED_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in gold
+						org.setColor(Utils.ColorGOLD);
+						// This organism will be shown in red
+						setColor(Color.RED);
 					}
-					break;
-				case CREAM:
-					if (_geneticCode.getModifiespink()) {
+				}
+				break;
+			case SPIKE:
+				if ((org._isenhanced) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in red
+					setColor(Color.RED);
+				}
+				break;
+			case SPIKEPOINT:
+				if ((_isenhanced) && (org._isenhanced) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in red
+					setColor(Color.RED);
+				}
+				break;
+			case LILAC:
+			case DARKLILAC:
+			case GRAY:
+				if ((_isenhanced) && (org._isaconsumer) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in dark fire
+					setColor(Utils.ColorDARKFIRE);
+				}
+				break;
+			case CREAM:
+				if ((_isenhanced) && (useEnergy(Utils.RED_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in dark fire
+					setColor(Utils.ColorDARKFIRE);
+				}
+				break;
+			case BARK:
+		    	org.setSegColor(oseg, Utils.ColorOLDBARK);
+		    	break;
+			default:
+				break;
+			}
+			// energy interchange
+			org._energy -= takenEnergy;
+			_energy += takenEnergy;
+			double CO2freed2 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+			useEnergy(CO2freed2);
+	}
+
+	private void touchPink(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Pink segment: try to get energy from corpses, weak organisms, viruses and parasites
+			switch (org._segType[oseg]) {
+			case PINK:
+				if (_geneticCode.getModifiespink()) {
+					if (org._geneticCode.getModifiespink()) {
 						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
+							// The other organism will be shown in pink
+						    org.setColor(Color.PINK);
 							// This organism will be shown in pink
 							setColor(Color.PINK);
 						}
 					} else {
+						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+							// Get energy depending on segment length
+							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in dark fire
+							org.setColor(Utils.ColorDARKFIRE);
+							// This organism will be shown in pink
+							setColor(Color.PINK);
+						}
+					}
+				} else {
+					if (org._geneticCode.getModifiespink()) {
 						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
+							// The other organism will be shown in pink
+						    org.setColor(Color.PINK);
 							// This organism will be shown in dark fire
 							setColor(Utils.ColorDARKFIRE);
 						}
-					}
-					break;
-				case SILVER:
-					if (org._nTotalInfected > 0) {
-						if ((org._nTotalKills > 0) || (org._isenhanced)) {
-							if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in gold
-								org.setColor(Utils.ColorGOLD);
-								// This organism will be shown in pink
-								setColor(Color.PINK);
-							}
-						} else {
-							if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in pink
-								setColor(Color.PINK);
-							}
+					} else {
+						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+							// Get energy depending on segment length
+							takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in dark fire
+							org.setColor(Utils.ColorDARKFIRE);
+							// This organism will be shown in dark fire
+							setColor(Utils.ColorDARKFIRE);
 						}
 					}
-					break;
-				case WHITE:
-				case PLAGUE:
-				case CORAL:
-				case DARKOLIVE:
-				case DARKFIRE:
-				case LIGHTBROWN:
-				case GREENBROWN:
-				case POISONEDJADE:
-				case BROKEN:
-				case LIGHT_BLUE:
-				case DEEPSKY:
-				case ICE:
-				case DEADBARK:
+				}
+				break;
+			case CREAM:
+				if (_geneticCode.getModifiespink()) {
 					if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
 						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -3390,97 +2870,77 @@ public class Organism extends Rectangle {
 						// This organism will be shown in pink
 						setColor(Color.PINK);
 					}
-					break;
-				case BROWN:
-					if ((_isakiller < 2) || (_geneticCode.getModifiespink())) {
-					    if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in pink
-						    setColor(Color.PINK);
-					    }
-					}
-					break;
-				case OLDBARK:
-					if (_isenhanced) {
-						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-							if (org._isenhanced) {
-								takenEnergy = Utils.between((0.1 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in green brown
-								org.setColor(Utils.ColorGREENBROWN);
-							} else {
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-							    org.setColor(Color.YELLOW);
-							}
-						    // This organism will be shown in pink
-						    setColor(Color.PINK);
-					    }
+				} else {
+					if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((0.2 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in dark fire
+						setColor(Utils.ColorDARKFIRE);
 					}
-					break;
-				case BARK:
-			    	org._segColor[oseg] = Utils.ColorOLDBARK;
-					break;
-				default:
-					break;	
 				}
-				// energy interchange
-				org._energy -= takenEnergy;
-				_energy += takenEnergy;
-				double CO2freed3 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-				useEnergy(CO2freed3);
 				break;
-		case MAROON:
-			// Maroon segment: try to get energy from plants and feed on ochre, sky, darkolive and cracked light blue segments
-				switch (getTypeColor(org._segColor[oseg])) {
-				case BLUE:
-					if (org._isaplant) {
-					    if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					    	if (org._isenhanced) {
-							    useEnergy(Utils.between((0.1 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-								setColor(Utils.ColorDARKLILAC);
-							} else {
-								setColor(Utils.ColorMAROON);
-							}
-						    org.setColor(Color.BLUE);
-					    } else {
-							// Doesn't have energy to use the shield
-							if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in maroon
-								setColor(Utils.ColorMAROON);
-							}	
+			case SILVER:
+				if (org._nTotalInfected > 0) {
+					if ((org._nTotalKills > 0) || (org._isenhanced)) {
+						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+							// Get energy depending on segment length
+							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in gold
+							org.setColor(Utils.ColorGOLD);
+							// This organism will be shown in pink
+							setColor(Color.PINK);
 						}
-					}
-					break;
-				case WHITE:
-				case PLAGUE:
-				case SPIKE:
-				case BROKEN:
-				case LIGHT_BLUE:
-				case DEEPSKY:
-				case DARKOLIVE:
-				case OCHRE:
-				case DARKJADE:
-					if (org._isaplant) {
-						if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) { 
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in maroon
-						    setColor(Utils.ColorMAROON);
+					} else {
+						if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+							// Get energy depending on segment length
+							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in yellow
+							org.setColor(Color.YELLOW);
+							// This organism will be shown in pink
+							setColor(Color.PINK);
 						}
 					}
-					break;
-				case OLDBARK:
-					if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) { 
+				}
+				break;
+			case WHITE:
+			case PLAGUE:
+			case CORAL:
+			case DARKOLIVE:
+			case DARKFIRE:
+			case LIGHTBROWN:
+			case GREENBROWN:
+			case POISONEDJADE:
+			case BROKEN:
+			case LIGHT_BLUE:
+			case DEEPSKY:
+			case ICE:
+			case DEADBARK:
+				if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in pink
+					setColor(Color.PINK);
+				}
+				break;
+			case BROWN:
+				if ((_isakiller < 2) || (_geneticCode.getModifiespink())) {
+				    if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in pink
+					    setColor(Color.PINK);
+				    }
+				}
+				break;
+			case OLDBARK:
+				if (_isenhanced) {
+					if (useEnergy(Utils.PINK_ENERGY_CONSUMPTION)) {
 					    // Get energy depending on segment length
 						if (org._isenhanced) {
 							takenEnergy = Utils.between((0.1 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -3491,23 +2951,40 @@ public class Organism extends Rectangle {
 							// The other organism will be shown in yellow
 						    org.setColor(Color.YELLOW);
 						}
-					    // This organism will be shown in maroon
-					    setColor(Utils.ColorMAROON);
-					}
-					break;
-				case BARK:
-			    	org._segColor[oseg] = Utils.ColorOLDBARK;
-			    	break;
-				case GREEN:
-				case FOREST:
-				case SPRING:
-				case LIME:
-				case C4:
-				case JADE:
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorMAROON);
-					} else {
+					    // This organism will be shown in pink
+					    setColor(Color.PINK);
+				    }
+				}
+				break;
+			case BARK:
+		    	org.setSegColor(oseg, Utils.ColorOLDBARK);
+				break;
+			default:
+				break;	
+			}
+			// energy interchange
+			org._energy -= takenEnergy;
+			_energy += takenEnergy;
+			double CO2freed3 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+			useEnergy(CO2freed3);
+	}
+
+	private void touchMaroon(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Maroon segment: try to get energy from plants and feed on ochre, sky, darkolive and cracked light blue segments
+			switch (org._segType[oseg]) {
+			case BLUE:
+				if (org._isaplant) {
+				    if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				    	if (org._isenhanced) {
+						    useEnergy(Utils.between((0.1 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+							setColor(Utils.ColorDARKLILAC);
+						} else {
+							setColor(Utils.ColorMAROON);
+						}
+					    org.setColor(Color.BLUE);
+				    } else {
+						// Doesn't have energy to use the shield
 						if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
 							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -3515,51 +2992,60 @@ public class Organism extends Rectangle {
 							org.setColor(Color.YELLOW);
 							// This organism will be shown in maroon
 							setColor(Utils.ColorMAROON);
-						}
+						}	
 					}
-					break;
-				case GRASS:
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorMAROON);
-					} else {
-						if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in green brown
-							org.setColor(Utils.ColorGREENBROWN);
-							// This organism will be shown in maroon
-							setColor(Utils.ColorMAROON);
-						}
+				}
+				break;
+			case WHITE:
+			case PLAGUE:
+			case SPIKE:
+			case BROKEN:
+			case LIGHT_BLUE:
+			case DEEPSKY:
+			case DARKOLIVE:
+			case OCHRE:
+			case DARKJADE:
+				if (org._isaplant) {
+					if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) { 
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in maroon
+					    setColor(Utils.ColorMAROON);
 					}
-					break;
-				case CYAN:
-				case TEAL:
-				case YELLOW:
-				case AUBURN:
-				case INDIGO:
-				case BLOND:
-				case DARKGRAY:
-				case GOLD:
-					if ((_isenhanced) && (org._isaplant)) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorMAROON);
-						} else {
-							if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in maroon
-								setColor(Utils.ColorMAROON);
-							}
-						}					
+				}
+				break;
+			case OLDBARK:
+				if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) { 
+				    // Get energy depending on segment length
+					if (org._isenhanced) {
+						takenEnergy = Utils.between((0.1 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in green brown
+						org.setColor(Utils.ColorGREENBROWN);
+					} else {
+						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
 					}
-					break;
-				case ICE:
-				case DEADBARK:
-					if ((_isafreezer) && (org._isaplant) && (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION))) {
+				    // This organism will be shown in maroon
+				    setColor(Utils.ColorMAROON);
+				}
+				break;
+			case BARK:
+		    	org.setSegColor(oseg, Utils.ColorOLDBARK);
+		    	break;
+			case GREEN:
+			case FOREST:
+			case SPRING:
+			case LIME:
+			case C4:
+			case JADE:
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorMAROON);
+				} else {
+					if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
 						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 						// The other organism will be shown in yellow
@@ -3567,200 +3053,171 @@ public class Organism extends Rectangle {
 						// This organism will be shown in maroon
 						setColor(Utils.ColorMAROON);
 					}
-					break;
-				case RED:
-					break;
-				case FIRE:
-					break;
-				case ORANGE:
-					break;
-				case MAROON:
-					break;
-				case PINK:
-					break;
-				case CREAM:
-					break;				
-				case LILAC:
-					break;
-				case DARKLILAC:
-					break;
-				case SPIKEPOINT:
-					break;
-				case SKY:
-					break;
-				case OLIVE:
-					break;
-				case BROWN:
-					break;
-				case SILVER:
-					if ((org._nTotalKills > 0) || (org._isenhanced)) {
-		                break;
-						} else {
-						if ((org._isaplant) && (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION))) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in maroon
-							setColor(Utils.ColorMAROON);								    
-						}
-					}
-					break;
-				case MINT:
-				case MAGENTA:
-				case ROSE:
-					if (_geneticCode.getAltruist()) {
-					break;
-					} else {
-						if ((_isenhanced) && (org._isaplant)) {
-							if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-								org.setColor(Utils.ColorTEAL);
-								setColor(Utils.ColorMAROON);
-							} else {
-								if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
-									// Get energy depending on segment length
-									takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-									// The other organism will be shown in yellow
-									org.setColor(Color.YELLOW);
-									// This organism will be shown in maroon
-									setColor(Utils.ColorMAROON);
-								}
-							}					
-						}
-					}
-					break;
-				default:
-					if ((_isenhanced) && (org._isaplant) && (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION))) {
+				}
+				break;
+			case GRASS:
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorMAROON);
+				} else {
+					if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
-						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in yellow
-						org.setColor(Color.YELLOW);
+						takenEnergy = Utils.between((0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in green brown
+						org.setColor(Utils.ColorGREENBROWN);
 						// This organism will be shown in maroon
-						setColor(Utils.ColorMAROON);								    
-					}		
-				}
-				// energy interchange
-				org._energy -= takenEnergy;
-				_energy += takenEnergy;
-				double CO2freed4 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-				useEnergy(CO2freed4);
-				org._hasdodged =true;
-				break;
-		case CREAM:
-			// Cream segment: Parasitize on other organisms
-			takenEnergy = handleCream(org, seg, oseg, takenEnergy);
-			// energy interchange
-				org._energy -= takenEnergy;
-				_energy += takenEnergy;
-				double CO2freed5 = takenEnergy * Utils.CREAM_ORGANIC_SUBS_PRODUCED;
-				useEnergy(CO2freed5);
-				org._hasdodged =true;
+						setColor(Utils.ColorMAROON);
+					}
+				}
 				break;
-		case LILAC:
-			// Lilac segment: Weaken organisms
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case JADE:
-			case TEAL:
 			case CYAN:
+			case TEAL:
 			case YELLOW:
 			case AUBURN:
 			case INDIGO:
 			case BLOND:
 			case DARKGRAY:
 			case GOLD:
-		    	if ((_geneticCode.getModifieslilac()) || (org._isaconsumer)) {
-		    		if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorLILAC);
-					} else {
-						if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-							org.setColor(Utils.ColorDARKLILAC);
-							// This organism will be shown in lilac
-							setColor(Utils.ColorLILAC);
-							// Organism has to recharge
-							if (!_isenhanced) {
-								_segColor[seg] = Utils.ColorDARKLILAC;
-							}
-						}
-					}
-		    	}
-		    	break;
-			case GRASS:
-				if ((_geneticCode.getModifieslilac()) || (org._isaconsumer)) {
-		    		if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				if ((_isenhanced) && (org._isaplant)) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
 						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorLILAC);
+						setColor(Utils.ColorMAROON);
 					} else {
-						if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+						if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
 							// Get energy depending on segment length
-							takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-							org.setColor(Utils.ColorDARKLILAC);
-						    // This organism will be shown in lilac
-							setColor(Utils.ColorLILAC);
-							// Organism has to recharge
-							if (!_isenhanced) {
-								_segColor[seg] = Utils.ColorDARKLILAC;
-							}
-						}
-					}
-		    	}
-		    	break;
-		    case BLUE:
-				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					if (org._isenhanced) {
-					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-						setColor(Utils.ColorDARKLILAC);
-					} else {
-						setColor(Utils.ColorLILAC);
-					}
-					org.setColor(Color.BLUE);
-				} else {
-					// Doesn't have energy to use the shield
-					if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
-						// Get energy depending on segment length
-						takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in dark lilac
-						org.setColor(Utils.ColorDARKLILAC);
-						// This organism will be shown in lilac
-						setColor(Utils.ColorLILAC);
-						// Organism has to recharge
-						if (!_isenhanced) {
-							_segColor[seg] = Utils.ColorDARKLILAC;
+							takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in yellow
+							org.setColor(Color.YELLOW);
+							// This organism will be shown in maroon
+							setColor(Utils.ColorMAROON);
 						}
-					}	
+					}					
+				}
+				break;
+			case ICE:
+			case DEADBARK:
+				if ((_isafreezer) && (org._isaplant) && (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in maroon
+					setColor(Utils.ColorMAROON);
 				}
 				break;
-		    case DARKJADE:
-		    case OLDBARK:
-		    case WHITE:
-		    case BROWN:
-		    	if ((_geneticCode.getModifieslilac()) || ((org._isaconsumer) && (org.alive))) {
-		    		if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+			case RED:
+				break;
+			case FIRE:
+				break;
+			case ORANGE:
+				break;
+			case MAROON:
+				break;
+			case PINK:
+				break;
+			case CREAM:
+				break;				
+			case LILAC:
+				break;
+			case DARKLILAC:
+				break;
+			case SPIKEPOINT:
+				break;
+			case SKY:
+				break;
+			case OLIVE:
+				break;
+			case BROWN:
+				break;
+			case SILVER:
+				if ((org._nTotalKills > 0) || (org._isenhanced)) {
+	                break;
+					} else {
+					if ((org._isaplant) && (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION))) {
 						// Get energy depending on segment length
-						takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						// The other organism will be shown in dark lilac
-						org.setColor(Utils.ColorDARKLILAC);
-						// This organism will be shown in lilac
-						setColor(Utils.ColorLILAC);
-						// Organism has to recharge
-						if (!_isenhanced) {
-							_segColor[seg] = Utils.ColorDARKLILAC;
-						}
+						takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in maroon
+						setColor(Utils.ColorMAROON);								    
 					}
-		    	}
+				}
+				break;
+			case MINT:
+			case MAGENTA:
+			case ROSE:
+				if (_geneticCode.getAltruist()) {
 				break;
-		    case RED:
-		    	if (org._isenhanced) {
+				} else {
+					if ((_isenhanced) && (org._isaplant)) {
+						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+							org.setColor(Utils.ColorTEAL);
+							setColor(Utils.ColorMAROON);
+						} else {
+							if (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION)) {
+								// Get energy depending on segment length
+								takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+								// The other organism will be shown in yellow
+								org.setColor(Color.YELLOW);
+								// This organism will be shown in maroon
+								setColor(Utils.ColorMAROON);
+							}
+						}					
+					}
+				}
 				break;
+			default:
+				if ((_isenhanced) && (org._isaplant) && (useEnergy(Utils.MAROON_ENERGY_CONSUMPTION))) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in yellow
+					org.setColor(Color.YELLOW);
+					// This organism will be shown in maroon
+					setColor(Utils.ColorMAROON);								    
+				}		
+			}
+			// energy interchange
+			org._energy -= takenEnergy;
+			_energy += takenEnergy;
+			double CO2freed4 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+			useEnergy(CO2freed4);
+			org._hasdodged =true;
+	}
+
+	private void touchCream(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Cream segment: Parasitize on other organisms
+		takenEnergy = handleCream(org, seg, oseg, takenEnergy);
+		// energy interchange
+			org._energy -= takenEnergy;
+			_energy += takenEnergy;
+			double CO2freed5 = takenEnergy * Utils.CREAM_ORGANIC_SUBS_PRODUCED;
+			useEnergy(CO2freed5);
+			org._hasdodged =true;
+	}
+
+	private void touchLilac(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Lilac segment: Weaken organisms
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case JADE:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case INDIGO:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+	    	if ((_geneticCode.getModifieslilac()) || (org._isaconsumer)) {
+	    		if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorLILAC);
 				} else {
 					if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
@@ -3771,61 +3228,82 @@ public class Organism extends Rectangle {
 						setColor(Utils.ColorLILAC);
 						// Organism has to recharge
 						if (!_isenhanced) {
-							_segColor[seg] = Utils.ColorDARKLILAC;
+							setSegColor(seg, Utils.ColorDARKLILAC);
 						}
-					}	
+					}
 				}
-				break;
-		    case OLIVE:
-				if ((!org._isaplant) || (org._isenhanced)) {
-	            break;
+	    	}
+	    	break;
+		case GRASS:
+			if ((_geneticCode.getModifieslilac()) || (org._isaconsumer)) {
+	    		if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorLILAC);
 				} else {
 					if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
 						// Get energy depending on segment length
-						takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 						// The other organism will be shown in dark lilac
 						org.setColor(Utils.ColorDARKLILAC);
-						// This organism will be shown in lilac
+					    // This organism will be shown in lilac
 						setColor(Utils.ColorLILAC);
 						// Organism has to recharge
 						if (!_isenhanced) {
-							_segColor[seg] = Utils.ColorDARKLILAC;
+							setSegColor(seg, Utils.ColorDARKLILAC);
 						}
-					}	
+					}
 				}
-				break;				
-		    case MINT:
-		    case MAGENTA:
-		    case ROSE:
-				if (_geneticCode.getAltruist()) {
-                break;
+	    	}
+	    	break;
+	    case BLUE:
+			if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				if (org._isenhanced) {
+				    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+					setColor(Utils.ColorDARKLILAC);
 				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorLILAC);
-					} else {
-						if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-							org.setColor(Utils.ColorDARKLILAC);
-							// This organism will be shown in lilac
-							setColor(Utils.ColorLILAC);
-							// Organism has to recharge
-							if (!_isenhanced) {
-								_segColor[seg] = Utils.ColorDARKLILAC;
-							}
-						}
+					setColor(Utils.ColorLILAC);
+				}
+				org.setColor(Color.BLUE);
+			} else {
+				// Doesn't have energy to use the shield
+				if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in dark lilac
+					org.setColor(Utils.ColorDARKLILAC);
+					// This organism will be shown in lilac
+					setColor(Utils.ColorLILAC);
+					// Organism has to recharge
+					if (!_isenhanced) {
+						setSegColor(seg, Utils.ColorDARKLILAC);
+					}
+				}	
+			}
+			break;
+	    case DARKJADE:
+	    case OLDBARK:
+	    case WHITE:
+	    case BROWN:
+	    	if ((_geneticCode.getModifieslilac()) || ((org._isaconsumer) && (org.alive))) {
+	    		if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in dark lilac
+					org.setColor(Utils.ColorDARKLILAC);
+					// This organism will be shown in lilac
+					setColor(Utils.ColorLILAC);
+					// Organism has to recharge
+					if (!_isenhanced) {
+						setSegColor(seg, Utils.ColorDARKLILAC);
 					}
 				}
-				break;
-		    case SPIKEPOINT:
-		    	break;
-		    case BARK:
-				org._segColor[oseg] = Utils.ColorOLDBARK;
-				break;
-		    default:
-		    	if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+	    	}
+			break;
+	    case RED:
+	    	if (org._isenhanced) {
+			break;
+			} else {
+				if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
 					// Get energy depending on segment length
 					takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
 					// The other organism will be shown in dark lilac
@@ -3834,232 +3312,207 @@ public class Organism extends Rectangle {
 					setColor(Utils.ColorLILAC);
 					// Organism has to recharge
 					if (!_isenhanced) {
-						_segColor[seg] = Utils.ColorDARKLILAC;
+						setSegColor(seg, Utils.ColorDARKLILAC);
 					}
 				}	
 			}
-			// energy interchange
-			org._energy -= takenEnergy;
-			_energy += takenEnergy;
-			double CO2freed6 = takenEnergy;
-			useEnergy(CO2freed6);
-			org._hasdodged =true;
 			break;
-		case SPIKEPOINT:
-			// Spike segment: Hurts organisms, if it hits with its end point, enhanced SPIKE can feed on other organisms
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case JADE:
-			case TEAL:
-			case CYAN:
-			case YELLOW:
-			case AUBURN:
-			case INDIGO:
-			case BLOND:
-			case DARKGRAY:
-			case GOLD:
-				if (_isenhanced) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorSPIKE);
-					} else {
-						if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
+	    case OLIVE:
+			if ((!org._isaplant) || (org._isenhanced)) {
+            break;
+			} else {
+				if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in dark lilac
+					org.setColor(Utils.ColorDARKLILAC);
+					// This organism will be shown in lilac
+					setColor(Utils.ColorLILAC);
+					// Organism has to recharge
+					if (!_isenhanced) {
+						setSegColor(seg, Utils.ColorDARKLILAC);
 					}
+				}	
+			}
+			break;				
+	    case MINT:
+	    case MAGENTA:
+	    case ROSE:
+			if (_geneticCode.getAltruist()) {
+                break;
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorLILAC);
 				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorSPIKE);
-					} else {
-						if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-						    org.setColor(Utils.ColorDARKLILAC);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
+					if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in dark lilac
+						org.setColor(Utils.ColorDARKLILAC);
+						// This organism will be shown in lilac
+						setColor(Utils.ColorLILAC);
+						// Organism has to recharge
+						if (!_isenhanced) {
+							setSegColor(seg, Utils.ColorDARKLILAC);
 						}
 					}
 				}
-				break;
-			case GRASS:
-				if (_isenhanced) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorSPIKE);
-					} else {
-						if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((0.375 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in green brown
-						    org.setColor(Utils.ColorGREENBROWN);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
-					}
+			}
+			break;
+	    case SPIKEPOINT:
+	    	break;
+	    case BARK:
+			org.setSegColor(oseg, Utils.ColorOLDBARK);
+			break;
+	    default:
+	    	if (useEnergy(Utils.LILAC_ENERGY_CONSUMPTION)) {
+				// Get energy depending on segment length
+				takenEnergy = Utils.between((10 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				// The other organism will be shown in dark lilac
+				org.setColor(Utils.ColorDARKLILAC);
+				// This organism will be shown in lilac
+				setColor(Utils.ColorLILAC);
+				// Organism has to recharge
+				if (!_isenhanced) {
+					setSegColor(seg, Utils.ColorDARKLILAC);
+				}
+			}	
+		}
+		// energy interchange
+		org._energy -= takenEnergy;
+		_energy += takenEnergy;
+		double CO2freed6 = takenEnergy;
+		useEnergy(CO2freed6);
+		org._hasdodged =true;
+	}
+
+	private void touchSpikepoint(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Spike segment: Hurts organisms, if it hits with its end point, enhanced SPIKE can feed on other organisms
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case JADE:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case INDIGO:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+			if (_isenhanced) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorSPIKE);
 				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorSPIKE);
-					} else {
-						if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((2.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-						    org.setColor(Utils.ColorDARKLILAC);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
+					if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
 					}
 				}
-				break;
-			case BLUE:
-				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					if (org._isenhanced) {
-					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-						setColor(Utils.ColorDARKLILAC);
-					} else {
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorSPIKE);
+				} else {
+					if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in dark lilac
+					    org.setColor(Utils.ColorDARKLILAC);
+					    // This organism will be shown in spike
 						setColor(Utils.ColorSPIKE);
 					}
-					org.setColor(Color.BLUE);
+				}
+			}
+			break;
+		case GRASS:
+			if (_isenhanced) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorSPIKE);
 				} else {
-					// Doesn't have energy to use the shield
-					if (_isenhanced) {
-						if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
-					} else {
-						if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-						    org.setColor(Utils.ColorDARKLILAC);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
+					if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((0.375 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in green brown
+					    org.setColor(Utils.ColorGREENBROWN);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
 					}
 				}
-				break;
-			case SKY:
-				if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-					org._segColor[oseg] = Utils.ColorDEEPSKY;
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
 					setColor(Utils.ColorSPIKE);
-					org.setColor(Utils.ColorDEEPSKY);
 				} else {
-					// Doesn't have energy to use the shield
-					if (_isenhanced) {
-						if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
-					} else {
-						if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-						    org.setColor(Utils.ColorDARKLILAC);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
+					if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((2.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in dark lilac
+					    org.setColor(Utils.ColorDARKLILAC);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
 					}
 				}
-				break;
-			case DEEPSKY:
-				    setColor(Utils.ColorSPIKE);
-			        org.setColor(Utils.ColorDEEPSKY);
-				break;
-			case RED:
-		    	if (org._isenhanced) {
-				break;
+			}
+			break;
+		case BLUE:
+			if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				if (org._isenhanced) {
+				    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+					setColor(Utils.ColorDARKLILAC);
 				} else {
-					if (_isenhanced) {
-						if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
-					} else {
-						if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length
-							takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in dark lilac
-						    org.setColor(Utils.ColorDARKLILAC);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
-					}
+					setColor(Utils.ColorSPIKE);
 				}
-		    	break;
-			case MINT:
-		    case MAGENTA:
-		    case ROSE:
-		    	if (_geneticCode.getAltruist()) {
-                break;
+				org.setColor(Color.BLUE);
+			} else {
+				// Doesn't have energy to use the shield
+				if (_isenhanced) {
+					if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
+					}
 				} else {
-					if (_isenhanced) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorSPIKE);
-						} else {
-							if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-							    // Get energy depending on segment length
-							    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							    // The other organism will be shown in yellow
-							    org.setColor(Color.YELLOW);
-							    // This organism will be shown in spike
-								setColor(Utils.ColorSPIKE);
-							}
-						}
-					} else {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorSPIKE);
-						} else {
-							if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length
-								takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in dark lilac
-							    org.setColor(Utils.ColorDARKLILAC);
-							    // This organism will be shown in spike
-								setColor(Utils.ColorSPIKE);
-							}
-						}
+					if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length
+						takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in dark lilac
+					    org.setColor(Utils.ColorDARKLILAC);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
 					}
 				}
-				break;
-		    case WHITE:
-		    	if (_isenhanced) {
-		    		if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {
-		    			if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length
-						    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in spike
-							setColor(Utils.ColorSPIKE);
-						}
+			}
+			break;
+		case SKY:
+			if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+				org.setSegColor(oseg, Utils.ColorDEEPSKY);
+				setColor(Utils.ColorSPIKE);
+				org.setColor(Utils.ColorDEEPSKY);
+			} else {
+				// Doesn't have energy to use the shield
+				if (_isenhanced) {
+					if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
 					}
 				} else {
 					if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
@@ -4071,21 +3524,16 @@ public class Organism extends Rectangle {
 						setColor(Utils.ColorSPIKE);
 					}
 				}
-		    	break;
-		    case BARK:
-		    	org._segColor[oseg] = Utils.ColorOLDBARK;
-				break;
-		    case OLDBARK:
-		    	break;
-		    case CREAM:
-		    	break;
-		    case SPIKEPOINT:
-		    	break;
-		    case OLIVE:
-		    	break;
-		    case BROWN:
-		    	break;
-			default:
+			}
+			break;
+		case DEEPSKY:
+			    setColor(Utils.ColorSPIKE);
+		        org.setColor(Utils.ColorDEEPSKY);
+			break;
+		case RED:
+	    	if (org._isenhanced) {
+			break;
+			} else {
 				if (_isenhanced) {
 					if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
 					    // Get energy depending on segment length
@@ -4106,58 +3554,123 @@ public class Organism extends Rectangle {
 					}
 				}
 			}
-			// energy interchange
-			org._energy -= takenEnergy;
-			_energy += takenEnergy;
-			if (_isenhanced) {
-				double CO2freed9 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-				useEnergy(CO2freed9);
+	    	break;
+		case MINT:
+	    case MAGENTA:
+	    case ROSE:
+	    	if (_geneticCode.getAltruist()) {
+                break;
 			} else {
-			    double CO2freed9 = takenEnergy;
-			    useEnergy(CO2freed9);
-			}
-			org._hasdodged =true;
-			break;
-		case OCHRE:
-			// Ochre segment: Push other organisms away
-			switch (getTypeColor(org._segColor[oseg])) {
-			case BROWN:
-		    	break;
-			case OLIVE:
-				if ((!org._isaplant) || (org._isenhanced)) {
-	            break;
+				if (_isenhanced) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorSPIKE);
+					} else {
+						if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+						    // Get energy depending on segment length
+						    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						    // The other organism will be shown in yellow
+						    org.setColor(Color.YELLOW);
+						    // This organism will be shown in spike
+							setColor(Utils.ColorSPIKE);
+						}
+					}
 				} else {
-					if (Utils.random.nextInt(2)<1 && useEnergy(Utils.OCHRE_ENERGY_CONSUMPTION)) {
-						dx=0;
-						dy=0;
-						dtheta=0;
-						org.dx=Utils.between((org._dCenterX-_dCenterX)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						org.dy=Utils.between((org._dCenterY-_dCenterY)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-						org.dtheta=0;
-						if (_isenhanced) {
-							org.useEnergy(Utils.between((FastMath.abs(org.dx) + FastMath.abs(org.dy)) * (Utils.ORGANIC_OBTAINED_ENERGY/14), 0, org._energy));
-							org.setColor(Utils.ColorDARKLILAC);
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorSPIKE);
+					} else {
+						if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
+							// Get energy depending on segment length
+							takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in dark lilac
+						    org.setColor(Utils.ColorDARKLILAC);
+						    // This organism will be shown in spike
+							setColor(Utils.ColorSPIKE);
 						}
-						setColor(Utils.ColorOCHRE);
 					}
 				}
-				break;
-			case OCHRE:
-				if (Utils.random.nextInt(2)<1 && useEnergy(Utils.OCHRE_ENERGY_CONSUMPTION)) {
-					dx=0;
-					dy=0;
-					dtheta=0;
-					org.dx=Utils.between((org._dCenterX-_dCenterX)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-					org.dy=Utils.between((org._dCenterY-_dCenterY)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
-					org.dtheta=0;
-					if (_isenhanced) {
-						org.useEnergy(Utils.between((FastMath.abs(org.dx) + FastMath.abs(org.dy)) * (Utils.ORGANIC_OBTAINED_ENERGY/140), 0, org._energy));
-						org.setColor(Utils.ColorDARKLILAC);
+			}
+			break;
+	    case WHITE:
+	    	if (_isenhanced) {
+	    		if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {
+	    			if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length
+					    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in spike
+						setColor(Utils.ColorSPIKE);
 					}
-					setColor(Utils.ColorOCHRE);
 				}
-				break;
-			default:
+			} else {
+				if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in dark lilac
+				    org.setColor(Utils.ColorDARKLILAC);
+				    // This organism will be shown in spike
+					setColor(Utils.ColorSPIKE);
+				}
+			}
+	    	break;
+	    case BARK:
+	    	org.setSegColor(oseg, Utils.ColorOLDBARK);
+			break;
+	    case OLDBARK:
+	    	break;
+	    case CREAM:
+	    	break;
+	    case SPIKEPOINT:
+	    	break;
+	    case OLIVE:
+	    	break;
+	    case BROWN:
+	    	break;
+		default:
+			if (_isenhanced) {
+				if (useEnergy(Utils.DARKGRAY_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length
+				    takenEnergy = Utils.between((0.75 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in yellow
+				    org.setColor(Color.YELLOW);
+				    // This organism will be shown in spike
+					setColor(Utils.ColorSPIKE);
+				}
+			} else {
+				if (useEnergy(Utils.SPIKE_ENERGY_CONSUMPTION)) {
+					// Get energy depending on segment length
+					takenEnergy = Utils.between((5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					// The other organism will be shown in dark lilac
+				    org.setColor(Utils.ColorDARKLILAC);
+				    // This organism will be shown in spike
+					setColor(Utils.ColorSPIKE);
+				}
+			}
+		}
+		// energy interchange
+		org._energy -= takenEnergy;
+		_energy += takenEnergy;
+		if (_isenhanced) {
+			double CO2freed9 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+			useEnergy(CO2freed9);
+		} else {
+		    double CO2freed9 = takenEnergy;
+		    useEnergy(CO2freed9);
+		}
+		org._hasdodged =true;
+	}
+
+	private void touchOchre(Organism org, int seg, int oseg) {
+		// Ochre segment: Push other organisms away
+		switch (org._segType[oseg]) {
+		case BROWN:
+	    	break;
+		case OLIVE:
+			if ((!org._isaplant) || (org._isenhanced)) {
+            break;
+			} else {
 				if (Utils.random.nextInt(2)<1 && useEnergy(Utils.OCHRE_ENERGY_CONSUMPTION)) {
 					dx=0;
 					dy=0;
@@ -4170,61 +3683,60 @@ public class Organism extends Rectangle {
 						org.setColor(Utils.ColorDARKLILAC);
 					}
 					setColor(Utils.ColorOCHRE);
-				}				
+				}
 			}
-			_hasdodged =true;
 			break;
-		case WHITE:
-			// White segment: try to infect the other organism
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case GRASS:
-			case TEAL:
-			case CYAN:
-			case YELLOW:
-			case AUBURN:
-			case BLOND:
-			case DARKGRAY:
-			case GOLD:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-					        setColor(Color.WHITE);
-					        if (!org._isenhanced) {
-								org._hasdodged =true;
-							}
-						} else {
-							if (_isaplant) {
-							    if (!_dodge) {
-							    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-								        org.setColor(Utils.ColorBLOND);
-								        setColor(Color.WHITE);
-							    	}
-							    } else {
-							    	_hasdodged =true;
-							    	if (!org._isenhanced) {
-										org._hasdodged =true;
-									}
-							    }
-						    } else {
-						    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-							        org.infectedBy(this);
-						            org.setColor(Utils.ColorLIGHTBROWN);
-						            setColor(Color.WHITE);
-						        }
-							}
-						}
-					}
+		case OCHRE:
+			if (Utils.random.nextInt(2)<1 && useEnergy(Utils.OCHRE_ENERGY_CONSUMPTION)) {
+				dx=0;
+				dy=0;
+				dtheta=0;
+				org.dx=Utils.between((org._dCenterX-_dCenterX)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				org.dy=Utils.between((org._dCenterY-_dCenterY)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				org.dtheta=0;
+				if (_isenhanced) {
+					org.useEnergy(Utils.between((FastMath.abs(org.dx) + FastMath.abs(org.dy)) * (Utils.ORGANIC_OBTAINED_ENERGY/140), 0, org._energy));
+					org.setColor(Utils.ColorDARKLILAC);
 				}
-				break;
-			case JADE:
-				if (org._infectedGeneticCode != _geneticCode) {
+				setColor(Utils.ColorOCHRE);
+			}
+			break;
+		default:
+			if (Utils.random.nextInt(2)<1 && useEnergy(Utils.OCHRE_ENERGY_CONSUMPTION)) {
+				dx=0;
+				dy=0;
+				dtheta=0;
+				org.dx=Utils.between((org._dCenterX-_dCenterX)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				org.dy=Utils.between((org._dCenterY-_dCenterY)*_m[seg]*_m[seg]*_m[seg]/org._mass, -Utils.MAX_VEL, Utils.MAX_VEL);
+				org.dtheta=0;
+				if (_isenhanced) {
+					org.useEnergy(Utils.between((FastMath.abs(org.dx) + FastMath.abs(org.dy)) * (Utils.ORGANIC_OBTAINED_ENERGY/14), 0, org._energy));
+					org.setColor(Utils.ColorDARKLILAC);
+				}
+				setColor(Utils.ColorOCHRE);
+			}				
+		}
+		_hasdodged =true;
+	}
+
+	private void touchWhite(Organism org, int seg, int oseg) {
+		// White segment: try to infect the other organism
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case GRASS:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
 					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
 						org.setColor(Utils.ColorTEAL);
 				        setColor(Color.WHITE);
@@ -4235,8 +3747,9 @@ public class Organism extends Rectangle {
 						if (_isaplant) {
 						    if (!_dodge) {
 						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-						    		org._segColor[oseg] = Utils.ColorDARKJADE;
-								    setColor(Color.WHITE);
+							        org.infectedBy(this);
+							        org.setColor(Utils.ColorBLOND);
+							        setColor(Color.WHITE);
 						    	}
 						    } else {
 						    	_hasdodged =true;
@@ -4245,84 +3758,6 @@ public class Organism extends Rectangle {
 								}
 						    }
 					    } else {
-					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-					    		org._segColor[oseg] = Utils.ColorDARKJADE;
-						        setColor(Color.WHITE);
-					        }
-						}
-					}
-				}
-				break;
-			case DARKJADE:
-			case POISONEDJADE:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((_nChildren > 1) && (!_isaplant) && (!_isaconsumer)) {
-						if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-						    org.infectedBy(this);
-					        org.setColor(Utils.ColorLIGHTBROWN);
-					        setColor(Color.WHITE);
-						}
-					}
-				}
-				break;
-			case BLUE:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-				        if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-				        	if (org._isenhanced) {
-							    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-								setColor(Utils.ColorDARKLILAC);
-							} else {
-								setColor(Color.WHITE);
-							}
-					        org.setColor(Color.BLUE);
-				        } else {
-				        	if (_isaplant) {
-				        		if (!_dodge) {
-							    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-								        org.setColor(Utils.ColorBLOND);
-								        setColor(Color.WHITE);
-							    	}
-							    } else {
-							    	_hasdodged =true;
-							    	if (!org._isenhanced) {
-										org._hasdodged =true;
-									}
-							    }
-						    } else {
-						    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-							        org.infectedBy(this);
-						            org.setColor(Utils.ColorLIGHTBROWN);
-						            setColor(Color.WHITE);
-						        }
-							}
-						}
-					}
-				}
-				break;
-			case LIGHT_BLUE:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if (_isaplant) {
-							if ((!_isenhanced) && (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION))) {
-						        setColor(Color.WHITE);
-						        org.setColor(Utils.ColorLIGHT_BLUE);
-					        } else {
-					        	if (!_dodge) {
-							    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-								        org.setColor(Utils.ColorBLOND);
-								        setColor(Color.WHITE);
-							    	}
-							    } else {
-							    	_hasdodged =true;
-							    	if (!org._isenhanced) {
-										org._hasdodged =true;
-									}
-							    }
-					        }
-						} else {
 					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
 						        org.infectedBy(this);
 					            org.setColor(Utils.ColorLIGHTBROWN);
@@ -4331,127 +3766,64 @@ public class Organism extends Rectangle {
 						}
 					}
 				}
-				break;
-			case SKY:
-				if (!_isfrozen) {
-					if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDEEPSKY;
-						setColor(Color.WHITE);
-						org.setColor(Utils.ColorDEEPSKY);
-			        } else {
-			        	if (org._infectedGeneticCode != _geneticCode) {
-			        		if ((org._isaplant) || (org._isaconsumer)) {
-							    if (_isaplant) {
-							    	if (!_dodge) {
-								    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-									        org.infectedBy(this);
-									        org.setColor(Utils.ColorBLOND);
-									        setColor(Color.WHITE);
-								    	}
-								    } else {
-								    	_hasdodged =true;
-								    	if (!org._isenhanced) {
-											org._hasdodged =true;
-										}
-								    }
-							    } else {
-							    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-							            org.setColor(Utils.ColorLIGHTBROWN);
-							            setColor(Color.WHITE);
-							        }
-								}
-							}
-						}
+			}
+			break;
+		case JADE:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+			        setColor(Color.WHITE);
+			        if (!org._isenhanced) {
+						org._hasdodged =true;
 					}
-				}
-				break;
-			case DEEPSKY:
-				if (!_isfrozen) {
-					setColor(Color.WHITE);
-					org.setColor(Utils.ColorDEEPSKY);
-				}
-				break;
-			case OLIVE:
-			case DARKOLIVE:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-					    if (_isaplant) {
-					    	if (_isenhanced) {
-					    		if (!_dodge) {
-							    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-								        org.setColor(Utils.ColorBLOND);
-								        setColor(Color.WHITE);
-							    	}
-							    } else {
-							    	_hasdodged =true;
-							    	if (!org._isenhanced) {
-										org._hasdodged =true;
-									}
-							    }
-						    }
+				} else {
+					if (_isaplant) {
+					    if (!_dodge) {
+					    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+					    		org.setSegColor(oseg, Utils.ColorDARKJADE);
+							    setColor(Color.WHITE);
+					    	}
 					    } else {
-					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
-					        }
-						}
+					    	_hasdodged =true;
+					    	if (!org._isenhanced) {
+								org._hasdodged =true;
+							}
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+				    		org.setSegColor(oseg, Utils.ColorDARKJADE);
+					        setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case WHITE:
-			case PLAGUE:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if (_isaplant) {
-							if (!_dodge) {
-						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-							        org.infectedBy(this);
-							        org.setColor(Utils.ColorBLOND);
-							        setColor(Color.WHITE);
-						    	}
-						    } else {
-						    	_hasdodged =true;
-						    	if (!org._isenhanced) {
-									org._hasdodged =true;
-								}
-						    }
-						} else {
-					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
-					        }
-						}
+			}
+			break;
+		case DARKJADE:
+		case POISONEDJADE:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((_nChildren > 1) && (!_isaplant) && (!_isaconsumer)) {
+					if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					    org.infectedBy(this);
+				        org.setColor(Utils.ColorLIGHTBROWN);
+				        setColor(Color.WHITE);
 					}
 				}
-				if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
-					if (_isaplant) {
-						if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-							if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-				    	        org.setColor(Utils.ColorINDIGO);
-				    	        setColor(Color.WHITE);
-						    }
+			}
+			break;
+		case BLUE:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+			        if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+			        	if (org._isenhanced) {
+						    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+							setColor(Utils.ColorDARKLILAC);
+						} else {
+							setColor(Color.WHITE);
 						}
-				    } else {
-				    	if ((_indigo == 0) || (_isaconsumer)) {
-				    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-				    			if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-				    				org.setColor(Utils.ColorINDIGO);
-					    	        setColor(Color.WHITE);
-				    			}
-				    		}
-				    	}
-				    }
-				}
-				break;
-			case SILVER:
-				if ((org._infectedGeneticCode != _geneticCode) && (_nTotalInfected >= org._nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-					    if (_isaplant) {
-					    	if (!_dodge) {
+				        org.setColor(Color.BLUE);
+			        } else {
+			        	if (_isaplant) {
+			        		if (!_dodge) {
 						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 							        org.infectedBy(this);
 							        org.setColor(Utils.ColorBLOND);
@@ -4472,51 +3844,18 @@ public class Organism extends Rectangle {
 						}
 					}
 				}
-				if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+			}
+			break;
+		case LIGHT_BLUE:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
 					if (_isaplant) {
-						if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-							if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-				    	        org.setColor(Utils.ColorINDIGO);
-				    	        setColor(Color.WHITE);
-						    }
-						}
-				    } else {
-				    	if ((_indigo == 0) || (_isaconsumer)) {
-				    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-				    			if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-				    				org.setColor(Utils.ColorINDIGO);
-					    	        setColor(Color.WHITE);
-				    			}
-				    		}
-				    	}
-				    }
-				}
-				break;
-			case INDIGO:
-				if (_isaplant) {
-					if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-						if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-			    	        org.setColor(Utils.ColorINDIGO);
-			    	        setColor(Color.WHITE);
-					    }
-					}
-			    } else {
-			    	if ((_indigo == 0) || (_isaconsumer)) {
-			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-			    			if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-			    				org.setColor(Utils.ColorINDIGO);
-				    	        setColor(Color.WHITE);
-			    			}
-			    		}
-			    	}
-			    }
-				break;
-			case CORAL:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-					    if (_isaplant) {
-					    	if (!_dodge) {
-					    		if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+						if ((!_isenhanced) && (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION))) {
+					        setColor(Color.WHITE);
+					        org.setColor(Utils.ColorLIGHT_BLUE);
+				        } else {
+				        	if (!_dodge) {
+						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 							        org.infectedBy(this);
 							        org.setColor(Utils.ColorBLOND);
 							        setColor(Color.WHITE);
@@ -4527,35 +3866,28 @@ public class Organism extends Rectangle {
 									org._hasdodged =true;
 								}
 						    }
-					    } else {
-					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        if ((!org._isenhanced) && (!_isaconsumer) && (org.useEnergy(Utils.CORAL_ENERGY_CONSUMPTION))) {
-						        	org.setColor(Utils.ColorCORAL);
-								    org._energy += _energy;
-									_energy -= _energy;
-						        } else {
-						        	org.setColor(Utils.ColorLIGHTBROWN);
-						        }
-					            setColor(Color.WHITE);
-					        }
-						}
+				        }
+					} else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case MAGENTA:
-			case ROSE:
-				if ((org._infectedGeneticCode != _geneticCode) && (!_geneticCode.getAltruist())) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-					        setColor(Color.WHITE);
-					        if (!org._isenhanced) {
-								org._hasdodged =true;
-							}
-						} else {
-							if (_isaplant) {
-								if (!_dodge) {
+			}
+			break;
+		case SKY:
+			if (!_isfrozen) {
+				if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDEEPSKY);
+					setColor(Color.WHITE);
+					org.setColor(Utils.ColorDEEPSKY);
+		        } else {
+		        	if (org._infectedGeneticCode != _geneticCode) {
+		        		if ((org._isaplant) || (org._isaconsumer)) {
+						    if (_isaplant) {
+						    	if (!_dodge) {
 							    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 								        org.infectedBy(this);
 								        org.setColor(Utils.ColorBLOND);
@@ -4577,12 +3909,21 @@ public class Organism extends Rectangle {
 						}
 					}
 				}
-				break;
-			case PINK:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if (org._geneticCode.getModifiespink()) {
-					    if (_isaplant) {
-					    	if (!_dodge) {
+			}
+			break;
+		case DEEPSKY:
+			if (!_isfrozen) {
+				setColor(Color.WHITE);
+				org.setColor(Utils.ColorDEEPSKY);
+			}
+			break;
+		case OLIVE:
+		case DARKOLIVE:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+				    if (_isaplant) {
+				    	if (_isenhanced) {
+				    		if (!_dodge) {
 						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 							        org.infectedBy(this);
 							        org.setColor(Utils.ColorBLOND);
@@ -4594,89 +3935,172 @@ public class Organism extends Rectangle {
 									org._hasdodged =true;
 								}
 						    }
-					    } else {
-					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
-					        }
-						}
-					} else {
-						if ((!org._isantiviral) && (_isenhanced) && (!_isaplant) && (!_isaconsumer)) {
-							if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
-					        }
-						}
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;				
-			case CREAM:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if (org._isaplant) {
-					    if (_isaplant) {
-					    	if (_isenhanced) {
-					    		if (!_dodge) {
-							    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-								        org.setColor(Utils.ColorBLOND);
-								        setColor(Color.WHITE);
-							    	}
-							    } else {
-							    	_hasdodged =true;
-							    	if (!org._isenhanced) {
-										org._hasdodged =true;
-									}
-							    }
-						    }
-					    } else {
-					    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+			}
+			break;
+		case WHITE:
+		case PLAGUE:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+					if (_isaplant) {
+						if (!_dodge) {
+					    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
-					        }
-						}
+						        org.setColor(Utils.ColorBLOND);
+						        setColor(Color.WHITE);
+					    	}
+					    } else {
+					    	_hasdodged =true;
+					    	if (!org._isenhanced) {
+								org._hasdodged =true;
+							}
+					    }
 					} else {
-						if ((!org._isantiviral) && (_isenhanced) && (!_isaplant) && (!_isaconsumer)) {
-							if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
+					}
+				}
+			}
+			if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+				if (_isaplant) {
+					if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+						if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+			    	        org.setColor(Utils.ColorINDIGO);
+			    	        setColor(Color.WHITE);
+					    }
+					}
+			    } else {
+			    	if ((_indigo == 0) || (_isaconsumer)) {
+			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+			    			if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+			    				org.setColor(Utils.ColorINDIGO);
+				    	        setColor(Color.WHITE);
+			    			}
+			    		}
+			    	}
+			    }
+			}
+			break;
+		case SILVER:
+			if ((org._infectedGeneticCode != _geneticCode) && (_nTotalInfected >= org._nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+				    if (_isaplant) {
+				    	if (!_dodge) {
+					    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
-					        }
-						}
+						        org.setColor(Utils.ColorBLOND);
+						        setColor(Color.WHITE);
+					    	}
+					    } else {
+					    	_hasdodged =true;
+					    	if (!org._isenhanced) {
+								org._hasdodged =true;
+							}
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case SPIKEPOINT:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if (org._isenhanced) {
-						if ((!org._isantiviral) && (_isenhanced) && (!_isaplant) && (!_isaconsumer)) {
-							if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+			}
+			if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+				if (_isaplant) {
+					if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+						if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+			    	        org.setColor(Utils.ColorINDIGO);
+			    	        setColor(Color.WHITE);
+					    }
+					}
+			    } else {
+			    	if ((_indigo == 0) || (_isaconsumer)) {
+			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+			    			if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+			    				org.setColor(Utils.ColorINDIGO);
+				    	        setColor(Color.WHITE);
+			    			}
+			    		}
+			    	}
+			    }
+			}
+			break;
+		case INDIGO:
+			if (_isaplant) {
+				if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+					if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+		    	        org.setColor(Utils.ColorINDIGO);
+		    	        setColor(Color.WHITE);
+				    }
+				}
+		    } else {
+		    	if ((_indigo == 0) || (_isaconsumer)) {
+		    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+		    			if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+		    				org.setColor(Utils.ColorINDIGO);
+			    	        setColor(Color.WHITE);
+		    			}
+		    		}
+		    	}
+		    }
+			break;
+		case CORAL:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+				    if (_isaplant) {
+				    	if (!_dodge) {
+				    		if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 						        org.infectedBy(this);
-					            org.setColor(Utils.ColorLIGHTBROWN);
-					            setColor(Color.WHITE);
+						        org.setColor(Utils.ColorBLOND);
+						        setColor(Color.WHITE);
+					    	}
+					    } else {
+					    	_hasdodged =true;
+					    	if (!org._isenhanced) {
+								org._hasdodged =true;
+							}
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+					        if ((!org._isenhanced) && (!_isaconsumer) && (org.useEnergy(Utils.CORAL_ENERGY_CONSUMPTION))) {
+					        	org.setColor(Utils.ColorCORAL);
+							    org._energy += _energy;
+								_energy -= _energy;
+					        } else {
+					        	org.setColor(Utils.ColorLIGHTBROWN);
 					        }
-						}
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case MINT:
-				break;
-			case BARK:
-				org._segColor[oseg] = Utils.ColorOLDBARK;
-				break;
-			case OLDBARK:
-				break;
-			case OCHRE:
-				break;
-			case BROWN:
-				break;
-			default:
-				if (org._infectedGeneticCode != _geneticCode) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-					    if (_isaplant) {
-					    	if (!_dodge) {
+			}
+			break;
+		case MAGENTA:
+		case ROSE:
+			if ((org._infectedGeneticCode != _geneticCode) && (!_geneticCode.getAltruist())) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+				        setColor(Color.WHITE);
+				        if (!org._isenhanced) {
+							org._hasdodged =true;
+						}
+					} else {
+						if (_isaplant) {
+							if (!_dodge) {
 						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
 							        org.infectedBy(this);
 							        org.setColor(Utils.ColorBLOND);
@@ -4699,111 +4123,144 @@ public class Organism extends Rectangle {
 				}
 			}
 			break;
-		case PLAGUE:
-			// Force reproduction of infected victims
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case GRASS:
-				if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
-					if (!_geneticCode.getPlague()) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorPLAGUE);
-							org._hasdodged =true;
-						} else {
-							if (_isaplant) {
-								if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-							        org.reproduceVirus();
-							        org.setColor(Utils.ColorDARKLILAC);
-							        setColor(Utils.ColorPLAGUE);
-								}
-							} else {
-								if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-						            org.reproduceVirus();
-						            org.setColor(Utils.ColorDARKLILAC);
-						            setColor(Utils.ColorPLAGUE);
-					            }
+		case PINK:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if (org._geneticCode.getModifiespink()) {
+				    if (_isaplant) {
+				    	if (!_dodge) {
+					    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+						        org.infectedBy(this);
+						        org.setColor(Utils.ColorBLOND);
+						        setColor(Color.WHITE);
+					    	}
+					    } else {
+					    	_hasdodged =true;
+					    	if (!org._isenhanced) {
+								org._hasdodged =true;
 							}
-						}
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
+					}
+				} else {
+					if ((!org._isantiviral) && (_isenhanced) && (!_isaplant) && (!_isaconsumer)) {
+						if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case JADE:
-				if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
-					if (!_geneticCode.getPlague()) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorPLAGUE);
-							org._hasdodged =true;
-						} else {
-							if (_isaplant) {
-								if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-									org._segColor[oseg] = Utils.ColorDARKJADE;
-								    setColor(Utils.ColorPLAGUE);
+			}
+			break;				
+		case CREAM:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if (org._isaplant) {
+				    if (_isaplant) {
+				    	if (_isenhanced) {
+				    		if (!_dodge) {
+						    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+							        org.infectedBy(this);
+							        org.setColor(Utils.ColorBLOND);
+							        setColor(Color.WHITE);
+						    	}
+						    } else {
+						    	_hasdodged =true;
+						    	if (!org._isenhanced) {
+									org._hasdodged =true;
 								}
-							} else {
-								if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-									org._segColor[oseg] = Utils.ColorDARKJADE;
-								    setColor(Utils.ColorPLAGUE);
-					            }
-							}
-						}
+						    }
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
+					}
+				} else {
+					if ((!org._isantiviral) && (_isenhanced) && (!_isaplant) && (!_isaconsumer)) {
+						if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case DARKJADE:
-			case POISONEDJADE:
-				if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
-					if (!_geneticCode.getPlague()) {
-						if ((_nChildren > 1) && (!_isaplant) && (!_isaconsumer)) {
-							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
-				            }
-						}
+			}
+			break;
+		case SPIKEPOINT:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if (org._isenhanced) {
+					if ((!org._isantiviral) && (_isenhanced) && (!_isaplant) && (!_isaconsumer)) {
+						if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
+				        }
 					}
 				}
-				break;
-			case BLUE:
-				if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
-					if ((!_geneticCode.getPlague()) && (org._isaplant)) {
-				        if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-				        	if (org._isenhanced) {
-							    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-								setColor(Utils.ColorDARKLILAC);
-							} else {
-								setColor(Utils.ColorPLAGUE);
-							}
-					        org.setColor(Color.BLUE);
-				        } else {
-				        	if (_isaplant) {
-								if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-							        org.reproduceVirus();
-							        org.setColor(Utils.ColorDARKLILAC);
-							        setColor(Utils.ColorPLAGUE);
-								}
-							} else {
-								if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-						            org.reproduceVirus();
-						            org.setColor(Utils.ColorDARKLILAC);
-						            setColor(Utils.ColorPLAGUE);
-					            }
+			}
+			break;
+		case MINT:
+			break;
+		case BARK:
+			org.setSegColor(oseg, Utils.ColorOLDBARK);
+			break;
+		case OLDBARK:
+			break;
+		case OCHRE:
+			break;
+		case BROWN:
+			break;
+		default:
+			if (org._infectedGeneticCode != _geneticCode) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+				    if (_isaplant) {
+				    	if (!_dodge) {
+					    	if (useEnergy(Utils.WHITE_ENERGY_CONSUMPTION)) {
+						        org.infectedBy(this);
+						        org.setColor(Utils.ColorBLOND);
+						        setColor(Color.WHITE);
+					    	}
+					    } else {
+					    	_hasdodged =true;
+					    	if (!org._isenhanced) {
+								org._hasdodged =true;
 							}
+					    }
+				    } else {
+				    	if (useEnergy(Utils.VIRUS_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+				            org.setColor(Utils.ColorLIGHTBROWN);
+				            setColor(Color.WHITE);
 				        }
 					}
 				}
-				break;
-			case OCHRE:
-			case BARK:
-			case OLDBARK:
-			case LIGHT_BLUE:
-				if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
-					if ((!_geneticCode.getPlague()) && (org._isaplant)) {
+			}
+		}
+	}
+
+	private void touchPlague(Organism org, int seg, int oseg) {
+		// Force reproduction of infected victims
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case GRASS:
+			if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
+				if (!_geneticCode.getPlague()) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorPLAGUE);
+						org._hasdodged =true;
+					} else {
 						if (_isaplant) {
 							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
 						        org.reproduceVirus();
@@ -4819,55 +4276,58 @@ public class Organism extends Rectangle {
 						}
 					}
 				}
-				break;
-			case SKY:
-			case DEEPSKY:
-			case OLIVE:
-			case DARKOLIVE:
-				if ((org._infectedGeneticCode == _geneticCode) && (_isenhanced) && (!org._isantiviral)) {
-					if ((!_geneticCode.getPlague()) && (org._isaplant)) {
+			}
+			break;
+		case JADE:
+			if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
+				if (!_geneticCode.getPlague()) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorPLAGUE);
+						org._hasdodged =true;
+					} else {
 						if (_isaplant) {
 							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-						        org.reproduceVirus();
-						        org.setColor(Utils.ColorDARKLILAC);
-						        setColor(Utils.ColorPLAGUE);
+								org.setSegColor(oseg, Utils.ColorDARKJADE);
+							    setColor(Utils.ColorPLAGUE);
 							}
 						} else {
 							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
+								org.setSegColor(oseg, Utils.ColorDARKJADE);
+							    setColor(Utils.ColorPLAGUE);
 				            }
 						}
 					}
 				}
-				break;
-			case MAROON:
-			case ORANGE:
-			case FIRE:
-				if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (_geneticCode.getPlague()) {
-						if (_isaplant) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-						        org.reproduceVirus();
-						        org.setColor(Utils.ColorDARKLILAC);
-						        setColor(Utils.ColorPLAGUE);
-							}
-						} else {
-							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
-				            }
-						}
+			}
+			break;
+		case DARKJADE:
+		case POISONEDJADE:
+			if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
+				if (!_geneticCode.getPlague()) {
+					if ((_nChildren > 1) && (!_isaplant) && (!_isaconsumer)) {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				break;
-			case RED:
-			case CREAM:
-				if ((org._infectedGeneticCode == _geneticCode) && (_isenhanced) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (_geneticCode.getPlague()) {
-						if (_isaplant) {
+			}
+			break;
+		case BLUE:
+			if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
+				if ((!_geneticCode.getPlague()) && (org._isaplant)) {
+			        if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+			        	if (org._isenhanced) {
+						    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+							setColor(Utils.ColorDARKLILAC);
+						} else {
+							setColor(Utils.ColorPLAGUE);
+						}
+				        org.setColor(Color.BLUE);
+			        } else {
+			        	if (_isaplant) {
 							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
 						        org.reproduceVirus();
 						        org.setColor(Utils.ColorDARKLILAC);
@@ -4880,130 +4340,158 @@ public class Organism extends Rectangle {
 					            setColor(Utils.ColorPLAGUE);
 				            }
 						}
+			        }
+				}
+			}
+			break;
+		case OCHRE:
+		case BARK:
+		case OLDBARK:
+		case LIGHT_BLUE:
+			if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
+				if ((!_geneticCode.getPlague()) && (org._isaplant)) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
+						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				break;
-			case PINK:
-				if ((org._infectedGeneticCode == _geneticCode) && ((org._geneticCode.getModifiespink()) || (_isenhanced)) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (_geneticCode.getPlague()) {
-						if (_isaplant) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-						        org.reproduceVirus();
-						        org.setColor(Utils.ColorDARKLILAC);
-						        setColor(Utils.ColorPLAGUE);
-							}
-						} else {
-							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
-				            }
+			}
+			break;
+		case SKY:
+		case DEEPSKY:
+		case OLIVE:
+		case DARKOLIVE:
+			if ((org._infectedGeneticCode == _geneticCode) && (_isenhanced) && (!org._isantiviral)) {
+				if ((!_geneticCode.getPlague()) && (org._isaplant)) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				break;
-			case LIGHTBROWN:
-			case GREENBROWN:
-			case DARKFIRE:
-			case BROKEN:
-			case ICE:
-			case DEADBARK:
-				if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
-						if (_isaplant) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-						        org.reproduceVirus();
-						        org.setColor(Utils.ColorDARKLILAC);
-						        setColor(Utils.ColorPLAGUE);
-							}
-						} else {
-							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
-				            }
+			}
+			break;
+		case MAROON:
+		case ORANGE:
+		case FIRE:
+			if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (_geneticCode.getPlague()) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				break;
-			case WHITE:
-			case PLAGUE:
-				if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
-						if (_isaplant) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-						        org.reproduceVirus();
-						        org.setColor(Utils.ColorDARKLILAC);
-						        setColor(Utils.ColorPLAGUE);
-							}
-						} else {
-							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
-				            }
+			}
+			break;
+		case RED:
+		case CREAM:
+			if ((org._infectedGeneticCode == _geneticCode) && (_isenhanced) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (_geneticCode.getPlague()) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+			}
+			break;
+		case PINK:
+			if ((org._infectedGeneticCode == _geneticCode) && ((org._geneticCode.getModifiespink()) || (_isenhanced)) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (_geneticCode.getPlague()) {
 					if (_isaplant) {
-						if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-				    	        org.setColor(Utils.ColorINDIGO);
-				    	        setColor(Utils.ColorPLAGUE);
-						    }
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
-				    } else {
-				    	if ((_indigo == 0) || (_isaconsumer)) {
-				    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-				    			if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-				    				org.setColor(Utils.ColorINDIGO);
-				    				setColor(Utils.ColorPLAGUE);
-				    			}
-				    		}
-				    	}
-				    }
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
+					}
 				}
-				break;
-			case SILVER:
-				if ((org._infectedGeneticCode == _geneticCode) && (_nTotalInfected >= org._nTotalInfected) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
-						if (_isaplant) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-						        org.reproduceVirus();
-						        org.setColor(Utils.ColorDARKLILAC);
-						        setColor(Utils.ColorPLAGUE);
-							}
-						} else {
-							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-					            org.reproduceVirus();
-					            org.setColor(Utils.ColorDARKLILAC);
-					            setColor(Utils.ColorPLAGUE);
-				            }
+			}
+			break;
+		case LIGHTBROWN:
+		case GREENBROWN:
+		case DARKFIRE:
+		case BROKEN:
+		case ICE:
+		case DEADBARK:
+			if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+			}
+			break;
+		case WHITE:
+		case PLAGUE:
+			if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
 					if (_isaplant) {
-						if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-				    	        org.setColor(Utils.ColorINDIGO);
-				    	        setColor(Utils.ColorPLAGUE);
-						    }
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
-				    } else {
-				    	if ((_indigo == 0) || (_isaconsumer)) {
-				    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-				    			if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-				    				org.setColor(Utils.ColorINDIGO);
-				    				setColor(Utils.ColorPLAGUE);
-				    			}
-				    		}
-				    	}
-				    }
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
+					}
 				}
-				break;
-			case INDIGO:
+			}
+			if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
 				if (_isaplant) {
 					if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
 						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
@@ -5019,75 +4507,81 @@ public class Organism extends Rectangle {
 			    				setColor(Utils.ColorPLAGUE);
 			    			}
 			    		}
-			    	}
-			    }
-				break;
-			case CYAN:
-			case TEAL:
-			case YELLOW:
-			case AUBURN:
-			case BLOND:
-			case DARKGRAY:
-			case GOLD:
-				if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorPLAGUE);
-							org._hasdodged =true;
-						} else {
-							if (_isaplant) {
-								if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-							        org.reproduceVirus();
-							        org.setColor(Utils.ColorDARKLILAC);
-							        setColor(Utils.ColorPLAGUE);
-								}
-							} else {
-								if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-						            org.reproduceVirus();
-						            org.setColor(Utils.ColorDARKLILAC);
-						            setColor(Utils.ColorPLAGUE);
-					            }
-							}
-						}
-					}
-				}
-				break;
-			case MAGENTA:
-			case ROSE:
-				if ((org._infectedGeneticCode == _geneticCode) && (!_geneticCode.getAltruist()) && ((!org._isantiviral) || (org._indigo == 0))) {
-					if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Utils.ColorPLAGUE);
-							org._hasdodged =true;
-						} else {
-							if (_isaplant) {
-								if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
-							        org.reproduceVirus();
-							        org.setColor(Utils.ColorDARKLILAC);
-							        setColor(Utils.ColorPLAGUE);
-								}
-							} else {
-								if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
-						            org.reproduceVirus();
-						            org.setColor(Utils.ColorDARKLILAC);
-						            setColor(Utils.ColorPLAGUE);
-					            }
-							}
+			    	}
+			    }
+			}
+			break;
+		case SILVER:
+			if ((org._infectedGeneticCode == _geneticCode) && (_nTotalInfected >= org._nTotalInfected) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				break;				
-			case MINT:
-				break;
-			case SPIKEPOINT:
-				break;
-			case BROWN:
-				break;
-			default:
-				if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
-					if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
+			}
+			if ((org._indigo > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+				if (_isaplant) {
+					if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+			    	        org.setColor(Utils.ColorINDIGO);
+			    	        setColor(Utils.ColorPLAGUE);
+					    }
+					}
+			    } else {
+			    	if ((_indigo == 0) || (_isaconsumer)) {
+			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+			    			if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+			    				org.setColor(Utils.ColorINDIGO);
+			    				setColor(Utils.ColorPLAGUE);
+			    			}
+			    		}
+			    	}
+			    }
+			}
+			break;
+		case INDIGO:
+			if (_isaplant) {
+				if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+					if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+		    	        org.setColor(Utils.ColorINDIGO);
+		    	        setColor(Utils.ColorPLAGUE);
+				    }
+				}
+		    } else {
+		    	if ((_indigo == 0) || (_isaconsumer)) {
+		    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+		    			if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+		    				org.setColor(Utils.ColorINDIGO);
+		    				setColor(Utils.ColorPLAGUE);
+		    			}
+		    		}
+		    	}
+		    }
+			break;
+		case CYAN:
+		case TEAL:
+		case YELLOW:
+		case AUBURN:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+			if ((org._infectedGeneticCode == _geneticCode) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorPLAGUE);
+						org._hasdodged =true;
+					} else {
 						if (_isaplant) {
 							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
 						        org.reproduceVirus();
@@ -5105,59 +4599,77 @@ public class Organism extends Rectangle {
 				}
 			}
 			break;
-		case SILVER:
-			// Silver segment: infects all other organism, if it has more infections , duels with other absorbing segments
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case TEAL:
-			case CYAN:
-			case YELLOW:
-			case AUBURN:
-			case BLOND:
-			case DARKGRAY:
-			case GOLD:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-							org.setColor(Utils.ColorTEAL);
-							setColor(Color.LIGHT_GRAY);
-							org._hasdodged =true;
+		case MAGENTA:
+		case ROSE:
+			if ((org._infectedGeneticCode == _geneticCode) && (!_geneticCode.getAltruist()) && ((!org._isantiviral) || (org._indigo == 0))) {
+				if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+						setColor(Utils.ColorPLAGUE);
+						org._hasdodged =true;
+					} else {
+						if (_isaplant) {
+							if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+						        org.reproduceVirus();
+						        org.setColor(Utils.ColorDARKLILAC);
+						        setColor(Utils.ColorPLAGUE);
+							}
 						} else {
-							if ((!_dodge) || (!_isaplant)) {
-								if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-							        org.infectedBy(this);
-							        org.setColor(Utils.ColorBLOND);
-							        setColor(Color.LIGHT_GRAY);
-								}
-							} else {
-						    	_hasdodged =true;						    	
-								org._hasdodged =true;
-						    } 
+							if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+					            org.reproduceVirus();
+					            org.setColor(Utils.ColorDARKLILAC);
+					            setColor(Utils.ColorPLAGUE);
+				            }
 						}
 					}
 				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-					    setColor(Utils.ColorGOLD);
-					} else {
-					    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length and relation between kills of both organisms
-							takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in gold
-							setColor(Utils.ColorGOLD);
+			}
+			break;				
+		case MINT:
+			break;
+		case SPIKEPOINT:
+			break;
+		case BROWN:
+			break;
+		default:
+			if ((org._infectedGeneticCode == _geneticCode) && (!org._isantiviral)) {
+				if (((_geneticCode.getPlague()) && (org._isaconsumer)) || ((!_geneticCode.getPlague()) && (org._isaplant))) {
+					if (_isaplant) {
+						if (useEnergy(Utils.PLAGUE_ENERGY_CONSUMPTION)) {
+					        org.reproduceVirus();
+					        org.setColor(Utils.ColorDARKLILAC);
+					        setColor(Utils.ColorPLAGUE);
 						}
+					} else {
+						if (useEnergy(Utils.SCOURGE_ENERGY_CONSUMPTION)) {
+				            org.reproduceVirus();
+				            org.setColor(Utils.ColorDARKLILAC);
+				            setColor(Utils.ColorPLAGUE);
+			            }
 					}
 				}
-				break;
-			case JADE:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+			}
+		}
+	}
+
+	private void touchSilver(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Silver segment: infects all other organism, if it has more infections , duels with other absorbing segments
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
 					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
 						org.setColor(Utils.ColorTEAL);
 						setColor(Color.LIGHT_GRAY);
@@ -5165,8 +4677,9 @@ public class Organism extends Rectangle {
 					} else {
 						if ((!_dodge) || (!_isaplant)) {
 							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-					    		org._segColor[oseg] = Utils.ColorDARKJADE;
-							    setColor(Color.LIGHT_GRAY);
+						        org.infectedBy(this);
+						        org.setColor(Utils.ColorBLOND);
+						        setColor(Color.LIGHT_GRAY);
 							}
 						} else {
 					    	_hasdodged =true;						    	
@@ -5174,82 +4687,190 @@ public class Organism extends Rectangle {
 					    } 
 					}
 				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-					    setColor(Utils.ColorGOLD);
-					} else {
-					    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length and relation between kills of both organisms
-							takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in gold
-							setColor(Utils.ColorGOLD);
-						}
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+				    setColor(Utils.ColorGOLD);
+				} else {
+				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length and relation between kills of both organisms
+						takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in gold
+						setColor(Utils.ColorGOLD);
 					}
 				}
-				break;
-			case DARKJADE:
-			case POISONEDJADE:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((_nChildren > 1) && (!_isaplant) && (!_isaconsumer)) {
+			}
+			break;
+		case JADE:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Color.LIGHT_GRAY);
+					org._hasdodged =true;
+				} else {
+					if ((!_dodge) || (!_isaplant)) {
 						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						    org.infectedBy(this);
-						    org.setColor(Utils.ColorBLOND);
+				    		org.setSegColor(oseg, Utils.ColorDARKJADE);
 						    setColor(Color.LIGHT_GRAY);
-					    }
-					}
+						}
+					} else {
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
+				    } 
 				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+				    setColor(Utils.ColorGOLD);
+				} else {
 				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-					    // Get energy depending on segment length and relation between kills of both organisms
-					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in yellow
-					    org.setColor(Color.YELLOW);
-					    // This organism will be shown in gold
-					    setColor(Utils.ColorGOLD);
+						// Get energy depending on segment length and relation between kills of both organisms
+						takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in gold
+						setColor(Utils.ColorGOLD);
+					}
+				}
+			}
+			break;
+		case DARKJADE:
+		case POISONEDJADE:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((_nChildren > 1) && (!_isaplant) && (!_isaconsumer)) {
+					if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					    org.infectedBy(this);
+					    org.setColor(Utils.ColorBLOND);
+					    setColor(Color.LIGHT_GRAY);
 				    }
 				}
-				break;
-			case GRASS:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Color.LIGHT_GRAY);
-						org._hasdodged =true;
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+			    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in yellow
+				    org.setColor(Color.YELLOW);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+			break;
+		case GRASS:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Color.LIGHT_GRAY);
+					org._hasdodged =true;
+				} else {
+					if ((!_dodge) || (!_isaplant)) {
+						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+					        org.setColor(Utils.ColorBLOND);
+					        setColor(Color.LIGHT_GRAY);
+						}
 					} else {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    } 
-					}
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
+				    } 
 				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-					    setColor(Utils.ColorGOLD);
-					} else {
-					    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length and relation between kills of both organisms
-							takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in green brown
-							org.setColor(Utils.ColorGREENBROWN);
-							// This organism will be shown in gold
-							setColor(Utils.ColorGOLD);
-						}
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+				    setColor(Utils.ColorGOLD);
+				} else {
+				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length and relation between kills of both organisms
+						takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(0.5 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in green brown
+						org.setColor(Utils.ColorGREENBROWN);
+						// This organism will be shown in gold
+						setColor(Utils.ColorGOLD);
 					}
 				}
-				break;
-			case RED:
-			    if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-			    	if ((!_dodge) || (!_isaplant)) {
+			}
+			break;
+		case RED:
+		    if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+		    	if ((!_dodge) || (!_isaplant)) {
+					if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+				        org.infectedBy(this);
+				        org.setColor(Utils.ColorBLOND);
+				        setColor(Color.LIGHT_GRAY);
+					}
+				} else {
+			    	_hasdodged =true;						    	
+					org._hasdodged =true;
+			    }
+			}
+		    if ((_nTotalKills > 0) || (_isenhanced)) {
+			    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in red
+				    org.setColor(Color.RED);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+			break;
+		case FIRE:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((!_dodge) || (!_isaplant)) {
+					if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+				        org.infectedBy(this);
+				        org.setColor(Utils.ColorBLOND);
+				        setColor(Color.LIGHT_GRAY);
+					}
+				} else {
+			    	_hasdodged =true;						    	
+					org._hasdodged =true;
+			    }
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+			    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in fire
+				    org.setColor(Utils.ColorFIRE);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+			break;
+		case ORANGE:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((!_dodge) || (!_isaplant)) {
+					if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+				        org.infectedBy(this);
+				        org.setColor(Utils.ColorBLOND);
+				        setColor(Color.LIGHT_GRAY);
+					}
+				} else {
+			    	_hasdodged =true;						    	
+					org._hasdodged =true;
+			    }
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+			    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in orange
+				    org.setColor(Color.ORANGE);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+			break;
+		case PINK:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if (org._geneticCode.getModifiespink()) {
+					if ((!_dodge) || (!_isaplant)) {
 						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
 					        org.infectedBy(this);
 					        org.setColor(Utils.ColorBLOND);
@@ -5259,20 +4880,33 @@ public class Organism extends Rectangle {
 				    	_hasdodged =true;						    	
 						org._hasdodged =true;
 				    }
-				}
-			    if ((_nTotalKills > 0) || (_isenhanced)) {
-				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+		    	}
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if (_nTotalInfected > 0) {
+					if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
 					    // Get energy depending on segment length and relation between kills of both organisms
 					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in red
-					    org.setColor(Color.RED);
+					    // The other organism will be shown in pink
+					    org.setColor(Color.PINK);
 					    // This organism will be shown in gold
 					    setColor(Utils.ColorGOLD);
-				    }
-				}
-				break;
-			case FIRE:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+					}
+				} else {
+					if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length and relation between kills of both organisms
+					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in gold
+					    setColor(Utils.ColorGOLD);
+					}
+			    }
+			}
+			break;
+		case SILVER:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
 					if ((!_dodge) || (!_isaplant)) {
 						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
 					        org.infectedBy(this);
@@ -5283,20 +4917,44 @@ public class Organism extends Rectangle {
 				    	_hasdodged =true;						    	
 						org._hasdodged =true;
 				    }
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+		    	}
+			}
+			if ((org._indigo > 0) && (_nTotalInfected > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+				if ((_indigo == 0) || (_isaplant) || (_isaconsumer)) {
+		    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+		    			if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+		    				org.setColor(Utils.ColorINDIGO);
+		    				setColor(Color.LIGHT_GRAY);
+		    			}
+		    		}
+		    	}
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if ((org._nTotalKills > 0) || (org._isenhanced)) {
+					if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
 					    // Get energy depending on segment length and relation between kills of both organisms
 					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in fire
-					    org.setColor(Utils.ColorFIRE);
+					    // The other organism will be shown in gold
+					    org.setColor(Utils.ColorGOLD);
 					    // This organism will be shown in gold
 					    setColor(Utils.ColorGOLD);
-				    }
-				}
-				break;
-			case ORANGE:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+					}
+				} else {
+					if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+					    // Get energy depending on segment length and relation between kills of both organisms
+					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+					    // The other organism will be shown in yellow
+					    org.setColor(Color.YELLOW);
+					    // This organism will be shown in gold
+					    setColor(Utils.ColorGOLD);
+					}
+			    }
+			}
+			break;
+		case WHITE:
+		case PLAGUE:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
 					if ((!_dodge) || (!_isaplant)) {
 						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
 					        org.infectedBy(this);
@@ -5307,487 +4965,425 @@ public class Organism extends Rectangle {
 				    	_hasdodged =true;						    	
 						org._hasdodged =true;
 				    }
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-					    // Get energy depending on segment length and relation between kills of both organisms
-					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in orange
-					    org.setColor(Color.ORANGE);
-					    // This organism will be shown in gold
-					    setColor(Utils.ColorGOLD);
+		    	}
+			}
+			if ((org._indigo > 0) && (_nTotalInfected > 0) && (!org._isaplant) && (!org._isaconsumer)) {
+				if ((_indigo == 0) || (_isaplant) || (_isaconsumer)) {
+		    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+		    			if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+		    				org.setColor(Utils.ColorINDIGO);
+		    				setColor(Color.LIGHT_GRAY);
+		    			}
+		    		}
+		    	}
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {
+					if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				        // Get energy depending on segment length and relation between kills of both organisms
+				        takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				        // The other organism will be shown in yellow
+				        org.setColor(Color.YELLOW);
+				        // This organism will be shown in gold
+				        setColor(Utils.ColorGOLD);
 				    }
 				}
-				break;
-			case PINK:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if (org._geneticCode.getModifiespink()) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-			    	}
+			}
+			break;
+		case INDIGO:
+			if (_nTotalInfected > 0) {
+				if ((_indigo == 0) || (_isaplant) || (_isaconsumer)) {
+		    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
+		    			if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+		    				org.setColor(Utils.ColorINDIGO);
+		    				setColor(Color.LIGHT_GRAY);
+		    			}
+		    		}
+		    	}
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+				    setColor(Utils.ColorGOLD);
+			    } else {
+				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+						// Get energy depending on segment length and relation between kills of both organisms
+						takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+						// The other organism will be shown in yellow
+						org.setColor(Color.YELLOW);
+						// This organism will be shown in gold
+						setColor(Utils.ColorGOLD);
+					}
 				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if (_nTotalInfected > 0) {
-						if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length and relation between kills of both organisms
-						    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in pink
-						    org.setColor(Color.PINK);
-						    // This organism will be shown in gold
-						    setColor(Utils.ColorGOLD);
+			}
+			break;
+		case CORAL:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+					if ((!_dodge) || (!_isaplant)) {
+						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+					        if ((!org._isenhanced) && (!_isaplant) && (!_isaconsumer) && (org.useEnergy(Utils.CORAL_ENERGY_CONSUMPTION))) {
+					        	org.setColor(Utils.ColorCORAL);
+							    org._energy += _energy;
+								_energy -= _energy;
+					        } else {
+					        	org.setColor(Utils.ColorBLOND);
+					        }
+					        setColor(Color.LIGHT_GRAY);
 						}
 					} else {
-						if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length and relation between kills of both organisms
-						    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in gold
-						    setColor(Utils.ColorGOLD);
-						}
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
 				    }
 				}
-				break;
-			case SILVER:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-			    	}
-				}
-				if ((org._indigo > 0) && (_nTotalInfected > 0) && (!org._isaplant) && (!org._isaconsumer)) {
-					if ((_indigo == 0) || (_isaplant) || (_isaconsumer)) {
-			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-			    			if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-			    				org.setColor(Utils.ColorINDIGO);
-			    				setColor(Color.LIGHT_GRAY);
-			    			}
-			    		}
-			    	}
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if ((org._nTotalKills > 0) || (org._isenhanced)) {
-						if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length and relation between kills of both organisms
-						    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in gold
-						    org.setColor(Utils.ColorGOLD);
-						    // This organism will be shown in gold
-						    setColor(Utils.ColorGOLD);
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+			    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in yellow
+				    org.setColor(Color.YELLOW);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+	        break;
+		case ICE:
+		case DEADBARK:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+					if ((!_dodge) || (!_isaplant)) {
+						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+					        org.setColor(Utils.ColorBLOND);
+					        setColor(Color.LIGHT_GRAY);
 						}
 					} else {
-						if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-						    // Get energy depending on segment length and relation between kills of both organisms
-						    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-						    // The other organism will be shown in yellow
-						    org.setColor(Color.YELLOW);
-						    // This organism will be shown in gold
-						    setColor(Utils.ColorGOLD);
-						}
-				    }
-				}
-				break;
-			case WHITE:
-			case PLAGUE:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-			    	}
-				}
-				if ((org._indigo > 0) && (_nTotalInfected > 0) && (!org._isaplant) && (!org._isaconsumer)) {
-					if ((_indigo == 0) || (_isaplant) || (_isaconsumer)) {
-			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-			    			if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-			    				org.setColor(Utils.ColorINDIGO);
-			    				setColor(Color.LIGHT_GRAY);
-			    			}
-			    		}
-			    	}
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {
-						if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-					        // Get energy depending on segment length and relation between kills of both organisms
-					        takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					        // The other organism will be shown in yellow
-					        org.setColor(Color.YELLOW);
-					        // This organism will be shown in gold
-					        setColor(Utils.ColorGOLD);
-					    }
-					}
-				}
-				break;
-			case INDIGO:
-				if (_nTotalInfected > 0) {
-					if ((_indigo == 0) || (_isaplant) || (_isaconsumer)) {
-			    		if (org.useEnergy(Utils.INDIGO_ENERGY_CONSUMPTION)) {
-			    			if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-			    				org.setColor(Utils.ColorINDIGO);
-			    				setColor(Color.LIGHT_GRAY);
-			    			}
-			    		}
-			    	}
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-					    setColor(Utils.ColorGOLD);
-				    } else {
-					    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-							// Get energy depending on segment length and relation between kills of both organisms
-							takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-							// The other organism will be shown in yellow
-							org.setColor(Color.YELLOW);
-							// This organism will be shown in gold
-							setColor(Utils.ColorGOLD);
-						}
-					}
-				}
-				break;
-			case CORAL:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        if ((!org._isenhanced) && (!_isaplant) && (!_isaconsumer) && (org.useEnergy(Utils.CORAL_ENERGY_CONSUMPTION))) {
-						        	org.setColor(Utils.ColorCORAL);
-								    org._energy += _energy;
-									_energy -= _energy;
-						        } else {
-						        	org.setColor(Utils.ColorBLOND);
-						        }
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-					}
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-					    // Get energy depending on segment length and relation between kills of both organisms
-					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in yellow
-					    org.setColor(Color.YELLOW);
-					    // This organism will be shown in gold
-					    setColor(Utils.ColorGOLD);
-				    }
-				}
-		        break;
-			case ICE:
-			case DEADBARK:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-					}
-				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-				    if ((_isafreezer) && (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION))) {
-					    // Get energy depending on segment length and relation between kills of both organisms
-					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in yellow
-					    org.setColor(Color.YELLOW);
-					    // This organism will be shown in gold
-					    setColor(Utils.ColorGOLD);
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
 				    }
 				}
-				break;
-			case MINT:
-			case MAGENTA:
-			case ROSE:
-				if (_geneticCode.getAltruist()) {
+			}
+			if ((_nTotalKills > 0) || (_isenhanced)) {
+			    if ((_isafreezer) && (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION))) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in yellow
+				    org.setColor(Color.YELLOW);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+			break;
+		case MINT:
+		case MAGENTA:
+		case ROSE:
+			if (_geneticCode.getAltruist()) {
                 break;
-				} else {
-					if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-						if ((org._isaplant) || (org._isaconsumer)) {
-							if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-								org.setColor(Utils.ColorTEAL);
-								setColor(Color.LIGHT_GRAY);
-								org._hasdodged =true;
-							} else {
-								if ((!_dodge) || (!_isaplant)) {
-									if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-								        org.infectedBy(this);
-								        org.setColor(Utils.ColorBLOND);
-								        setColor(Color.LIGHT_GRAY);
-									}
-								} else {
-							    	_hasdodged =true;						    	
-									org._hasdodged =true;
-							    }
-							}
-						}
-					}
-					if ((_nTotalKills > 0) || (_isenhanced)) {
+			} else {
+				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+					if ((org._isaplant) || (org._isaconsumer)) {
 						if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
 							org.setColor(Utils.ColorTEAL);
-						    setColor(Utils.ColorGOLD);
+							setColor(Color.LIGHT_GRAY);
+							org._hasdodged =true;
 						} else {
-						    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-								// Get energy depending on segment length and relation between kills of both organisms
-								takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-								// The other organism will be shown in yellow
-								org.setColor(Color.YELLOW);
-								// This organism will be shown in gold
-								setColor(Utils.ColorGOLD);
-							}
+							if ((!_dodge) || (!_isaplant)) {
+								if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+							        org.infectedBy(this);
+							        org.setColor(Utils.ColorBLOND);
+							        setColor(Color.LIGHT_GRAY);
+								}
+							} else {
+						    	_hasdodged =true;						    	
+								org._hasdodged =true;
+						    }
 						}
 					}
 				}
-				break;
-			case CREAM:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-			    	if (org._isaplant) {
-			    		if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
+				if ((_nTotalKills > 0) || (_isenhanced)) {
+					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+						org.setColor(Utils.ColorTEAL);
+					    setColor(Utils.ColorGOLD);
+					} else {
+					    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+							// Get energy depending on segment length and relation between kills of both organisms
+							takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+							// The other organism will be shown in yellow
+							org.setColor(Color.YELLOW);
+							// This organism will be shown in gold
+							setColor(Utils.ColorGOLD);
+						}
 					}
 				}
-				break;
-			case MAROON:
-			case BLUE:
-			case LIGHT_BLUE:
-			case SKY:
-			case DEEPSKY:
-			case OCHRE:
-			case OLIVE:
-			case DARKOLIVE:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-					}
+			}
+			break;
+		case CREAM:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+		    	if (org._isaplant) {
+		    		if ((!_dodge) || (!_isaplant)) {
+						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+					        org.setColor(Utils.ColorBLOND);
+					        setColor(Color.LIGHT_GRAY);
+						}
+					} else {
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
+				    }
 				}
-				break;
-			case BARK:
-			case OLDBARK:
-				org._segColor[oseg] = Utils.ColorOLDBARK;
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((!_isaplant) && (!_isaconsumer)) {
+			}
+			break;
+		case MAROON:
+		case BLUE:
+		case LIGHT_BLUE:
+		case SKY:
+		case DEEPSKY:
+		case OCHRE:
+		case OLIVE:
+		case DARKOLIVE:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+					if ((!_dodge) || (!_isaplant)) {
 						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						    org.infectedBy(this);
-						    org.setColor(Utils.ColorBLOND);
-						    setColor(Color.LIGHT_GRAY);
-					    }
-					}
+					        org.infectedBy(this);
+					        org.setColor(Utils.ColorBLOND);
+					        setColor(Color.LIGHT_GRAY);
+						}
+					} else {
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
+				    }
 				}
-				break;
-			case SPIKEPOINT:
-				break;
-			case BROWN:
-				break;
-			default:
-				if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
-					if ((org._isaplant) || (org._isaconsumer)) {
-						if ((!_dodge) || (!_isaplant)) {
-							if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
-						        org.infectedBy(this);
-						        org.setColor(Utils.ColorBLOND);
-						        setColor(Color.LIGHT_GRAY);
-							}
-						} else {
-					    	_hasdodged =true;						    	
-							org._hasdodged =true;
-					    }
-					}
+			}
+			break;
+		case BARK:
+		case OLDBARK:
+			org.setSegColor(oseg, Utils.ColorOLDBARK);
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((!_isaplant) && (!_isaconsumer)) {
+					if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					    org.infectedBy(this);
+					    org.setColor(Utils.ColorBLOND);
+					    setColor(Color.LIGHT_GRAY);
+				    }
 				}
-				if ((_nTotalKills > 0) || (_isenhanced)) {
-				    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
-					    // Get energy depending on segment length and relation between kills of both organisms
-					    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
-					    // The other organism will be shown in yellow
-					    org.setColor(Color.YELLOW);
-					    // This organism will be shown in gold
-					    setColor(Utils.ColorGOLD);
+			}
+			break;
+		case SPIKEPOINT:
+			break;
+		case BROWN:
+			break;
+		default:
+			if ((org._infectedGeneticCode != _geneticCode) && (org._nTotalInfected < _nTotalInfected)) {
+				if ((org._isaplant) || (org._isaconsumer)) {
+					if ((!_dodge) || (!_isaplant)) {
+						if (useEnergy(Utils.SILVER_ENERGY_CONSUMPTION)) {
+					        org.infectedBy(this);
+					        org.setColor(Utils.ColorBLOND);
+					        setColor(Color.LIGHT_GRAY);
+						}
+					} else {
+				    	_hasdodged =true;						    	
+						org._hasdodged =true;
 				    }
 				}
 			}
-			// energy interchange
-			org._energy -= takenEnergy;
-			_energy += takenEnergy;
-			double CO2freed8 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
-			useEnergy(CO2freed8);
 			if ((_nTotalKills > 0) || (_isenhanced)) {
-				org._hasdodged =true;
+			    if (useEnergy(Utils.EXPERIENCE_ENERGY_CONSUMPTION)) {
+				    // Get energy depending on segment length and relation between kills of both organisms
+				    takenEnergy = Utils.between(((_nTotalKills+18)/(org._nTotalKills+18))*(FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
+				    // The other organism will be shown in yellow
+				    org.setColor(Color.YELLOW);
+				    // This organism will be shown in gold
+				    setColor(Utils.ColorGOLD);
+			    }
+			}
+		}
+		// energy interchange
+		org._energy -= takenEnergy;
+		_energy += takenEnergy;
+		double CO2freed8 = takenEnergy * Utils.ORGANIC_SUBS_PRODUCED;
+		useEnergy(CO2freed8);
+		if ((_nTotalKills > 0) || (_isenhanced)) {
+			org._hasdodged =true;
+		}
+	}
+
+	private void touchCoral(Organism org, int seg, int oseg) {
+		// Transform viruses and particles into children
+		switch (org._segType[oseg]) {
+		case WHITE:
+		case PLAGUE:
+		case SILVER:
+			if ((!org._isaplant) && (!org._isaconsumer) && (!org._isauburn)) {
+				if (((!_isaplant) && (!_isaconsumer)) || (_isenhanced)) {
+					if (useEnergy(Utils.CORAL_ENERGY_CONSUMPTION)) {
+						setColor(Utils.ColorCORAL);
+						org.infectedBy(this);
+						org.transform();
+					}
+				}
+			}
+			break;
+		case MAGENTA:
+		case ROSE:
+			if ((!org._isaplant) && (!org._isaconsumer) && (!_geneticCode.getAltruist())) {
+				if (((!_isaplant) && (!_isaconsumer)) || (_isenhanced)) {
+					if (useEnergy(Utils.CORAL_ENERGY_CONSUMPTION)) {
+						setColor(Utils.ColorCORAL);
+						org.infectedBy(this);
+						org.transform();
+					}
+				}
 			}
 			break;
+		case BLUE:
+		case SKY:
+		case DEEPSKY:
+		case OCHRE:
 		case CORAL:
-			// Transform viruses and particles into children
-			switch (getTypeColor(org._segColor[oseg])) {
-			case WHITE:
-			case PLAGUE:
-			case SILVER:
-				if ((!org._isaplant) && (!org._isaconsumer) && (!org._isauburn)) {
-					if (((!_isaplant) && (!_isaconsumer)) || (_isenhanced)) {
-						if (useEnergy(Utils.CORAL_ENERGY_CONSUMPTION)) {
-							setColor(Utils.ColorCORAL);
-							org.infectedBy(this);
-							org.transform();
-						}
+		case VIOLET:
+		case GRAY:
+		case LILAC:
+		case DARKLILAC:
+		case SPIKEPOINT:
+		case MINT:
+		case BROWN:
+			break;
+		default:
+			if ((!org._isaplant) && (!org._isaconsumer)) {
+				if (((!_isaplant) && (!_isaconsumer)) || (_isenhanced)) {
+					if (useEnergy(Utils.CORAL_ENERGY_CONSUMPTION)) {
+						setColor(Utils.ColorCORAL);
+						org.infectedBy(this);
+						org.transform();
 					}
 				}
-				break;
-			case MAGENTA:
-			case ROSE:
-				if ((!org._isaplant) && (!org._isaconsumer) && (!_geneticCode.getAltruist())) {
-					if (((!_isaplant) && (!_isaconsumer)) || (_isenhanced)) {
-						if (useEnergy(Utils.CORAL_ENERGY_CONSUMPTION)) {
-							setColor(Utils.ColorCORAL);
-							org.infectedBy(this);
-							org.transform();
-						}
+			}
+		}
+	}
+
+	private void touchMint(Organism org, int seg, int oseg) {
+		// Mint segment: Remove an infection, corrupt all white and cream segments.
+		switch (org._segType[oseg]) {
+		case BROWN:
+			break;
+		case MINT:
+			if ((_infectedGeneticCode != null) || (org._infectedGeneticCode != null)) {
+			    if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+					_infectedGeneticCode = null;
+					org._infectedGeneticCode = null;
+					org.setColor(Utils.ColorMINT);
+					setColor(Utils.ColorMINT);
+				}
+			}
+			break;
+		case CREAM:
+			if (org._isaplant) {
+				if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+				    org.setSegColor(oseg, Utils.ColorBROKEN);
+				    setColor(Utils.ColorMINT);
+				}
+			} else {
+				if (org._isregenerative) {
+					if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+					    org.setSegColor(oseg, Utils.ColorDARKFIRE);
+					    setColor(Utils.ColorMINT);
+					}
+			    } else {
+			    	if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+					    org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
+					    setColor(Utils.ColorMINT);
+			    	}
+			    }
+			}					
+			if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+				if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
+					if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+						org._infectedGeneticCode = null;
+						org.setColor(Color.CYAN);
+						setColor(Utils.ColorMINT);
 					}
 				}
-				break;
-			case BLUE:
-			case SKY:
-			case DEEPSKY:
-			case OCHRE:
-			case CORAL:
-			case VIOLET:
-			case GRAY:
-			case LILAC:
-			case DARKLILAC:
-			case SPIKEPOINT:
-			case MINT:
-			case BROWN:
-				break;
-			default:
-				if ((!org._isaplant) && (!org._isaconsumer)) {
-					if (((!_isaplant) && (!_isaconsumer)) || (_isenhanced)) {
-						if (useEnergy(Utils.CORAL_ENERGY_CONSUMPTION)) {
-							setColor(Utils.ColorCORAL);
-							org.infectedBy(this);
-							org.transform();
+			}
+			break;				
+		case WHITE:
+		case PLAGUE:
+		case CORAL:
+			for (int a = 0; a < org._segments; a++) {
+				switch (org._segType[a]) {
+				case WHITE:
+				case PLAGUE:
+				case CORAL:
+					if (org._isaplant) {
+						if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
+						    org.setSegColor(a, Utils.ColorBROKEN);
+						    setColor(Utils.ColorMINT);
+						}
+					} else {
+						if (org._isaconsumer) {
+							if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
+							    org.setSegColor(a, Utils.ColorLIGHTBROWN);
+							    setColor(Utils.ColorMINT);
+							}
+						} else {
+							if ((!org._isantiviral) || (_isaplant) || (_isaconsumer) || (_iscoral)) {
+								if ((org._isregenerative) && (!org._iscoral)) {
+									if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
+									    org.setSegColor(a, Utils.ColorDARKFIRE);
+									    setColor(Utils.ColorMINT);
+									}
+							    } else {
+							    	if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
+									    org.setSegColor(a, Utils.ColorLIGHTBROWN);
+									    setColor(Utils.ColorMINT);
+							    	}
+							    }
+						    }
 						}
 					}
 				}
 			}
-			break;
-		case MINT:
-			// Mint segment: Remove an infection, corrupt all white and cream segments.
-			switch (getTypeColor(org._segColor[oseg])) {
-			case BROWN:
-				break;
-			case MINT:
-				if ((_infectedGeneticCode != null) || (org._infectedGeneticCode != null)) {
-				    if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-						_infectedGeneticCode = null;
+			if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+				if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
+					if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
 						org._infectedGeneticCode = null;
-						org.setColor(Utils.ColorMINT);
+						org.setColor(Color.CYAN);
 						setColor(Utils.ColorMINT);
 					}
 				}
-				break;
-			case CREAM:
-				if (org._isaplant) {
-					if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-					    org._segColor[oseg] = Utils.ColorBROKEN;
-					    setColor(Utils.ColorMINT);
-					}
-				} else {
-					if (org._isregenerative) {
-						if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-						    org._segColor[oseg] = Utils.ColorDARKFIRE;
-						    setColor(Utils.ColorMINT);
-						}
-				    } else {
-				    	if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-						    org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						    setColor(Utils.ColorMINT);
-				    	}
-				    }
-				}					
-				if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-					if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
-						if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-							org._infectedGeneticCode = null;
-							org.setColor(Color.CYAN);
-							setColor(Utils.ColorMINT);
-						}
-					}
-				}
-				break;				
-			case WHITE:
-			case PLAGUE:
-			case CORAL:
+			}
+			break;
+		default:
+			if ((!_isaplant) || (_isenhanced)) {
 				for (int a = 0; a < org._segments; a++) {
-					switch (getTypeColor(org._segColor[a])) {
+					switch (org._segType[a]) {
 					case WHITE:
 					case PLAGUE:
 					case CORAL:
 						if (org._isaplant) {
 							if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-							    org._segColor[a] = Utils.ColorBROKEN;
+							    org.setSegColor(a, Utils.ColorBROKEN);
 							    setColor(Utils.ColorMINT);
 							}
 						} else {
 							if (org._isaconsumer) {
 								if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-								    org._segColor[a] = Utils.ColorLIGHTBROWN;
+								    org.setSegColor(a, Utils.ColorLIGHTBROWN);
 								    setColor(Utils.ColorMINT);
 								}
 							} else {
 								if ((!org._isantiviral) || (_isaplant) || (_isaconsumer) || (_iscoral)) {
 									if ((org._isregenerative) && (!org._iscoral)) {
 										if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-										    org._segColor[a] = Utils.ColorDARKFIRE;
+										    org.setSegColor(a, Utils.ColorDARKFIRE);
 										    setColor(Utils.ColorMINT);
 										}
 								    } else {
 								    	if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-										    org._segColor[a] = Utils.ColorLIGHTBROWN;
+										    org.setSegColor(a, Utils.ColorLIGHTBROWN);
 										    setColor(Utils.ColorMINT);
 								    	}
 								    }
@@ -5796,142 +5392,193 @@ public class Organism extends Rectangle {
 						}
 					}
 				}
-				if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-					if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
-						if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-							org._infectedGeneticCode = null;
-							org.setColor(Color.CYAN);
-							setColor(Utils.ColorMINT);
-						}
+			}
+			if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+				if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
+					if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
+						org._infectedGeneticCode = null;
+						org.setColor(Color.CYAN);
+						setColor(Utils.ColorMINT);
 					}
 				}
-				break;
-			default:
-				if ((!_isaplant) || (_isenhanced)) {
-					for (int a = 0; a < org._segments; a++) {
-						switch (getTypeColor(org._segColor[a])) {
-						case WHITE:
-						case PLAGUE:
-						case CORAL:
-							if (org._isaplant) {
-								if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-								    org._segColor[a] = Utils.ColorBROKEN;
-								    setColor(Utils.ColorMINT);
-								}
-							} else {
-								if (org._isaconsumer) {
-									if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-									    org._segColor[a] = Utils.ColorLIGHTBROWN;
-									    setColor(Utils.ColorMINT);
-									}
-								} else {
-									if ((!org._isantiviral) || (_isaplant) || (_isaconsumer) || (_iscoral)) {
-										if ((org._isregenerative) && (!org._iscoral)) {
-											if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-											    org._segColor[a] = Utils.ColorDARKFIRE;
-											    setColor(Utils.ColorMINT);
-											}
-									    } else {
-									    	if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION/8)) {
-											    org._segColor[a] = Utils.ColorLIGHTBROWN;
-											    setColor(Utils.ColorMINT);
-									    	}
-									    }
-								    }
-								}
-							}
-						}
-					}
+			}
+		}
+	}
+
+	private void touchMagenta(Organism org, int seg, int oseg) {
+		// Magenta segment: Heal all sick segments
+		switch (org._segType[oseg]) {
+		case BROWN:
+			break;
+		case MAGENTA:
+		    for (int j = 0; j < org._segments; j++) {
+		    	if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
+					|| (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
+					|| (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
+				    if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
+						org.setSegColor(j, org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor());  
+						org.setColor(Color.MAGENTA);
+						setColor(Color.MAGENTA);
+				    }
 				}
-				if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-					if ((org._infectedGeneticCode != _geneticCode) && (org._infectedGeneticCode != null)) {
-						if (useEnergy(Utils.MINT_ENERGY_CONSUMPTION)) {
-							org._infectedGeneticCode = null;
-							org.setColor(Color.CYAN);
-							setColor(Utils.ColorMINT);
-						}
+		    }
+			break;
+		default:
+		    for (int j = 0; j < org._segments; j++) {
+		    	if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+					if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
+					    || (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
+					    || (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
+			            if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
+					        org.setSegColor(j, org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor());  
+					        setColor(Color.MAGENTA);
+			            }
+			        }
+				}
+			}			    
+		}
+	}
+
+	private void touchRose(Organism org, int seg, int oseg) {
+		double takenEnergy = 0;
+		// Rose segment: Transfers energy
+		switch (org._segType[oseg]) {
+		case BROWN:
+			break;
+		default:
+			if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
+				if ((_energy > (org._energy+1)) && (_energy > (_geneticCode._reproduceEnergy/2)) && (org._energy < (org._geneticCode._reproduceEnergy/2))) {
+					if ((_growthRatio==1) && (useEnergy(Utils.ROSE_ENERGY_CONSUMPTION))) {
+					    // Transfers energy
+					    takenEnergy = Utils.between(0.1 * Utils.ORGANIC_OBTAINED_ENERGY, 0, (_energy - (org._energy+1)));
+					    // The other organism will be shown in cyan
+					    org.setColor(Color.CYAN);
+					    // This organism will be shown in rose
+					    setColor(Utils.ColorROSE);
+					    org._energy += takenEnergy;
+					    _energy -= takenEnergy;
 					}
 				}
 			}
+		}
+	}
+
+	private void touchSky(Organism org, int seg, int oseg) {
+		// Sky segment: Freeze another organism by disabling its photosynthetic and movement segments, protects itself with a frost shield
+		switch (org._segType[oseg]) {
+		case BROWN:
 			break;
-		case MAGENTA:
-			// Magenta segment: Heal all sick segments
-			switch (getTypeColor(org._segColor[oseg])) {
-			case BROWN:
-				break;
-			case MAGENTA:
-			    for (int j = 0; j < org._segments; j++) {
-			    	if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
-						|| (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
-						|| (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
-					    if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-							org._segColor[j] = org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor();  
-							org.setColor(Color.MAGENTA);
-							setColor(Color.MAGENTA);
-					    }
+		case SPIKEPOINT:
+			break;
+		case BLUE:
+			if ((!_isenhanced) && (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION))) {
+				if (org._isenhanced) {
+				    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+					setColor(Utils.ColorDARKLILAC);
+				} else {
+					setColor(Utils.ColorSKY);
+				}
+				org.setColor(Color.BLUE);
+			} else {
+				for (int y = 0; y < org._segments; y++) {
+				switch (org._segType[y]) {
+				case SKY:
+				case DEEPSKY:
+					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+						org.setSegColor(y, Utils.ColorLIGHT_BLUE);
+						setColor(Utils.ColorSKY);
 					}
-			    }
-				break;
-			default:
-			    for (int j = 0; j < org._segments; j++) {
-			    	if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-						if ((org._segColor[j] == Utils.ColorLIGHTBROWN) || (org._segColor[j] == Utils.ColorGREENBROWN) || (org._segColor[j] == Utils.ColorPOISONEDJADE)
-						    || (org._segColor[j] == Utils.ColorBROKEN) || (org._segColor[j] == Utils.ColorLIGHT_BLUE) || (org._segColor[j] == Utils.ColorICE)
-						    || (org._segColor[j] == Utils.ColorDARKJADE) || (org._segColor[j] == Utils.ColorDARKFIRE)) {
-				            if (useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-						        org._segColor[j] = org._geneticCode.getGene(j%org._geneticCode.getNGenes()).getColor();  
-						        setColor(Color.MAGENTA);
-				            }
-				        }
+					break;
+				case CYAN:
+				case TEAL:
+				case SPRING:
+				case LIME:
+				case GREEN:
+				case FOREST:
+				case C4:
+				case GRASS:
+				case JADE:
+				case DARKJADE:
+				case POISONEDJADE:
+				case GREENBROWN:
+					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+						org.setSegColor(y, Utils.ColorICE);
+						setColor(Utils.ColorSKY);
 					}
-				}			    
-			}
-			break;
-		case ROSE:
-			// Rose segment: Transfers energy
-			switch (getTypeColor(org._segColor[oseg])) {
-			case BROWN:
-				break;
-			default:
-				if (_geneticCode.getAltruist() && org._geneticCode.getAltruist()) {
-					if ((_energy > (org._energy+1)) && (_energy > (_geneticCode._reproduceEnergy/2)) && (org._energy < (org._geneticCode._reproduceEnergy/2))) {
-						if ((_growthRatio==1) && (useEnergy(Utils.ROSE_ENERGY_CONSUMPTION))) {
-						    // Transfers energy
-						    takenEnergy = Utils.between(0.1 * Utils.ORGANIC_OBTAINED_ENERGY, 0, (_energy - (org._energy+1)));
-						    // The other organism will be shown in cyan
-						    org.setColor(Color.CYAN);
-						    // This organism will be shown in rose
-						    setColor(Utils.ColorROSE);
-						    org._energy += takenEnergy;
-						    _energy -= takenEnergy;
-						}
+					break;
+				case OLDBARK:
+				case BARK:
+					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+						org.setSegColor(y, Utils.ColorDEADBARK);
+						setColor(Utils.ColorSKY);
 					}
+					break;
+		    }}}
+		    break;
+		case SKY:
+			if ((useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) && (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION))) {
+				setSegColor(seg, Utils.ColorDEEPSKY);
+				org.setSegColor(oseg, Utils.ColorDEEPSKY);
+				setColor(Utils.ColorDEEPSKY);
+			    org.setColor(Utils.ColorDEEPSKY);
+			} else {
+				if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDEEPSKY);
+					org.setColor(Utils.ColorDEEPSKY);
 				}
 			}
+		    break;
+		case OLIVE:
+			if ((!org._isaplant) || (org._isenhanced)) {
+                break;
+				} else {
+					for (int y = 0; y < org._segments; y++) {
+					switch (org._segType[y]) {
+					case SKY:
+					case DEEPSKY:
+						if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+							org.setSegColor(y, Utils.ColorLIGHT_BLUE);
+							setColor(Utils.ColorSKY);
+						}
+						break;
+					case CYAN:
+					case TEAL:
+					case SPRING:
+					case LIME:
+					case GREEN:
+					case FOREST:
+					case C4:
+					case GRASS:
+					case JADE:
+					case DARKJADE:
+					case POISONEDJADE:
+					case GREENBROWN:
+						if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+							org.setSegColor(y, Utils.ColorICE);
+							setColor(Utils.ColorSKY);
+						}
+						break;
+					case OLDBARK:
+					case BARK:
+						if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+							org.setSegColor(y, Utils.ColorDEADBARK);
+							setColor(Utils.ColorSKY);
+						}
+						break;
+			}}}
 			break;
-		case SKY:
-			// Sky segment: Freeze another organism by disabling its photosynthetic and movement segments, protects itself with a frost shield
-			switch (getTypeColor(org._segColor[oseg])) {
-			case BROWN:
-				break;
-			case SPIKEPOINT:
-				break;
-			case BLUE:
-				if ((!_isenhanced) && (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION))) {
-					if (org._isenhanced) {
-					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-						setColor(Utils.ColorDARKLILAC);
-					} else {
-						setColor(Utils.ColorSKY);
-					}
-					org.setColor(Color.BLUE);
+		case MINT:
+		case MAGENTA:
+		case ROSE:
+			if (_geneticCode.getAltruist()) {
+                break;
 				} else {
 					for (int y = 0; y < org._segments; y++) {
-					switch (getTypeColor(org._segColor[y])) {
+					switch (org._segType[y]) {
 					case SKY:
 					case DEEPSKY:
 						if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-							org._segColor[y] = Utils.ColorLIGHT_BLUE;
+							org.setSegColor(y, Utils.ColorLIGHT_BLUE);
 							setColor(Utils.ColorSKY);
 						}
 						break;
@@ -5948,223 +5595,146 @@ public class Organism extends Rectangle {
 					case POISONEDJADE:
 					case GREENBROWN:
 						if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-							org._segColor[y] = Utils.ColorICE;
+							org.setSegColor(y, Utils.ColorICE);
 							setColor(Utils.ColorSKY);
 						}
 						break;
 					case OLDBARK:
 					case BARK:
 						if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-							org._segColor[y] = Utils.ColorDEADBARK;
+							org.setSegColor(y, Utils.ColorDEADBARK);
 							setColor(Utils.ColorSKY);
 						}
 						break;
-			    }}}
-			    break;
+			}}}
+			break;
+		case JADE:
+			if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+				org.setSegColor(oseg, Utils.ColorDARKJADE);
+				setColor(Utils.ColorSKY);
+			}
+			break;
+		default:
+			for (int y = 0; y < org._segments; y++) {
+			switch (org._segType[y]) {
 			case SKY:
-				if ((useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) && (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION))) {
-					_segColor[seg] = Utils.ColorDEEPSKY;
-					org._segColor[oseg] = Utils.ColorDEEPSKY;
-					setColor(Utils.ColorDEEPSKY);
-				    org.setColor(Utils.ColorDEEPSKY);
-				} else {
-					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDEEPSKY;
-						org.setColor(Utils.ColorDEEPSKY);
-					}
+			case DEEPSKY:
+				if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(y, Utils.ColorLIGHT_BLUE);
+					setColor(Utils.ColorSKY);
 				}
-			    break;
-			case OLIVE:
-				if ((!org._isaplant) || (org._isenhanced)) {
-	                break;
-					} else {
-						for (int y = 0; y < org._segments; y++) {
-						switch (getTypeColor(org._segColor[y])) {
-						case SKY:
-						case DEEPSKY:
-							if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-								org._segColor[y] = Utils.ColorLIGHT_BLUE;
-								setColor(Utils.ColorSKY);
-							}
-							break;
-						case CYAN:
-						case TEAL:
-						case SPRING:
-						case LIME:
-						case GREEN:
-						case FOREST:
-						case C4:
-						case GRASS:
-						case JADE:
-						case DARKJADE:
-						case POISONEDJADE:
-						case GREENBROWN:
-							if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-								org._segColor[y] = Utils.ColorICE;
-								setColor(Utils.ColorSKY);
-							}
-							break;
-						case OLDBARK:
-						case BARK:
-							if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-								org._segColor[y] = Utils.ColorDEADBARK;
-								setColor(Utils.ColorSKY);
-							}
-							break;
-				}}}
-				break;
-			case MINT:
-			case MAGENTA:
-			case ROSE:
-				if (_geneticCode.getAltruist()) {
-	                break;
-					} else {
-						for (int y = 0; y < org._segments; y++) {
-						switch (getTypeColor(org._segColor[y])) {
-						case SKY:
-						case DEEPSKY:
-							if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-								org._segColor[y] = Utils.ColorLIGHT_BLUE;
-								setColor(Utils.ColorSKY);
-							}
-							break;
-						case CYAN:
-						case TEAL:
-						case SPRING:
-						case LIME:
-						case GREEN:
-						case FOREST:
-						case C4:
-						case GRASS:
-						case JADE:
-						case DARKJADE:
-						case POISONEDJADE:
-						case GREENBROWN:
-							if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-								org._segColor[y] = Utils.ColorICE;
-								setColor(Utils.ColorSKY);
-							}
-							break;
-						case OLDBARK:
-						case BARK:
-							if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-								org._segColor[y] = Utils.ColorDEADBARK;
-								setColor(Utils.ColorSKY);
-							}
-							break;
-				}}}
 				break;
+			case CYAN:
+			case TEAL:
+			case SPRING:
+			case LIME:
+			case GREEN:
+			case FOREST:
+			case C4:
+			case GRASS:
 			case JADE:
+			case DARKJADE:
+			case POISONEDJADE:
+			case GREENBROWN:
 				if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-					org._segColor[oseg] = Utils.ColorDARKJADE;
+					org.setSegColor(y, Utils.ColorICE);
 					setColor(Utils.ColorSKY);
 				}
 				break;
-			default:
-				for (int y = 0; y < org._segments; y++) {
-				switch (getTypeColor(org._segColor[y])) {
-				case SKY:
-				case DEEPSKY:
-					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-						org._segColor[y] = Utils.ColorLIGHT_BLUE;
-						setColor(Utils.ColorSKY);
-					}
-					break;
-				case CYAN:
-				case TEAL:
-				case SPRING:
-				case LIME:
-				case GREEN:
-				case FOREST:
-				case C4:
-				case GRASS:
-				case JADE:
-				case DARKJADE:
-				case POISONEDJADE:
-				case GREENBROWN:
-					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-						org._segColor[y] = Utils.ColorICE;
-						setColor(Utils.ColorSKY);
-					}
-					break;
-				case OLDBARK:
-				case BARK:
-					if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-						org._segColor[y] = Utils.ColorDEADBARK;
-						setColor(Utils.ColorSKY);
-					}
-					break;
-		    }}}
-		    break;							
-		case GRAY:
-			// Gray segment: Kill an organism
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case GRASS:
-			case TEAL:
-			case CYAN:
-			case YELLOW:
-			case AUBURN:
-			case INDIGO:
-			case BLOND:
-			case DARKGRAY:
-			case GOLD:
-				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-					org.setColor(Utils.ColorTEAL);
-					setColor(Color.GRAY);
-				} else {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org.die(this);
-						setColor(Color.GRAY);
-					}
+			case OLDBARK:
+			case BARK:
+				if (useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(y, Utils.ColorDEADBARK);
+					setColor(Utils.ColorSKY);
 				}
 				break;
-			case JADE:
-				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-					org.setColor(Utils.ColorTEAL);
+	    }}}
+	}
+
+	private void touchGray(Organism org, int seg, int oseg) {
+		// Gray segment: Kill an organism
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case GRASS:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case INDIGO:
+		case BLOND:
+		case DARKGRAY:
+		case GOLD:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Color.GRAY);
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.die(this);
 					setColor(Color.GRAY);
-				} else {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDARKJADE;
-						setColor(Color.GRAY);
-					}
 				}
-				break;
-			case BLUE:
-				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					if (org._isenhanced) {
-					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-						setColor(Utils.ColorDARKLILAC);
-					} else {
-						setColor(Color.GRAY);
-					}
-					org.setColor(Color.BLUE);
+			}
+			break;
+		case JADE:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Color.GRAY);
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDARKJADE);
+					setColor(Color.GRAY);
+				}
+			}
+			break;
+		case BLUE:
+			if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				if (org._isenhanced) {
+				    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+					setColor(Utils.ColorDARKLILAC);
 				} else {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org.die(this);
-						setColor(Color.GRAY);
-					}
+					setColor(Color.GRAY);
 				}
-				break;
-			case SKY:
-				if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-					org._segColor[oseg] = Utils.ColorDEEPSKY;
-					org.setColor(Utils.ColorDEEPSKY);
+				org.setColor(Color.BLUE);
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.die(this);
 					setColor(Color.GRAY);
-				} else {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org.die(this);
-						setColor(Color.GRAY);
-					}
 				}
-				break;
-			case DEEPSKY:
-				if (_isaconsumer) {
-					org.setColor(Utils.ColorDEEPSKY);
+			}
+			break;
+		case SKY:
+			if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+				org.setSegColor(oseg, Utils.ColorDEEPSKY);
+				org.setColor(Utils.ColorDEEPSKY);
+				setColor(Color.GRAY);
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.die(this);
+					setColor(Color.GRAY);
+				}
+			}
+			break;
+		case DEEPSKY:
+			if (_isaconsumer) {
+				org.setColor(Utils.ColorDEEPSKY);
+				setColor(Color.GRAY);
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.die(this);
+					setColor(Color.GRAY);
+				}
+			}
+			break;
+		case MINT:
+		case ROSE:
+			if (_geneticCode.getAltruist()) {
+                break;
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
 					setColor(Color.GRAY);
 				} else {
 					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
@@ -6172,15 +5742,19 @@ public class Organism extends Rectangle {
 						setColor(Color.GRAY);
 					}
 				}
-				break;
-			case MINT:
-			case ROSE:
-				if (_geneticCode.getAltruist()) {
-                break;
+			}
+			break;
+		case MAGENTA:
+			if (_geneticCode.getAltruist()) {
+            break;
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Color.GRAY);
 				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Color.GRAY);
+					if ((org._isenhanced) && (org.useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION))) {
+					    org.setColor(Color.MAGENTA);
+					    setColor(Color.GRAY);
 					} else {
 						if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
 							org.die(this);
@@ -6188,573 +5762,426 @@ public class Organism extends Rectangle {
 						}
 					}
 				}
-				break;
-			case MAGENTA:
-				if (_geneticCode.getAltruist()) {
-	            break;
-				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Color.GRAY);
-					} else {
-						if ((org._isenhanced) && (org.useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION))) {
-						    org.setColor(Color.MAGENTA);
-						    setColor(Color.GRAY);
-						} else {
-							if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-								org.die(this);
-								setColor(Color.GRAY);
-							}
-						}
-					}
-				}
-				break;
-			case RED:
-				if (org._isenhanced) {
-				break;
-				} else {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org.die(this);
-						setColor(Color.GRAY);
-					}
+			}
+			break;
+		case RED:
+			if (org._isenhanced) {
+			break;
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.die(this);
+					setColor(Color.GRAY);
 				}
-				break;
-			case SILVER:
-				if (_nTotalKills >= org._nTotalKills) {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org.die(this);
-						setColor(Color.GRAY);
-					}
+			}
+			break;
+		case SILVER:
+			if (_nTotalKills >= org._nTotalKills) {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.die(this);
+					setColor(Color.GRAY);
 				}
-				break;
-			case OLIVE:
-				if (org.useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-					if (_isaplant) {
-					    _segColor[seg] = Utils.ColorBROKEN;
-					} else {
-						_segColor[seg] = Utils.ColorLIGHTBROWN;
-					}
-					org.setColor(Utils.ColorDARKOLIVE);
-					org._segColor[oseg] = Utils.ColorDARKOLIVE;
+			}
+			break;
+		case OLIVE:
+			if (org.useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+				if (_isaplant) {
+				    setSegColor(seg, Utils.ColorBROKEN);
 				} else {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDARKOLIVE;
-						setColor(Color.GRAY);
-					}
+					setSegColor(seg, Utils.ColorLIGHTBROWN);
 				}
-				break;
-			case OLDBARK:
-				if ((_isenhanced) && (!_isaconsumer)) {
-					if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
-						org.die(this);
-						setColor(Color.GRAY);
-					}
+				org.setColor(Utils.ColorDARKOLIVE);
+				org.setSegColor(oseg, Utils.ColorDARKOLIVE);
+			} else {
+				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDARKOLIVE);
+					setColor(Color.GRAY);
 				}
-				break;
-			case BARK:
-				org._segColor[oseg] = Utils.ColorOLDBARK;
-				break;
-			case PINK:
-				break;
-			case SPIKEPOINT:
-				break;
-			case BROWN:
-				break;
-			default:
+			}
+			break;
+		case OLDBARK:
+			if ((_isenhanced) && (!_isaconsumer)) {
 				if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
 					org.die(this);
 					setColor(Color.GRAY);
 				}
 			}
-			org._hasdodged =true;
-			break;				
-		case VIOLET:
-			// Violet segment: Poison another segment and make it useless
-			switch (getTypeColor(org._segColor[oseg])) {
-			case GREEN:
-			case FOREST:
-			case SPRING:
-			case LIME:
-			case C4:
-			case GRASS:
-			case TEAL:
-			case CYAN:
-			case YELLOW:
-			case AUBURN:
-			case INDIGO:
-			case BLOND:
-				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-					org.setColor(Utils.ColorTEAL);
-					setColor(Utils.ColorVIOLET);
-				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
-						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						}
-						setColor(Utils.ColorVIOLET);
+			break;
+		case BARK:
+			org.setSegColor(oseg, Utils.ColorOLDBARK);
+			break;
+		case PINK:
+			break;
+		case SPIKEPOINT:
+			break;
+		case BROWN:
+			break;
+		default:
+			if (useEnergy(Utils.GRAY_ENERGY_CONSUMPTION)) {
+				org.die(this);
+				setColor(Color.GRAY);
+			}
+		}
+		org._hasdodged =true;
+	}
+
+	private void touchViolet(Organism org, int seg, int oseg) {
+		// Violet segment: Poison another segment and make it useless
+		switch (org._segType[oseg]) {
+		case GREEN:
+		case FOREST:
+		case SPRING:
+		case LIME:
+		case C4:
+		case GRASS:
+		case TEAL:
+		case CYAN:
+		case YELLOW:
+		case AUBURN:
+		case INDIGO:
+		case BLOND:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Utils.ColorVIOLET);
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					if (org._isaplant) {
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
+					} else {
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
-				}
-				break;
-			case JADE:
-				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-					org.setColor(Utils.ColorTEAL);
 					setColor(Utils.ColorVIOLET);
-				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-					    org._segColor[oseg] = Utils.ColorPOISONEDJADE;
-						setColor(Utils.ColorVIOLET);
-						org._remember =true;
-					}
 				}
-				break;
-			case DARKJADE:
+			}
+			break;
+		case JADE:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Utils.ColorVIOLET);
+			} else {
 				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-				    org._segColor[oseg] = Utils.ColorPOISONEDJADE;
+				    org.setSegColor(oseg, Utils.ColorPOISONEDJADE);
 					setColor(Utils.ColorVIOLET);
 					org._remember =true;
 				}
-				break;
-			case BLUE:
-				if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
-					if (org._isenhanced) {
-					    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
-						setColor(Utils.ColorDARKLILAC);
-					} else {
-						setColor(Utils.ColorVIOLET);
-					}
-					org.setColor(Color.BLUE);
+			}
+			break;
+		case DARKJADE:
+			if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+			    org.setSegColor(oseg, Utils.ColorPOISONEDJADE);
+				setColor(Utils.ColorVIOLET);
+				org._remember =true;
+			}
+			break;
+		case BLUE:
+			if (org.useEnergy(Utils.BLUE_ENERGY_CONSUMPTION)) {
+				if (org._isenhanced) {
+				    useEnergy(Utils.between((0.5 * FastMath.log10(org._m[oseg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, _energy));
+					setColor(Utils.ColorDARKLILAC);
 				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
-						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						}
-						setColor(Utils.ColorVIOLET);
-					}
-				}
-				break;
-			case SKY:
-				if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
-					org._segColor[oseg] = Utils.ColorDEEPSKY;
-					org.setColor(Utils.ColorDEEPSKY);
 					setColor(Utils.ColorVIOLET);
-				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
-						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						}
-						setColor(Utils.ColorVIOLET);
-					}
 				}
-				break;
-			case DEEPSKY:
-					org.setColor(Utils.ColorDEEPSKY);
-					setColor(Utils.ColorVIOLET);
-				break;
-			case ROSE:
-				if (_geneticCode.getAltruist()) {
-                break;
-				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorVIOLET);
+				org.setColor(Color.BLUE);
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					if (org._isaplant) {
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 					} else {
-						if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-							if (org._isaplant) {
-							    org._segColor[oseg] = Utils.ColorGREENBROWN;
-							} else {
-								org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-							}
-							setColor(Utils.ColorVIOLET);
-						}
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
+					setColor(Utils.ColorVIOLET);
 				}
-				break;
-			case MINT:
-			case MAGENTA:
-				if (_geneticCode.getAltruist()) {
-				break;
-				} else {
-					if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
-						org.setColor(Utils.ColorTEAL);
-						setColor(Utils.ColorVIOLET);
+			}
+			break;
+		case SKY:
+			if (org.useEnergy(Utils.SKY_ENERGY_CONSUMPTION)) {
+				org.setSegColor(oseg, Utils.ColorDEEPSKY);
+				org.setColor(Utils.ColorDEEPSKY);
+				setColor(Utils.ColorVIOLET);
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					if (org._isaplant) {
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 					} else {
-						if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-							if (org._isaplant) {
-							    org._segColor[oseg] = Utils.ColorGREENBROWN;
-							} else {
-								org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-							}
-							setColor(Utils.ColorVIOLET);
-							org._remember =true;
-						}
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
+					setColor(Utils.ColorVIOLET);
 				}
-				break;
-			case DARKGRAY:
-			case GOLD:
+			}
+			break;
+		case DEEPSKY:
+				org.setColor(Utils.ColorDEEPSKY);
+				setColor(Utils.ColorVIOLET);
+			break;
+		case ROSE:
+			if (_geneticCode.getAltruist()) {
+                break;
+			} else {
 				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
 					org.setColor(Utils.ColorTEAL);
 					setColor(Utils.ColorVIOLET);
 				} else {
 					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
 						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
+						    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
+							org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 						}
 						setColor(Utils.ColorVIOLET);
-						org._remember =true;
 					}
 				}
-				break;
-			case OLIVE:
-				if (org.useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-					if (_isaplant) {
-					    _segColor[seg] = Utils.ColorBROKEN;
-					} else {
-						_segColor[seg] = Utils.ColorLIGHTBROWN;
-					}
-					org.setColor(Utils.ColorDARKOLIVE);
-					org._segColor[oseg] = Utils.ColorDARKOLIVE;
+			}
+			break;
+		case MINT:
+		case MAGENTA:
+			if (_geneticCode.getAltruist()) {
+			break;
+			} else {
+				if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+					org.setColor(Utils.ColorTEAL);
+					setColor(Utils.ColorVIOLET);
 				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDARKOLIVE;
-						setColor(Utils.ColorVIOLET);
-					}
-				}
-				break;
-			case WHITE:
-				if ((!_isaconsumer) && ((_isaplant) || (!org._ispoisonous) || (_iscoral) || (org._iscoral))) {
 					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
 						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
+						    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
+							org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 						}
 						setColor(Utils.ColorVIOLET);
-					}
-				} else {
-					if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {
-					    if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-					    	if (org._isaplant) {
-							    org._segColor[oseg] = Utils.ColorGREENBROWN;
-							} else {
-								org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-							}
-						    setColor(Utils.ColorVIOLET);
-					    }
+						org._remember =true;
 					}
 				}
-				break;
-			case SILVER:
-				if ((!_isaconsumer) || (_nTotalKills >= org._nTotalKills)) {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
-						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						}
-					    setColor(Utils.ColorVIOLET);
+			}
+			break;
+		case DARKGRAY:
+		case GOLD:
+			if ((org._dodge) && (!org._isaconsumer) && (org._isakiller == 0) && (org.useEnergy(Utils.DODGE_ENERGY_CONSUMPTION))) {
+				org.setColor(Utils.ColorTEAL);
+				setColor(Utils.ColorVIOLET);
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					if (org._isaplant) {
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
+					} else {
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
+					setColor(Utils.ColorVIOLET);
+					org._remember =true;
 				}
-				break;
-			case FIRE:
-				if ((!_isaconsumer) || (org._isenhanced)) {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
-						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						}
-						setColor(Utils.ColorVIOLET);
-					}
+			}
+			break;
+		case OLIVE:
+			if (org.useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+				if (_isaplant) {
+				    setSegColor(seg, Utils.ColorBROKEN);
 				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDARKFIRE;
-						setColor(Utils.ColorVIOLET);
-					}
+					setSegColor(seg, Utils.ColorLIGHTBROWN);
 				}
-				break;
-			case CREAM:
-				if ((!_isaconsumer) && (org._isaplant)) {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
-						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
-						}
-					    setColor(Utils.ColorVIOLET);
-				    }
-				} else {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
-						org._segColor[oseg] = Utils.ColorDARKFIRE;
-						setColor(Utils.ColorVIOLET);
+				org.setColor(Utils.ColorDARKOLIVE);
+				org.setSegColor(oseg, Utils.ColorDARKOLIVE);
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDARKOLIVE);
+					setColor(Utils.ColorVIOLET);
+				}
+			}
+			break;
+		case WHITE:
+			if ((!_isaconsumer) && ((_isaplant) || (!org._ispoisonous) || (_iscoral) || (org._iscoral))) {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					if (org._isaplant) {
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
+					} else {
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
+					setColor(Utils.ColorVIOLET);
 				}
-				break;
-			case LILAC:
-			case DARKLILAC:
-			case DARKOLIVE:
-				if ((!_isaconsumer) || (_isenhanced)) {
+			} else {
+				if ((org._isaplant) || (org._isaconsumer) || (org._isplague) || (org._isenhanced) || (org._isfrozen)) {
 				    if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
 				    	if (org._isaplant) {
-						    org._segColor[oseg] = Utils.ColorGREENBROWN;
+						    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 						} else {
-							org._segColor[oseg] = Utils.ColorLIGHTBROWN;
+							org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 						}
 					    setColor(Utils.ColorVIOLET);
 				    }
 				}
-				break;
-			case BARK:
-			case OLDBARK:
-				org._segColor[oseg] = Utils.ColorOLDBARK;
-				if ((_isenhanced) || ((!_isaplant) && (!_isaconsumer))) {
-					if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {			
-						org._segColor[oseg] = Utils.ColorDEADBARK;
-					    setColor(Utils.ColorVIOLET);
-				    }
-				}
-				break;
-			case OCHRE:
-				break;
-			case SPIKEPOINT:
-				break;
-			case ICE:
-				break;
-			case DEADBARK:
-				break;
-			case DARKFIRE:
-				break;
-			case LIGHTBROWN:
-				break;
-			case GREENBROWN:
-				break;
-			case POISONEDJADE:
-				break;
-			case BROWN:
-				break;
-			default:
+			}
+			break;
+		case SILVER:
+			if ((!_isaconsumer) || (_nTotalKills >= org._nTotalKills)) {
 				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
 					if (org._isaplant) {
-					    org._segColor[oseg] = Utils.ColorGREENBROWN;
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 					} else {
-						org._segColor[oseg] = Utils.ColorLIGHTBROWN;
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
-					setColor(Utils.ColorVIOLET);
+				    setColor(Utils.ColorVIOLET);
 				}
 			}
-			org._hasdodged =true;
 			break;
-		case OLIVE:
-			// Olive segment: Crack defense
-			switch (getTypeColor(org._segColor[oseg])) {			
-			case OLIVE:
-				if (org._isaplant) {
-					if (!_isaplant) {
-						if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-							org._segColor[oseg] = Utils.ColorLIGHT_BLUE;
-							setColor(Utils.ColorOLIVE);
-						}
-					} else {
-					    if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-				            org._segColor[oseg] = Utils.ColorDARKOLIVE;
-				            setColor(Utils.ColorOLIVE);
-					    }
-				    }
-				}
-				break;
-			case DARKOLIVE:
-				if (org._isaplant) {
-					if (!_isaplant) {
-						if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-							org._segColor[oseg] = Utils.ColorLIGHT_BLUE;
-							setColor(Utils.ColorOLIVE);
-						}
-					}
-				}
-				break;
-			case BLUE:
-			case OCHRE:
-			case SKY:
-			case DEEPSKY:
-				if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-					org._segColor[oseg] = Utils.ColorLIGHT_BLUE;
-					setColor(Utils.ColorOLIVE);
-				}
-				break;
-			case GRAY:
-			case VIOLET:
-				if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+		case FIRE:
+			if ((!_isaconsumer) || (org._isenhanced)) {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
 					if (org._isaplant) {
-					    org._segColor[oseg] = Utils.ColorBROKEN;
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 					} else {
-						org._segColor[oseg] = Utils.ColorLIGHTBROWN;
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
-					setColor(Utils.ColorDARKOLIVE);
-					_segColor[seg] = Utils.ColorDARKOLIVE;
+					setColor(Utils.ColorVIOLET);
 				}
-				break;
-			case LILAC:
-			case DARKLILAC:
-			case SPIKE:
-			case SPIKEPOINT:
-				if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDARKFIRE);
+					setColor(Utils.ColorVIOLET);
+				}
+			}
+			break;
+		case CREAM:
+			if ((!_isaconsumer) && (org._isaplant)) {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
 					if (org._isaplant) {
-					    org._segColor[oseg] = Utils.ColorBROKEN;
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
 					} else {
-						org._segColor[oseg] = Utils.ColorLIGHTBROWN;
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
-					setColor(Utils.ColorOLIVE);
+				    setColor(Utils.ColorVIOLET);
+			    }
+			} else {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+					org.setSegColor(oseg, Utils.ColorDARKFIRE);
+					setColor(Utils.ColorVIOLET);
 				}
-				break;
-			case BARK:
-				org._segColor[oseg] = Utils.ColorOLDBARK;
-				break;
-			default:
-				break;
 			}
-			org._hasdodged =true;
 			break;
-		}}
-		if ((_isaplant) && ((org._isaplant) || ((org._transfersenergy) && (!org._isaconsumer)))) {
-		for (i=_segments-1; i>=0; i--) {
-			switch (getTypeColor(_segColor[i])) {
-			case FOREST:
-				// Enhance photosynthesis in a colony
-				double photosynthesis = 0;
-				switch (getTypeColor(_segColor[seg])) {
-				case DARKGRAY:
-					switch (getTypeColor(org._segColor[oseg])) {
-					case DARKGRAY:
-					case BROWN:
-						break;
-					default:
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 4 * _mphoto[i];
-					}
-					break;
-				case FOREST:
-					switch (getTypeColor(org._segColor[oseg])) {
-					case FOREST:						
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * _mphoto[i];
-						break;
-					case GREEN:
-					case SPRING:
-					case LIME:
-					case C4:
-					case JADE:						
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.9 * _mphoto[i];
-						break;
-					case GRASS:
-					case BARK:
-					case OLDBARK:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.7 * _mphoto[i];
-						break;
-					case DARKGRAY:
-					case BROWN:
-						break;
-					default:						
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
-					}
-					break;
-				case GREEN:
-				case SPRING:
-				case LIME:
-				case C4:
-				case JADE:
-					switch (getTypeColor(org._segColor[oseg])) {
-					case FOREST:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.9 * _mphoto[i];
-						break;
-					case GREEN:
-					case SPRING:
-					case LIME:
-					case C4:
-					case JADE:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.8 * _mphoto[i];
-						break;
-					case GRASS:
-					case BARK:
-					case OLDBARK:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
-						break;
-					case DARKGRAY:
-					case BROWN:
-						break;
-					default:						
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.5 * _mphoto[i];
+		case LILAC:
+		case DARKLILAC:
+		case DARKOLIVE:
+			if ((!_isaconsumer) || (_isenhanced)) {
+			    if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+			    	if (org._isaplant) {
+					    org.setSegColor(oseg, Utils.ColorGREENBROWN);
+					} else {
+						org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
 					}
-					break;
-				case GRASS:
-				case BARK:
-				case OLDBARK:
-					switch (getTypeColor(org._segColor[oseg])) {
-					case FOREST:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.7 * _mphoto[i];
-						break;
-					case GREEN:
-					case SPRING:
-					case LIME:
-					case C4:
-					case JADE:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
-						break;
-					case GRASS:
-					case BARK:
-					case OLDBARK:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.4 * _mphoto[i];
-						break;
-					case DARKGRAY:
-					case BROWN:
-						break;
-					default:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.3 * _mphoto[i];
+				    setColor(Utils.ColorVIOLET);
+			    }
+			}
+			break;
+		case BARK:
+		case OLDBARK:
+			org.setSegColor(oseg, Utils.ColorOLDBARK);
+			if ((_isenhanced) || ((!_isaplant) && (!_isaconsumer))) {
+				if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {			
+					org.setSegColor(oseg, Utils.ColorDEADBARK);
+				    setColor(Utils.ColorVIOLET);
+			    }
+			}
+			break;
+		case OCHRE:
+			break;
+		case SPIKEPOINT:
+			break;
+		case ICE:
+			break;
+		case DEADBARK:
+			break;
+		case DARKFIRE:
+			break;
+		case LIGHTBROWN:
+			break;
+		case GREENBROWN:
+			break;
+		case POISONEDJADE:
+			break;
+		case BROWN:
+			break;
+		default:
+			if (useEnergy(Utils.VIOLET_ENERGY_CONSUMPTION)) {
+				if (org._isaplant) {
+				    org.setSegColor(oseg, Utils.ColorGREENBROWN);
+				} else {
+					org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
+				}
+				setColor(Utils.ColorVIOLET);
+			}
+		}
+		org._hasdodged =true;
+	}
+
+	private void touchOlive(Organism org, int seg, int oseg) {
+		// Olive segment: Crack defense
+		switch (org._segType[oseg]) {			
+		case OLIVE:
+			if (org._isaplant) {
+				if (!_isaplant) {
+					if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+						org.setSegColor(oseg, Utils.ColorLIGHT_BLUE);
+						setColor(Utils.ColorOLIVE);
 					}
-					break;
-				default:
-					switch (getTypeColor(org._segColor[oseg])) {
-					case FOREST:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.6 * _mphoto[i];
-						break;
-					case GREEN:
-					case SPRING:
-					case LIME:
-					case C4:
-					case JADE:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.5 * _mphoto[i];
-						break;
-					case GRASS:
-					case BARK:
-					case OLDBARK:					
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.3 * _mphoto[i];
-						break;
-					case DARKGRAY:
-					case BROWN:
-						break;
-					default:				
-						photosynthesis += Utils.FOREST_ENERGY_CONSUMPTION * 0.3 * _mphoto[i];
+				} else {
+				    if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+			            org.setSegColor(oseg, Utils.ColorDARKOLIVE);
+			            setColor(Utils.ColorOLIVE);
+				    }
+			    }
+			}
+			break;
+		case DARKOLIVE:
+			if (org._isaplant) {
+				if (!_isaplant) {
+					if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+						org.setSegColor(oseg, Utils.ColorLIGHT_BLUE);
+						setColor(Utils.ColorOLIVE);
 					}
-					break;		
 				}
-				_energy += _world.photosynthesis(photosynthesis);
-				break;	
-			}}}
-		// Check if the other organism has died
-		if (org.isAlive() && org._energy < Utils.tol) {
-			org.die(this);
+			}
+			break;
+		case BLUE:
+		case OCHRE:
+		case SKY:
+		case DEEPSKY:
+			if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+				org.setSegColor(oseg, Utils.ColorLIGHT_BLUE);
+				setColor(Utils.ColorOLIVE);
+			}
+			break;
+		case GRAY:
+		case VIOLET:
+			if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+				if (org._isaplant) {
+				    org.setSegColor(oseg, Utils.ColorBROKEN);
+				} else {
+					org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
+				}
+				setColor(Utils.ColorDARKOLIVE);
+				setSegColor(seg, Utils.ColorDARKOLIVE);
+			}
+			break;
+		case LILAC:
+		case DARKLILAC:
+		case SPIKE:
+		case SPIKEPOINT:
+			if (useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
+				if (org._isaplant) {
+				    org.setSegColor(oseg, Utils.ColorBROKEN);
+				} else {
+					org.setSegColor(oseg, Utils.ColorLIGHTBROWN);
+				}
+				setColor(Utils.ColorOLIVE);
+			}
+			break;
+		case BARK:
+			org.setSegColor(oseg, Utils.ColorOLDBARK);
+			break;
+		default:
+			break;
 		}
-		if (firstCall)
-			org.touchEffects(this, oseg, seg, false);
+		org._hasdodged =true;
 	}
 
 	private double handleCream(Organism org, int seg, int oseg, double takenEnergy) {
-		switch (getTypeColor(org._segColor[oseg])) {
+		switch (org._segType[oseg]) {
         case GREEN:
         case FOREST:
         case SPRING:
@@ -6822,7 +6249,7 @@ public class Organism extends Rectangle {
             }
             break;
         case BARK:
-            org._segColor[oseg] = Utils.ColorOLDBARK;
+            org.setSegColor(oseg, Utils.ColorOLDBARK);
             if ((_isenhanced) && (!_geneticCode.getModifiescream()) && (useEnergy(Utils.CREAM_ENERGY_CONSUMPTION))) {
                 // Get energy depending on segment length
                 takenEnergy = Utils.between((0.09 * FastMath.log10(_m[seg])) * Utils.ORGANIC_OBTAINED_ENERGY, 0, org._energy);
@@ -6921,10 +6348,10 @@ public class Organism extends Rectangle {
 	}
 
 	private void handleMySegment(Organism org, int seg, int oseg) {
-		switch (getTypeColor(_segColor[seg])) {
+		switch (_segType[seg]) {
 		case DARK:
 			// Dark segment: Mimic other segments
-			switch (getTypeColor(org._segColor[oseg])) {
+			switch (org._segType[oseg]) {
 			case DARK:
 			case BROKEN:
 			case POISONEDJADE:
@@ -6939,14 +6366,15 @@ public class Organism extends Rectangle {
 			default:
 				if (_geneticCode.getMimicAll()) {
 					for (int x = 0; x < _segments; x++) {
-						switch (getTypeColor(_segColor[x])) {
+						switch (_segType[x]) {
 						case DARK:
 							if (useEnergy(Utils.DARK_ENERGY_CONSUMPTION)) {
 								if (org._segColor[oseg] == Utils.ColorOLDBARK) {
-									_segColor[x] = Utils.ColorBARK;
+									setSegColor(x, Utils.ColorBARK);
 								} else {
-								    _segColor[x] = org._segColor[oseg];
+								    setSegColor(x, org._segColor[oseg]);
 								}
+							    ownSegments();
 							    _segredReaction[x] = org._segredReaction[oseg];
 							    _seggreenReaction[x] = org._seggreenReaction[oseg];
 							    _segblueReaction[x] = org._segblueReaction[oseg];
@@ -6985,10 +6413,11 @@ public class Organism extends Rectangle {
 				} else {
 				if (useEnergy(Utils.DARK_ENERGY_CONSUMPTION)) {
 					if (org._segColor[oseg] == Utils.ColorOLDBARK) {
-						_segColor[seg] = Utils.ColorBARK;
+						setSegColor(seg, Utils.ColorBARK);
 					} else {
-					    _segColor[seg] = org._segColor[oseg];
+					    setSegColor(seg, org._segColor[oseg]);
 					}
+				    ownSegments();
 				    _segredReaction[seg] = org._segredReaction[oseg];
 				    _seggreenReaction[seg] = org._seggreenReaction[oseg];
 				    _segblueReaction[seg] = org._segblueReaction[oseg];
@@ -7027,49 +6456,21 @@ public class Organism extends Rectangle {
 			break;
 		case SPIKE:
 			// Spike segment: Hurts organisms, if it hits with its end point
-			switch (getTypeColor(org._segColor[oseg])) {
+			switch (org._segType[oseg]) {
 			default:
-				ExLine2DDouble line = new ExLine2DDouble();
-				ExLine2DDouble bline = new ExLine2DDouble();
 				// Check collisions for all segments
-				line.setLine(x1[seg] + _centerX, y1[seg] + _centerY, x2[seg] + _centerX, y2[seg] + _centerY);
-				bline.setLine(org.x1[oseg] + org._centerX, org.y1[oseg] + org._centerY, org.x2[oseg] + org._centerX, org.y2[oseg] + org._centerY);
-				if (intersectsLine(bline) && line.intersectsLine(bline)) {
-					// Intersection point
-					Point2D.Double intersec= line.getIntersection(bline);
-					double dl1, dl2, dbl1, dbl2;
-					dl1 = intersec.distanceSq(line.getP1());
-					dl2 = intersec.distanceSq(line.getP2());
-					dbl1 = intersec.distanceSq(bline.getP1());
-					dbl2 = intersec.distanceSq(bline.getP2());
-					if (Math.min(dl1, dl2) < Math.min(dbl1, dbl2)) {
-					    _segColor[seg] = Utils.ColorSPIKEPOINT;
-					}
+				if (segmentContact(org, seg, oseg) > 0) {
+				    setSegColor(seg, Utils.ColorSPIKEPOINT);
 				}
 			}
 			break;
 		default:
 			// Spike segment: Hurts organisms, if it hits with its end point
-			switch (getTypeColor(org._segColor[oseg])) {
+			switch (org._segType[oseg]) {
 			case SPIKE:
-				ExLine2DDouble line = new ExLine2DDouble();
-				ExLine2DDouble bline = new ExLine2DDouble();
 				// Check collisions for all segments
-				line.setLine(x1[seg] + _centerX, y1[seg] + _centerY, x2[seg] + _centerX, y2[seg] + _centerY);
-				bline.setLine(org.x1[oseg] + org._centerX, org.y1[oseg] + org._centerY, org.x2[oseg] + org._centerX, org.y2[oseg] + org._centerY);
-				if (intersectsLine(bline) && line.intersectsLine(bline)) {
-					// Intersection point
-					Point2D.Double intersec= line.getIntersection(bline);
-					double dl1, dl2, dbl1, dbl2;
-					dl1 = intersec.distanceSq(line.getP1());
-					dl2 = intersec.distanceSq(line.getP2());
-					dbl1 = intersec.distanceSq(bline.getP1());
-					dbl2 = intersec.distanceSq(bline.getP2());
-					if (Math.min(dl1, dl2) < Math.min(dbl1, dbl2)) {
-						break;
-					} else {
-					    org._segColor[oseg] = Utils.ColorSPIKEPOINT;
-					}
+				if (segmentContact(org, seg, oseg) < 0) {
+				    org.setSegColor(oseg, Utils.ColorSPIKEPOINT);
 				}
 			}
 		}
@@ -7107,7 +6508,7 @@ public class Organism extends Rectangle {
 			boolean trigger =false;
 			for (i=_segments-1; i>=0; i--) {
 				// Manteniment
-				switch (getTypeColor(_segColor[i])) {
+				switch (_segType[i]) {
 				// 	Movement
 				case CYAN:
 					if (Utils.random.nextInt(100)<8 && useEnergy(Utils.CYAN_ENERGY_CONSUMPTION)) {
@@ -7206,7 +6607,7 @@ public class Organism extends Rectangle {
 				case SILVER:
 					if (_isaconsumer == false) {
 					for (int c = 0; c < _segments; c++) {
-						switch (getTypeColor(_segColor[c])) {
+						switch (_segType[c]) {
 						case DARKGRAY:
 						case GRAY:
 						case LILAC:
@@ -7272,23 +6673,23 @@ public class Organism extends Rectangle {
 						|| (_segColor[j] == Utils.ColorBROKEN) || (_segColor[j] == Utils.ColorLIGHT_BLUE) || (_segColor[j] == Utils.ColorICE)
 						|| (_segColor[j] == Utils.ColorDARKJADE) || (_segColor[j] == Utils.ColorDARKFIRE)) {
 					if (Utils.random.nextInt(Utils.HEALING)<=_m[i] && useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-					    _segColor[j] = _geneticCode.getGene(j%_geneticCode.getNGenes()).getColor();  
+					    setSegColor(j, _geneticCode.getGene(j%_geneticCode.getNGenes()).getColor());  
 					}}}
 					break;
 				case DARKFIRE:
 					if (Utils.random.nextInt(100)<_geneticCode.getSymmetry() && useEnergy(Utils.MAGENTA_ENERGY_CONSUMPTION)) {
-						_segColor[i] = _geneticCode.getGene(i%_geneticCode.getNGenes()).getColor();  
+						setSegColor(i, _geneticCode.getGene(i%_geneticCode.getNGenes()).getColor());  
 					}
 					break;
 				case DARKJADE:
 					_isjade =true;
 					if (Utils.random.nextInt(Utils.DARKJADE_DELAY * _geneticCode.getSymmetry() * _geneticCode.getSymmetry())<8) {
-						_segColor[i] = Utils.ColorJADE;  
+						setSegColor(i, Utils.ColorJADE);  
 					}
 					break;
 				// Normalize spike
 				case SPIKEPOINT:
-					_segColor[i] = Utils.ColorSPIKE;
+					setSegColor(i, Utils.ColorSPIKE);
 					break;
 				// is a killer
 				case SPIKE:
@@ -7350,7 +6751,7 @@ public class Organism extends Rectangle {
 						_isantiviral =false;
 						_isregenerative =false;
 						for (int c = 0; c < _segments; c++) {
-							switch (getTypeColor(_segColor[c])) {
+							switch (_segType[c]) {
 							case JADE:
 								_isjade =true;
 								break;
@@ -7376,7 +6777,7 @@ public class Organism extends Rectangle {
 					if (_isafreezer) {
 						_isafreezer =false;
 						for (int c = 0; c < _segments; c++) {
-							switch (getTypeColor(_segColor[c])) {
+							switch (_segType[c]) {
 							case SKY:
 								_isafreezer =true;
 								break;
@@ -7393,7 +6794,7 @@ public class Organism extends Rectangle {
 					if (_isjade) {
 						_isjade =false;
 						for (int c = 0; c < _segments; c++) {
-							switch (getTypeColor(_segColor[c])) {
+							switch (_segType[c]) {
 							case JADE:
 								_isjade =true;
 								break;
@@ -7413,18 +6814,18 @@ public class Organism extends Rectangle {
 						_isakiller = 1;
 					}
 					if (Utils.random.nextInt(100)<8) {
-						_segColor[i] = Utils.ColorLILAC;
+						setSegColor(i, Utils.ColorLILAC);
 					}
 					break;
 				case DEEPSKY:
 					_isafreezer =true;
 					if (Utils.random.nextInt(100)<8) {
-						_segColor[i] = Utils.ColorSKY;
+						setSegColor(i, Utils.ColorSKY);
 					}
 					break;
 				case DARKOLIVE:
 					if (Utils.random.nextInt(100)<8 && useEnergy(Utils.OLIVE_ENERGY_CONSUMPTION)) {
-						_segColor[i] = Utils.ColorOLIVE;
+						setSegColor(i, Utils.ColorOLIVE);
 					}
 					break;
 				}
@@ -7453,15 +6854,11 @@ public class Organism extends Rectangle {
 					if ((!_isaplant) && (!_isaconsumer)) {
 						if ((_energy >= 10) && (_growthRatio<16) && (useEnergy(Utils.BLOND_ENERGY_CONSUMPTION))) {
 							_nChildren = 1;
-					        _geneticCode._reproduceEnergy = Math.max((40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry()) - reproduceearly, 10);
-					        reproduce();
-					        _geneticCode._reproduceEnergy = 40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry();							
+					        reproduceEarly(Math.max((40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry()) - reproduceearly, 10));
 						}
 					} else {
 						if ((_energy >= 30) && (_growthRatio==1) && (_timeToReproduce==0) && (useEnergy(Utils.BLOND_ENERGY_CONSUMPTION))) {
-						    _geneticCode._reproduceEnergy = Math.max((40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry()) - reproduceearly, 30);
-						    reproduce();
-						    _geneticCode._reproduceEnergy = 40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry();							
+						    reproduceEarly(Math.max((40 + 3 * _geneticCode.getNGenes() * _geneticCode.getSymmetry()) - reproduceearly, 30));
 						} 
 					}
 			    }
@@ -7523,7 +6920,468 @@ public class Organism extends Rectangle {
 	private static final int BROKEN=50;
 	private static final int DEADBARK=51;
 	private static final int BROWN=52;
-	private static final int getTypeColor(Color c) {
+	/**
+	 * Makes a private copy of the segment colors, branches and reactions if they
+	 * are still shared with the body plan. Must be called before changing them.
+	 */
+	final void ownSegments() {
+		if (_segmentsShared) {
+			_segColor = _segColor.clone();
+			_segType = _segType.clone();
+			_segBranch = _segBranch.clone();
+			_segredReaction = _segredReaction.clone();
+			_seggreenReaction = _seggreenReaction.clone();
+			_segblueReaction = _segblueReaction.clone();
+			_segplagueReaction = _segplagueReaction.clone();
+			_segwhiteReaction = _segwhiteReaction.clone();
+			_seggrayReaction = _seggrayReaction.clone();
+			_segdefaultReaction = _segdefaultReaction.clone();
+			_segmagentaReaction = _segmagentaReaction.clone();
+			_segpinkReaction = _segpinkReaction.clone();
+			_segcoralReaction = _segcoralReaction.clone();
+			_segorangeReaction = _segorangeReaction.clone();
+			_segbarkReaction = _segbarkReaction.clone();
+			_segvioletReaction = _segvioletReaction.clone();
+			_segvirusReaction = _segvirusReaction.clone();
+			_segmaroonReaction = _segmaroonReaction.clone();
+			_segoliveReaction = _segoliveReaction.clone();
+			_segmintReaction = _segmintReaction.clone();
+			_segcreamReaction = _segcreamReaction.clone();
+			_segspikeReaction = _segspikeReaction.clone();
+			_seglightblueReaction = _seglightblueReaction.clone();
+			_segochreReaction = _segochreReaction.clone();
+			_seglightbrownReaction = _seglightbrownReaction.clone();
+			_segbrownReaction = _segbrownReaction.clone();
+			_segsickReaction = _segsickReaction.clone();
+			_segskyReaction = _segskyReaction.clone();
+			_seglilacReaction = _seglilacReaction.clone();
+			_segiceReaction = _segiceReaction.clone();
+			_segsilverReaction = _segsilverReaction.clone();
+			_segfireReaction = _segfireReaction.clone();
+			_segfriendReaction = _segfriendReaction.clone();
+			_seggreenbrownReaction = _seggreenbrownReaction.clone();
+			_segspikepointReaction = _segspikepointReaction.clone();
+			_segmentsShared = false;
+		}
+	}
+	/**
+	 * Changes the color of a segment and updates its type.
+	 * 
+	 * @param i  The index of the segment.
+	 * @param c  The new color of the segment.
+	 */
+	final void setSegColor(int i, Color c) {
+		if (_segColor[i] != c) {
+			ownSegments();
+			_segColor[i] = c;
+			_segType[i] = (byte) getTypeColor(c);
+		}
+	}
+	/**
+	 * Called by the JRE when an instance of this class is read from a file.
+	 * Segment types are not saved, so they are calculated from the colors.
+	 * 
+	 * @param in  The stream from where the object comes from
+	 * @throws IOException
+	 * @throws ClassNotFoundException 
+	 */
+	private void readObject(ObjectInputStream in)
+	throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		// Segments may be shared with other organisms in the same file
+		_segmentsShared = true;
+		if (x1 != null) {
+			createArms();
+			calculateArms();
+		}
+		if (_segColor != null) {
+			_segType = new byte[_segColor.length];
+			for (int i=0; i<_segColor.length; i++)
+				_segType[i] = (byte) getTypeColor(_segColor[i]);
+		}
+	}
+	/**
+	 * Part of the record of an organism in a snapshot with its position, energy
+	 * and the other values that change at every frame.
+	 */
+	static final int SNAPSHOT_STATE = 1;
+	/**
+	 * Part of the record with the segments, if they are not shared with the body plan.
+	 */
+	static final int SNAPSHOT_SEGMENTS = 2;
+	/**
+	 * Part of the record with the rotated segments.
+	 */
+	static final int SNAPSHOT_ROTATION = 4;
+	static final int SNAPSHOT_ALL = SNAPSHOT_STATE | SNAPSHOT_SEGMENTS | SNAPSHOT_ROTATION;
+	/**
+	 * Part with the maximum age of the genetic code, that changes with the
+	 * gold segments. It is not needed in a whole record, because it is
+	 * written with the genetic code.
+	 */
+	static final int SNAPSHOT_MAX_AGE = 8;
+	/**
+	 * Reads an organism from a world snapshot. Segments that are the same as in
+	 * the body plan of the genetic code are shared with it, and everything that
+	 * depends only on the genetic code and the growth ratio is calculated again.
+	 * 
+	 * @param world  The world that is being read.
+	 * @param in  The snapshot being read.
+	 * @throws IOException
+	 */
+	Organism(World world, WorldSnapshot.Input in) throws IOException {
+		_world = world;
+		readSnapshot(in, SNAPSHOT_ALL);
+	}
+	/**
+	 * Reads some parts of the record of this organism from a snapshot, as
+	 * written by {@link #writeSnapshot(WorldSnapshot.Output, int)}, and
+	 * calculates again everything that depends on them. Used by
+	 * {@link Checkpointer} to update an organism from a delta.
+	 * 
+	 * @param in  The snapshot being read.
+	 * @param parts  The parts of the record to read: a combination of
+	 * {@link #SNAPSHOT_STATE}, {@link #SNAPSHOT_SEGMENTS}, {@link #SNAPSHOT_ROTATION}
+	 * and {@link #SNAPSHOT_MAX_AGE}.
+	 * @throws IOException
+	 */
+	void readSnapshot(WorldSnapshot.Input in, int parts) throws IOException {
+		if ((parts & ~(SNAPSHOT_ALL | SNAPSHOT_MAX_AGE)) != 0 || (parts & (SNAPSHOT_SEGMENTS | SNAPSHOT_ROTATION)) == SNAPSHOT_SEGMENTS)
+			throw new IOException("Wrong parts of an organism: "+parts); //$NON-NLS-1$
+		if ((parts & SNAPSHOT_STATE) != 0)
+			readState(in);
+		if ((parts & SNAPSHOT_SEGMENTS) != 0)
+			readSegments(in);
+		if ((parts & SNAPSHOT_ROTATION) != 0) {
+			x1 = in.readIntArray();
+			y1 = in.readIntArray();
+			x2 = in.readIntArray();
+			y2 = in.readIntArray();
+		}
+		if ((parts & SNAPSHOT_MAX_AGE) != 0)
+			_geneticCode._max_age = in.readInt();
+		symmetric();
+		calculateArms();
+	}
+	
+	private void readState(WorldSnapshot.Input in) throws IOException {
+		x = in.readInt();
+		y = in.readInt();
+		width = in.readInt();
+		height = in.readInt();
+		lastFrame.x = in.readInt();
+		lastFrame.y = in.readInt();
+		lastFrame.width = in.readInt();
+		lastFrame.height = in.readInt();
+		_geneticCode = in.readGeneticCode();
+		_infectedGeneticCode = in.readGeneticCode();
+		_color = in.readColor();
+		_nChildren = in.readInt();
+		_lowmaintenance = in.readInt();
+		_isakiller = in.readInt();
+		_parentID = in.readInt();
+		_ID = in.readInt();
+		_generation = in.readInt();
+		_infectedGeneration = in.readInt();
+		_nTotalChildren = in.readInt();
+		_nTotalKills = in.readInt();
+		_nTotalInfected = in.readInt();
+		_centerX = in.readInt();
+		_centerY = in.readInt();
+		_growthRatio = in.readInt();
+		_age = in.readInt();
+		_framesColor = in.readInt();
+		_timeToReproduce = in.readInt();
+		hasGrown = in.readInt();
+		_indigo = in.readDouble();
+		_lengthfriend = in.readDouble();
+		_thetafriend = in.readDouble();
+		_dCenterX = in.readDouble();
+		_dCenterY = in.readDouble();
+		_energy = in.readDouble();
+		_theta = in.readDouble();
+		_lastTheta = in.readDouble();
+		dx = in.readDouble();
+		dy = in.readDouble();
+		dtheta = in.readDouble();
+		_isaplant = in.readBoolean();
+		_isaconsumer = in.readBoolean();
+		_ispoisonous = in.readBoolean();
+		_isafreezer = in.readBoolean();
+		_isfrozen = in.readBoolean();
+		_isplague = in.readBoolean();
+		_iscoral = in.readBoolean();
+		_isauburn = in.readBoolean();
+		_isenhanced = in.readBoolean();
+		_isjade = in.readBoolean();
+		_isantiviral = in.readBoolean();
+		_isregenerative = in.readBoolean();
+		_transfersenergy = in.readBoolean();
+		_crowded = in.readBoolean();
+		_dodge = in.readBoolean();
+		_hasdodged = in.readBoolean();
+		_remember = in.readBoolean();
+		hasMoved = in.readBoolean();
+		alive = in.readBoolean();
+		if (_geneticCode == null)
+			throw new IOException("Organism without genetic code"); //$NON-NLS-1$
+	}
+	
+	private void readSegments(WorldSnapshot.Input in) throws IOException {
+		if (in.readBoolean()) {
+			create();
+		} else {
+			_segmentsShared = false;
+			_segments = in.readInt();
+			_segColor = in.readColorArray();
+			_segBranch = in.readIntArray();
+			_segredReaction = in.readIntArray();
+			_seggreenReaction = in.readIntArray();
+			_segblueReaction = in.readIntArray();
+			_segplagueReaction = in.readIntArray();
+			_segwhiteReaction = in.readIntArray();
+			_seggrayReaction = in.readIntArray();
+			_segdefaultReaction = in.readIntArray();
+			_segmagentaReaction = in.readIntArray();
+			_segpinkReaction = in.readIntArray();
+			_segcoralReaction = in.readIntArray();
+			_segorangeReaction = in.readIntArray();
+			_segbarkReaction = in.readIntArray();
+			_segvioletReaction = in.readIntArray();
+			_segvirusReaction = in.readIntArray();
+			_segmaroonReaction = in.readIntArray();
+			_segoliveReaction = in.readIntArray();
+			_segmintReaction = in.readIntArray();
+			_segcreamReaction = in.readIntArray();
+			_segspikeReaction = in.readIntArray();
+			_seglightblueReaction = in.readIntArray();
+			_segochreReaction = in.readIntArray();
+			_seglightbrownReaction = in.readIntArray();
+			_segbrownReaction = in.readIntArray();
+			_segsickReaction = in.readIntArray();
+			_segskyReaction = in.readIntArray();
+			_seglilacReaction = in.readIntArray();
+			_segiceReaction = in.readIntArray();
+			_segsilverReaction = in.readIntArray();
+			_segfireReaction = in.readIntArray();
+			_segfriendReaction = in.readIntArray();
+			_seggreenbrownReaction = in.readIntArray();
+			_segspikepointReaction = in.readIntArray();
+			_segType = new byte[_segColor.length];
+			for (int i=0; i<_segColor.length; i++)
+				_segType[i] = (byte) getTypeColor(_segColor[i]);
+			createArms();
+		}
+	}
+	/**
+	 * Writes this organism to a world snapshot. See {@link WorldSnapshot}.
+	 * 
+	 * @param out  The snapshot being written.
+	 * @throws IOException
+	 */
+	void writeSnapshot(WorldSnapshot.Output out) throws IOException {
+		writeSnapshot(out, SNAPSHOT_ALL);
+	}
+	/**
+	 * Writes some parts of the record of this organism to a snapshot.
+	 * The segments must always be followed by the rotated segments, because
+	 * reading segments shared with the body plan allocates them again.
+	 * 
+	 * @param out  The snapshot being written.
+	 * @param parts  The parts of the record to write: a combination of
+	 * {@link #SNAPSHOT_STATE}, {@link #SNAPSHOT_SEGMENTS}, {@link #SNAPSHOT_ROTATION}
+	 * and {@link #SNAPSHOT_MAX_AGE}.
+	 * @throws IOException
+	 */
+	void writeSnapshot(WorldSnapshot.Output out, int parts) throws IOException {
+		if ((parts & SNAPSHOT_STATE) != 0)
+			writeState(out);
+		if ((parts & SNAPSHOT_SEGMENTS) != 0)
+			writeSegments(out);
+		if ((parts & SNAPSHOT_ROTATION) != 0) {
+			out.writeIntArray(x1);
+			out.writeIntArray(y1);
+			out.writeIntArray(x2);
+			out.writeIntArray(y2);
+		}
+		if ((parts & SNAPSHOT_MAX_AGE) != 0)
+			out.writeInt(_geneticCode._max_age);
+	}
+	/**
+	 * Calculates a hash of a part of the record of this organism, so that
+	 * {@link Checkpointer} can know if it has changed since the last checkpoint.
+	 * 
+	 * @param part  {@link #SNAPSHOT_SEGMENTS} or {@link #SNAPSHOT_ROTATION}.
+	 * @return  The hash of the values in that part.
+	 */
+	long snapshotHash(int part) {
+		long h = HASH_OFFSET;
+		if (part == SNAPSHOT_ROTATION) {
+			h = hash(h, x1);
+			h = hash(h, y1);
+			h = hash(h, x2);
+			h = hash(h, y2);
+		} else if (_segColor != _geneticCode.getBodyPlan()._segColor) {
+			h = hash(h, _segments);
+			for (Color c : _segColor)
+				h = hash(h, c.getRGB());
+			h = hash(h, _segBranch);
+			h = hash(h, _segredReaction);
+			h = hash(h, _seggreenReaction);
+			h = hash(h, _segblueReaction);
+			h = hash(h, _segplagueReaction);
+			h = hash(h, _segwhiteReaction);
+			h = hash(h, _seggrayReaction);
+			h = hash(h, _segdefaultReaction);
+			h = hash(h, _segmagentaReaction);
+			h = hash(h, _segpinkReaction);
+			h = hash(h, _segcoralReaction);
+			h = hash(h, _segorangeReaction);
+			h = hash(h, _segbarkReaction);
+			h = hash(h, _segvioletReaction);
+			h = hash(h, _segvirusReaction);
+			h = hash(h, _segmaroonReaction);
+			h = hash(h, _segoliveReaction);
+			h = hash(h, _segmintReaction);
+			h = hash(h, _segcreamReaction);
+			h = hash(h, _segspikeReaction);
+			h = hash(h, _seglightblueReaction);
+			h = hash(h, _segochreReaction);
+			h = hash(h, _seglightbrownReaction);
+			h = hash(h, _segbrownReaction);
+			h = hash(h, _segsickReaction);
+			h = hash(h, _segskyReaction);
+			h = hash(h, _seglilacReaction);
+			h = hash(h, _segiceReaction);
+			h = hash(h, _segsilverReaction);
+			h = hash(h, _segfireReaction);
+			h = hash(h, _segfriendReaction);
+			h = hash(h, _seggreenbrownReaction);
+			h = hash(h, _segspikepointReaction);
+		}
+		return h;
+	}
+	// 64 bits FNV-1a, applied to whole integers
+	private static final long HASH_OFFSET = 0xcbf29ce484222325L;
+	private static final long HASH_PRIME = 0x100000001b3L;
+	
+	private static long hash(long h, int v) {
+		return (h ^ v) * HASH_PRIME;
+	}
+	
+	private static long hash(long h, int[] a) {
+		if (a == null)
+			return hash(h, -1);
+		h = hash(h, a.length);
+		for (int v : a)
+			h = hash(h, v);
+		return h;
+	}
+	
+	private void writeState(WorldSnapshot.Output out) throws IOException {
+		out.writeInt(x);
+		out.writeInt(y);
+		out.writeInt(width);
+		out.writeInt(height);
+		out.writeInt(lastFrame.x);
+		out.writeInt(lastFrame.y);
+		out.writeInt(lastFrame.width);
+		out.writeInt(lastFrame.height);
+		out.writeGeneticCode(_geneticCode);
+		out.writeGeneticCode(_infectedGeneticCode);
+		out.writeColor(_color);
+		out.writeInt(_nChildren);
+		out.writeInt(_lowmaintenance);
+		out.writeInt(_isakiller);
+		out.writeInt(_parentID);
+		out.writeInt(_ID);
+		out.writeInt(_generation);
+		out.writeInt(_infectedGeneration);
+		out.writeInt(_nTotalChildren);
+		out.writeInt(_nTotalKills);
+		out.writeInt(_nTotalInfected);
+		out.writeInt(_centerX);
+		out.writeInt(_centerY);
+		out.writeInt(_growthRatio);
+		out.writeInt(_age);
+		out.writeInt(_framesColor);
+		out.writeInt(_timeToReproduce);
+		out.writeInt(hasGrown);
+		out.writeDouble(_indigo);
+		out.writeDouble(_lengthfriend);
+		out.writeDouble(_thetafriend);
+		out.writeDouble(_dCenterX);
+		out.writeDouble(_dCenterY);
+		out.writeDouble(_energy);
+		out.writeDouble(_theta);
+		out.writeDouble(_lastTheta);
+		out.writeDouble(dx);
+		out.writeDouble(dy);
+		out.writeDouble(dtheta);
+		out.writeBoolean(_isaplant);
+		out.writeBoolean(_isaconsumer);
+		out.writeBoolean(_ispoisonous);
+		out.writeBoolean(_isafreezer);
+		out.writeBoolean(_isfrozen);
+		out.writeBoolean(_isplague);
+		out.writeBoolean(_iscoral);
+		out.writeBoolean(_isauburn);
+		out.writeBoolean(_isenhanced);
+		out.writeBoolean(_isjade);
+		out.writeBoolean(_isantiviral);
+		out.writeBoolean(_isregenerative);
+		out.writeBoolean(_transfersenergy);
+		out.writeBoolean(_crowded);
+		out.writeBoolean(_dodge);
+		out.writeBoolean(_hasdodged);
+		out.writeBoolean(_remember);
+		out.writeBoolean(hasMoved);
+		out.writeBoolean(alive);
+	}
+	
+	private void writeSegments(WorldSnapshot.Output out) throws IOException {
+		// Organisms read from old files may have their own copy of unchanged segments
+		boolean shared = _segColor == _geneticCode.getBodyPlan()._segColor;
+		out.writeBoolean(shared);
+		if (!shared) {
+			out.writeInt(_segments);
+			out.writeColorArray(_segColor);
+			out.writeIntArray(_segBranch);
+			out.writeIntArray(_segredReaction);
+			out.writeIntArray(_seggreenReaction);
+			out.writeIntArray(_segblueReaction);
+			out.writeIntArray(_segplagueReaction);
+			out.writeIntArray(_segwhiteReaction);
+			out.writeIntArray(_seggrayReaction);
+			out.writeIntArray(_segdefaultReaction);
+			out.writeIntArray(_segmagentaReaction);
+			out.writeIntArray(_segpinkReaction);
+			out.writeIntArray(_segcoralReaction);
+			out.writeIntArray(_segorangeReaction);
+			out.writeIntArray(_segbarkReaction);
+			out.writeIntArray(_segvioletReaction);
+			out.writeIntArray(_segvirusReaction);
+			out.writeIntArray(_segmaroonReaction);
+			out.writeIntArray(_segoliveReaction);
+			out.writeIntArray(_segmintReaction);
+			out.writeIntArray(_segcreamReaction);
+			out.writeIntArray(_segspikeReaction);
+			out.writeIntArray(_seglightblueReaction);
+			out.writeIntArray(_segochreReaction);
+			out.writeIntArray(_seglightbrownReaction);
+			out.writeIntArray(_segbrownReaction);
+			out.writeIntArray(_segsickReaction);
+			out.writeIntArray(_segskyReaction);
+			out.writeIntArray(_seglilacReaction);
+			out.writeIntArray(_segiceReaction);
+			out.writeIntArray(_segsilverReaction);
+			out.writeIntArray(_segfireReaction);
+			out.writeIntArray(_segfriendReaction);
+			out.writeIntArray(_seggreenbrownReaction);
+			out.writeIntArray(_segspikepointReaction);
+		}
+	}
+	static final int getTypeColor(Color c) {
 		if (c.equals(Color.RED) || c.equals(Utils.ColorDARK_RED))
 			return RED;
 		if (c.equals(Utils.ColorFIRE))
@@ -7632,6 +7490,53 @@ public class Organism extends Rectangle {
 			return BROWN;
 		return NOCOLOR;
 	}
+	/**
+	 * The effect of a segment of this organism touching a segment of another
+	 * organism. Effects are kept in tables indexed by the type of this organism's
+	 * segment, and every effect switches on the type of the other segment.
+	 */
+	private interface TouchEffect {
+		void apply(Organism self, Organism org, int seg, int oseg);
+	}
+	/**
+	 * Effect used for segment types that don't do anything when touching.
+	 */
+	private static final TouchEffect NO_TOUCH_EFFECT = (self, org, seg, oseg) -> { };
+	/**
+	 * Effects between friendly organisms: relatives or organisms that
+	 * transfer energy between them.
+	 */
+	private static final TouchEffect[] FRIENDLY_TOUCH_EFFECTS = new TouchEffect[BROWN+1];
+	/**
+	 * Effects between organisms that are not friends.
+	 */
+	private static final TouchEffect[] HOSTILE_TOUCH_EFFECTS = new TouchEffect[BROWN+1];
+	static {
+		Arrays.fill(FRIENDLY_TOUCH_EFFECTS, NO_TOUCH_EFFECT);
+		FRIENDLY_TOUCH_EFFECTS[MINT] = Organism::friendlyTouchMint;
+		FRIENDLY_TOUCH_EFFECTS[MAGENTA] = Organism::friendlyTouchMagenta;
+		Arrays.fill(HOSTILE_TOUCH_EFFECTS, NO_TOUCH_EFFECT);
+		HOSTILE_TOUCH_EFFECTS[ORANGE] = Organism::touchOrange;
+		HOSTILE_TOUCH_EFFECTS[FIRE] = Organism::touchFire;
+		HOSTILE_TOUCH_EFFECTS[RED] = Organism::touchRed;
+		HOSTILE_TOUCH_EFFECTS[PINK] = Organism::touchPink;
+		HOSTILE_TOUCH_EFFECTS[MAROON] = Organism::touchMaroon;
+		HOSTILE_TOUCH_EFFECTS[CREAM] = Organism::touchCream;
+		HOSTILE_TOUCH_EFFECTS[LILAC] = Organism::touchLilac;
+		HOSTILE_TOUCH_EFFECTS[SPIKEPOINT] = Organism::touchSpikepoint;
+		HOSTILE_TOUCH_EFFECTS[OCHRE] = Organism::touchOchre;
+		HOSTILE_TOUCH_EFFECTS[WHITE] = Organism::touchWhite;
+		HOSTILE_TOUCH_EFFECTS[PLAGUE] = Organism::touchPlague;
+		HOSTILE_TOUCH_EFFECTS[SILVER] = Organism::touchSilver;
+		HOSTILE_TOUCH_EFFECTS[CORAL] = Organism::touchCoral;
+		HOSTILE_TOUCH_EFFECTS[MINT] = Organism::touchMint;
+		HOSTILE_TOUCH_EFFECTS[MAGENTA] = Organism::touchMagenta;
+		HOSTILE_TOUCH_EFFECTS[ROSE] = Organism::touchRose;
+		HOSTILE_TOUCH_EFFECTS[SKY] = Organism::touchSky;
+		HOSTILE_TOUCH_EFFECTS[GRAY] = Organism::touchGray;
+		HOSTILE_TOUCH_EFFECTS[VIOLET] = Organism::touchViolet;
+		HOSTILE_TOUCH_EFFECTS[OLIVE] = Organism::touchOlive;
+	}
 	
 	private final void setColor(Color c) {
 		_color = c;
@@ -25,7 +25,7 @@ public class OutCorridor extends Corridor {
 	private static final long serialVersionUID = Utils.FILE_VERSION;
 	
 	public boolean canSendOrganism() {
-		return travellingOrganism == null ? true : false;
+		return travellingOrganism == null && connection.canSend();
 	}
 	
 	public OutCorridor(World w, Connection c) {
@@ -34,8 +34,7 @@ public class OutCorridor extends Corridor {
 	}
 	
 	public boolean sendOrganism(Organism org) {
-		if (travellingOrganism == null && connection.state == Connection.STATE_CONNECTED) {
-			connection.send(org.getGeneticCode());
+		if (travellingOrganism == null && connection.send(org.getGeneticCode())) {
 			travellingOrganism = org;
 			org.useEnergy(org.getEnergy());
 			org.alive = false;
@@ -0,0 +1,159 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Moves organisms using several threads. A frame is divided in two phases:
+ * 
+ * <ul>
+ * <li>Intent: every organism applies its segment effects, grows and moves to
+ * its tentative position. This only changes the organism itself and the
+ * atmosphere, so it is done in parallel. Births are delayed until the commit and
+ * changes to the atmosphere are accumulated by each thread and applied when the
+ * phase finishes (see {@link World#closeAtmospherePhase}).</li>
+ * <li>Commit: collisions, reproduction, respiration and death are resolved one
+ * organism at a time, in the order of the list of organisms, so the result
+ * doesn't depend on how the threads are scheduled.</li>
+ * </ul>
+ * 
+ * The world's spatial index is updated serially after the intent phase, and then
+ * the broadphase for the commit is computed in parallel. As organisms that collide undo their movement during the commit,
+ * the candidate found by the broadphase is checked again before using it.
+ */
+public class ParallelFrameEngine implements FrameEngine {
+	/**
+	 * Number of organisms below which a task is not split any more.
+	 */
+	private static final int LEAF_SIZE = 64;
+	private final int _threads;
+	private final ForkJoinPool _pool;
+	/**
+	 * Organisms that are moved in the current frame. Organisms born during the
+	 * frame are not included, as in {@link SerialFrameEngine}.
+	 */
+	private Organism[] _batch = new Organism[0];
+	/**
+	 * The organism found by the broadphase for every organism in {@link #_batch}.
+	 */
+	private Organism[] _candidates = new Organism[0];
+	
+	public ParallelFrameEngine(int threads) {
+		_threads = threads;
+		_pool = new ForkJoinPool(threads);
+	}
+	
+	@Override
+	public void frame(World world) {
+		int n = world._organisms.size();
+		if (_batch.length < n) {
+			_batch = new Organism[n + n/4];
+			_candidates = new Organism[_batch.length];
+		}
+		_batch = world._organisms.toArray(_batch);
+		
+		world.setDeferringBirths(true);
+		world.openAtmospherePhase();
+		try {
+			_pool.invoke(new IntentTask(0, n));
+		} finally {
+			world.closeAtmospherePhase();
+			world.setDeferringBirths(false);
+		}
+		// The spatial index is not updated during the intent phase
+		for (int i=0; i<n; i++)
+			world.organismMoved(_batch[i]);
+		_pool.invoke(new BroadphaseTask(world, 0, n));
+		
+		int removed = 0;
+		for (int i=0; i<n; i++) {
+			Organism b = _batch[i];
+			Organism candidate = _candidates[i];
+			// The candidate may have undone its movement during this commit
+			if (candidate != null && !b.intersects(candidate))
+				candidate = world.checkHit(b);
+			if (!b.frameCommit(candidate)) {
+				// Organism has no energy -> remove from the list
+				int index = i - removed;
+				if (index >= world._organisms.size() || world._organisms.get(index) != b)
+					index = world._organisms.indexOf(b);
+				if (index >= 0) {
+					world.removeOrganism(index);
+					removed++;
+				}
+			}
+			_batch[i] = null;
+			_candidates[i] = null;
+		}
+	}
+
+	@Override
+	public int getThreads() {
+		return _threads;
+	}
+
+	@Override
+	public void shutdown() {
+		_pool.shutdown();
+	}
+	
+	private class IntentTask extends RecursiveAction {
+		private static final long serialVersionUID = Utils.FILE_VERSION;
+		private final int _from, _to;
+		
+		public IntentTask(int from, int to) {
+			_from = from;
+			_to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (_to - _from <= LEAF_SIZE) {
+				for (int i=_from; i<_to; i++)
+					_batch[i].frameIntent();
+			} else {
+				int middle = (_from + _to) >>> 1;
+				invokeAll(new IntentTask(_from, middle), new IntentTask(middle, _to));
+			}
+		}
+	}
+	
+	private class BroadphaseTask extends RecursiveAction {
+		private static final long serialVersionUID = Utils.FILE_VERSION;
+		private final World _world;
+		private final int _from, _to;
+		
+		public BroadphaseTask(World world, int from, int to) {
+			_world = world;
+			_from = from;
+			_to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (_to - _from <= LEAF_SIZE) {
+				for (int i=_from; i<_to; i++)
+					_candidates[i] = _batch[i].hasFrameMotion() ? _world.checkHit(_batch[i]) : null;
+			} else {
+				int middle = (_from + _to) >>> 1;
+				invokeAll(new BroadphaseTask(_world, _from, middle), new BroadphaseTask(_world, middle, _to));
+			}
+		}
+	}
+}
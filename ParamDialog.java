@@ -32,8 +32,17 @@ public class ParamDialog extends JDialog {
 	private JTextField widthText = null;
 	private JTextField heightText = null;
 	private JTextField delayText = null;
+	private JTextField frameThreadsText = null;
+	private JComboBox<String> broadphaseCombo = null;
+	private JComboBox<String> partitioningCombo = null;
+	private JComboBox<String> pacingCombo = null;
+	private JTextField renderFpsText = null;
+	private JTextField frameBudgetText = null;
+	private JCheckBox deterministicCheck = null;
+	private JTextField seedText = null;
 	private JCheckBox autoBackupsCheck = null;
 	private JTextField backupDelayText = null;
+	private JTextField backupRetentionText = null;
 	protected JRadioButton hardwareNoneRadio = null;
 	protected JRadioButton hardwareOpenGLRadio = null;
 	private ButtonGroup hardwareGroup = null;
@@ -180,8 +189,17 @@ public class ParamDialog extends JDialog {
 		widthText.setText(String.valueOf(Utils.DEF_WORLD_WIDTH));
 		heightText.setText(String.valueOf(Utils.DEF_WORLD_HEIGHT));
 		delayText.setText(String.valueOf(Utils.DEF_DELAY));
+		frameThreadsText.setText(String.valueOf(Utils.DEF_FRAME_THREADS));
+		broadphaseCombo.setSelectedIndex(Utils.DEF_BROADPHASE);
+		partitioningCombo.setSelectedIndex(Utils.DEF_PARTITIONING);
+		pacingCombo.setSelectedIndex(Utils.DEF_PACING_MODE);
+		renderFpsText.setText(String.valueOf(Utils.DEF_RENDER_FPS));
+		frameBudgetText.setText(String.valueOf(Utils.DEF_FRAME_BUDGET));
+		deterministicCheck.setSelected(Utils.DEF_DETERMINISTIC);
+		seedText.setText(String.valueOf(Utils.DEF_SEED));
 		autoBackupsCheck.setSelected(Utils.DEF_AUTO_BACKUP);
 		backupDelayText.setText(String.valueOf(Utils.DEF_BACKUP_DELAY));
+		backupRetentionText.setText(String.valueOf(Utils.DEF_BACKUP_RETENTION));
 		rubbingText.setText(String.valueOf(Utils.DEF_RUBBING));
 		elasticityText.setText(String.valueOf(Utils.DEF_ELASTICITY));
 		initialnumberText.setText(String.valueOf(Utils.DEF_INITIAL_ORGANISMS));
@@ -351,25 +369,94 @@ public class ParamDialog extends JDialog {
 		label = new JLabel(Messages.getString("T_MILLISECONDS")); //$NON-NLS-1$
 		panel.add(label);
 		generalPanel.add(panel);
+		//Speed control
+		panel = new JPanel();
+		label = new JLabel(Messages.getString("T_PACING")); //$NON-NLS-1$
+		panel.add(label);
+		pacingCombo = new JComboBox<String>(new String[] {
+				Messages.getString("T_PACING_FIXED_FPS"), //$NON-NLS-1$
+				Messages.getString("T_PACING_MAX_THROUGHPUT"), //$NON-NLS-1$
+				Messages.getString("T_PACING_BUDGET")}); //$NON-NLS-1$
+		pacingCombo.setSelectedIndex(Utils.PACING_MODE);
+		panel.add(pacingCombo);
+		generalPanel.add(panel);
+		panel = new JPanel();
+		label = new JLabel(Messages.getString("T_RENDER_FPS")); //$NON-NLS-1$
+		panel.add(label);
+		renderFpsText = new JTextField(Integer.toString(Utils.RENDER_FPS),6);
+		panel.add(renderFpsText);
+		generalPanel.add(panel);
+		panel = new JPanel();
+		label = new JLabel(Messages.getString("T_FRAME_BUDGET")); //$NON-NLS-1$
+		panel.add(label);
+		frameBudgetText = new JTextField(Integer.toString(Utils.FRAME_BUDGET),6);
+		panel.add(frameBudgetText);
+		label = new JLabel(Messages.getString("T_MILLISECONDS")); //$NON-NLS-1$
+		panel.add(label);
+		generalPanel.add(panel);
+		//Threads per frame
+		panel = new JPanel();
+		label = new JLabel(Messages.getString("T_FRAME_THREADS")); //$NON-NLS-1$
+		panel.add(label);
+		frameThreadsText = new JTextField(Integer.toString(Utils.FRAME_THREADS),6);
+		panel.add(frameThreadsText);
+		generalPanel.add(panel);
+		//Work division among threads
+		panel = new JPanel();
+		label = new JLabel(Messages.getString("T_PARTITIONING")); //$NON-NLS-1$
+		panel.add(label);
+		partitioningCombo = new JComboBox<String>(new String[] {
+				Messages.getString("T_PARTITIONING_NONE"), //$NON-NLS-1$
+				Messages.getString("T_PARTITIONING_STRIPS"), //$NON-NLS-1$
+				Messages.getString("T_PARTITIONING_TILES")}); //$NON-NLS-1$
+		partitioningCombo.setSelectedIndex(Utils.PARTITIONING);
+		panel.add(partitioningCombo);
+		generalPanel.add(panel);
+		//Collision detection
+		panel = new JPanel();
+		label = new JLabel(Messages.getString("T_BROADPHASE")); //$NON-NLS-1$
+		panel.add(label);
+		broadphaseCombo = new JComboBox<String>(new String[] {
+				Messages.getString("T_BROADPHASE_GRID"), //$NON-NLS-1$
+				Messages.getString("T_BROADPHASE_STRTREE")}); //$NON-NLS-1$
+		broadphaseCombo.setSelectedIndex(Utils.BROADPHASE);
+		panel.add(broadphaseCombo);
+		generalPanel.add(panel);
+		//Deterministic worlds
+		panel = new JPanel();
+		deterministicCheck = new JCheckBox(Messages.getString("T_DETERMINISTIC")); //$NON-NLS-1$
+		deterministicCheck.setSelected(Utils.DETERMINISTIC);
+		panel.add(deterministicCheck);
+		label = new JLabel(Messages.getString("T_SEED")); //$NON-NLS-1$
+		panel.add(label);
+		seedText = new JTextField(Long.toString(Utils.SEED),12);
+		panel.add(seedText);
+		generalPanel.add(panel);
 		//Backups
 		panel = new JPanel();
-		panel.setLayout(new GridLayout(2,1));
+		panel.setLayout(new GridLayout(3,1));
 		autoBackupsCheck = new JCheckBox(Messages.getString("T_AUTOMATIC_BACKUPS"));
 		label = new JLabel(Messages.getString("T_TIME_BETWEEN_BACKUPS")); //$NON-NLS-1$
 		backupDelayText = new JTextField(Integer.toString(Utils.BACKUP_DELAY),10);
+		backupRetentionText = new JTextField(Integer.toString(Utils.BACKUP_RETENTION),4);
 		if (Utils.AUTO_BACKUP) {
 			autoBackupsCheck.setSelected(true);
 			backupDelayText.setEnabled(true);
+			backupRetentionText.setEnabled(true);
 		} else {
 			autoBackupsCheck.setSelected(false);
 			backupDelayText.setEnabled(false);
+			backupRetentionText.setEnabled(false);
 		}
 		autoBackupsCheck.addChangeListener(new ChangeListener() {
 			public void stateChanged(ChangeEvent e) {
-				if (autoBackupsCheck.isSelected())
+				if (autoBackupsCheck.isSelected()) {
 					backupDelayText.setEnabled(true);
-				else
-					backupDelayText.setEnabled(false);				
+					backupRetentionText.setEnabled(true);
+				} else {
+					backupDelayText.setEnabled(false);
+					backupRetentionText.setEnabled(false);
+				}
 			}
 		});
 		panel.add(autoBackupsCheck);
@@ -377,6 +464,10 @@ public class ParamDialog extends JDialog {
 		backupDelayPanel.add(label);
 		backupDelayPanel.add(backupDelayText);
 		panel.add(backupDelayPanel);
+		JPanel backupRetentionPanel = new JPanel();
+		backupRetentionPanel.add(new JLabel(Messages.getString("T_BACKUPS_TO_KEEP"))); //$NON-NLS-1$
+		backupRetentionPanel.add(backupRetentionText);
+		panel.add(backupRetentionPanel);
 		generalPanel.add(panel);
 		// OpenGL
 		panel = new JPanel();
@@ -952,6 +1043,42 @@ public class ParamDialog extends JDialog {
 		} catch (NumberFormatException ex) {
 			// Keep old value if there is a problem
 		}
+		Utils.PACING_MODE = pacingCombo.getSelectedIndex();
+		try {
+			i = Integer.parseInt(renderFpsText.getText());
+			if (i > 0) {
+				Utils.RENDER_FPS = i;
+			}
+		} catch (NumberFormatException ex) {
+			// Keep old value if there is a problem
+		}
+		try {
+			i = Integer.parseInt(frameBudgetText.getText());
+			if (i > 0) {
+				Utils.FRAME_BUDGET = i;
+			}
+		} catch (NumberFormatException ex) {
+			// Keep old value if there is a problem
+		}
+		try {
+			i = Integer.parseInt(frameThreadsText.getText());
+			if (i > 0) {
+				Utils.FRAME_THREADS = i;
+			}
+		} catch (NumberFormatException ex) {
+			// Keep old value if there is a problem
+		}
+		Utils.PARTITIONING = partitioningCombo.getSelectedIndex();
+		mainWindow.getWorld().updateFrameEngine();
+		Utils.BROADPHASE = broadphaseCombo.getSelectedIndex();
+		mainWindow.getWorld().updateBroadphase();
+		// Used when a new world is created
+		Utils.DETERMINISTIC = deterministicCheck.isSelected();
+		try {
+			Utils.SEED = Long.parseLong(seedText.getText());
+		} catch (NumberFormatException ex) {
+			// Keep old value if there is a problem
+		}
 		if (autoBackupsCheck.isSelected()) {
 			Utils.AUTO_BACKUP = true;
 		} else {
@@ -965,6 +1092,13 @@ public class ParamDialog extends JDialog {
 		} catch (NumberFormatException ex) {
 			// Keep old value if there is a problem
 		}
+		try {
+			i = Integer.parseInt(backupRetentionText.getText());
+			if (i >= 0)
+				Utils.BACKUP_RETENTION = i;
+		} catch (NumberFormatException ex) {
+			// Keep old value if there is a problem
+		}
 		try {
 			d = Double.parseDouble(initialO2Text.getText());
 			if (d >= 0) Utils.INITIAL_O2 = d;
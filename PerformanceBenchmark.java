@@ -0,0 +1,259 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import net.jafama.FastMath;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the performance of some parts of the simulation without
+ * the graphical interface. The number of organisms can be given as
+ * arguments; by default it runs with 1000, 10000 and 100000 organisms.
+ * The world is scaled to keep the density of the default world.
+ * 
+ * Usage: java PerformanceBenchmark [organisms...]
+ */
+public class PerformanceBenchmark {
+	/**
+	 * Frames executed before starting to measure.
+	 */
+	private static final int WARMUP_FRAMES = 20;
+	/**
+	 * Frames measured for every test.
+	 */
+	private static final int FRAMES = 50;
+	/**
+	 * Frames executed before measuring allocated memory. The geometry of a body
+	 * plan at a growth ratio is created the first time an organism reaches it,
+	 * so organisms must have time to grow.
+	 */
+	private static final int ALLOCATION_WARMUP_FRAMES = 500;
+	
+	public static void main(String[] args) {
+		int[] sizes = {1000, 10000, 100000};
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i=0; i<args.length; i++)
+				sizes[i] = Integer.parseInt(args[i]);
+		}
+		for (int n : sizes) {
+			benchmarkBroadphase(n);
+			benchmarkRotation(n);
+			benchmarkAllocation(n);
+		}
+	}
+	/**
+	 * Compares all broadphase implementations. Every frame all organisms
+	 * move a little and look for a collision, as they do in
+	 * {@link World#time}.
+	 * 
+	 * @param n  The number of organisms.
+	 */
+	private static void benchmarkBroadphase(int n) {
+		World world = createWorld(n);
+		List<Organism> organisms = createOrganisms(world, n);
+		report("grid", organisms.size(), runBroadphase(
+				new GridBroadphase(world.getWidth(), world.getHeight()), world, organisms));
+		report("strtree", organisms.size(), runBroadphase(
+				new STRtreeBroadphase(), world, organisms));
+	}
+	/**
+	 * Compares the rotation of segments done in {@link Organism#calculateBounds}
+	 * with the previous way, that found the polar coordinates of both points of
+	 * every segment at every frame. Every frame all organisms rotate a little.
+	 * 
+	 * @param n  The number of organisms.
+	 */
+	private static void benchmarkRotation(int n) {
+		World world = createWorld(n);
+		List<Organism> organisms = createOrganisms(world, n);
+		int segments = 0;
+		for (Organism b : organisms)
+			segments += b._segments;
+		report("rotation", organisms.size(), runRotation(organisms, false));
+		reportTrigonometry("rotation", 2 * organisms.size());
+		report("polar", organisms.size(), runRotation(organisms, true));
+		reportTrigonometry("polar", 6 * segments);
+	}
+	/**
+	 * Measures the memory allocated while moving organisms and resolving their
+	 * collisions, as done in the intent phase of a frame followed by
+	 * {@link Organism#contact}. Births are deferred, so no organisms are created.
+	 * 
+	 * @param n  The number of organisms.
+	 */
+	private static void benchmarkAllocation(int n) {
+		World world = createWorld(n);
+		List<Organism> organisms = createOrganisms(world, n);
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+			System.out.println("allocation: not supported by this JVM"); //$NON-NLS-1$
+			return;
+		}
+		com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+		long thread = Thread.currentThread().getId();
+		Broadphase broadphase = new GridBroadphase(world.getWidth(), world.getHeight());
+		for (Organism b : organisms)
+			broadphase.insert(b);
+		world.setDeferringBirths(true);
+		long start = 0, bytes = 0;
+		for (int frame=0; frame<ALLOCATION_WARMUP_FRAMES+FRAMES; frame++) {
+			if (frame == ALLOCATION_WARMUP_FRAMES) {
+				bytes = allocation.getThreadAllocatedBytes(thread);
+				start = System.nanoTime();
+			}
+			broadphase.frameStarted(organisms);
+			for (int i=0; i<organisms.size(); i++)
+				organisms.get(i).frameIntent();
+			for (int i=0; i<organisms.size(); i++) {
+				Organism b = organisms.get(i);
+				broadphase.update(b);
+				Organism hit = broadphase.findHit(b, true);
+				if (hit != null)
+					b.contact(hit);
+			}
+		}
+		double time = (double) (System.nanoTime() - start) / FRAMES;
+		bytes = allocation.getThreadAllocatedBytes(thread) - bytes;
+		world.setDeferringBirths(false);
+		report("narrowphase", organisms.size(), time);
+		System.out.println(String.format("%-10s %8d bytes allocated/frame", "narrowphase", bytes / FRAMES)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	/**
+	 * Creates a world that keeps the density of organisms of the default world.
+	 * 
+	 * @param n  The number of organisms that will be put in the world.
+	 * @return  A world that is not linked to any visual representation.
+	 */
+	static World createWorld(int n) {
+		double area = (double) Utils.DEF_WORLD_WIDTH * Utils.DEF_WORLD_HEIGHT / Utils.DEF_INITIAL_ORGANISMS;
+		int side = (int) Math.sqrt(area * n);
+		Utils.WORLD_WIDTH = side;
+		Utils.WORLD_HEIGHT = side;
+		return new World(new NullWorldView());
+	}
+	/**
+	 * Creates random organisms in a world, but doesn't add them to it.
+	 * 
+	 * @param world  The world where the organisms are placed.
+	 * @param n  The number of organisms to create.
+	 * @return  The organisms that could be created.
+	 */
+	static List<Organism> createOrganisms(World world, int n) {
+		List<Organism> organisms = new ArrayList<Organism>(n);
+		for (int i=0; i<n; i++) {
+			Organism b = new Organism(world);
+			if (b.randomCreate())
+				organisms.add(b);
+		}
+		return organisms;
+	}
+	/**
+	 * Moves all organisms randomly and checks collisions using a broadphase.
+	 * Organisms are put back in their original positions at the end.
+	 * 
+	 * @return  The average time of a frame, in nanoseconds.
+	 */
+	private static double runBroadphase(Broadphase broadphase, World world, List<Organism> organisms) {
+		int n = organisms.size();
+		int[] startX = new int[n], startY = new int[n];
+		for (int i=0; i<n; i++) {
+			startX[i] = organisms.get(i).x;
+			startY[i] = organisms.get(i).y;
+			broadphase.insert(organisms.get(i));
+		}
+		Random random = new Random(0);
+		long start = 0;
+		int hits = 0;
+		for (int frame=0; frame<WARMUP_FRAMES+FRAMES; frame++) {
+			if (frame == WARMUP_FRAMES)
+				start = System.nanoTime();
+			broadphase.frameStarted(organisms);
+			for (int i=0; i<n; i++) {
+				Organism b = organisms.get(i);
+				int dx = random.nextInt(3) - 1, dy = random.nextInt(3) - 1;
+				b.translate(dx, dy);
+				if (b.x < 0 || b.y < 0 || b.x + b.width >= world.getWidth()
+						|| b.y + b.height >= world.getHeight())
+					b.translate(-dx, -dy);
+				broadphase.update(b);
+				if (broadphase.findHit(b, true) != null)
+					hits++;
+			}
+		}
+		double time = (double) (System.nanoTime() - start) / FRAMES;
+		broadphase.clear();
+		for (int i=0; i<n; i++)
+			organisms.get(i).setLocation(startX[i], startY[i]);
+		// Use the result so the loop can't be removed
+		if (hits < 0)
+			System.out.println(hits);
+		return time;
+	}
+	/**
+	 * Rotates all organisms a little and calculates their segments.
+	 * 
+	 * @param polar  true to calculate segments with polar coordinates, as it
+	 * was done before, or false to use {@link Organism#calculateBounds}.
+	 * @return  The average time of a frame, in nanoseconds.
+	 */
+	private static double runRotation(List<Organism> organisms, boolean polar) {
+		long start = 0;
+		for (int frame=0; frame<WARMUP_FRAMES+FRAMES; frame++) {
+			if (frame == WARMUP_FRAMES)
+				start = System.nanoTime();
+			for (Organism b : organisms) {
+				b._theta += 0.01;
+				if (polar)
+					rotatePolar(b);
+				else
+					b.calculateBounds(false);
+			}
+		}
+		return (double) (System.nanoTime() - start) / FRAMES;
+	}
+	/**
+	 * Calculates the segments of an organism using polar coordinates: three
+	 * trigonometric functions for every point.
+	 */
+	private static void rotatePolar(Organism b) {
+		double theta, m;
+		for (int i=b._segments-1; i>=0; i--) {
+			theta = b._theta + FastMath.atan2(b._startPointY[i], b._startPointX[i]);
+			m = FastMath.sqrt(b._startPointX[i]*b._startPointX[i]+b._startPointY[i]*b._startPointY[i]);
+			b.x1[i] = (int) (m * FastMath.cos(theta));
+			b.y1[i] = (int) (m * FastMath.sin(theta));
+			theta = b._theta + FastMath.atan2(b._endPointY[i], b._endPointX[i]);
+			m = FastMath.sqrt(b._endPointX[i]*b._endPointX[i]+b._endPointY[i]*b._endPointY[i]);
+			b.x2[i] = (int) (m * FastMath.cos(theta));
+			b.y2[i] = (int) (m * FastMath.sin(theta));
+		}
+	}
+	
+	private static void report(String test, int n, double nanos) {
+		System.out.println(String.format("%-10s %8d organisms %10.3f ms/frame", test, n, nanos / 1e6)); //$NON-NLS-1$
+	}
+	
+	private static void reportTrigonometry(String test, int calls) {
+		System.out.println(String.format("%-10s %8d trigonometric calls/frame", test, calls)); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,529 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Phaser;
+
+/**
+ * Moves organisms using several threads, dividing the world in regions
+ * instead of dividing the list of organisms. The world is split in vertical
+ * strips or in tiles, one for every thread, and every region owns the organisms
+ * whose center is inside it. A region is always processed by the same thread,
+ * so its organisms and its spatial index stay in the cache of that thread.
+ * 
+ * A frame has the same phases as in {@link ParallelFrameEngine}: the intent of
+ * every region is computed by its thread and then collisions, reproduction and
+ * death are committed one organism at a time, region after region. To find
+ * collisions, every region builds a small grid with its own organisms and with
+ * the organisms of other regions that are near its border, its halo. The width
+ * of the halo is the maximum distance that an organism has reached beyond its
+ * region during the frame, which is bounded by the size of the biggest organism
+ * and {@link Utils#MAX_VEL}. Organisms whose center has crossed to another region
+ * change their owner at the end of the frame.
+ * 
+ * The result is deterministic for a given layout, but it is different from the
+ * result of other engines or layouts, because the commit follows another order.
+ */
+public class RegionFrameEngine implements FrameEngine {
+	/**
+	 * Steps that are executed by every region in its own thread.
+	 */
+	private static final int STEP_INTENT = 0;
+	private static final int STEP_EXPORT = 1;
+	private static final int STEP_BROADPHASE = 2;
+	private static final int STEP_COMPACT = 3;
+	
+	private final int _threads;
+	/**
+	 * {@link Utils#PARTITIONING_STRIPS} or {@link Utils#PARTITIONING_TILES}.
+	 */
+	private final int _partitioning;
+	private Region[] _regions = new Region[0];
+	/**
+	 * Size of the world when the regions were created.
+	 */
+	private int _width = -1, _height = -1;
+	private int _cols, _rows;
+	/**
+	 * Version of the list of organisms of the world after the last frame.
+	 * If it has changed, organisms have been added or removed from outside.
+	 */
+	private int _version = 0;
+	/**
+	 * The frame of the world expected in the next call to {@link #frame}. If it is
+	 * another one, the world has been replaced and the organisms are assigned again.
+	 */
+	private long _nextFrame = -1;
+	/**
+	 * The maximum distance that an organism has reached beyond its region
+	 * in the current frame.
+	 */
+	private int _halo;
+	/**
+	 * Fenwick tree that counts the organisms removed from the list during the
+	 * commit, by their position at its beginning.
+	 */
+	private int[] _removedBefore = new int[0];
+	private World _world;
+	/**
+	 * Synchronizes the calling thread, that executes the first region, with
+	 * the workers, that execute the rest.
+	 */
+	private final Phaser _phaser;
+	private volatile int _step;
+	private volatile boolean _shutdown = false;
+	private volatile Throwable _failure = null;
+	
+	/**
+	 * Creates an engine with a region for every thread.
+	 * 
+	 * @param threads  The number of threads.
+	 * @param partitioning  {@link Utils#PARTITIONING_STRIPS} or {@link Utils#PARTITIONING_TILES}.
+	 */
+	public RegionFrameEngine(int threads, int partitioning) {
+		_threads = threads;
+		_partitioning = partitioning;
+		_phaser = new Phaser(threads);
+		for (int i=1; i<threads; i++) {
+			Thread worker = new Worker(i);
+			worker.setDaemon(true);
+			worker.start();
+		}
+	}
+	
+	@Override
+	public void frame(World world) {
+		_world = world;
+		if (world._width != _width || world._height != _height)
+			layout(world._width, world._height);
+		if (world.getFrame() != _nextFrame || world.getOrganismsVersion() != _version)
+			assignAll(world._organisms);
+		_nextFrame = world.getFrame() + 1;
+		
+		world.setDeferringBirths(true);
+		world.openAtmospherePhase();
+		try {
+			run(STEP_INTENT);
+		} finally {
+			world.closeAtmospherePhase();
+			world.setDeferringBirths(false);
+		}
+		_halo = 0;
+		for (Region r : _regions) {
+			_halo = Math.max(_halo, r._overflow);
+			// The spatial index is not updated during the intent phase
+			for (int i=0, n=r._owned.size(); i<n; i++)
+				world.organismMoved(r._owned.get(i));
+		}
+		run(STEP_EXPORT);
+		run(STEP_BROADPHASE);
+		
+		List<Organism> organisms = world._organisms;
+		int size = organisms.size();
+		int removed = 0;
+		// Regions are committed in their own order, so positions are kept to remove organisms
+		for (int i=0; i<size; i++)
+			organisms.get(i)._listIndex = i;
+		if (_removedBefore.length < size + 1)
+			_removedBefore = new int[size + size/4 + 1];
+		else
+			Arrays.fill(_removedBefore, 0, size + 1, 0);
+		for (Region r : _regions) {
+			for (int i=0, n=r._owned.size(); i<n; i++) {
+				Organism b = r._owned.get(i);
+				Organism candidate = r._candidates[i];
+				r._candidates[i] = null;
+				// The candidate may have undone its movement during this commit
+				if (candidate != null && !b.intersects(candidate))
+					candidate = world.checkHit(b);
+				if (!b.frameCommit(candidate)) {
+					// Organism has no energy -> remove from the list
+					int position = b._listIndex;
+					int index = position < size ? position - countRemoved(position) : -1;
+					if (index >= 0 && index < organisms.size() && organisms.get(index) == b) {
+						world.removeOrganism(index);
+						markRemoved(position, size);
+						removed++;
+					} else {
+						// Not in the list at the beginning of the commit
+						index = indexOf(organisms, b);
+						if (index >= 0) {
+							world.removeOrganism(index);
+							removed++;
+						}
+					}
+					r._removed[i] = true;
+				}
+			}
+		}
+		
+		run(STEP_COMPACT);
+		for (Region r : _regions) {
+			for (int i=0, n=r._leaving.size(); i<n; i++) {
+				Organism o = r._leaving.get(i);
+				owner(o)._owned.add(o);
+			}
+			r._leaving.clear();
+		}
+		// Organisms born in this frame are at the end of the list
+		for (int i=size-removed, n=organisms.size(); i<n; i++) {
+			Organism o = organisms.get(i);
+			owner(o)._owned.add(o);
+		}
+		_version = world.getOrganismsVersion();
+		_world = null;
+	}
+
+	@Override
+	public int getThreads() {
+		return _threads;
+	}
+	/**
+	 * Returns how the world is divided.
+	 * 
+	 * @return  {@link Utils#PARTITIONING_STRIPS} or {@link Utils#PARTITIONING_TILES}.
+	 */
+	public int getPartitioning() {
+		return _partitioning;
+	}
+
+	@Override
+	public void shutdown() {
+		_shutdown = true;
+		_phaser.arriveAndDeregister();
+	}
+	/**
+	 * Divides a world of the given size in regions.
+	 */
+	private void layout(int width, int height) {
+		_width = width;
+		_height = height;
+		_rows = 1;
+		if (_partitioning == Utils.PARTITIONING_TILES) {
+			// The most square tiles that use all threads
+			for (int d=1; d*d<=_threads; d++)
+				if (_threads % d == 0)
+					_rows = d;
+		}
+		_cols = _threads / _rows;
+		_regions = new Region[_threads];
+		for (int r=0; r<_rows; r++) {
+			for (int c=0; c<_cols; c++) {
+				int x0 = c*width/_cols, x1 = (c+1)*width/_cols;
+				int y0 = r*height/_rows, y1 = (r+1)*height/_rows;
+				_regions[r*_cols + c] = new Region(new Rectangle(x0, y0, x1-x0, y1-y0));
+			}
+		}
+		_nextFrame = -1;
+	}
+	/**
+	 * Assigns all organisms to the region that contains their center.
+	 */
+	private void assignAll(List<Organism> organisms) {
+		for (Region r : _regions)
+			r._owned.clear();
+		for (int i=0, n=organisms.size(); i<n; i++) {
+			Organism o = organisms.get(i);
+			owner(o)._owned.add(o);
+		}
+	}
+	/**
+	 * Returns the region that contains the center of an organism.
+	 * Organisms outside the world belong to the nearest region.
+	 */
+	private Region owner(Organism o) {
+		int c = Utils.between(o._centerX * _cols / _width, 0, _cols - 1);
+		int r = Utils.between(o._centerY * _rows / _height, 0, _rows - 1);
+		return _regions[r*_cols + c];
+	}
+	/**
+	 * Returns the number of organisms removed during the commit whose
+	 * position was lower than the given one.
+	 */
+	private int countRemoved(int position) {
+		int count = 0;
+		for (int i=position; i>0; i-=i&-i)
+			count += _removedBefore[i];
+		return count;
+	}
+	
+	private void markRemoved(int position, int size) {
+		for (int i=position+1; i<=size; i+=i&-i)
+			_removedBefore[i]++;
+	}
+	/**
+	 * Finds an organism in a list by identity. Organisms are rectangles,
+	 * so two of them are equal when their bounds are equal.
+	 */
+	private static int indexOf(List<Organism> organisms, Organism o) {
+		for (int i=0, n=organisms.size(); i<n; i++)
+			if (organisms.get(i) == o)
+				return i;
+		return -1;
+	}
+	/**
+	 * Executes a step for all regions and waits until all of them have finished.
+	 */
+	private void run(int step) {
+		_step = step;
+		_phaser.arriveAndAwaitAdvance();
+		try {
+			execute(_regions[0]);
+		} finally {
+			_phaser.arriveAndAwaitAdvance();
+		}
+		Throwable failure = _failure;
+		if (failure != null) {
+			_failure = null;
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+			throw new RuntimeException(failure);
+		}
+	}
+	
+	private void execute(Region region) {
+		switch (_step) {
+		case STEP_INTENT:
+			region.intent();
+			break;
+		case STEP_EXPORT:
+			region.export(_halo);
+			break;
+		case STEP_BROADPHASE:
+			region.broadphase();
+			break;
+		case STEP_COMPACT:
+			region.compact();
+			break;
+		}
+	}
+	/**
+	 * A thread that always executes the same region.
+	 */
+	private class Worker extends Thread {
+		private final int _index;
+		
+		public Worker(int index) {
+			super("Region " + index); //$NON-NLS-1$
+			_index = index;
+		}
+		
+		@Override
+		public void run() {
+			for (;;) {
+				_phaser.arriveAndAwaitAdvance();
+				if (_shutdown) {
+					_phaser.arriveAndDeregister();
+					return;
+				}
+				try {
+					execute(_regions[_index]);
+				} catch (Throwable t) {
+					_failure = t;
+				}
+				_phaser.arriveAndAwaitAdvance();
+			}
+		}
+	}
+	/**
+	 * A part of the world and the organisms whose center is inside it.
+	 */
+	private class Region {
+		private final Rectangle _area;
+		private final ArrayList<Organism> _owned = new ArrayList<Organism>();
+		/**
+		 * Collision candidate and removal mark of every owned organism in this frame.
+		 */
+		private Organism[] _candidates = new Organism[0];
+		private boolean[] _removed = new boolean[0];
+		/**
+		 * Owned organisms that may touch organisms of other regions.
+		 */
+		private final ArrayList<Organism> _exports = new ArrayList<Organism>();
+		/**
+		 * Organisms of other regions that may touch owned organisms.
+		 */
+		private final ArrayList<Organism> _ghosts = new ArrayList<Organism>();
+		/**
+		 * Organisms whose center has left this region during the frame.
+		 */
+		private final ArrayList<Organism> _leaving = new ArrayList<Organism>();
+		/**
+		 * Bounds of all owned organisms after the intent phase, and the maximum
+		 * distance they reach beyond the area of this region.
+		 */
+		private int _minX, _minY, _maxX, _maxY;
+		private int _overflow;
+		/**
+		 * A grid that covers the bounds of the owned organisms. Organisms in every
+		 * cell are stored consecutively in {@link #_cellItems}, starting at
+		 * {@link #_cellStart}.
+		 */
+		private int _gridCols, _gridRows;
+		private int[] _cellStart = new int[1];
+		private int[] _cellFill = new int[1];
+		private Organism[] _cellItems = new Organism[0];
+		private int _nItems = 0;
+		
+		public Region(Rectangle area) {
+			_area = area;
+		}
+		
+		void intent() {
+			int n = _owned.size();
+			if (_candidates.length < n) {
+				_candidates = new Organism[n + n/4];
+				_removed = new boolean[_candidates.length];
+			}
+			_minX = _minY = Integer.MAX_VALUE;
+			_maxX = _maxY = Integer.MIN_VALUE;
+			for (int i=0; i<n; i++) {
+				Organism o = _owned.get(i);
+				o.frameIntent();
+				_removed[i] = false;
+				_minX = Math.min(_minX, o.x);
+				_minY = Math.min(_minY, o.y);
+				_maxX = Math.max(_maxX, o.x + o.width);
+				_maxY = Math.max(_maxY, o.y + o.height);
+			}
+			_overflow = n == 0 ? 0 : Utils.max(Math.max(_area.x - _minX, _area.y - _minY),
+					Math.max(_maxX - _area.x - _area.width, _maxY - _area.y - _area.height), 0);
+		}
+		
+		void export(int halo) {
+			_exports.clear();
+			int x0 = _area.x + halo, y0 = _area.y + halo;
+			int x1 = _area.x + _area.width - halo, y1 = _area.y + _area.height - halo;
+			for (int i=0, n=_owned.size(); i<n; i++) {
+				Organism o = _owned.get(i);
+				if (o.x <= x0 || o.y <= y0 || o.x + o.width >= x1 || o.y + o.height >= y1)
+					_exports.add(o);
+			}
+		}
+		
+		void broadphase() {
+			int n = _owned.size();
+			if (n == 0)
+				return;
+			_ghosts.clear();
+			for (Region r : _regions) {
+				if (r == this)
+					continue;
+				for (int i=0, m=r._exports.size(); i<m; i++) {
+					Organism o = r._exports.get(i);
+					if (o.x <= _maxX && _minX <= o.x + o.width && o.y <= _maxY && _minY <= o.y + o.height)
+						_ghosts.add(o);
+				}
+			}
+			buildGrid();
+			for (int i=0; i<n; i++) {
+				Organism o = _owned.get(i);
+				_candidates[i] = o.hasFrameMotion() ? findHit(o) : null;
+			}
+		}
+		
+		void compact() {
+			int j = 0;
+			for (int i=0, n=_owned.size(); i<n; i++) {
+				if (_removed[i])
+					continue;
+				Organism o = _owned.get(i);
+				if (owner(o) != this)
+					_leaving.add(o);
+				else
+					_owned.set(j++, o);
+			}
+			for (int i=_owned.size()-1; i>=j; i--)
+				_owned.remove(i);
+			Arrays.fill(_cellItems, 0, _nItems, null);
+			_nItems = 0;
+			_ghosts.clear();
+		}
+		
+		private int col(int x) {
+			return Utils.between((x - _minX) / GridBroadphase.CELL_SIZE, 0, _gridCols - 1);
+		}
+		
+		private int row(int y) {
+			return Utils.between((y - _minY) / GridBroadphase.CELL_SIZE, 0, _gridRows - 1);
+		}
+		/**
+		 * Fills the grid with the owned organisms, followed by the ghosts.
+		 */
+		private void buildGrid() {
+			_gridCols = (_maxX - _minX) / GridBroadphase.CELL_SIZE + 1;
+			_gridRows = (_maxY - _minY) / GridBroadphase.CELL_SIZE + 1;
+			int cells = _gridCols * _gridRows;
+			if (_cellStart.length < cells + 1) {
+				_cellStart = new int[cells + 1];
+				_cellFill = new int[cells + 1];
+			}
+			for (int i=0; i<=cells; i++)
+				_cellStart[i] = 0;
+			int n = _owned.size(), m = n + _ghosts.size();
+			for (int i=0; i<m; i++) {
+				Organism o = i < n ? _owned.get(i) : _ghosts.get(i - n);
+				int col0 = col(o.x), col1 = col(o.x + o.width);
+				int row0 = row(o.y), row1 = row(o.y + o.height);
+				for (int r=row0; r<=row1; r++)
+					for (int c=col0; c<=col1; c++)
+						_cellStart[r*_gridCols + c + 1]++;
+			}
+			for (int i=0; i<cells; i++)
+				_cellStart[i+1] += _cellStart[i];
+			if (_cellItems.length < _cellStart[cells])
+				_cellItems = new Organism[_cellStart[cells] + _cellStart[cells]/4];
+			_nItems = _cellStart[cells];
+			System.arraycopy(_cellStart, 0, _cellFill, 0, cells);
+			for (int i=0; i<m; i++) {
+				Organism o = i < n ? _owned.get(i) : _ghosts.get(i - n);
+				int col0 = col(o.x), col1 = col(o.x + o.width);
+				int row0 = row(o.y), row1 = row(o.y + o.height);
+				for (int r=row0; r<=row1; r++)
+					for (int c=col0; c<=col1; c++)
+						_cellItems[_cellFill[r*_gridCols + c]++] = o;
+			}
+		}
+		/**
+		 * Finds an organism whose bounding rectangle overlaps the bounding
+		 * rectangle of an owned organism, choosing the one with the lowest ID
+		 * like {@link World#checkHit}.
+		 */
+		private Organism findHit(Organism org) {
+			int col0 = col(org.x), col1 = col(org.x + org.width);
+			int row0 = row(org.y), row1 = row(org.y + org.height);
+			Organism hit = null;
+			for (int r=row0; r<=row1; r++) {
+				for (int c=col0; c<=col1; c++) {
+					int cell = r*_gridCols + c;
+					for (int i=_cellStart[cell], end=_cellStart[cell+1]; i<end; i++) {
+						Organism other = _cellItems[i];
+						if (other != org && (hit == null || other._ID < hit._ID)
+								&& org.intersects(other))
+							hit = other;
+					}
+				}
+			}
+			return hit;
+		}
+	}
+}
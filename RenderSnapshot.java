@@ -0,0 +1,157 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.List;
+
+/**
+ * Immutable picture of all organisms in a world at the end of a frame: their
+ * bounding boxes and the position and color of every segment. Snapshots are
+ * created by the simulation thread and drawn by the event dispatch thread, so
+ * that painting doesn't need to lock the world and the simulation doesn't need
+ * to wait for painting.
+ * 
+ * The arrays given to a snapshot must not be modified after creating it.
+ */
+public final class RenderSnapshot {
+	/**
+	 * A snapshot without organisms.
+	 */
+	public static final RenderSnapshot EMPTY = new RenderSnapshot(0, new int[0], new int[0],
+			new int[0], new int[0], new int[0], new int[0], new int[0], new int[0],
+			new int[0], new int[0], new int[0], new int[0], new Color[0]);
+	/**
+	 * Number of organisms in the snapshot.
+	 */
+	private final int _size;
+	/*
+	 * Organism columns.
+	 */
+	private final int[] _centerX;
+	private final int[] _centerY;
+	private final int[] _x;
+	private final int[] _y;
+	private final int[] _width;
+	private final int[] _height;
+	/**
+	 * Position of the first segment of every organism in the segment columns.
+	 */
+	private final int[] _segOffset;
+	private final int[] _segCount;
+	/*
+	 * Segment columns. Coordinates are relative to the center of the organism.
+	 */
+	private final int[] _x1;
+	private final int[] _y1;
+	private final int[] _x2;
+	private final int[] _y2;
+	/**
+	 * Color used to draw every segment.
+	 */
+	private final Color[] _color;
+	
+	RenderSnapshot(int size, int[] centerX, int[] centerY, int[] x, int[] y, int[] width, int[] height,
+			int[] segOffset, int[] segCount, int[] x1, int[] y1, int[] x2, int[] y2, Color[] color) {
+		_size = size;
+		_centerX = centerX;
+		_centerY = centerY;
+		_x = x;
+		_y = y;
+		_width = width;
+		_height = height;
+		_segOffset = segOffset;
+		_segCount = segCount;
+		_x1 = x1;
+		_y1 = y1;
+		_x2 = x2;
+		_y2 = y2;
+		_color = color;
+	}
+	/**
+	 * Creates a snapshot from the organisms of a world. The list of organisms
+	 * must be locked by the caller.
+	 * 
+	 * @param organisms  All organisms in the world.
+	 * @return  A new snapshot of the organisms.
+	 */
+	public static RenderSnapshot create(List<Organism> organisms) {
+		int n = organisms.size();
+		int segSize = 0;
+		for (int k=0; k<n; k++)
+			segSize += organisms.get(k)._segments;
+		int[] centerX = new int[n], centerY = new int[n];
+		int[] x = new int[n], y = new int[n], width = new int[n], height = new int[n];
+		int[] segOffset = new int[n], segCount = new int[n];
+		int[] x1 = new int[segSize], y1 = new int[segSize], x2 = new int[segSize], y2 = new int[segSize];
+		Color[] color = new Color[segSize];
+		int s = 0;
+		for (int k=0; k<n; k++) {
+			Organism b = organisms.get(k);
+			centerX[k] = b._centerX;
+			centerY[k] = b._centerY;
+			x[k] = b.x;
+			y[k] = b.y;
+			width[k] = b.width;
+			height[k] = b.height;
+			segOffset[k] = s;
+			segCount[k] = b._segments;
+			System.arraycopy(b.x1, 0, x1, s, b._segments);
+			System.arraycopy(b.y1, 0, y1, s, b._segments);
+			System.arraycopy(b.x2, 0, x2, s, b._segments);
+			System.arraycopy(b.y2, 0, y2, s, b._segments);
+			for (int i=0; i<b._segments; i++)
+				color[s+i] = b.getDrawColor(i);
+			b.colorDrawn();
+			s += b._segments;
+		}
+		return new RenderSnapshot(n, centerX, centerY, x, y, width, height,
+				segOffset, segCount, x1, y1, x2, y2, color);
+	}
+	/**
+	 * Returns the number of organisms in the snapshot.
+	 * 
+	 * @return  The number of organisms.
+	 */
+	public int size() {
+		return _size;
+	}
+	/**
+	 * Draws all organisms in the snapshot. Organisms outside the clipping area of
+	 * the graphics context are skipped.
+	 * 
+	 * @param g  The graphics context to draw to.
+	 */
+	public void draw(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		Color current = null;
+		for (int k=0; k<_size; k++) {
+			if (clip != null && (_x[k] >= clip.x + clip.width || _x[k] + _width[k] <= clip.x
+					|| _y[k] >= clip.y + clip.height || _y[k] + _height[k] <= clip.y))
+				continue;
+			int cx = _centerX[k], cy = _centerY[k];
+			for (int s=_segOffset[k], end=s+_segCount[k]; s<end; s++) {
+				if (_color[s] != current) {
+					current = _color[s];
+					g.setColor(current);
+				}
+				g.drawLine(_x1[s] + cx, _y1[s] + cy, _x2[s] + cx, _y2[s] + cy);
+			}
+		}
+	}
+}
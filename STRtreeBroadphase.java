@@ -0,0 +1,79 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.util.List;
+
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.index.strtree.STRtree;
+
+/**
+ * Broadphase based on a JTS STRtree. The tree can't be modified once it
+ * has been built, so it is created again at the beginning of every frame
+ * and it isn't changed until the next one. Organisms that move or are born
+ * during a frame are found at their position at the beginning of the frame.
+ */
+public class STRtreeBroadphase implements Broadphase {
+	private STRtree _tree = new STRtree();
+	
+	@Override
+	public void frameStarted(List<Organism> organisms) {
+		_tree = new STRtree();
+		for (Organism o : organisms)
+			_tree.insert(new Envelope(o.getX(), o.getMaxX(), o.getY(), o.getMaxY()), o);
+		// Build it now: it may be queried from several threads.
+		_tree.build();
+	}
+	
+	@Override
+	public void insert(Organism org) {
+		// Added at the next frame
+	}
+	
+	@Override
+	public void insertAll(List<Organism> organisms) {
+		// Added at the next frame
+	}
+	
+	@Override
+	public void remove(Organism org) {
+		// Removed at the next frame
+	}
+	
+	@Override
+	public void update(Organism org) {
+		// Updated at the next frame
+	}
+	
+	@Override
+	public void clear() {
+		_tree = new STRtree();
+	}
+	
+	@Override
+	public Organism findHit(Organism org, boolean strict) {
+		List<?> collidingOrgs = _tree.query(new Envelope(org.getX(), org.getMaxX(), org.getY(), org.getMaxY()));
+		Organism hit = null;
+		for (Object orgObj : collidingOrgs) {
+			Organism other = (Organism) orgObj;
+			if (other != org && (hit == null || other._ID < hit._ID)
+					&& (!strict || org.intersects(other)))
+				hit = other;
+		}
+		return hit;
+	}
+}
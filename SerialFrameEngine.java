@@ -0,0 +1,52 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+/**
+ * Moves organisms one after the other, in the order of the list of
+ * organisms. This is the classical behaviour of the simulation.
+ */
+public class SerialFrameEngine implements FrameEngine {
+	@Override
+	public void frame(World world) {
+		/* We can't use an Iterator here because this list has to be changed
+		 * inside Organism.move (when new organisms are born) and we need to
+		 * remove organisms with no energy, so a ConcurrentModificationException
+		 * will be thrown.
+		 */
+		int l = world._organisms.size();
+		for (int i=0; i<l; i++) {
+			Organism b = world._organisms.get(i);
+			if (!b.move()) {
+				// Organism has no energy -> remove from the list
+				world.removeOrganism(i);
+				l--;
+				i--;
+			}
+		}
+	}
+
+	@Override
+	public int getThreads() {
+		return 1;
+	}
+
+	@Override
+	public void shutdown() {
+		// Nothing to free
+	}
+}
@@ -0,0 +1,131 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+import java.util.Random;
+
+/**
+ * The random number generator used through all program. By default it is a
+ * normal {@link Random} shared by all threads. In deterministic worlds, every
+ * organism draws its numbers from its own stream while it executes a frame, so
+ * that the result doesn't depend on the order in which threads run.
+ * 
+ * A stream is bound to the current thread by {@link #enterStream} and released by
+ * {@link #exitStream}. Streams use the SplitMix64 algorithm, the same used by
+ * {@link java.util.SplittableRandom}, but they are reseeded in place so that no
+ * object is created for every organism and frame. As all methods of Random are
+ * built upon {@link #next}, the existing calls to Utils.random don't need
+ * to know if they are using a stream.
+ */
+public class StreamRandom extends Random {
+	private static final long serialVersionUID = Utils.FILE_VERSION;
+	/**
+	 * The increment of SplitMix64, the odd integer closest to 2^64 divided by the golden ratio.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	/**
+	 * State of the stream bound to a thread.
+	 */
+	private static final class Stream {
+		boolean active = false;
+		long state;
+	}
+	
+	private final ThreadLocal<Stream> _streams = new ThreadLocal<Stream>() {
+		@Override
+		protected Stream initialValue() {
+			return new Stream();
+		}
+	};
+	/**
+	 * Becomes true when a stream is used for the first time. Until then,
+	 * there is no need to look for the stream of the current thread.
+	 */
+	private volatile boolean _streamsUsed = false;
+	
+	public StreamRandom() {
+		super();
+	}
+	/**
+	 * Makes the current thread draw numbers from a stream with the given seed,
+	 * until {@link #exitStream} is called.
+	 * 
+	 * @param seed  The seed of the stream, usually obtained from {@link #streamSeed}.
+	 */
+	public void enterStream(long seed) {
+		_streamsUsed = true;
+		Stream s = _streams.get();
+		s.active = true;
+		s.state = seed;
+	}
+	/**
+	 * Makes the current thread use the shared generator again.
+	 */
+	public void exitStream() {
+		_streams.get().active = false;
+	}
+	/**
+	 * Calculates the seed of a stream. Different values of any parameter give
+	 * unrelated streams.
+	 * 
+	 * @param seed  The seed of the world.
+	 * @param id  The identification number of the organism.
+	 * @param frame  The frame being executed.
+	 * @param phase  The part of the frame being executed.
+	 * @return  The seed for the stream.
+	 */
+	public static long streamSeed(long seed, long id, long frame, int phase) {
+		long h = mix64(seed + GOLDEN_GAMMA);
+		h = mix64(h + id * GOLDEN_GAMMA);
+		h = mix64(h + frame * GOLDEN_GAMMA);
+		return mix64(h + phase);
+	}
+	
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	@Override
+	protected int next(int bits) {
+		if (_streamsUsed) {
+			Stream s = _streams.get();
+			if (s.active) {
+				s.state += GOLDEN_GAMMA;
+				return (int) (mix64(s.state) >>> (64 - bits));
+			}
+		}
+		return super.next(bits);
+	}
+	/**
+	 * Random keeps the second value of every pair of gaussian values, and this
+	 * would mix streams. Inside a stream, both values are calculated every time.
+	 */
+	@Override
+	public double nextGaussian() {
+		if (_streamsUsed && _streams.get().active) {
+			double v1, v2, s;
+			do {
+				v1 = 2 * nextDouble() - 1;
+				v2 = 2 * nextDouble() - 1;
+				s = v1 * v1 + v2 * v2;
+			} while (s >= 1 || s == 0);
+			return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+		}
+		return super.nextGaussian();
+	}
+}
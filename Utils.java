@@ -499,6 +499,79 @@ public final class Utils {
 	 * This is the default number of milliseconds that pass between frames.
 	 */
 	final static int DEF_DELAY = 2;
+	/**
+	 * This is the default number of threads used to move organisms at every frame.
+	 */
+	final static int DEF_FRAME_THREADS = 1;
+	/**
+	 * Broadphase that finds organisms that may be touching: a uniform grid.
+	 */
+	final static int BROADPHASE_GRID = 0;
+	/**
+	 * Broadphase that finds organisms that may be touching: an STRtree
+	 * built at every frame.
+	 */
+	final static int BROADPHASE_STRTREE = 1;
+	/**
+	 * This is the default broadphase used to find organisms that may be touching.
+	 */
+	final static int DEF_BROADPHASE = BROADPHASE_GRID;
+	/**
+	 * Organisms are moved by several threads sharing the list of organisms.
+	 */
+	final static int PARTITIONING_NONE = 0;
+	/**
+	 * The world is divided in vertical strips and every thread moves the
+	 * organisms in one of them.
+	 */
+	final static int PARTITIONING_STRIPS = 1;
+	/**
+	 * The world is divided in tiles and every thread moves the organisms
+	 * in one of them.
+	 */
+	final static int PARTITIONING_TILES = 2;
+	/**
+	 * This is the default way to divide the work among threads.
+	 */
+	final static int DEF_PARTITIONING = PARTITIONING_NONE;
+	/**
+	 * Frame pacing: a frame every {@link #DELAY} milliseconds, and the world
+	 * is drawn after every frame.
+	 */
+	final static int PACING_FIXED_FPS = 0;
+	/**
+	 * Frame pacing: frames are executed as fast as possible, and the world
+	 * is drawn {@link #RENDER_FPS} times per second.
+	 */
+	final static int PACING_MAX_THROUGHPUT = 1;
+	/**
+	 * Frame pacing: the world is drawn {@link #RENDER_FPS} times per second,
+	 * and before every drawing frames are executed for at most
+	 * {@link #FRAME_BUDGET} milliseconds.
+	 */
+	final static int PACING_BUDGET = 2;
+	/**
+	 * This is the default way of controlling the speed of the simulation.
+	 */
+	final static int DEF_PACING_MODE = PACING_FIXED_FPS;
+	/**
+	 * This is the default number of times per second that the world is drawn
+	 * when it isn't drawn after every frame.
+	 */
+	final static int DEF_RENDER_FPS = 30;
+	/**
+	 * This is the default number of milliseconds spent executing frames
+	 * between two drawings, with {@link #PACING_BUDGET}.
+	 */
+	final static int DEF_FRAME_BUDGET = 20;
+	/**
+	 * This is the default value for creating deterministic worlds.
+	 */
+	final static boolean DEF_DETERMINISTIC = false;
+	/**
+	 * This is the default seed of deterministic worlds.
+	 */
+	final static long DEF_SEED = 0;
 	/**
 	 * This is the default value for having or not having automatic backups.
 	 */
@@ -507,6 +580,10 @@ public final class Utils {
 	 * This is the default number of game time units that pass between backups.
 	 */
 	final static int DEF_BACKUP_DELAY = 100;
+	/**
+	 * This is the default number of backups of a world that are kept. Older ones are removed.
+	 */
+	final static int DEF_BACKUP_RETENTION = 10;
 	/**
 	 * This is the default port where the net server will listen for connections.
 	 */
@@ -995,6 +1072,49 @@ public final class Utils {
 	 * This is the number of milliseconds that pass between frames.
 	 */
 	static int DELAY = DEF_DELAY;
+	/**
+	 * This is the number of threads used to move organisms at every frame.
+	 * If it is 1, organisms are moved one after the other, as usual.
+	 */
+	static int FRAME_THREADS = DEF_FRAME_THREADS;
+	/**
+	 * This is the broadphase used to find organisms that may be touching,
+	 * {@link #BROADPHASE_GRID} or {@link #BROADPHASE_STRTREE}.
+	 */
+	static int BROADPHASE = DEF_BROADPHASE;
+	/**
+	 * This is the way to divide the work among threads when there are more than one,
+	 * {@link #PARTITIONING_NONE}, {@link #PARTITIONING_STRIPS} or {@link #PARTITIONING_TILES}.
+	 */
+	static int PARTITIONING = DEF_PARTITIONING;
+	/**
+	 * This is the way of controlling the speed of the simulation,
+	 * {@link #PACING_FIXED_FPS}, {@link #PACING_MAX_THROUGHPUT} or
+	 * {@link #PACING_BUDGET}.
+	 */
+	static int PACING_MODE = DEF_PACING_MODE;
+	/**
+	 * This is the number of times per second that the world is drawn
+	 * when it isn't drawn after every frame.
+	 */
+	static int RENDER_FPS = DEF_RENDER_FPS;
+	/**
+	 * This is the number of milliseconds spent executing frames between
+	 * two drawings, with {@link #PACING_BUDGET}.
+	 */
+	static int FRAME_BUDGET = DEF_FRAME_BUDGET;
+	/**
+	 * This is the value for creating deterministic worlds: worlds where every
+	 * organism draws random numbers from its own stream, derived from
+	 * {@link #SEED}, its identification number and the frame. Worlds created
+	 * with the same seed and parameters evolve exactly in the same way,
+	 * whatever the number of threads.
+	 */
+	static boolean DETERMINISTIC = DEF_DETERMINISTIC;
+	/**
+	 * This is the seed of new deterministic worlds.
+	 */
+	static long SEED = DEF_SEED;
 	/**
 	 * This is the value for having or not having automatic backups.
 	 */
@@ -1003,6 +1123,10 @@ public final class Utils {
 	 * This is the number of game time units that pass between backups.
 	 */
 	static int BACKUP_DELAY = DEF_BACKUP_DELAY;
+	/**
+	 * This is the number of backups of a world that are kept, or 0 to keep all of them.
+	 */
+	static int BACKUP_RETENTION = DEF_BACKUP_RETENTION;
 	/**
 	 * This is the port where the net server will listen for connections.
 	 */
@@ -1260,9 +1384,10 @@ public final class Utils {
 	 */
 	static final Color ColorDARK = new Color(32,16,8);
 	/**
-	 * Used through all program to calculate random numbers
+	 * Used through all program to calculate random numbers. In deterministic
+	 * worlds organisms draw from their own streams, see {@link StreamRandom}.
 	 */
-	public static Random random = new Random();
+	public static StreamRandom random = new StreamRandom();
 	/**
 	 * Used to get a random -1 or 1 to create numbers with random sign. 
 	 * 
@@ -1508,8 +1633,17 @@ public final class Utils {
 			prefs.putDouble("MAX_ROT",MAX_ROT); //$NON-NLS-1$
 			prefs.putDouble("ELASTICITY",ELASTICITY); //$NON-NLS-1$
 			prefs.putInt("DELAY",DELAY); //$NON-NLS-1$
+			prefs.putInt("FRAME_THREADS",FRAME_THREADS); //$NON-NLS-1$
+			prefs.putInt("BROADPHASE",BROADPHASE); //$NON-NLS-1$
+			prefs.putInt("PARTITIONING",PARTITIONING); //$NON-NLS-1$
+			prefs.putInt("PACING_MODE",PACING_MODE); //$NON-NLS-1$
+			prefs.putInt("RENDER_FPS",RENDER_FPS); //$NON-NLS-1$
+			prefs.putInt("FRAME_BUDGET",FRAME_BUDGET); //$NON-NLS-1$
+			prefs.putBoolean("DETERMINISTIC",DETERMINISTIC); //$NON-NLS-1$
+			prefs.putLong("SEED",SEED); //$NON-NLS-1$
 			prefs.putBoolean("AUTO_BACKUP",AUTO_BACKUP);
 			prefs.putInt("BACKUP_DELAY",BACKUP_DELAY);
+			prefs.putInt("BACKUP_RETENTION",BACKUP_RETENTION); //$NON-NLS-1$
 			prefs.putInt("LOCAL_PORT",LOCAL_PORT); //$NON-NLS-1$
 			prefs.putBoolean("ACCEPT_CONNECTIONS",ACCEPT_CONNECTIONS); //$NON-NLS-1$
 			prefs.putBoolean("CONNECT_TO_SERVER",CONNECT_TO_SERVER); //$NON-NLS-1$
@@ -1649,8 +1783,17 @@ public final class Utils {
 			MAX_ROT = prefs.getDouble("MAX_ROT",DEF_MAX_ROT); //$NON-NLS-1$
 			ELASTICITY = prefs.getDouble("ELASTICITY",DEF_ELASTICITY); //$NON-NLS-1$
 			DELAY = prefs.getInt("DELAY",DEF_DELAY); //$NON-NLS-1$
+			FRAME_THREADS = prefs.getInt("FRAME_THREADS",DEF_FRAME_THREADS); //$NON-NLS-1$
+			BROADPHASE = prefs.getInt("BROADPHASE",DEF_BROADPHASE); //$NON-NLS-1$
+			PARTITIONING = prefs.getInt("PARTITIONING",DEF_PARTITIONING); //$NON-NLS-1$
+			PACING_MODE = prefs.getInt("PACING_MODE",DEF_PACING_MODE); //$NON-NLS-1$
+			RENDER_FPS = prefs.getInt("RENDER_FPS",DEF_RENDER_FPS); //$NON-NLS-1$
+			FRAME_BUDGET = prefs.getInt("FRAME_BUDGET",DEF_FRAME_BUDGET); //$NON-NLS-1$
+			DETERMINISTIC = prefs.getBoolean("DETERMINISTIC",DEF_DETERMINISTIC); //$NON-NLS-1$
+			SEED = prefs.getLong("SEED",DEF_SEED); //$NON-NLS-1$
 			AUTO_BACKUP = prefs.getBoolean("AUTO_BACKUP",DEF_AUTO_BACKUP);
 			BACKUP_DELAY = prefs.getInt("BACKUP_DELAY",DEF_BACKUP_DELAY);
+			BACKUP_RETENTION = prefs.getInt("BACKUP_RETENTION",DEF_BACKUP_RETENTION); //$NON-NLS-1$
 			LOCAL_PORT = prefs.getInt("LOCAL_PORT",DEF_LOCAL_PORT); //$NON-NLS-1$
 			MAX_CONNECTIONS = prefs.getInt("MAX_CONNECTIONS",DEF_MAX_CONNECTIONS); //$NON-NLS-1$
 			ACCEPT_CONNECTIONS = prefs.getBoolean("ACCEPT_CONNECTIONS",DEF_ACCEPT_CONNECTIONS); //$NON-NLS-1$
@@ -35,7 +35,7 @@ import java.awt.image.*;
  * part: it's the place where organisms are drawn and is in charge of
  * the context menus management.
  */
-public class VisibleWorld extends JPanel {
+public class VisibleWorld extends JPanel implements WorldView {
 	/**
 	 * The version of this class
 	 */
@@ -123,7 +123,7 @@ public class VisibleWorld extends JPanel {
 	 * This is the selected organism. It is drawn with an orange bounding rectangle
 	 * and, if there is an {@link InfoWindow}, it shows information about this organism. 
 	 */
-	protected Organism _selectedOrganism = null;
+	protected volatile Organism _selectedOrganism = null;
 	/**
 	 * This is the last genetic code obtained using a Copy option. It is used when
 	 * pasting new organisms or in the genetic lab. 
@@ -140,6 +140,10 @@ public class VisibleWorld extends JPanel {
 	 */
 	protected int mouseY;
 	protected boolean drawingDisabled = false;
+	/**
+	 * Indicates that an update of the info panel has been queued and not done yet.
+	 */
+	private volatile boolean _infoUpdatePending = false;
 
 	/**
 	 * A reference to the {@link InfoWindow}, that is created from this class.
@@ -189,10 +193,13 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && b.isAlive()) {
-				double q = Math.min(10, _mainWindow.getWorld().getCO2());
-				_mainWindow.getWorld().addCO2(q);
-				b._energy += q;
-				_mainWindow.getWorld().addO2(q);
+				synchronized (_mainWindow.getWorld().getLock()) {
+					double q = Math.min(10, _mainWindow.getWorld().getCO2());
+					_mainWindow.getWorld().addCO2(q);
+					b._energy += q;
+					_mainWindow.getWorld().addO2(q);
+					_mainWindow.requestRender();
+				}
 			}
 		}
 	}
@@ -206,7 +213,10 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && b.isAlive()) {
-				b.useEnergy(b.getEnergy()/2);
+				synchronized (_mainWindow.getWorld().getLock()) {
+					b.useEnergy(b.getEnergy()/2);
+					_mainWindow.requestRender();
+				}
 			}
 		}
 	}
@@ -220,7 +230,10 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && b.isAlive()) {
-				b.die(null);
+				synchronized (_mainWindow.getWorld().getLock()) {
+					b.die(null);
+					_mainWindow.requestRender();
+				}
 			}
 		}
 	}
@@ -295,12 +308,15 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && !b.isAlive()) {
-				for (int i = 0; i < b._segments; i++)
-					b._segColor[i] = b.getGeneticCode().getGene(i%b.getGeneticCode().getNGenes()).getColor();
-				b.alive = true;
-				b.hasMoved = true;
-				b._age = 0;
-				_mainWindow.getWorld().increasePopulation();
+				synchronized (_mainWindow.getWorld().getLock()) {
+					for (int i = 0; i < b._segments; i++)
+						b.setSegColor(i, b.getGeneticCode().getGene(i%b.getGeneticCode().getNGenes()).getColor());
+					b.alive = true;
+					b.hasMoved = true;
+					b._age = 0;
+					_mainWindow.getWorld().increasePopulation();
+					_mainWindow.requestRender();
+				}
 				showAliveToolbar();
 			}
 		}
@@ -315,7 +331,10 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && !b.isAlive()) {
-				b.useEnergy(b.getEnergy());
+				synchronized (_mainWindow.getWorld().getLock()) {
+					b.useEnergy(b.getEnergy());
+					_mainWindow.requestRender();
+				}
 			}
 		}
 	}
@@ -329,7 +348,10 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && b.isAlive()) {
-				b.reproduce();
+				synchronized (_mainWindow.getWorld().getLock()) {
+					b.reproduce();
+					_mainWindow.requestRender();
+				}
 			}
 		}
 	}
@@ -343,7 +365,10 @@ public class VisibleWorld extends JPanel {
 		public void actionPerformed(ActionEvent e) {
 			Organism b = getSelectedOrganism();
 			if (b != null && b.isAlive()) {
-				b._age = 0;
+				synchronized (_mainWindow.getWorld().getLock()) {
+					b._age = 0;
+					_mainWindow.requestRender();
+				}
 			}
 		}
 	}
@@ -383,9 +408,12 @@ public class VisibleWorld extends JPanel {
 		
 		public void actionPerformed(ActionEvent e) {
 			GeneticCode g = new GeneticCode();
-			Organism newBiot = new Organism(_mainWindow.getWorld(), g);
-			if (newBiot.pasteOrganism(mouseX, mouseY))
-				_mainWindow.getWorld().addOrganism(newBiot, null);
+			synchronized (_mainWindow.getWorld().getLock()) {
+				Organism newBiot = new Organism(_mainWindow.getWorld(), g);
+				if (newBiot.pasteOrganism(mouseX, mouseY))
+					_mainWindow.getWorld().addOrganism(newBiot, null);
+				_mainWindow.requestRender();
+			}
 		}
 	}
 	
@@ -410,9 +438,12 @@ public class VisibleWorld extends JPanel {
     					BioXMLParser parser = new BioXMLParser();
 						g = parser.parseGeneticCode(chooser.getSelectedFile());
 						// Create organism
-    					newBiot = new Organism(_mainWindow.getWorld(), g);
-    					if (newBiot.pasteOrganism(mouseX, mouseY))
-    						_mainWindow.getWorld().addOrganism(newBiot, null);
+    					synchronized (_mainWindow.getWorld().getLock()) {
+    						newBiot = new Organism(_mainWindow.getWorld(), g);
+    						if (newBiot.pasteOrganism(mouseX, mouseY))
+    							_mainWindow.getWorld().addOrganism(newBiot, null);
+    						_mainWindow.requestRender();
+    					}
     				} catch (SAXException ex) {
     					System.err.println(ex.getMessage());
     					JOptionPane.showMessageDialog(null,Messages.getString("T_WRONG_FILE_VERSION"),Messages.getString("T_READ_ERROR"),JOptionPane.ERROR_MESSAGE); //$NON-NLS-1$ //$NON-NLS-2$
@@ -520,7 +551,8 @@ public class VisibleWorld extends JPanel {
 	}
 	/**
 	 * Calls World.draw to draw all world elements and paints the bounding rectangle
-	 * of the selected organism.
+	 * of the selected organism. The world is drawn from its last render snapshot,
+	 * so painting never waits for the simulation thread.
 	 *
 	 * @see JComponent#paintComponent(Graphics)
 	 */
@@ -528,12 +560,14 @@ public class VisibleWorld extends JPanel {
 	public void paintComponent (Graphics g) {
 		super.paintComponent(g);
 		if (!drawingDisabled) {
+			long start = System.nanoTime();
 			_mainWindow.getWorld().draw(g);
+			_mainWindow.getPacer().painted(System.nanoTime() - start);
 		}
-		if (getSelectedOrganism() != null) {
+		Organism selected = getSelectedOrganism();
+		if (selected != null) {
 			g.setColor(Color.ORANGE);
-			g.drawRect(_selectedOrganism.x, _selectedOrganism.y,
-					_selectedOrganism.width-1, _selectedOrganism.height-1);
+			g.drawRect(selected.x, selected.y, selected.width-1, selected.height-1);
 		}
     }
 	
@@ -585,6 +619,95 @@ public class VisibleWorld extends JPanel {
 		toolBar.repaint();
 	}
 	
+	/**
+	 * Runs an update of the user interface in the event dispatch thread.
+	 * World events are usually produced by the simulation thread, that
+	 * must not wait for the user interface.
+	 * 
+	 * @param r  The update to run.
+	 */
+	private void invokeOnEDT(Runnable r) {
+		if (EventQueue.isDispatchThread())
+			r.run();
+		else
+			EventQueue.invokeLater(r);
+	}
+	
+	public void worldResized(final int width, final int height) {
+		invokeOnEDT(new Runnable() {
+			public void run() {
+				setPreferredSize(new Dimension(width, height));
+				revalidate();
+			}
+		});
+	}
+	
+	public void worldCleared() {
+		invokeOnEDT(new Runnable() {
+			public void run() {
+				setSelectedOrganism(null);
+			}
+		});
+	}
+	
+	public void worldInfoChanged() {
+		// Don't queue a new update if the last one hasn't been done yet
+		if (_infoUpdatePending)
+			return;
+		_infoUpdatePending = true;
+		invokeOnEDT(new Runnable() {
+			public void run() {
+				_infoUpdatePending = false;
+				_mainWindow.getInfoPanel().recalculate();
+			}
+		});
+	}
+	
+	public void organismAdded(Organism child, final Organism parent) {
+		if (parent != null && parent == _selectedOrganism)
+			invokeOnEDT(new Runnable() {
+				public void run() {
+					_mainWindow.getInfoPanel().changeNChildren();
+				}
+			});
+	}
+	
+	public void organismRemoved(final Organism org) {
+		repaint(org);
+		if (org == _selectedOrganism)
+			invokeOnEDT(new Runnable() {
+				public void run() {
+					if (org == _selectedOrganism)
+						setSelectedOrganism(null);
+				}
+			});
+	}
+	
+	public void organismDied(final Organism dyingOrganism, Organism killingOrganism) {
+		if (killingOrganism != null && killingOrganism == _selectedOrganism)
+			invokeOnEDT(new Runnable() {
+				public void run() {
+					_mainWindow.getInfoPanel().changeNKills();
+				}
+			});
+		if (dyingOrganism == _selectedOrganism)
+			invokeOnEDT(new Runnable() {
+				public void run() {
+					if (dyingOrganism == _selectedOrganism)
+						showDeadToolbar();
+				}
+			});
+	}
+	
+	public void organismInfected(Organism infectedOrganism, Organism infectingOrganism) {
+		if (infectingOrganism != null && infectingOrganism == _selectedOrganism)
+			invokeOnEDT(new Runnable() {
+				public void run() {
+					_mainWindow.getInfoPanel().changeNInfected();
+				}
+			});
+	}
+	
 	/**
 	 * Creates all popup menus.
 	 */
@@ -666,10 +789,13 @@ public class VisibleWorld extends JPanel {
 	 * @return  true if the organism has been created (if there is space for it), false otherwise
 	 */	
 	public boolean pasteGeneticCode(GeneticCode gc, int x, int y) {
-		Organism newOrganism = new Organism(_mainWindow.getWorld(), gc);
-		if (newOrganism.pasteOrganism(x, y)) {
-			_mainWindow.getWorld().addOrganism(newOrganism, null);
-			return true;
+		synchronized (_mainWindow.getWorld().getLock()) {
+			Organism newOrganism = new Organism(_mainWindow.getWorld(), gc);
+			if (newOrganism.pasteOrganism(x, y)) {
+				_mainWindow.getWorld().addOrganism(newOrganism, null);
+				_mainWindow.requestRender();
+				return true;
+			}
 		}
 		return false;
 	}
@@ -16,22 +16,12 @@
  *
  */
 
-import com.github.davidmoten.rtree.RTree;
-import com.github.davidmoten.rtree.fbs.generated.Geometry_;
-import com.github.davidmoten.rtree.geometry.Geometries;
-import com.github.davidmoten.rtree.geometry.Geometry;
-import com.github.davidmoten.rtree.geometry.Point;
-import com.vividsolutions.jts.geom.Coordinate;
-import com.vividsolutions.jts.geom.Envelope;
-import com.vividsolutions.jts.index.kdtree.KdNode;
-import com.vividsolutions.jts.index.kdtree.KdTree;
-import com.vividsolutions.jts.index.strtree.STRtree;
-import net.jafama.FastMath;
-import sun.util.resources.cldr.rm.CalendarData_rm_CH;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Collections;
 import java.io.*;
 import java.awt.*;
@@ -48,6 +38,13 @@ public class World implements Serializable{
 	 * Version number of the class
 	 */
 	private static final long serialVersionUID = Utils.FILE_VERSION;
+	/**
+	 * Edges of the world, used by {@link #setOpenEdges}.
+	 */
+	public static final int EDGE_LEFT = 1;
+	public static final int EDGE_RIGHT = 2;
+	public static final int EDGE_TOP = 4;
+	public static final int EDGE_BOTTOM = 8;
 	/**
 	 * World width
 	 */
@@ -62,7 +59,6 @@ public class World implements Serializable{
 	 * manually synchronize when iterating over it. 
 	 */
 	protected List<Organism> _organisms;
-//	protected List<Organism> _organismsToAdd = new ArrayList<>();
 	/**
 	 * A list of all input biological corridors from where organisms
 	 * of other hosts will arrive.
@@ -87,11 +83,35 @@ public class World implements Serializable{
 	 */
 	protected int NEXT_ID;
 	/**
-	 * A reference to the visible world part of this world used basically
-	 * to indicate which parts of the world should be repainted due to
-	 * events in the world.
+	 * Indicates that organisms use their own random streams, so that the
+	 * world evolves the same way every time it starts from the same seed.
+	 * See {@link Utils#DETERMINISTIC}.
+	 */
+	protected boolean _deterministic;
+	/**
+	 * Seed of the random streams of a deterministic world.
+	 */
+	protected long _seed;
+	/**
+	 * Number of frames executed since the world was created. Used to
+	 * obtain the random streams of a deterministic world.
+	 */
+	protected long _frame;
+	/**
+	 * Number of frames between two checksums of the world, or 0 if
+	 * checksums are not calculated while executing frames.
+	 */
+	transient private int _checksumInterval = 0;
+	/**
+	 * Combination of all checksums calculated every {@link #_checksumInterval} frames.
+	 */
+	transient private volatile long _rollingChecksum = 0;
+	/**
+	 * A reference to the view of this world used basically to indicate
+	 * which parts of the world should be repainted due to events in the
+	 * world. It is a {@link NullWorldView} when running without a display.
 	 */
-	transient protected VisibleWorld _visibleWorld;
+	transient protected WorldView _view;
 	/**
 	 * Frame counter. 256 frames are a time unit. This value is used to count
 	 * time and to trigger some window updating at regular intervals.
@@ -105,10 +125,78 @@ public class World implements Serializable{
 	 * The amount of CO2 in the atmosphere of this world.
 	 */
 	protected double _CO2;
+	/**
+	 * O2 that organisms have consumed in a parallel phase of a frame when
+	 * there wasn't enough of it in the atmosphere. It is paid off with the
+	 * O2 that is returned to the atmosphere later.
+	 * See {@link #closeAtmospherePhase}.
+	 */
+	protected double _O2Deficit;
+	/**
+	 * CO2 that organisms have consumed in a parallel phase of a frame when
+	 * there wasn't enough of it in the atmosphere. It is paid off with the
+	 * CO2 that is returned to the atmosphere later.
+	 */
+	protected double _CO2Deficit;
 	/**
 	 * Reference to the object that keeps track of all world statistics. 
 	 */
 	protected WorldStatistics worldStatistics;
+	/**
+	 * The engine that moves all organisms every frame. It can be serial or
+	 * parallel, depending on {@link Utils#FRAME_THREADS} and {@link Utils#PARTITIONING}.
+	 */
+	transient protected FrameEngine _frameEngine;
+	/**
+	 * Lock that protects the atmosphere (O2 and CO2) when it is changed
+	 * directly from more than one thread.
+	 */
+	transient private Object _atmosphereLock = new Object();
+	/**
+	 * Per thread accumulators used instead of the atmosphere while organisms
+	 * are moved in parallel.
+	 */
+	transient private AtmosphereLedger _ledger = new AtmosphereLedger();
+	/**
+	 * Indicates that changes to the atmosphere must go to {@link #_ledger}.
+	 */
+	transient private volatile boolean _deferringAtmosphere = false;
+	/**
+	 * First identification number given after {@link #genesis} and difference
+	 * between consecutive numbers. See {@link #setIdSequence}.
+	 */
+	transient private int _firstId = 0;
+	transient private int _idStep = 1;
+	/**
+	 * Edges of the world that organisms can cross, a combination of
+	 * {@link #EDGE_LEFT}, {@link #EDGE_RIGHT}, {@link #EDGE_TOP} and {@link #EDGE_BOTTOM}.
+	 */
+	transient private int _openEdges = 0;
+	/**
+	 * Increased every time an organism is added or removed, so that frame
+	 * engines that keep their own lists know when they must rebuild them.
+	 */
+	transient private int _organismsVersion = 0;
+	/**
+	 * Indicates that organisms are being moved in parallel, so births must
+	 * be delayed until the commit phase of the frame.
+	 */
+	transient private volatile boolean _deferringBirths = false;
+	/**
+	 * Spatial index used to find organisms that may be touching. It is
+	 * informed every time an organism is added, removed or moved.
+	 */
+	transient protected Broadphase _broadphase;
+	/**
+	 * The last picture of the organisms published by the simulation. It is
+	 * replaced as a whole after every frame and read without locking when
+	 * painting.
+	 */
+	transient private volatile RenderSnapshot _renderSnapshot = RenderSnapshot.EMPTY;
+	/**
+	 * Log where births, deaths and infections are recorded, or null.
+	 */
+	transient private volatile LineageLog _lineageLog;
 	/**
 	 * Called by the JRE when an instance of this class is read from a file
 	 * 
@@ -119,16 +207,156 @@ public class World implements Serializable{
 	private void readObject(ObjectInputStream in)
     throws IOException, ClassNotFoundException {
 		in.defaultReadObject();
+		_atmosphereLock = new Object();
+		_ledger = new AtmosphereLedger();
+		_idStep = 1;
+		initLoadedWorld();
+	}
+	/**
+	 * Creates a world from a snapshot. See {@link WorldSnapshot}.
+	 * 
+	 * @param view  The view of the world.
+	 * @param in  The snapshot being read.
+	 * @throws IOException
+	 */
+	World(WorldView view, WorldSnapshot.Input in) throws IOException {
+		_view = view;
+		readState(in);
+		worldStatistics = new WorldStatistics(in);
+		int n = readOrganismCount(in);
+		_organisms = Collections.synchronizedList(new ArrayList<Organism>(Math.max(n, Utils.ORGANISMS_VECTOR_SIZE)));
+		for (int i=0; i<n; i++)
+			_organisms.add(new Organism(this, in));
+		initLoadedWorld();
+	}
+	/**
+	 * Writes this world to a snapshot. See {@link WorldSnapshot}.
+	 * The world must not change while it is written.
+	 * 
+	 * @param out  The snapshot being written.
+	 * @throws IOException
+	 */
+	void writeSnapshot(WorldSnapshot.Output out) throws IOException {
+		writeState(out);
+		worldStatistics.writeSnapshot(out);
+		synchronized (_organisms) {
+			out.writeInt(_organisms.size());
+			for (Organism o : _organisms)
+				o.writeSnapshot(out);
+		}
+	}
+	/**
+	 * Writes the changes of this world since the last checkpoint. The
+	 * atmosphere and the other values of the world are written as a whole,
+	 * and the organisms in their current order, each one as the checkpointer
+	 * decides. Organisms that have been removed are not written.
+	 * The world must not change while it is written.
+	 * 
+	 * @param out  The delta being written.
+	 * @param checkpointer  The checkpointer that knows what was written before.
+	 * @throws IOException
+	 */
+	void writeSnapshotDelta(WorldSnapshot.Output out, Checkpointer checkpointer) throws IOException {
+		writeState(out);
+		worldStatistics.writeSnapshotDelta(out, checkpointer.getStatisticsTime());
+		synchronized (_organisms) {
+			out.writeInt(_organisms.size());
+			for (Organism o : _organisms)
+				checkpointer.writeOrganism(out, o);
+		}
+	}
+	/**
+	 * Applies a delta written by {@link #writeSnapshotDelta} to this world.
+	 * Organisms that are not in the delta are removed and the spatial index
+	 * is built again.
+	 * 
+	 * @param in  The delta being read.
+	 * @throws IOException
+	 */
+	void readSnapshotDelta(WorldSnapshot.Input in) throws IOException {
+		readState(in);
+		worldStatistics.readSnapshotDelta(in);
+		int n = readOrganismCount(in);
+		Map<Integer,Organism> previous = new HashMap<Integer,Organism>();
+		for (Organism o : _organisms)
+			previous.put(o._ID, o);
+		List<Organism> organisms = new ArrayList<Organism>(Math.max(n, Utils.ORGANISMS_VECTOR_SIZE));
+		for (int i=0; i<n; i++) {
+			int id = in.readInt();
+			int parts = in.readInt();
+			Organism o;
+			if (parts == 0) {
+				o = new Organism(this, in);
+			} else {
+				o = previous.remove(id);
+				if (o == null)
+					throw new IOException("Unknown organism: "+id); //$NON-NLS-1$
+				o.readSnapshot(in, parts);
+			}
+			organisms.add(o);
+		}
+		_organisms = Collections.synchronizedList(organisms);
+		_organismsVersion++;
+		_broadphase.clear();
+		_frameEngine.shutdown();
+		initLoadedWorld();
+	}
+	
+	private void readState(WorldSnapshot.Input in) throws IOException {
+		_width = in.readInt();
+		_height = in.readInt();
+		_population = in.readInt();
+		NEXT_ID = in.readInt();
+		_deterministic = in.readBoolean();
+		_seed = in.readLong();
+		_frame = in.readLong();
+		nFrames = in.readInt();
+		_O2 = in.readDouble();
+		_CO2 = in.readDouble();
+		_O2Deficit = in.readDouble();
+		_CO2Deficit = in.readDouble();
+	}
+	
+	private void writeState(WorldSnapshot.Output out) throws IOException {
+		out.writeInt(_width);
+		out.writeInt(_height);
+		out.writeInt(_population);
+		out.writeInt(NEXT_ID);
+		out.writeBoolean(_deterministic);
+		out.writeLong(_seed);
+		out.writeLong(_frame);
+		out.writeInt(nFrames);
+		out.writeDouble(_O2);
+		out.writeDouble(_CO2);
+		out.writeDouble(_O2Deficit);
+		out.writeDouble(_CO2Deficit);
+	}
+	
+	private static int readOrganismCount(WorldSnapshot.Input in) throws IOException {
+		int n = in.readInt();
+		if (n < 0)
+			throw new IOException("Wrong number of organisms: "+n); //$NON-NLS-1$
+		return n;
+	}
+	/**
+	 * Creates the parts of a world read from a file that are not saved.
+	 */
+	private void initLoadedWorld() {
 		inCorridors = Collections.synchronizedList(new ArrayList<InCorridor>());
 		outCorridors = Collections.synchronizedList(new ArrayList<OutCorridor>());
+		_frameEngine = createFrameEngine();
+		_broadphase = createBroadphase();
+		_broadphase.insertAll(_organisms);
+		_renderSnapshot = RenderSnapshot.EMPTY;
 	}
 	/**
 	 * Returns a new StatisticsWindow refering to this world.
 	 * 
+	 * @param mainWindow  The window that owns the statistics window.
 	 * @return  A newly created StatisticsWindow.
 	 */
-	public StatisticsWindow createStatisticsWindow() {
-		return new StatisticsWindow(_visibleWorld._mainWindow, worldStatistics, _organisms);
+	public StatisticsWindow createStatisticsWindow(MainWindow mainWindow) {
+		return new StatisticsWindow(mainWindow, worldStatistics, _organisms);
 	}
 	/**
 	 * Finds an organism that has the given coordinates inside its bounding box and
@@ -178,7 +406,21 @@ public class World implements Serializable{
 	 * @return  A unique number used to identify an organism.
 	 */
 	public int getNewId() {
-		return NEXT_ID++;
+		int id = NEXT_ID;
+		NEXT_ID += _idStep;
+		return id;
+	}
+	/**
+	 * Makes this world give identification numbers that start at {@code first} and
+	 * increase by {@code step}, so that several worlds that exchange organisms
+	 * never give the same number. Takes effect in the next {@link #genesis}.
+	 * 
+	 * @param first  The first identification number.
+	 * @param step  The difference between consecutive numbers.
+	 */
+	public void setIdSequence(int first, int step) {
+		_firstId = first;
+		_idStep = step;
 	}
 	/**
 	 * Returns the actual time.
@@ -243,13 +485,54 @@ public class World implements Serializable{
 	public double getCO2() {
 		return _CO2;
 	}
+	/**
+	 * Returns the O2 that has been consumed and not yet returned to an empty
+	 * atmosphere. See {@link #closeAtmospherePhase}.
+	 * 
+	 * @return  The O2 owed to the atmosphere.
+	 */
+	public double getO2Deficit() {
+		return _O2Deficit;
+	}
+	/**
+	 * Returns the CO2 that has been consumed and not yet returned to an empty
+	 * atmosphere. See {@link #closeAtmospherePhase}.
+	 * 
+	 * @return  The CO2 owed to the atmosphere.
+	 */
+	public double getCO2Deficit() {
+		return _CO2Deficit;
+	}
+	/**
+	 * Replaces the contents of the atmosphere. Used when several worlds share
+	 * a single atmosphere. Negative amounts are kept as deficits.
+	 * 
+	 * @param O2  The new amount of O2.
+	 * @param CO2  The new amount of CO2.
+	 */
+	public void setAtmosphere(double O2, double CO2) {
+		synchronized (_atmosphereLock) {
+			_O2 = Math.max(O2, 0);
+			_O2Deficit = Math.max(-O2, 0);
+			_CO2 = Math.max(CO2, 0);
+			_CO2Deficit = Math.max(-CO2, 0);
+		}
+	}
 	/**
 	 * Add O2 to the atmosphere.
 	 * 
 	 * @param q  The amount of O2 to add.
 	 */
 	public void addO2(double q) {
-		_O2 += q;
+		if (_deferringAtmosphere) {
+			_ledger.addO2(q);
+			return;
+		}
+		synchronized (_atmosphereLock) {
+			_O2 += q;
+			if (_O2Deficit > 0)
+				settleDeficits();
+		}
 	}
 	/**
 	 * Add CO2 to the atmosphere.
@@ -257,7 +540,15 @@ public class World implements Serializable{
 	 * @param q  The amount of CO2 to add.
 	 */
 	public void addCO2(double q) {
-		_CO2 += q;
+		if (_deferringAtmosphere) {
+			_ledger.addCO2(q);
+			return;
+		}
+		synchronized (_atmosphereLock) {
+			_CO2 += q;
+			if (_CO2Deficit > 0)
+				settleDeficits();
+		}
 	}
 	/**
 	 * Substracts O2 from the atmosphere.
@@ -265,7 +556,13 @@ public class World implements Serializable{
 	 * @param q  The amount of O2 to substract.
 	 */
 	public void decreaseO2(double q) {
-		_O2 -= Math.min(q, _O2);
+		if (_deferringAtmosphere) {
+			_ledger.decreaseO2(q);
+			return;
+		}
+		synchronized (_atmosphereLock) {
+			_O2 -= Math.min(q, _O2);
+		}
 	}
 	/**
 	 * Substract CO2 from the atmosphere.
@@ -273,7 +570,13 @@ public class World implements Serializable{
 	 * @param q  The amount of CO2 to substract.
 	 */
 	public void decreaseCO2(double q) {
-		_CO2 -= Math.min(q, _CO2);
+		if (_deferringAtmosphere) {
+			_ledger.decreaseCO2(q);
+			return;
+		}
+		synchronized (_atmosphereLock) {
+			_CO2 -= Math.min(q, _CO2);
+		}
 	}
 	/**
 	 * Consume O2 from the atmosphere to realize the respiration process
@@ -285,10 +588,16 @@ public class World implements Serializable{
 	 * unless there weren't enough O2 in the atmosphere.
 	 */
 	public double respiration(double q) {
-		double d = Math.min(q,_O2);
-		_O2 -= d;
-		_CO2 += d;
-		return d;
+		if (_deferringAtmosphere)
+			return _ledger.respiration(q);
+		synchronized (_atmosphereLock) {
+			double d = Math.min(q,_O2);
+			_O2 -= d;
+			_CO2 += d;
+			if (_CO2Deficit > 0)
+				settleDeficits();
+			return d;
+		}
 	}
 	/**
 	 * Consume CO2 from the atmosphere to realize the photosynthesis process
@@ -309,35 +618,352 @@ public class World implements Serializable{
 	 */
 	public double photosynthesis(double q) {
 		q /= Utils.GREEN_OBTAINED_ENERGY_DIVISOR;
-		q = Utils.min(q,q*_CO2/Utils.DRAIN_SUBS_DIVISOR,_CO2);
-		_CO2 -= q;
-		_O2 += q;
+		if (_deferringAtmosphere)
+			return _ledger.photosynthesis(q);
+		synchronized (_atmosphereLock) {
+			q = Utils.min(q,q*_CO2/Utils.DRAIN_SUBS_DIVISOR,_CO2);
+			_CO2 -= q;
+			_O2 += q;
+			if (_O2Deficit > 0)
+				settleDeficits();
+		}
 		return q;
 	}
+	/**
+	 * Starts a part of the frame where organisms are moved in parallel. Until
+	 * {@link #closeAtmospherePhase} is called, changes to the atmosphere are kept
+	 * by each thread apart and every request is served from the levels that the
+	 * atmosphere has now. Used by {@link ParallelFrameEngine}.
+	 */
+	void openAtmospherePhase() {
+		synchronized (_atmosphereLock) {
+			_ledger.open(_O2, _CO2);
+		}
+		_deferringAtmosphere = true;
+	}
+	/**
+	 * Finishes the parallel part of a frame and applies to the atmosphere
+	 * the changes made by all threads. Must be called when all of them have
+	 * finished.
+	 * 
+	 * As every organism has been served as if it were alone, the total amount
+	 * of O2 or CO2 consumed may exceed what there was in the atmosphere. In that
+	 * case nobody is denied afterwards: the gas is left at zero and the excess is
+	 * kept as a deficit. Gas returned to the atmosphere pays off the deficit
+	 * before it becomes available again, so in the meantime requests get nothing,
+	 * as they would with an empty atmosphere. This way the total amount of matter
+	 * in the world doesn't change and the result doesn't depend on the number
+	 * of threads or on the order in which they run.
+	 */
+	void closeAtmospherePhase() {
+		_deferringAtmosphere = false;
+		synchronized (_atmosphereLock) {
+			_O2 += _ledger.drainO2();
+			_CO2 += _ledger.drainCO2();
+			if (_O2 < 0) {
+				_O2Deficit -= _O2;
+				_O2 = 0;
+			}
+			if (_CO2 < 0) {
+				_CO2Deficit -= _CO2;
+				_CO2 = 0;
+			}
+			settleDeficits();
+		}
+	}
+	/**
+	 * Uses the gas available in the atmosphere to pay off the deficits.
+	 * The atmosphere must be locked by the caller.
+	 */
+	private void settleDeficits() {
+		double d = Math.min(_O2, _O2Deficit);
+		_O2 -= d;
+		_O2Deficit -= d;
+		d = Math.min(_CO2, _CO2Deficit);
+		_CO2 -= d;
+		_CO2Deficit -= d;
+	}
 	/**
 	 * Constructor of the World class. All internal structures are initialized and
 	 * the world's size is obtained from parameters.
 	 * 
-	 * @param visibleWorld  A reference to the visual representation of this world.
+	 * @param view  A reference to the view of this world.
 	 */
-	public World(VisibleWorld visibleWorld) {
-		_visibleWorld = visibleWorld;
+	public World(WorldView view) {
+		_view = view;
+		_deterministic = Utils.DETERMINISTIC;
+		_seed = Utils.SEED;
 		_width = Utils.WORLD_WIDTH;
 		_height = Utils.WORLD_HEIGHT;
 		_organisms = Collections.synchronizedList(new ArrayList<Organism>(Utils.ORGANISMS_VECTOR_SIZE));
 		inCorridors = Collections.synchronizedList(new ArrayList<InCorridor>());
 		outCorridors = Collections.synchronizedList(new ArrayList<OutCorridor>());
 		worldStatistics = new WorldStatistics();
+		_frameEngine = createFrameEngine();
+		_broadphase = createBroadphase();
+	}
+	/**
+	 * Creates the frame engine indicated by the user preferences.
+	 * 
+	 * @return  A serial engine if only one thread must be used, a parallel
+	 * engine or an engine that divides the world in regions otherwise.
+	 */
+	private FrameEngine createFrameEngine() {
+		if (useParallelEngine()) {
+			if (Utils.PARTITIONING != Utils.PARTITIONING_NONE)
+				return new RegionFrameEngine(Math.max(Utils.FRAME_THREADS, 1), Utils.PARTITIONING);
+			return new ParallelFrameEngine(Math.max(Utils.FRAME_THREADS, 1));
+		}
+		return new SerialFrameEngine();
+	}
+	/**
+	 * Indicates if organisms must be moved with a {@link ParallelFrameEngine}
+	 * or a {@link RegionFrameEngine}. Deterministic worlds always use one, even
+	 * with one thread, so that the number of threads doesn't change the result.
+	 * This is not true for regions, as every thread has its own region.
+	 * 
+	 * @return  true if a parallel engine must be used.
+	 */
+	private boolean useParallelEngine() {
+		return Utils.FRAME_THREADS > 1 || _deterministic;
+	}
+	/**
+	 * Indicates if the current frame engine is the one that the user
+	 * preferences ask for.
+	 * 
+	 * @return  true if the frame engine doesn't need to be replaced.
+	 */
+	private boolean isFrameEngineUpToDate() {
+		if (!useParallelEngine())
+			return _frameEngine instanceof SerialFrameEngine;
+		if (_frameEngine.getThreads() != Math.max(Utils.FRAME_THREADS, 1))
+			return false;
+		if (Utils.PARTITIONING == Utils.PARTITIONING_NONE)
+			return _frameEngine instanceof ParallelFrameEngine;
+		return _frameEngine instanceof RegionFrameEngine
+				&& ((RegionFrameEngine) _frameEngine).getPartitioning() == Utils.PARTITIONING;
+	}
+	/**
+	 * Replaces the frame engine if the number of threads or the work division
+	 * in the user preferences have changed.
+	 */
+	public void updateFrameEngine() {
+		synchronized (_organisms) {
+			if (!isFrameEngineUpToDate()) {
+				_frameEngine.shutdown();
+				_frameEngine = createFrameEngine();
+			}
+		}
+	}
+	/**
+	 * Makes the current thread use the random stream of an organism for the
+	 * given phase of the current frame, if this world is deterministic. Must be
+	 * followed by {@link #exitRandomStream}.
+	 * 
+	 * @param org  The organism that is going to execute part of a frame.
+	 * @param phase  The part of the frame.
+	 */
+	void enterRandomStream(Organism org, int phase) {
+		if (_deterministic)
+			Utils.random.enterStream(StreamRandom.streamSeed(_seed, org._ID, _frame, phase));
+	}
+	/**
+	 * Makes the current thread stop using the random stream of an organism.
+	 */
+	void exitRandomStream() {
+		if (_deterministic)
+			Utils.random.exitStream();
+	}
+	/**
+	 * Returns true if this world uses random streams to be reproducible.
+	 * 
+	 * @return  true if the world is deterministic.
+	 */
+	public boolean isDeterministic() {
+		return _deterministic;
+	}
+	/**
+	 * Returns the seed of the random streams of a deterministic world.
+	 * 
+	 * @return  The seed.
+	 */
+	public long getSeed() {
+		return _seed;
+	}
+	/**
+	 * Calculates a hash of the state of the world: the atmosphere and the
+	 * position, energy and genetic code of every organism, in the order of
+	 * the list of organisms. Two worlds that have evolved in the same way
+	 * have the same checksum.
+	 * 
+	 * @return  The checksum of the world.
+	 */
+	public long checksum() {
+		synchronized (_organisms) {
+			long h = Double.doubleToLongBits(_O2);
+			h = h * 31 + Double.doubleToLongBits(_CO2);
+			h = h * 31 + _organisms.size();
+			for (int i=0; i<_organisms.size(); i++)
+				h = h * 31 + _organisms.get(i).checksum();
+			return h;
+		}
+	}
+	/**
+	 * Makes the world record the births, deaths and infections of its
+	 * organisms in a log.
+	 * 
+	 * @param log  The log, or null to stop recording them.
+	 */
+	public void setLineageLog(LineageLog log) {
+		_lineageLog = log;
+	}
+	/**
+	 * Makes the world calculate its checksum every given number of frames
+	 * and combine it with the previous ones. See {@link #getRollingChecksum}.
+	 * 
+	 * @param interval  The number of frames between checksums, or 0 to
+	 * stop calculating them.
+	 */
+	public void setChecksumInterval(int interval) {
+		_checksumInterval = Math.max(interval, 0);
+		_rollingChecksum = 0;
+	}
+	/**
+	 * Returns the combination of all checksums calculated since the checksum
+	 * interval was set. Two runs that have the same rolling checksum have gone
+	 * through the same states at every interval.
+	 * 
+	 * @return  The rolling checksum.
+	 */
+	public long getRollingChecksum() {
+		return _rollingChecksum;
+	}
+	/**
+	 * Replaces the frame engine used by this world, independently of the
+	 * user preferences. Used to compare engines.
+	 * 
+	 * @param engine  The new frame engine.
+	 */
+	public void setFrameEngine(FrameEngine engine) {
+		synchronized (_organisms) {
+			_frameEngine.shutdown();
+			_frameEngine = engine;
+		}
+	}
+	/**
+	 * Returns the organisms in the world. The list must be locked while
+	 * iterating over it.
+	 * 
+	 * @return  The list of organisms.
+	 */
+	public List<Organism> getOrganisms() {
+		return _organisms;
+	}
+	/**
+	 * Returns the number of frames executed since the world was created.
+	 * 
+	 * @return  The number of frames.
+	 */
+	public long getFrame() {
+		return _frame;
+	}
+	/**
+	 * Stops the threads used by the frame engine. The world can't be
+	 * used after calling this method.
+	 */
+	public void shutdown() {
+		_frameEngine.shutdown();
+	}
+	/**
+	 * Creates the broadphase indicated by the user preferences.
+	 * 
+	 * @return  A new and empty broadphase for this world.
+	 */
+	private Broadphase createBroadphase() {
+		if (Utils.BROADPHASE == Utils.BROADPHASE_STRTREE)
+			return new STRtreeBroadphase();
+		return new GridBroadphase(_width, _height);
+	}
+	/**
+	 * Replaces the broadphase if the user preferences have changed.
+	 */
+	public void updateBroadphase() {
+		synchronized (_organisms) {
+			Broadphase broadphase = createBroadphase();
+			if (broadphase.getClass() != _broadphase.getClass()) {
+				_broadphase.clear();
+				_broadphase = broadphase;
+				_broadphase.insertAll(_organisms);
+			}
+		}
+	}
+	/**
+	 * Returns the object that must be locked to modify the world from a thread
+	 * other than the one that executes {@link #time}, like the event dispatch
+	 * thread.
+	 * 
+	 * @return  The lock of the world.
+	 */
+	public Object getLock() {
+		return _organisms;
+	}
+	/**
+	 * Takes a new picture of the organisms and makes it the one that will be
+	 * drawn by {@link #draw}. Called after every frame.
+	 */
+	public void publishRenderSnapshot() {
+		synchronized (_organisms) {
+			_renderSnapshot = RenderSnapshot.create(_organisms);
+		}
+	}
+	/**
+	 * Returns the last picture of the organisms published by {@link #publishRenderSnapshot}.
+	 * 
+	 * @return  The last render snapshot.
+	 */
+	public RenderSnapshot getRenderSnapshot() {
+		return _renderSnapshot;
+	}
+	/**
+	 * Indicates if births must be delayed because organisms are being
+	 * moved in parallel.
+	 * 
+	 * @return  true if organisms must not be added to the world right now.
+	 */
+	public boolean isDeferringBirths() {
+		return _deferringBirths;
+	}
+	/**
+	 * Starts or finishes a part of the frame where organisms are moved
+	 * in parallel. Used by {@link ParallelFrameEngine}.
+	 * 
+	 * @param deferringBirths  true when starting, false when finishing.
+	 */
+	void setDeferringBirths(boolean deferringBirths) {
+		_deferringBirths = deferringBirths;
+	}
+	/**
+	 * Tells the world that the bounding rectangle of an organism has changed,
+	 * so that the spatial index can be updated. While organisms are being moved
+	 * in parallel the index is not changed: the frame engine must call this
+	 * method again for all moved organisms once the parallel part has finished.
+	 * 
+	 * @param org  The organism that has moved.
+	 */
+	public void organismMoved(Organism org) {
+		if (!_deferringBirths)
+			_broadphase.update(org);
 	}
 	/**
 	 * When a world object is read from a file, it must be linked with its visualization.
 	 * That is what this method does.
 	 * 
-	 * @param visibleWorld  A reference to the visual representation of this world.
+	 * @param view  A reference to the view of this world.
 	 */
-	public void init(VisibleWorld visibleWorld) {
-		_visibleWorld = visibleWorld;
-		_visibleWorld.setPreferredSize(new Dimension(getWidth(), getHeight()));
+	public void init(WorldView view) {
+		_view = view;
+		_view.worldResized(getWidth(), getHeight());
+		publishRenderSnapshot();
 	}
 	/**
 	 * Populate the word with a new set of organisms.
@@ -348,23 +974,39 @@ public class World implements Serializable{
 		nFrames = 0;
 		_O2 = Utils.INITIAL_O2;
 		_CO2 = Utils.INITIAL_CO2;
-		NEXT_ID = 0;
+		_O2Deficit = 0;
+		_CO2Deficit = 0;
+		NEXT_ID = _firstId;
 		_population = 0;
-		_visibleWorld.setSelectedOrganism(null);
+		_deterministic = Utils.DETERMINISTIC;
+		_seed = Utils.SEED;
+		_frame = 0;
+		updateFrameEngine();
+		_view.worldCleared();
 		_organisms.clear();
+		_organismsVersion++;
 		// Initialize size
 		_width = Utils.WORLD_WIDTH;
 		_height = Utils.WORLD_HEIGHT;
-		_visibleWorld.setPreferredSize(new Dimension(Utils.WORLD_WIDTH, Utils.WORLD_HEIGHT));
+		_view.worldResized(Utils.WORLD_WIDTH, Utils.WORLD_HEIGHT);
+		_broadphase = createBroadphase();
 		// Create statistics
 		worldStatistics = new WorldStatistics();
 		// Create organisms
-		for (int i=0; i<Utils.INITIAL_ORGANISMS; i++) {
-			Organism b = new Organism(this);
-			// Only add the new organism if it can be placed in the world
-			if (b.randomCreate())
-				addOrganism(b,null);
+		if (_deterministic)
+			Utils.random.enterStream(StreamRandom.streamSeed(_seed, -1, 0, 0));
+		try {
+			for (int i=0; i<Utils.INITIAL_ORGANISMS; i++) {
+				Organism b = new Organism(this);
+				// Only add the new organism if it can be placed in the world
+				if (b.randomCreate())
+					addOrganism(b,null);
+			}
+		} finally {
+			if (_deterministic)
+				Utils.random.exitStream();
 		}
+		publishRenderSnapshot();
 	}
 	/**
 	 * Remove all corpses from the world and return their organic matter to
@@ -397,10 +1039,12 @@ public class World implements Serializable{
 	 * Draws all visible components of the world to a graphic context.
 	 * This includes organisms and corridors. Called from {@link biogenesis.VisibleWorld.paintComponents}.
 	 * 
+	 * Organisms are drawn from the last render snapshot, so the list of
+	 * organisms is not locked and the simulation can go on while painting.
+	 * 
 	 * @param g  The graphic context to draw to.
 	 */
 	public void draw(Graphics g) {
-		Organism b;
 		Corridor c;
 		synchronized (inCorridors) {
 			for (Iterator<InCorridor> it = inCorridors.iterator(); it.hasNext();) {
@@ -414,12 +1058,7 @@ public class World implements Serializable{
 				c.draw(g);			
 			}
 		}
-		synchronized (_organisms) {
-			for (Iterator<Organism> it = _organisms.iterator(); it.hasNext();) {
-				b = it.next();
-				b.draw(g);
-			}
-		}
+		_renderSnapshot.draw(g);
 	}
 	/**
 	 * Determines the world's region that needs to be repainted in the associated
@@ -433,27 +1072,35 @@ public class World implements Serializable{
 		synchronized (inCorridors) {
 			for (Iterator<InCorridor> it = inCorridors.iterator(); it.hasNext();) {
 				c = it.next();
-				_visibleWorld.repaint(c);
+				_view.repaint(c);
 			}
 		}
 		synchronized (outCorridors) {
 			for (Iterator<OutCorridor> it = outCorridors.iterator(); it.hasNext();) {
 				c = it.next();
-				_visibleWorld.repaint(c);
+				_view.repaint(c);
 				if (c.getTravellingOrganism() != null)
-					_visibleWorld.repaint(c.getTravellingOrganism());
+					_view.repaint(c.getTravellingOrganism());
 			}
 		}
 		synchronized (_organisms) {
 			for (Iterator<Organism> it = _organisms.iterator(); it.hasNext();) {
 				b = it.next();
 				if (b.hasMoved) {
-					_visibleWorld.repaint(b.lastFrame);
-					_visibleWorld.repaint(b);
+					_view.repaint(b.lastFrame);
+					_view.repaint(b);
 				}
 			}
 		}
 	}
+	/**
+	 * Instructs the associated view to repaint the whole world. Used instead of
+	 * {@link #setPaintingRegion} when several frames have been executed since
+	 * the last painting.
+	 */
+	public void repaintAll() {
+		_view.repaint(0, 0, _width, _height);
+	}
 	/**
 	 * Executes a frame. This method iterates through all objects in the world
 	 * and make them to execute a movement. Here is the place where all action
@@ -463,14 +1110,7 @@ public class World implements Serializable{
 	 * and every 256 frames the time counter is increased by 1.
 	 */
 	public void time() {
-
-	    colDetTree = new STRtree();
-        for (Organism o: _organisms) {
-            colDetTree.insert(new Envelope(o.getX(), o.getMaxX(), o.getY(), o.getMaxY()), o);
-        }
-
-		int i;
-		Organism b;
+		_broadphase.frameStarted(_organisms);
 		InCorridor c;
 		synchronized (inCorridors) {
 			for (Iterator<InCorridor> it = inCorridors.iterator(); it.hasNext();) {
@@ -479,55 +1119,103 @@ public class World implements Serializable{
 			}
 		}
 		synchronized (_organisms) {
-			/* We can't use an Iterator here because this list has to be changed
-			 * inside Organism.move (when new organisms are born) and we need to
-			 * remove organisms with no energy, so a ConcurrentModificationException
-			 * will be thrown.
-			 */
-
-//			List<Organism> toRemove = new ArrayList<>();
-//
-//			_organisms.parallelStream().forEach((org) -> {
-//				if (!org.move()) {
-//					// Organism has no energy -> remove from the list
-//					_visibleWorld.repaint(org);
-//					toRemove.add(org);
-//					if (_visibleWorld.getSelectedOrganism() == org)
-//						_visibleWorld.setSelectedOrganism(null);
-//				}
-//			});
-//
-//			for (Organism removed : toRemove) {
-//				if (_organisms.indexOf(removed) >= 0) {
-//					_organisms.remove(_organisms.indexOf(removed));
-//				}
-//			}
-//
-//			for (Organism toAdd : _organismsToAdd) {
-//				_organisms.add(toAdd);
-//			}
-
-//			_organismsToAdd.clear();
-
-			int l = _organisms.size();
-			for (i=0; i<l; i++) {
-				b = _organisms.get(i);
-				if (!b.move()) {
-					// Organism has no energy -> remove from the list
-					_visibleWorld.repaint(b);
-					_organisms.remove(i);
-					if (_visibleWorld.getSelectedOrganism() == b)
-						_visibleWorld.setSelectedOrganism(null);
-					l--;
-					i--;
-				}
-			}
+			_frameEngine.frame(this);
 		}
+		_frame++;
+		if (_checksumInterval > 0 && _frame % _checksumInterval == 0)
+			_rollingChecksum = _rollingChecksum * 1000003 + checksum();
 		if (nFrames++ % 20 == 0)
-			_visibleWorld._mainWindow.getInfoPanel().recalculate();
+			_view.worldInfoChanged();
 		if (nFrames % 256 == 0) {
 			nFrames = 0;
 			worldStatistics.eventTime(_population, _O2, _CO2);
+			LineageLog log = _lineageLog;
+			if (log != null)
+				log.flush();
+		}
+	}
+	/**
+	 * Removes from the world an organism that has no energy left.
+	 * Called by the frame engine during {@link #time}. The list of organisms
+	 * must be locked by the caller.
+	 * 
+	 * @param index  The position of the organism in the list of organisms.
+	 */
+	void removeOrganism(int index) {
+		Organism b = _organisms.remove(index);
+		_organismsVersion++;
+		_broadphase.remove(b);
+		_view.organismRemoved(b);
+	}
+	/**
+	 * Returns a number that changes every time an organism is added to
+	 * or removed from the world.
+	 * 
+	 * @return  The version of the list of organisms.
+	 */
+	int getOrganismsVersion() {
+		return _organismsVersion;
+	}
+	/**
+	 * Indicates which edges of the world organisms can cross instead of
+	 * bouncing against them. Organisms whose center has crossed an open edge
+	 * must be taken out with {@link #takeEmigrants}.
+	 * 
+	 * @param edges  A combination of {@link #EDGE_LEFT}, {@link #EDGE_RIGHT},
+	 * {@link #EDGE_TOP} and {@link #EDGE_BOTTOM}.
+	 */
+	public void setOpenEdges(int edges) {
+		_openEdges = edges;
+	}
+	/**
+	 * Indicates if organisms can cross an edge of the world.
+	 * 
+	 * @param edge  {@link #EDGE_LEFT}, {@link #EDGE_RIGHT}, {@link #EDGE_TOP} or {@link #EDGE_BOTTOM}.
+	 * @return  true if the edge is open.
+	 */
+	public boolean isEdgeOpen(int edge) {
+		return (_openEdges & edge) != 0;
+	}
+	/**
+	 * Removes from the world all organisms whose center is outside it,
+	 * which can only happen through an open edge.
+	 * 
+	 * @param emigrants  The list where removed organisms are added, in the
+	 * order they had in the world.
+	 */
+	public void takeEmigrants(List<Organism> emigrants) {
+		if (_openEdges == 0)
+			return;
+		synchronized (_organisms) {
+			for (int i=0; i<_organisms.size(); i++) {
+				Organism b = _organisms.get(i);
+				if (b._centerX < 0 || b._centerY < 0 || b._centerX >= _width || b._centerY >= _height) {
+					removeOrganism(i--);
+					if (b.isAlive())
+						decreasePopulation();
+					emigrants.add(b);
+				}
+			}
+		}
+	}
+	/**
+	 * Adds an organism that comes from another world with all its state.
+	 * It is placed only if it doesn't overlap any organism.
+	 * 
+	 * @param org  The organism, already moved to this world with {@link Organism#moveToWorld}.
+	 * @return  true if the organism has been added, false if its place is occupied.
+	 */
+	public boolean addImmigrant(Organism org) {
+		synchronized (_organisms) {
+			if (fastCheckHit(org) != null)
+				return false;
+			_organisms.add(org);
+			_organismsVersion++;
+			_broadphase.insert(org);
+			_view.organismAdded(org, null);
+			if (org.isAlive())
+				increasePopulation();
+			return true;
 		}
 	}
 	/**
@@ -559,8 +1247,8 @@ public class World implements Serializable{
 		in.height++;
 		out.width++;
 		out.height++;
-		_visibleWorld.repaint(in);
-		_visibleWorld.repaint(out);
+		_view.repaint(in);
+		_view.repaint(out);
 	}
 	/**
 	 * Checks if an organism enters an output corridor. It is considered
@@ -574,8 +1262,9 @@ public class World implements Serializable{
 	public OutCorridor checkHitCorridor(Organism org) {
 		OutCorridor c;
 		synchronized (outCorridors) {
-			for (Iterator<OutCorridor> it = outCorridors.iterator(); it.hasNext();) {
-				c = it.next();
+			// Indexed loop: it is called for every organism at every frame
+			for (int i=0; i<outCorridors.size(); i++) {
+				c = outCorridors.get(i);
 				if (c.contains(org._centerX, org._centerY))
 					return c;
 			}
@@ -592,19 +1281,8 @@ public class World implements Serializable{
 	 * rectangle of {@code b1} or null if there is no such organism.
 	 */
 
-	public STRtree colDetTree = new STRtree();
-
 	public Organism fastCheckHit(Organism b1) {
-        List collidingOrgs = colDetTree.query(new Envelope(b1.getX(), b1.getMaxX(), b1.getY(), b1.getMaxY()));
-
-	    for (Object orgObj : collidingOrgs) {
-	        Organism org = (Organism) orgObj;
-	        if (org != b1) {
-	            return b1;
-            }
-        }
-
-		return null;
+		return _broadphase.findHit(b1, false);
 	}
 	/**
 	 * Checks if an organism hits another organism.
@@ -614,19 +1292,7 @@ public class World implements Serializable{
 	 * organism exists. 
 	 */
 	public Organism checkHit(Organism org1) {
-        List collidingOrgs = colDetTree.query(new Envelope(org1.getX(), org1.getMaxX(), org1.getY(), org1.getMaxY()));
-
-        for (Object orgObj : collidingOrgs) {
-            Organism org = (Organism) orgObj;
-            if (org1 != org) {
-                // Check if they are touching
-                if (org1.intersects(org)) {
-                    return org;
-                }
-            }
-        }
-
-		return null;
+		return _broadphase.findHit(org1, true);
 	}
 	/**
 	 * Adds an organism to the world. Once added, the new organism will move at every
@@ -639,12 +1305,16 @@ public class World implements Serializable{
 	 */
 	public void addOrganism(Organism child, Organism parent) {
 		_organisms.add(child);
-		if (parent == _visibleWorld.getSelectedOrganism())
-			_visibleWorld._mainWindow.getInfoPanel().changeNChildren();
+		_organismsVersion++;
+		_broadphase.insert(child);
+		_view.organismAdded(child, parent);
 		if (parent != null) {
 			worldStatistics.eventOrganismBorn(child, parent);
 		}
 		worldStatistics.eventOrganismCreated();
+		LineageLog log = _lineageLog;
+		if (log != null)
+			log.organismBorn(_frame, child, parent);
 		increasePopulation();
 	}
 	/**
@@ -655,10 +1325,10 @@ public class World implements Serializable{
 	 */
 	public void organismHasDied(Organism dyingOrganism, Organism killingOrganism) {
 		worldStatistics.eventOrganismDie(dyingOrganism, killingOrganism);
-		if (killingOrganism == _visibleWorld.getSelectedOrganism())
-			_visibleWorld._mainWindow.getInfoPanel().changeNKills();
-		if (dyingOrganism == _visibleWorld.getSelectedOrganism())
-			_visibleWorld.showDeadToolbar();
+		LineageLog log = _lineageLog;
+		if (log != null)
+			log.organismDied(_frame, dyingOrganism, killingOrganism);
+		_view.organismDied(dyingOrganism, killingOrganism);
 	}
 	/**
 	 * Informs the world of an infection event. This will update statistics.
@@ -668,7 +1338,9 @@ public class World implements Serializable{
 	 */
 	public void organismHasBeenInfected(Organism infectedOrganism, Organism infectingOrganism) {
 		worldStatistics.eventOrganismInfects(infectedOrganism, infectingOrganism);
-		if (infectingOrganism == _visibleWorld.getSelectedOrganism())
-			_visibleWorld._mainWindow.getInfoPanel().changeNInfected();
+		LineageLog log = _lineageLog;
+		if (log != null)
+			log.organismInfected(_frame, infectedOrganism, infectingOrganism);
+		_view.organismInfected(infectedOrganism, infectingOrganism);
 	}
 }
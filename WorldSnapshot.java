@@ -0,0 +1,639 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.awt.Color;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes worlds in a compact binary format, used instead of Java
+ * serialization to save games.
+ * 
+ * A snapshot starts with a header: a magic number, the version of the format
+ * and some flags, like {@link #FLAG_COMPRESSED}. Then comes the state of the world, its statistics and a record of primitive
+ * values for every organism. Genetic codes and colors are written only once:
+ * the first time that one is found, its index is written followed by its
+ * definition, and afterwards only its index. Segment colors, branches and
+ * reactions that are the same as in the body plan of the genetic code are not
+ * written; neither is anything that can be calculated from the genetic code.
+ * 
+ * The snapshot is streamed through a buffer to or from an NIO channel, so it
+ * never needs to be in memory as a whole. Files that are not compressed are
+ * mapped to memory instead, and read directly from there.
+ * 
+ * Each class writes its own state: see {@link World#writeSnapshot},
+ * {@link WorldStatistics#writeSnapshot}, {@link Organism#writeSnapshot},
+ * {@link GeneticCode#writeSnapshot} and {@link Gene#writeSnapshot}.
+ */
+public class WorldSnapshot {
+	/**
+	 * First bytes of every snapshot: "BGWS".
+	 */
+	public static final int MAGIC = 0x42475753;
+	/**
+	 * Version of the format. Must be increased every time the format changes.
+	 */
+	public static final int FORMAT_VERSION = 2;
+	/**
+	 * Flag of the header that indicates that everything after the header
+	 * is compressed with {@link Deflater}.
+	 */
+	public static final int FLAG_COMPRESSED = 1;
+	/**
+	 * Flag of the header that indicates that the file is not a whole world
+	 * but a delta written by {@link Checkpointer}.
+	 */
+	public static final int FLAG_DELTA = 2;
+	private static final int HEADER_SIZE = 12;
+	private static final int BUFFER_SIZE = 1 << 16;
+	/**
+	 * Maximum length accepted for an array, to detect damaged files.
+	 */
+	private static final int MAX_ARRAY_LENGTH = 1 << 24;
+	/**
+	 * Indicates if files are mapped to memory to read them. Windows doesn't
+	 * allow to replace a mapped file until the mapping is garbage collected,
+	 * and worlds are often saved with the same name they were opened, so
+	 * there the file is read to memory instead.
+	 */
+	private static final boolean MAP_FILES = !System.getProperty("os.name", "").startsWith("Windows"); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Colors used by the program, indexed by their RGB value, so that the
+	 * same instances are used after reading a snapshot.
+	 */
+	private static final Map<Integer,Color> _knownColors = new HashMap<Integer,Color>();
+	static {
+		addKnownColors(Utils.class);
+		addKnownColors(Color.class);
+	}
+	
+	private static void addKnownColors(Class<?> c) {
+		for (Field f : c.getDeclaredFields()) {
+			if (f.getType() == Color.class && Modifier.isStatic(f.getModifiers())) {
+				try {
+					f.setAccessible(true);
+					Color color = (Color) f.get(null);
+					if (color != null && !_knownColors.containsKey(color.getRGB()))
+						_knownColors.put(color.getRGB(), color);
+				} catch (IllegalAccessException e) {
+					// Not a color we can share
+				} catch (RuntimeException e) {
+					// Not a color we can share
+				}
+			}
+		}
+	}
+	/**
+	 * Writes a world to a file.
+	 * 
+	 * @param world  The world to save. The caller must make sure that it doesn't change.
+	 * @param f  The file to write.
+	 * @throws IOException  If the file can't be written.
+	 */
+	public static void save(World world, File f) throws IOException {
+		FileOutputStream fileStream = new FileOutputStream(f);
+		try {
+			write(world, fileStream.getChannel());
+		} finally {
+			fileStream.close();
+		}
+	}
+	/**
+	 * Reads a world from a file. Uncompressed files are mapped to memory and
+	 * their values read directly from the mapping, without copying them to
+	 * a buffer first.
+	 * 
+	 * @param f  The file to read.
+	 * @param view  The view of the new world.
+	 * @return  The world read.
+	 * @throws IOException  If the file can't be read or isn't a snapshot.
+	 */
+	public static World load(File f, WorldView view) throws IOException {
+		FileInputStream fileStream = new FileInputStream(f);
+		try {
+			FileChannel channel = fileStream.getChannel();
+			int flags = readWorldHeader(channel);
+			long size = channel.size() - HEADER_SIZE;
+			if ((flags & FLAG_COMPRESSED) != 0 || size > Integer.MAX_VALUE)
+				return new World(view, new Input(openBody(channel, flags)));
+			ByteBuffer body;
+			if (MAP_FILES) {
+				body = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size);
+			} else {
+				body = ByteBuffer.allocate((int) size);
+				while (body.hasRemaining() && channel.read(body) >= 0);
+				body.flip();
+			}
+			return new World(view, new Input(body));
+		} finally {
+			fileStream.close();
+		}
+	}
+	/**
+	 * Indicates if a file contains a snapshot. Worlds saved by older versions
+	 * of the program are serialized Java objects.
+	 * 
+	 * @param f  The file to check.
+	 * @return  true if the file starts with {@link #MAGIC}.
+	 * @throws IOException  If the file can't be read.
+	 */
+	public static boolean isSnapshot(File f) throws IOException {
+		FileChannel channel = new FileInputStream(f).getChannel();
+		try {
+			ByteBuffer b = ByteBuffer.allocate(4);
+			while (b.hasRemaining() && channel.read(b) >= 0);
+			return !b.hasRemaining() && b.getInt(0) == MAGIC;
+		} finally {
+			channel.close();
+		}
+	}
+	
+	public static void write(World world, WritableByteChannel channel) throws IOException {
+		writeHeader(channel, 0);
+		Output out = new Output(channel);
+		world.writeSnapshot(out);
+		out.flush();
+	}
+	
+	public static World read(ReadableByteChannel channel, WorldView view) throws IOException {
+		int flags = readWorldHeader(channel);
+		return new World(view, new Input(openBody(channel, flags)));
+	}
+	
+	private static int readWorldHeader(ReadableByteChannel channel) throws IOException {
+		int flags = readHeader(channel);
+		if ((flags & FLAG_DELTA) != 0)
+			throw new IOException("The file is a checkpoint delta, not a whole world"); //$NON-NLS-1$
+		return flags;
+	}
+	/**
+	 * Reads and checks the header of a snapshot.
+	 * 
+	 * @param channel  The channel to read.
+	 * @return  The flags of the header.
+	 * @throws IOException  If the channel doesn't start with a valid header.
+	 */
+	static int readHeader(ReadableByteChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		while (header.hasRemaining()) {
+			if (channel.read(header) < 0)
+				throw new EOFException();
+		}
+		header.flip();
+		if (header.getInt() != MAGIC)
+			throw new IOException("Not a world snapshot"); //$NON-NLS-1$
+		int version = header.getInt();
+		if (version != FORMAT_VERSION)
+			throw new IOException("Unsupported snapshot version: "+version); //$NON-NLS-1$
+		return header.getInt();
+	}
+	/**
+	 * Returns the channel from where the rest of a snapshot must be read,
+	 * once its header has been read.
+	 * 
+	 * @param channel  The channel of the snapshot.
+	 * @param flags  The flags of its header.
+	 * @return  The same channel, or one that uncompresses it.
+	 */
+	static ReadableByteChannel openBody(ReadableByteChannel channel, int flags) {
+		if ((flags & FLAG_COMPRESSED) != 0)
+			return Channels.newChannel(new InflaterInputStream(Channels.newInputStream(channel), new Inflater(), BUFFER_SIZE));
+		return channel;
+	}
+	/**
+	 * Makes an image of a world in memory, without header. It is much
+	 * faster than writing the world to a file, so it can be done between
+	 * two frames and the image written later by another thread with
+	 * {@link #save(ByteBuffer, File, boolean)}.
+	 * 
+	 * @param world  The world to copy. The caller must make sure that it doesn't change.
+	 * @return  The image of the world.
+	 * @throws IOException
+	 */
+	public static ByteBuffer capture(World world) throws IOException {
+		ImageChannel channel = new ImageChannel();
+		Output out = new Output(channel);
+		world.writeSnapshot(out);
+		out.flush();
+		return channel.getImage();
+	}
+	/**
+	 * Writes an image made by {@link #capture} to a file. The file is first
+	 * written with another name and forced to the disk, and then renamed, so
+	 * that there is never an incomplete file with the given name.
+	 * 
+	 * @param image  The image of the world.
+	 * @param f  The file to write.
+	 * @param compress  true if the image must be compressed.
+	 * @throws IOException  If the file can't be written.
+	 */
+	public static void save(ByteBuffer image, File f, boolean compress) throws IOException {
+		save(image, f, compress ? FLAG_COMPRESSED : 0);
+	}
+	/**
+	 * Writes an image to a file with the given flags in its header, like
+	 * {@link #save(ByteBuffer, File, boolean)}.
+	 * 
+	 * @param image  The image to write.
+	 * @param f  The file to write.
+	 * @param flags  The flags of the header. The image is compressed if
+	 * they include {@link #FLAG_COMPRESSED}.
+	 * @throws IOException  If the file can't be written.
+	 */
+	static void save(ByteBuffer image, File f, int flags) throws IOException {
+		boolean compress = (flags & FLAG_COMPRESSED) != 0;
+		File tmp = new File(f.getPath() + ".tmp"); //$NON-NLS-1$
+		FileOutputStream fileStream = new FileOutputStream(tmp);
+		try {
+			FileChannel channel = fileStream.getChannel();
+			writeHeader(channel, flags);
+			image = image.duplicate();
+			if (compress) {
+				DeflaterOutputStream deflater = new DeflaterOutputStream(Channels.newOutputStream(channel),
+						new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+				deflater.write(image.array(), image.arrayOffset() + image.position(), image.remaining());
+				deflater.finish();
+				deflater.flush();
+			} else {
+				while (image.hasRemaining())
+					channel.write(image);
+			}
+			channel.force(true);
+		} finally {
+			fileStream.close();
+		}
+		if (!tmp.renameTo(f)) {
+			// Some systems don't replace existing files
+			if (!f.delete() || !tmp.renameTo(f)) {
+				tmp.delete();
+				throw new IOException("Can't rename "+tmp+" to "+f); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+	
+	static void writeHeader(WritableByteChannel channel, int flags) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(flags).flip();
+		while (header.hasRemaining())
+			channel.write(header);
+	}
+	/**
+	 * A channel that keeps in memory everything written to it.
+	 */
+	static final class ImageChannel implements WritableByteChannel {
+		private ByteBuffer _image = ByteBuffer.allocate(BUFFER_SIZE);
+		
+		public int write(ByteBuffer src) {
+			int n = src.remaining();
+			if (_image.remaining() < n) {
+				ByteBuffer bigger = ByteBuffer.allocate(Math.max(_image.capacity() * 2, _image.position() + n));
+				_image.flip();
+				bigger.put(_image);
+				_image = bigger;
+			}
+			_image.put(src);
+			return n;
+		}
+		
+		public boolean isOpen() {
+			return true;
+		}
+		
+		public void close() {
+			// Nothing to release
+		}
+		
+		ByteBuffer getImage() {
+			ByteBuffer image = _image.duplicate();
+			image.flip();
+			return image;
+		}
+	}
+	/**
+	 * Buffered writer of a snapshot.
+	 */
+	static final class Output {
+		private final WritableByteChannel _channel;
+		private final ByteBuffer _buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		private final Map<GeneticCode,Integer> _geneticCodes;
+		private final Map<Color,Integer> _colors;
+		
+		Output(WritableByteChannel channel) {
+			_channel = channel;
+			_geneticCodes = new IdentityHashMap<GeneticCode,Integer>();
+			_colors = new IdentityHashMap<Color,Integer>();
+		}
+		/**
+		 * Creates a writer that continues the snapshot written by another one,
+		 * so that the genetic codes and colors already written by it are
+		 * written only as references.
+		 */
+		Output(WritableByteChannel channel, Output previous) {
+			_channel = channel;
+			_geneticCodes = previous._geneticCodes;
+			_colors = previous._colors;
+		}
+		
+		private void ensure(int bytes) throws IOException {
+			if (_buffer.remaining() < bytes)
+				drain();
+		}
+		
+		private void drain() throws IOException {
+			_buffer.flip();
+			while (_buffer.hasRemaining())
+				_channel.write(_buffer);
+			_buffer.clear();
+		}
+		
+		void flush() throws IOException {
+			drain();
+		}
+		
+		void writeInt(int v) throws IOException {
+			ensure(4);
+			_buffer.putInt(v);
+		}
+		
+		void writeLong(long v) throws IOException {
+			ensure(8);
+			_buffer.putLong(v);
+		}
+		
+		void writeDouble(double v) throws IOException {
+			ensure(8);
+			_buffer.putDouble(v);
+		}
+		
+		void writeBoolean(boolean v) throws IOException {
+			ensure(1);
+			_buffer.put(v ? (byte) 1 : (byte) 0);
+		}
+		
+		void writeIntArray(int[] a) throws IOException {
+			if (a == null) {
+				writeInt(-1);
+				return;
+			}
+			writeInt(a.length);
+			for (int v : a)
+				writeInt(v);
+		}
+		
+		void writeString(String str) throws IOException {
+			byte[] bytes = str.getBytes("UTF-8"); //$NON-NLS-1$
+			writeInt(bytes.length);
+			for (byte b : bytes) {
+				ensure(1);
+				_buffer.put(b);
+			}
+		}
+		
+		void writeDoubleList(List<Double> l) throws IOException {
+			writeInt(l.size());
+			for (Double v : l)
+				writeDouble(v.doubleValue());
+		}
+		/**
+		 * Writes a reference to a color, followed by its value the first time.
+		 */
+		void writeColor(Color c) throws IOException {
+			if (c == null) {
+				writeInt(-1);
+				return;
+			}
+			Integer index = _colors.get(c);
+			if (index != null) {
+				writeInt(index.intValue());
+			} else {
+				int n = _colors.size();
+				_colors.put(c, n);
+				writeInt(n);
+				writeInt(c.getRGB());
+			}
+		}
+		
+		void writeColorArray(Color[] a) throws IOException {
+			if (a == null) {
+				writeInt(-1);
+				return;
+			}
+			writeInt(a.length);
+			for (Color c : a)
+				writeColor(c);
+		}
+		/**
+		 * Writes a reference to a genetic code, followed by its definition the first time.
+		 */
+		void writeGeneticCode(GeneticCode code) throws IOException {
+			if (code == null) {
+				writeInt(-1);
+				return;
+			}
+			Integer index = _geneticCodes.get(code);
+			if (index != null) {
+				writeInt(index.intValue());
+			} else {
+				int n = _geneticCodes.size();
+				_geneticCodes.put(code, n);
+				writeInt(n);
+				code.writeSnapshot(this);
+			}
+		}
+	}
+	/**
+	 * Buffered reader of a snapshot.
+	 */
+	static final class Input {
+		/**
+		 * The channel being read, or null if the whole snapshot is in the buffer.
+		 */
+		private final ReadableByteChannel _channel;
+		private final ByteBuffer _buffer;
+		private final List<GeneticCode> _geneticCodes;
+		private final List<Color> _colors;
+		
+		Input(ReadableByteChannel channel) {
+			_channel = channel;
+			_buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			_buffer.limit(0);
+			_geneticCodes = new ArrayList<GeneticCode>();
+			_colors = new ArrayList<Color>();
+		}
+		/**
+		 * Creates a reader of a snapshot that is already in memory, like a
+		 * mapped file.
+		 * 
+		 * @param snapshot  The snapshot, without header, from its position to its limit.
+		 */
+		Input(ByteBuffer snapshot) {
+			_channel = null;
+			_buffer = snapshot;
+			_geneticCodes = new ArrayList<GeneticCode>();
+			_colors = new ArrayList<Color>();
+		}
+		/**
+		 * Creates a reader that continues the snapshot read by another one.
+		 * See {@link Output#Output(WritableByteChannel, Output)}.
+		 */
+		Input(ReadableByteChannel channel, Input previous) {
+			_channel = channel;
+			_buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			_buffer.limit(0);
+			_geneticCodes = previous._geneticCodes;
+			_colors = previous._colors;
+		}
+		
+		private void require(int bytes) throws IOException {
+			if (_buffer.remaining() < bytes) {
+				if (_channel == null)
+					throw new EOFException();
+				_buffer.compact();
+				while (_buffer.position() < bytes) {
+					if (_channel.read(_buffer) < 0)
+						throw new EOFException();
+				}
+				_buffer.flip();
+			}
+		}
+		
+		int readInt() throws IOException {
+			require(4);
+			return _buffer.getInt();
+		}
+		
+		long readLong() throws IOException {
+			require(8);
+			return _buffer.getLong();
+		}
+		
+		double readDouble() throws IOException {
+			require(8);
+			return _buffer.getDouble();
+		}
+		
+		boolean readBoolean() throws IOException {
+			require(1);
+			return _buffer.get() != 0;
+		}
+		
+		private int readLength() throws IOException {
+			int length = readInt();
+			if (length < -1 || length > MAX_ARRAY_LENGTH)
+				throw new IOException("Wrong array length: "+length); //$NON-NLS-1$
+			return length;
+		}
+		
+		int[] readIntArray() throws IOException {
+			int length = readLength();
+			if (length < 0)
+				return null;
+			int[] a = new int[length];
+			// Copies as many values as possible at once
+			for (int i=0; i<length;) {
+				int n = Math.min(length - i, _buffer.remaining() / 4);
+				if (n == 0) {
+					a[i++] = readInt();
+				} else {
+					_buffer.asIntBuffer().get(a, i, n);
+					_buffer.position(_buffer.position() + n * 4);
+					i += n;
+				}
+			}
+			return a;
+		}
+		
+		String readString() throws IOException {
+			int length = readLength();
+			if (length < 0)
+				throw new IOException("Wrong string length: "+length); //$NON-NLS-1$
+			byte[] bytes = new byte[length];
+			for (int i=0; i<length; i++) {
+				require(1);
+				bytes[i] = _buffer.get();
+			}
+			return new String(bytes, "UTF-8"); //$NON-NLS-1$
+		}
+		
+		List<Double> readDoubleList() throws IOException {
+			int length = readLength();
+			List<Double> l = new ArrayList<Double>(Math.max(length, 100));
+			for (int i=0; i<length; i++)
+				l.add(readDouble());
+			return l;
+		}
+		
+		Color readColor() throws IOException {
+			int index = readInt();
+			if (index < 0)
+				return null;
+			if (index < _colors.size())
+				return _colors.get(index);
+			if (index > _colors.size())
+				throw new IOException("Wrong color index: "+index); //$NON-NLS-1$
+			int rgb = readInt();
+			Color c = _knownColors.get(rgb);
+			if (c == null)
+				c = new Color(rgb, true);
+			_colors.add(c);
+			return c;
+		}
+		
+		Color[] readColorArray() throws IOException {
+			int length = readLength();
+			if (length < 0)
+				return null;
+			Color[] a = new Color[length];
+			for (int i=0; i<length; i++)
+				a[i] = readColor();
+			return a;
+		}
+		
+		GeneticCode readGeneticCode() throws IOException {
+			int index = readInt();
+			if (index < 0)
+				return null;
+			if (index < _geneticCodes.size())
+				return _geneticCodes.get(index);
+			if (index > _geneticCodes.size())
+				throw new IOException("Wrong genetic code index: "+index); //$NON-NLS-1$
+			GeneticCode code = new GeneticCode(this);
+			_geneticCodes.add(code);
+			return code;
+		}
+	}
+}
@@ -16,6 +16,7 @@
  *
  */
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -127,6 +128,171 @@ public class WorldStatistics implements Serializable {
 
 	private List<Double> carbonDioxideList = new ArrayList<Double>(100);
 
+	public WorldStatistics() {
+	}
+
+	/**
+	 * Reads the statistics from a world snapshot.
+	 * 
+	 * @param in  The snapshot being read.
+	 * @throws IOException
+	 */
+	WorldStatistics(WorldSnapshot.Input in) throws IOException {
+		readCounters(in);
+		populationList = in.readDoubleList();
+		deathList = in.readDoubleList();
+		birthList = in.readDoubleList();
+		oxygenList = in.readDoubleList();
+		carbonDioxideList = in.readDoubleList();
+	}
+	/**
+	 * Updates the statistics from a checkpoint delta written by
+	 * {@link #writeSnapshotDelta}.
+	 * 
+	 * @param in  The delta being read.
+	 * @throws IOException
+	 */
+	void readSnapshotDelta(WorldSnapshot.Input in) throws IOException {
+		readCounters(in);
+		append(populationList, in.readDoubleList());
+		append(deathList, in.readDoubleList());
+		append(birthList, in.readDoubleList());
+		append(oxygenList, in.readDoubleList());
+		append(carbonDioxideList, in.readDoubleList());
+	}
+	
+	private static void append(List<Double> list, List<Double> values) {
+		list.addAll(values);
+		while (list.size() > 100)
+			list.remove(0);
+	}
+	
+	private void readCounters(WorldSnapshot.Input in) throws IOException {
+		time = in.readLong();
+		maxPopulation = in.readInt();
+		maxBirths = in.readInt();
+		maxDeaths = in.readInt();
+		maxPopulationTime = in.readLong();
+		minPopulation = in.readInt();
+		minPopulationTime = in.readLong();
+		massExtintions = in.readInt();
+		massExtintionState = in.readInt();
+		createdOrganisms = in.readInt();
+		populationSum = in.readLong();
+		deathSum = in.readLong();
+		deathLastTime = in.readInt();
+		birthSum = in.readLong();
+		birthLastTime = in.readInt();
+		infectionsSum = in.readLong();
+		maxOxygen = in.readDouble();
+		maxOxygenTime = in.readLong();
+		minOxygen = in.readDouble();
+		minOxygenTime = in.readLong();
+		maxCarbonDioxide = in.readDouble();
+		maxCarbonDioxideTime = in.readLong();
+		minCarbonDioxide = in.readDouble();
+		minCarbonDioxideTime = in.readLong();
+		aliveBeingMostChildren = in.readGeneticCode();
+		aliveBeingMostChildrenNumber = in.readInt();
+		aliveBeingMostKills = in.readGeneticCode();
+		aliveBeingMostKillsNumber = in.readInt();
+		aliveBeingMostInfections = in.readGeneticCode();
+		aliveBeingMostInfectionsNumber = in.readInt();
+		beingMostChildren = in.readGeneticCode();
+		beingMostChildrenNumber = in.readInt();
+		beingMostChildrenTime = in.readLong();
+		beingMostKills = in.readGeneticCode();
+		beingMostKillsNumber = in.readInt();
+		beingMostKillsTime = in.readLong();
+		beingMostInfections = in.readGeneticCode();
+		beingMostInfectionsNumber = in.readInt();
+		beingMostInfectionsTime = in.readLong();
+		lastBornBeing = in.readGeneticCode();
+		lastDeadBeing = in.readGeneticCode();
+		lastInfectedBeing = in.readGeneticCode();
+	}
+
+	/**
+	 * Writes the statistics to a world snapshot. See {@link WorldSnapshot}.
+	 * 
+	 * @param out  The snapshot being written.
+	 * @throws IOException
+	 */
+	void writeSnapshot(WorldSnapshot.Output out) throws IOException {
+		writeCounters(out);
+		out.writeDoubleList(populationList);
+		out.writeDoubleList(deathList);
+		out.writeDoubleList(birthList);
+		out.writeDoubleList(oxygenList);
+		out.writeDoubleList(carbonDioxideList);
+	}
+	/**
+	 * Writes the statistics to a checkpoint delta. The counters are written
+	 * as a whole, but from the lists only the values added since the given time.
+	 * 
+	 * @param out  The delta being written.
+	 * @param lastTime  The time of the statistics in the last checkpoint.
+	 * @throws IOException
+	 */
+	void writeSnapshotDelta(WorldSnapshot.Output out, long lastTime) throws IOException {
+		writeCounters(out);
+		int added = (int) Math.max(Math.min(time - lastTime, 100), 0);
+		out.writeDoubleList(tail(populationList, added));
+		out.writeDoubleList(tail(deathList, added));
+		out.writeDoubleList(tail(birthList, added));
+		out.writeDoubleList(tail(oxygenList, added));
+		out.writeDoubleList(tail(carbonDioxideList, added));
+	}
+	
+	private static List<Double> tail(List<Double> list, int n) {
+		return list.subList(Math.max(list.size() - n, 0), list.size());
+	}
+	
+	private void writeCounters(WorldSnapshot.Output out) throws IOException {
+		out.writeLong(time);
+		out.writeInt(maxPopulation);
+		out.writeInt(maxBirths);
+		out.writeInt(maxDeaths);
+		out.writeLong(maxPopulationTime);
+		out.writeInt(minPopulation);
+		out.writeLong(minPopulationTime);
+		out.writeInt(massExtintions);
+		out.writeInt(massExtintionState);
+		out.writeInt(createdOrganisms);
+		out.writeLong(populationSum);
+		out.writeLong(deathSum);
+		out.writeInt(deathLastTime);
+		out.writeLong(birthSum);
+		out.writeInt(birthLastTime);
+		out.writeLong(infectionsSum);
+		out.writeDouble(maxOxygen);
+		out.writeLong(maxOxygenTime);
+		out.writeDouble(minOxygen);
+		out.writeLong(minOxygenTime);
+		out.writeDouble(maxCarbonDioxide);
+		out.writeLong(maxCarbonDioxideTime);
+		out.writeDouble(minCarbonDioxide);
+		out.writeLong(minCarbonDioxideTime);
+		out.writeGeneticCode(aliveBeingMostChildren);
+		out.writeInt(aliveBeingMostChildrenNumber);
+		out.writeGeneticCode(aliveBeingMostKills);
+		out.writeInt(aliveBeingMostKillsNumber);
+		out.writeGeneticCode(aliveBeingMostInfections);
+		out.writeInt(aliveBeingMostInfectionsNumber);
+		out.writeGeneticCode(beingMostChildren);
+		out.writeInt(beingMostChildrenNumber);
+		out.writeLong(beingMostChildrenTime);
+		out.writeGeneticCode(beingMostKills);
+		out.writeInt(beingMostKillsNumber);
+		out.writeLong(beingMostKillsTime);
+		out.writeGeneticCode(beingMostInfections);
+		out.writeInt(beingMostInfectionsNumber);
+		out.writeLong(beingMostInfectionsTime);
+		out.writeGeneticCode(lastBornBeing);
+		out.writeGeneticCode(lastDeadBeing);
+		out.writeGeneticCode(lastInfectedBeing);
+	}
+
 	public long getTime() {
 		return time;
 	}
@@ -0,0 +1,81 @@
+/* Copyright (C) 2006-2010  Joan Queralt Molina
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ *
+ */
+
+import java.awt.Rectangle;
+
+/**
+ * Receives the events of a {@link World} that affect how it is shown: regions
+ * that must be repainted and changes in the organisms that may be selected in
+ * the user interface. {@link VisibleWorld} is the graphical implementation and
+ * {@link NullWorldView} ignores all events, to run worlds without a display.
+ */
+public interface WorldView {
+	/**
+	 * Indicates that a region of the world must be repainted.
+	 * 
+	 * @param r  The region to repaint, in world coordinates.
+	 */
+	public void repaint(Rectangle r);
+	/**
+	 * Indicates that a region of the world must be repainted.
+	 */
+	public void repaint(int x, int y, int width, int height);
+	/**
+	 * Called when the world is created again with a new size.
+	 * 
+	 * @param width  The new width of the world.
+	 * @param height  The new height of the world.
+	 */
+	public void worldResized(int width, int height);
+	/**
+	 * Called when all organisms have been removed from the world.
+	 */
+	public void worldCleared();
+	/**
+	 * Called regularly while the world is running, so that information
+	 * about the world can be updated.
+	 */
+	public void worldInfoChanged();
+	/**
+	 * Called when an organism is added to the world.
+	 * 
+	 * @param child  The added organism.
+	 * @param parent  The parent of the organism, or null if it has no parent.
+	 */
+	public void organismAdded(Organism child, Organism parent);
+	/**
+	 * Called when an organism is removed from the world.
+	 * 
+	 * @param org  The removed organism.
+	 */
+	public void organismRemoved(Organism org);
+	/**
+	 * Called when an organism dies.
+	 * 
+	 * @param dyingOrganism  The organism that has just died.
+	 * @param killingOrganism  The organism that has killed the other organism, if any.
+	 */
+	public void organismDied(Organism dyingOrganism, Organism killingOrganism);
+	/**
+	 * Called when an organism is infected.
+	 * 
+	 * @param infectedOrganism  The organism that has just been infected.
+	 * @param infectingOrganism  The organism that has infected the other organism.
+	 */
+	public void organismInfected(Organism infectedOrganism, Organism infectingOrganism);
+}